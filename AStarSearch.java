@@ -0,0 +1,230 @@
+package graphAssignment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class finds the shortest path between two vertices with A* search.  A* is Dijkstra's Algorithm with the fringe
+ * ordered by the distance from the source plus a heuristic estimate of the distance that is left to the destination,
+ * so the search heads toward the destination instead of growing evenly in every direction.  With a heuristic that
+ * always estimates 0 it is the same as Dijkstra's Algorithm stopping at the destination; a better heuristic, such as a
+ * LandmarkHeuristic, settles fewer vertices.
+ *
+ * <p>
+ * The state of the search is kept between calls and reused, so an instance should be kept for many queries.  An
+ * instance is only meant to be used by one thread.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class AStarSearch {
+
+	private final Heuristic heuristic;
+	private final SearchWorkspace workspace = new SearchWorkspace();
+	private int settledCount;
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pHeuristic The estimate of the distance left to the destination, which must never be more than the real
+	 * distance; null is treated as a heuristic that always estimates 0
+	 */
+	public AStarSearch(Heuristic pHeuristic) {
+		heuristic = pHeuristic == null ? (pVertexId, pDestinationId) -> 0 : pHeuristic;
+	}
+
+	/**
+	 * Given a directed graph, gets the shortest path between two vertices.  If either the graph, source, or
+	 * destination parameters are null, or the source or destination is not in the graph, an error is printed out and
+	 * null is returned.  Null is also returned if the destination cannot be reached from the source.
+	 *
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return A list of vertices, such that position 0 will contain the source vertex, and the last vertex in the
+	 * list will be the destination vertex
+	 */
+	public List<Vertex> getShortestPath(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			int[] lPath = getShortestPath(pGraph, pGraph.getVertexId(pSource.getLabel()),
+				pGraph.getVertexId(pDestination.getLabel()));
+			if (lPath == null) {
+				return null;
+			}
+
+			List<Vertex> lPathOfVertices = new ArrayList<Vertex>(lPath.length);
+			for (int lVertexId : lPath) {
+				lPathOfVertices.add(pGraph.getVertex(lVertexId));
+			}
+			return lPathOfVertices;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Given a directed graph, gets the shortest distance between two vertices.  If either the graph, source, or
+	 * destination parameters are null, or the source or destination is not in the graph, an error is printed out and
+	 * null is returned.
+	 *
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return The distance from source to destination, or Integer.MAX_VALUE if the destination cannot be reached
+	 */
+	public Integer getShortestDistance(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			return getShortestDistance(pGraph, pGraph.getVertexId(pSource.getLabel()),
+				pGraph.getVertexId(pDestination.getLabel()));
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Given an indexed graph, gets the shortest path between two vertices.  If the graph is null or does not contain
+	 * the source or destination, an error is printed out and null is returned.  Null is also returned if the
+	 * destination cannot be reached from the source.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The vertex ids along the path, such that position 0 is the source and the last position is the
+	 * destination
+	 */
+	public int[] getShortestPath(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		if (!search(pGraph, pSourceId, pDestinationId) || !workspace.isReached(pDestinationId)) {
+			return null;
+		}
+
+		//Count the vertices on the path, then fill the path in from the destination back to the source
+		int lLength = 1;
+		for (int lVertex = pDestinationId; lVertex != pSourceId; lVertex = workspace.getParent(lVertex)) {
+			lLength++;
+		}
+
+		int[] lPath = new int[lLength];
+		int lVertex = pDestinationId;
+		for (int i = lLength - 1; i >= 0; i--) {
+			lPath[i] = lVertex;
+			lVertex = workspace.getParent(lVertex);
+		}
+
+		return lPath;
+	}
+
+	/**
+	 * Given an indexed graph, gets the shortest distance between two vertices.  If the graph is null or does not
+	 * contain the source or destination, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The distance from source to destination, or Integer.MAX_VALUE if the destination cannot be reached
+	 */
+	public Integer getShortestDistance(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		if (!search(pGraph, pSourceId, pDestinationId)) {
+			return null;
+		}
+		return workspace.getDistance(pDestinationId);
+	}
+
+	/**
+	 *
+	 * @return The number of vertices settled during the last query
+	 */
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Runs the search until the destination is settled, or there is nothing left to explore.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return True if the search was run, False if the parameters were not valid
+	 */
+	private boolean search(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		//Validate the graph, source and destination
+		if (pGraph == null || !pGraph.containsVertex(pSourceId) || !pGraph.containsVertex(pDestinationId)) {
+			System.out.println("The graph, source, and destination must all be provided.");
+			return false;
+		}
+
+		settledCount = 0;
+		workspace.reset(pGraph.getVertexIdBound());
+		IndexedPriorityQueue lFringe = workspace.getFringe();
+		workspace.setDistance(pSourceId, 0, -1);
+		int lSourcePriority = getPriority(0, pSourceId, pDestinationId);
+		if (lSourcePriority == Integer.MAX_VALUE) {
+			//The heuristic already knows there is no path
+			return true;
+		}
+		lFringe.insert(pSourceId, lSourcePriority);
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+
+		while (!lFringe.isEmpty()) {
+			int lVertex = lFringe.removeMin();
+			settledCount++;
+			if (lVertex == pDestinationId) {
+				break;
+			}
+			int lVertexDistance = workspace.getDistance(lVertex);
+
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + lCursor.getWeight();
+				if (lCurrentDistance >= workspace.getDistance(lNextVertex)) {
+					continue;
+				}
+
+				//Vertices the heuristic knows cannot lead to the destination are left out of the search
+				int lPriority = getPriority(lCurrentDistance, lNextVertex, pDestinationId);
+				if (lPriority == Integer.MAX_VALUE) {
+					continue;
+				}
+
+				//A vertex that was already settled goes back on the fringe if a shorter path to it is found, which
+				//can only happen when the heuristic is not consistent
+				workspace.setDistance(lNextVertex, lCurrentDistance, lVertex);
+				lFringe.insert(lNextVertex, lPriority);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Works out the priority of a vertex on the fringe.
+	 *
+	 * @param pDistance The distance from the source to the vertex
+	 * @param pVertexId The id of the vertex
+	 * @param pDestinationId The id of the destination vertex
+	 * @return The distance plus the estimate of the distance left, or Integer.MAX_VALUE if the destination cannot be
+	 * reached from the vertex
+	 */
+	private int getPriority(int pDistance, int pVertexId, int pDestinationId) {
+		int lEstimate = heuristic.estimate(pVertexId, pDestinationId);
+		if (lEstimate == Integer.MAX_VALUE) {
+			return Integer.MAX_VALUE;
+		}
+		return (int) Math.min(Integer.MAX_VALUE - 1, (long) pDistance + lEstimate);
+	}
+}
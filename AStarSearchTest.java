@@ -0,0 +1,115 @@
+package graphAssignment;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AStarSearchTest {
+
+	@Test
+	public void testGetShortestPath() {
+		Digraph lGraph = getGraph();
+		CsrGraph lSnapshot = lGraph.freeze();
+		AStarSearch lSearch = new AStarSearch(new LandmarkHeuristic(lSnapshot, 2, LandmarkHeuristic.Selection.FARTHEST));
+
+		//Test finding the shortest path from vertex A to vertex F: A, B, E, G, F
+		List<Vertex> lPath = lSearch.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
+		Assert.assertEquals(5, lPath.size());
+		Assert.assertEquals("A", lPath.get(0).getLabel());
+		Assert.assertEquals("E", lPath.get(2).getLabel());
+		Assert.assertEquals("F", lPath.get(4).getLabel());
+		Assert.assertEquals(12, lSearch.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F")).intValue());
+
+		//Nothing leads back to A
+		Assert.assertNull(lSearch.getShortestPath(lGraph, lGraph.getVertex("F"), lGraph.getVertex("A")));
+		Assert.assertEquals(Integer.MAX_VALUE, lSearch.getShortestDistance(lGraph, lGraph.getVertex("F"), lGraph.getVertex("A")).intValue());
+		Assert.assertNull(lSearch.getShortestDistance(lGraph, new Vertex("Z"), lGraph.getVertex("A")));
+	}
+
+	@Test
+	public void testMatchesDijkstrasAlgorithm() {
+		Random lRandom = new Random(11);
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < 300; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int i = 0; i < 1200; i++) {
+			lGraph.addEdge(lGraph.getVertex("V" + lRandom.nextInt(300)), lGraph.getVertex("V" + lRandom.nextInt(300)),
+				lRandom.nextInt(50));
+		}
+		CsrGraph lSnapshot = lGraph.freeze();
+
+		DijkstrasAlgorithm lDijkstra = new DijkstrasAlgorithm();
+		AStarSearch lNoHeuristic = new AStarSearch(null);
+		AStarSearch lFarthest = new AStarSearch(new LandmarkHeuristic(lSnapshot, 4, LandmarkHeuristic.Selection.FARTHEST));
+		AStarSearch lAvoid = new AStarSearch(new LandmarkHeuristic(lSnapshot, 4, LandmarkHeuristic.Selection.AVOID));
+		for (int lSource = 0; lSource < 300; lSource += 13) {
+			int[] lDistances = lDijkstra.findMinimumDistance(lSnapshot, lSource);
+			for (int lDestination = 0; lDestination < 300; lDestination++) {
+				Assert.assertEquals(lDistances[lDestination], lNoHeuristic.getShortestDistance(lSnapshot, lSource, lDestination).intValue());
+				Assert.assertEquals(lDistances[lDestination], lFarthest.getShortestDistance(lSnapshot, lSource, lDestination).intValue());
+				Assert.assertEquals(lDistances[lDestination], lAvoid.getShortestDistance(lSnapshot, lSource, lDestination).intValue());
+			}
+		}
+	}
+
+	@Test
+	public void testLandmarksSettleFewerVertices() {
+		//A 60 x 60 grid with edges both ways between neighbours
+		int lSize = 60;
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < lSize * lSize; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int lRow = 0; lRow < lSize; lRow++) {
+			for (int lColumn = 0; lColumn < lSize; lColumn++) {
+				Vertex lVertex = lGraph.getVertex("V" + (lRow * lSize + lColumn));
+				if (lColumn > 0) {
+					Vertex lLeft = lGraph.getVertex("V" + (lRow * lSize + lColumn - 1));
+					lGraph.addEdge(lVertex, lLeft, 1);
+					lGraph.addEdge(lLeft, lVertex, 1);
+				}
+				if (lRow > 0) {
+					Vertex lAbove = lGraph.getVertex("V" + ((lRow - 1) * lSize + lColumn));
+					lGraph.addEdge(lVertex, lAbove, 1);
+					lGraph.addEdge(lAbove, lVertex, 1);
+				}
+			}
+		}
+		CsrGraph lSnapshot = lGraph.freeze();
+		int lSource = lSnapshot.getVertexId("V" + (5 * lSize + 5));
+		int lDestination = lSnapshot.getVertexId("V" + (50 * lSize + 40));
+
+		AStarSearch lNoHeuristic = new AStarSearch(null);
+		AStarSearch lLandmarks = new AStarSearch(new LandmarkHeuristic(lSnapshot, 8, LandmarkHeuristic.Selection.AVOID));
+		Assert.assertEquals(80, lNoHeuristic.getShortestDistance(lSnapshot, lSource, lDestination).intValue());
+		Assert.assertEquals(80, lLandmarks.getShortestDistance(lSnapshot, lSource, lDestination).intValue());
+		Assert.assertTrue(lLandmarks.getSettledCount() * 2 < lNoHeuristic.getSettledCount());
+	}
+
+	private Digraph getGraph() {
+		Digraph lGraph = new Digraph();
+
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
+		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
+		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
+		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
+		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
+
+		return lGraph;
+	}
+}
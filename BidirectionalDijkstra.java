@@ -0,0 +1,232 @@
+package graphAssignment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class finds the shortest path between two vertices with a bidirectional version of Dijkstra's Algorithm.  One
+ * search grows forward from the source along outgoing edges, and another grows backward from the destination along
+ * incoming edges.  The searches take turns, each settling its closest fringe vertex, and stop as soon as the two
+ * fringes together cannot improve on the best path found where they meet.  For a single source and destination this
+ * usually settles far fewer vertices than DijkstrasAlgorithm, which always finds the distance to every vertex.
+ *
+ * <p>
+ * The state of the searches is kept between calls and reused, so an instance should be kept for many queries.  An
+ * instance is only meant to be used by one thread.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class BidirectionalDijkstra {
+
+	private final SearchWorkspace forward = new SearchWorkspace();
+	private final SearchWorkspace backward = new SearchWorkspace();
+
+	//The results of the last search
+	private int sourceId = -1;
+	private int meetingVertex = -1;
+	private int distance = Integer.MAX_VALUE;
+	private int settledCount;
+
+	/**
+	 * Given a directed graph, gets the shortest path between two vertices.  If either the graph, source, or
+	 * destination parameters are null, or the source or destination is not in the graph, an error is printed out and
+	 * null is returned.  Null is also returned if the destination cannot be reached from the source.
+	 *
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return A list of vertices, such that position 0 will contain the source vertex, and the last vertex in the
+	 * list will be the destination vertex
+	 */
+	public List<Vertex> getShortestPath(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			int[] lPath = getShortestPath(pGraph, pGraph.getVertexId(pSource.getLabel()),
+				pGraph.getVertexId(pDestination.getLabel()));
+			if (lPath == null) {
+				return null;
+			}
+
+			List<Vertex> lPathOfVertices = new ArrayList<Vertex>(lPath.length);
+			for (int lVertexId : lPath) {
+				lPathOfVertices.add(pGraph.getVertex(lVertexId));
+			}
+			return lPathOfVertices;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Given a directed graph, gets the shortest distance between two vertices.  If either the graph, source, or
+	 * destination parameters are null, or the source or destination is not in the graph, an error is printed out and
+	 * null is returned.
+	 *
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return The distance from source to destination, or Integer.MAX_VALUE if the destination cannot be reached
+	 */
+	public Integer getShortestDistance(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			return getShortestDistance(pGraph, pGraph.getVertexId(pSource.getLabel()),
+				pGraph.getVertexId(pDestination.getLabel()));
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Given an indexed graph, gets the shortest path between two vertices.  If the graph is null or does not contain
+	 * the source or destination, an error is printed out and null is returned.  Null is also returned if the
+	 * destination cannot be reached from the source.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The vertex ids along the path, such that position 0 is the source and the last position is the
+	 * destination
+	 */
+	public int[] getShortestPath(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		if (!search(pGraph, pSourceId, pDestinationId) || distance == Integer.MAX_VALUE) {
+			return null;
+		}
+
+		//Count the vertices from the source to the meeting vertex, and from there to the destination
+		int lLength = 1;
+		for (int lVertex = meetingVertex; lVertex != sourceId; lVertex = forward.getParent(lVertex)) {
+			lLength++;
+		}
+		int lMeetingPosition = lLength - 1;
+		for (int lVertex = meetingVertex; lVertex != pDestinationId; lVertex = backward.getParent(lVertex)) {
+			lLength++;
+		}
+
+		//The forward search leads back to the source, and the backward search leads on to the destination
+		int[] lPath = new int[lLength];
+		int lVertex = meetingVertex;
+		for (int i = lMeetingPosition; i >= 0; i--) {
+			lPath[i] = lVertex;
+			lVertex = forward.getParent(lVertex);
+		}
+		lVertex = meetingVertex;
+		for (int i = lMeetingPosition + 1; i < lLength; i++) {
+			lVertex = backward.getParent(lVertex);
+			lPath[i] = lVertex;
+		}
+
+		return lPath;
+	}
+
+	/**
+	 * Given an indexed graph, gets the shortest distance between two vertices.  If the graph is null or does not
+	 * contain the source or destination, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The distance from source to destination, or Integer.MAX_VALUE if the destination cannot be reached
+	 */
+	public Integer getShortestDistance(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		if (!search(pGraph, pSourceId, pDestinationId)) {
+			return null;
+		}
+		return distance;
+	}
+
+	/**
+	 *
+	 * @return The number of vertices settled by the forward and backward searches together during the last query
+	 */
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Runs the forward and backward searches until the shortest path is known.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return True if the search was run, False if the parameters were not valid
+	 */
+	private boolean search(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		//Validate the graph, source and destination
+		if (pGraph == null || !pGraph.containsVertex(pSourceId) || !pGraph.containsVertex(pDestinationId)) {
+			System.out.println("The graph, source, and destination must all be provided.");
+			return false;
+		}
+
+		sourceId = pSourceId;
+		settledCount = 0;
+		forward.reset(pGraph.getVertexIdBound());
+		backward.reset(pGraph.getVertexIdBound());
+		forward.setDistance(pSourceId, 0, -1);
+		backward.setDistance(pDestinationId, 0, -1);
+		forward.getFringe().insert(pSourceId, 0);
+		backward.getFringe().insert(pDestinationId, 0);
+
+		//The best path found so far goes through the meeting vertex
+		long lBestDistance = pSourceId == pDestinationId ? 0 : Long.MAX_VALUE;
+		meetingVertex = pSourceId == pDestinationId ? pSourceId : -1;
+
+		EdgeCursor lOutgoingCursor = pGraph.newOutgoingCursor();
+		EdgeCursor lIncomingCursor = pGraph.newIncomingCursor();
+		IndexedPriorityQueue lForwardFringe = forward.getFringe();
+		IndexedPriorityQueue lBackwardFringe = backward.getFringe();
+
+		while (!lForwardFringe.isEmpty() && !lBackwardFringe.isEmpty()) {
+			//No path through the unsettled vertices can be shorter than both fringes' closest vertices together
+			if ((long) lForwardFringe.getMinPriority() + lBackwardFringe.getMinPriority() >= lBestDistance) {
+				break;
+			}
+
+			//Grow whichever search has the closer fringe, which keeps the two searches about the same size
+			boolean lForward = lForwardFringe.getMinPriority() <= lBackwardFringe.getMinPriority();
+			SearchWorkspace lThisSide = lForward ? forward : backward;
+			SearchWorkspace lOtherSide = lForward ? backward : forward;
+			EdgeCursor lCursor = lForward ? lOutgoingCursor : lIncomingCursor;
+
+			int lVertex = lThisSide.getFringe().removeMin();
+			int lVertexDistance = lThisSide.getDistance(lVertex);
+			settledCount++;
+
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + lCursor.getWeight();
+				if (lCurrentDistance < lThisSide.getDistance(lNextVertex)) {
+					lThisSide.setDistance(lNextVertex, lCurrentDistance, lVertex);
+					lThisSide.getFringe().insert(lNextVertex, lCurrentDistance);
+				}
+
+				//If the other search has reached this vertex too, the two together make a path
+				if (lOtherSide.isReached(lNextVertex)) {
+					long lPathDistance = (long) lThisSide.getDistance(lNextVertex) + lOtherSide.getDistance(lNextVertex);
+					if (lPathDistance < lBestDistance) {
+						lBestDistance = lPathDistance;
+						meetingVertex = lNextVertex;
+					}
+				}
+			}
+		}
+
+		distance = lBestDistance == Long.MAX_VALUE ? Integer.MAX_VALUE : (int) lBestDistance;
+		return true;
+	}
+}
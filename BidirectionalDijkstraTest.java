@@ -0,0 +1,146 @@
+package graphAssignment;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BidirectionalDijkstraTest {
+
+	@Test
+	public void testGetShortestPath() {
+		Digraph lGraph = getGraph();
+		BidirectionalDijkstra lAlgorithm = new BidirectionalDijkstra();
+
+		//Test finding the shortest path from vertex A to vertex F: A, B, E, G, F
+		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
+		Assert.assertEquals(5, lPath.size());
+		Assert.assertEquals("A", lPath.get(0).getLabel());
+		Assert.assertEquals("B", lPath.get(1).getLabel());
+		Assert.assertEquals("E", lPath.get(2).getLabel());
+		Assert.assertEquals("G", lPath.get(3).getLabel());
+		Assert.assertEquals("F", lPath.get(4).getLabel());
+		Assert.assertEquals(12, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F")).intValue());
+
+		//A path from a vertex to itself is just the vertex
+		lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("C"), lGraph.getVertex("C"));
+		Assert.assertEquals(1, lPath.size());
+		Assert.assertEquals(0, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("C"), lGraph.getVertex("C")).intValue());
+
+		//Nothing leads back to A
+		Assert.assertNull(lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("F"), lGraph.getVertex("A")));
+		Assert.assertEquals(Integer.MAX_VALUE, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("F"), lGraph.getVertex("A")).intValue());
+
+		//Vertices that are not in the graph
+		Assert.assertNull(lAlgorithm.getShortestPath(lGraph, new Vertex("Z"), lGraph.getVertex("A")));
+		Assert.assertNull(lAlgorithm.getShortestDistance(null, lGraph.getVertex("A"), lGraph.getVertex("F")));
+	}
+
+	@Test
+	public void testMatchesDijkstrasAlgorithm() {
+		Random lRandom = new Random(7);
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < 200; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int i = 0; i < 800; i++) {
+			lGraph.addEdge(lGraph.getVertex("V" + lRandom.nextInt(200)), lGraph.getVertex("V" + lRandom.nextInt(200)),
+				lRandom.nextInt(20));
+		}
+
+		CsrGraph lSnapshot = lGraph.freeze();
+		DijkstrasAlgorithm lDijkstra = new DijkstrasAlgorithm();
+		BidirectionalDijkstra lAlgorithm = new BidirectionalDijkstra();
+		for (int lSource = 0; lSource < 200; lSource += 7) {
+			int[] lDistances = lDijkstra.findMinimumDistance(lSnapshot, lSource);
+			for (int lDestination = 0; lDestination < 200; lDestination++) {
+				Assert.assertEquals(lDistances[lDestination],
+					lAlgorithm.getShortestDistance(lSnapshot, lSource, lDestination).intValue());
+
+				//The path should start and end in the right places, and add up to the distance
+				int[] lPath = lAlgorithm.getShortestPath(lSnapshot, lSource, lDestination);
+				if (lDistances[lDestination] == Integer.MAX_VALUE) {
+					Assert.assertNull(lPath);
+					continue;
+				}
+				Assert.assertEquals(lSource, lPath[0]);
+				Assert.assertEquals(lDestination, lPath[lPath.length - 1]);
+				Assert.assertEquals(lDistances[lDestination], getPathDistance(lSnapshot, lPath));
+			}
+		}
+	}
+
+	@Test
+	public void testSettlesFewVertices() {
+		//A 100 x 100 grid with edges both ways between neighbours
+		int lSize = 100;
+		Digraph lGraph = new Digraph();
+		for (int lRow = 0; lRow < lSize; lRow++) {
+			for (int lColumn = 0; lColumn < lSize; lColumn++) {
+				lGraph.addVertex(new Vertex(lRow + "," + lColumn));
+			}
+		}
+		for (int lRow = 0; lRow < lSize; lRow++) {
+			for (int lColumn = 0; lColumn < lSize; lColumn++) {
+				Vertex lVertex = lGraph.getVertex(lRow + "," + lColumn);
+				if (lColumn > 0) {
+					Vertex lLeft = lGraph.getVertex(lRow + "," + (lColumn - 1));
+					lGraph.addEdge(lVertex, lLeft, 1);
+					lGraph.addEdge(lLeft, lVertex, 1);
+				}
+				if (lRow > 0) {
+					Vertex lAbove = lGraph.getVertex((lRow - 1) + "," + lColumn);
+					lGraph.addEdge(lVertex, lAbove, 1);
+					lGraph.addEdge(lAbove, lVertex, 1);
+				}
+			}
+		}
+
+		//Two nearby vertices in the middle of the grid should only need a small part of it to be settled
+		BidirectionalDijkstra lAlgorithm = new BidirectionalDijkstra();
+		Assert.assertEquals(6, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("50,50"), lGraph.getVertex("53,53")).intValue());
+		Assert.assertTrue(lAlgorithm.getSettledCount() < lSize * lSize / 20);
+	}
+
+	private int getPathDistance(IndexedGraph pGraph, int[] pPath) {
+		int lDistance = 0;
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		for (int i = 0; i + 1 < pPath.length; i++) {
+			//Take the cheapest edge between the two vertices, since there can be several
+			int lCheapest = Integer.MAX_VALUE;
+			lCursor.moveTo(pPath[i]);
+			while (lCursor.next()) {
+				if (lCursor.getAdjacentVertexId() == pPath[i + 1]) {
+					lCheapest = Math.min(lCheapest, lCursor.getWeight());
+				}
+			}
+			lDistance += lCheapest;
+		}
+		return lDistance;
+	}
+
+	private Digraph getGraph() {
+		Digraph lGraph = new Digraph();
+
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
+		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
+		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
+		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
+		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
+
+		return lGraph;
+	}
+}
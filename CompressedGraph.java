@@ -0,0 +1,389 @@
+package graphAssignment;
+
+import java.util.Arrays;
+
+/**
+ * This is an immutable snapshot of a directed graph, stored in as little memory as it can be while still being
+ * searched quickly, for graphs too big to fit in memory as a Digraph or even a CsrGraph.  A Digraph spends well over
+ * 100 bytes on an edge, and a CsrGraph 24; a CompressedGraph usually spends between 2 and 8.
+ *
+ * <p>
+ * The neighbours of each vertex are sorted by id and stored as the gaps between them, each written as a varint: 7
+ * bits to a byte, with the high bit set on every byte but the last.  The first neighbour is stored as its distance
+ * from the vertex itself, so an edge to a nearby id takes a single byte, and the gaps between neighbours are small
+ * when the ids of the vertices are close to each other, as they are in most real graphs.  The weights are kept apart
+ * from the neighbours, packed into as few bits each as the range of the weights needs, so a graph whose edges all
+ * have the same weight spends no memory on them at all.  The incoming edges are stored the same way.
+ * </p>
+ *
+ * <p>
+ * Walking the edges of a vertex with an EdgeCursor decodes them in order, one varint at a time, so Dijkstra's
+ * algorithm, Tarjan's algorithm and the rest of the IndexedGraph algorithms run on a CompressedGraph unchanged.  The
+ * outgoing edges of a vertex are walked in order of the id of the vertex they go to, rather than the order they were
+ * added in.  A snapshot is created with Digraph.compress() or DigraphBuilder.buildCompressed(), and since it is
+ * immutable, it can be shared freely between threads.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class CompressedGraph implements IndexedGraph {
+
+	private final String[] labels;
+	//A hash table of the vertex ids plus one, so 0 marks an empty slot
+	private final int[] labelTable;
+	private final int vertexCount;
+	private final int edgeCount;
+
+	private final Adjacency outgoing;
+	private final Adjacency incoming;
+
+	/**
+	 * Class constructor.  The arrays are in compressed sparse row form, as given to a CsrGraph, and are only read.
+	 * The incoming edges are found from the outgoing ones.
+	 *
+	 * @param pLabels The label of each vertex id, or null for an id that is not in use.  It is kept, not copied.
+	 * @param pOutOffsets The start of each vertex's outgoing edges, with one extra entry holding the edge count
+	 * @param pOutTargets The to vertex of each edge
+	 * @param pOutWeights The weight of each edge
+	 */
+	CompressedGraph(String[] pLabels, int[] pOutOffsets, int[] pOutTargets, int[] pOutWeights) {
+		labels = pLabels;
+		edgeCount = pOutTargets.length;
+
+		int lVertexCount = 0;
+		labelTable = new int[getTableSize(labels.length)];
+		for (int i = 0; i < labels.length; i++) {
+			if (labels[i] != null) {
+				int lSlot = getSlot(labels[i], labelTable.length);
+				while (labelTable[lSlot] != 0) {
+					lSlot = (lSlot + 1) & (labelTable.length - 1);
+				}
+				labelTable[lSlot] = i + 1;
+				lVertexCount++;
+			}
+		}
+		vertexCount = lVertexCount;
+
+		outgoing = new Adjacency(pOutOffsets, pOutTargets, pOutWeights);
+
+		//Find the incoming edges with a counting sort of the outgoing edges by their to vertex.  The from vertices
+		//are visited in order, so the sources of each vertex come out sorted.
+		int lIdBound = labels.length;
+		int[] lInOffsets = new int[lIdBound + 1];
+		for (int i = 0; i < edgeCount; i++) {
+			lInOffsets[pOutTargets[i] + 1]++;
+		}
+		for (int i = 0; i < lIdBound; i++) {
+			lInOffsets[i + 1] += lInOffsets[i];
+		}
+
+		int[] lInSources = new int[edgeCount];
+		int[] lInWeights = new int[edgeCount];
+		int[] lNextSlot = Arrays.copyOf(lInOffsets, lIdBound);
+		for (int lFrom = 0; lFrom < lIdBound; lFrom++) {
+			for (int i = pOutOffsets[lFrom]; i < pOutOffsets[lFrom + 1]; i++) {
+				int lSlot = lNextSlot[pOutTargets[i]]++;
+				lInSources[lSlot] = lFrom;
+				lInWeights[lSlot] = pOutWeights[i];
+			}
+		}
+		incoming = new Adjacency(lInOffsets, lInSources, lInWeights);
+	}
+
+	@Override
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	@Override
+	public int getVertexIdBound() {
+		return labels.length;
+	}
+
+	@Override
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	@Override
+	public long getVersion() {
+		//A snapshot never changes
+		return 0;
+	}
+
+	@Override
+	public boolean containsVertex(int pVertexId) {
+		return pVertexId >= 0 && pVertexId < labels.length && labels[pVertexId] != null;
+	}
+
+	@Override
+	public int getVertexId(String pLabel) {
+		if (pLabel == null) {
+			return -1;
+		}
+		int lMask = labelTable.length - 1;
+		for (int lSlot = getSlot(pLabel, labelTable.length); labelTable[lSlot] != 0; lSlot = (lSlot + 1) & lMask) {
+			int lVertexId = labelTable[lSlot] - 1;
+			if (pLabel.equals(labels[lVertexId])) {
+				return lVertexId;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public String getVertexLabel(int pVertexId) {
+		return labels[pVertexId];
+	}
+
+	@Override
+	public int getOutDegree(int pVertexId) {
+		return outgoing.getDegree(pVertexId);
+	}
+
+	@Override
+	public int getInDegree(int pVertexId) {
+		return incoming.getDegree(pVertexId);
+	}
+
+	@Override
+	public EdgeCursor newOutgoingCursor() {
+		return new CompressedEdgeCursor(outgoing);
+	}
+
+	@Override
+	public EdgeCursor newIncomingCursor() {
+		return new CompressedEdgeCursor(incoming);
+	}
+
+	/**
+	 *
+	 * @return The number of bytes taken by the arrays holding the edges, in both directions, which does not count the
+	 * labels
+	 */
+	public long getEdgeSizeInBytes() {
+		return outgoing.getSizeInBytes() + incoming.getSizeInBytes();
+	}
+
+	/**
+	 * Returns a string representation of the snapshot.
+	 *
+	 * @return A string with the number of vertices and edges, and the bytes taken by the edges
+	 */
+	@Override
+	public String toString() {
+		return "CompressedGraph: " + vertexCount + " vertices, " + edgeCount + " edges in " + getEdgeSizeInBytes()
+			+ " bytes";
+	}
+
+	/**
+	 *
+	 * @param pLabelCount The number of labels
+	 * @return The size of the hash table for them: a power of two, at least twice the number of labels
+	 */
+	private static int getTableSize(int pLabelCount) {
+		int lSize = 2;
+		while (lSize < pLabelCount * 2L) {
+			lSize <<= 1;
+		}
+		return lSize;
+	}
+
+	/**
+	 *
+	 * @param pLabel A label
+	 * @param pTableSize The size of the label hash table
+	 * @return The slot of the table where the search for the label starts
+	 */
+	private static int getSlot(String pLabel, int pTableSize) {
+		int lHash = pLabel.hashCode() * 0x9E3779B9;
+		return (lHash ^ (lHash >>> 16)) & (pTableSize - 1);
+	}
+
+	/**
+	 * The edges of every vertex in one direction.  The neighbours of vertex v are the varints from
+	 * byteOffsets[v] up to byteOffsets[v + 1] in the neighbours array, and its weights are entries edgeOffsets[v] up
+	 * to edgeOffsets[v + 1] of the packed weights.
+	 */
+	private static final class Adjacency {
+
+		private final int[] edgeOffsets;
+		private final int[] byteOffsets;
+		private final byte[] neighbours;
+
+		//Each weight is stored as its difference from the smallest weight, in weightBits bits
+		private final long[] packedWeights;
+		private final int weightBits;
+		private final int baseWeight;
+
+		/**
+		 * Class constructor, which compresses edges in compressed sparse row form
+		 *
+		 * @param pOffsets The start of each vertex's edges, with one extra entry holding the edge count.  It is kept,
+		 * not copied.
+		 * @param pAdjacent The vertex at the other end of each edge
+		 * @param pWeights The weight of each edge
+		 */
+		Adjacency(int[] pOffsets, int[] pAdjacent, int[] pWeights) {
+			int lIdBound = pOffsets.length - 1;
+			int lEdgeCount = pAdjacent.length;
+			edgeOffsets = pOffsets;
+			byteOffsets = new int[lIdBound + 1];
+
+			int lMinimum = Integer.MAX_VALUE;
+			int lMaximum = Integer.MIN_VALUE;
+			for (int i = 0; i < lEdgeCount; i++) {
+				lMinimum = Math.min(lMinimum, pWeights[i]);
+				lMaximum = Math.max(lMaximum, pWeights[i]);
+			}
+			baseWeight = lEdgeCount == 0 ? 0 : lMinimum;
+			weightBits = lEdgeCount == 0 ? 0 : 64 - Long.numberOfLeadingZeros((long) lMaximum - lMinimum);
+			//One word more than needed, so a weight can always be read from two words
+			packedWeights = new long[(int) (((long) lEdgeCount * weightBits + 63) / 64) + 1];
+
+			//Sort each vertex's edges by neighbour and then weight, packed together into longs
+			int lMaximumDegree = 0;
+			for (int v = 0; v < lIdBound; v++) {
+				lMaximumDegree = Math.max(lMaximumDegree, pOffsets[v + 1] - pOffsets[v]);
+			}
+			long[] lSorted = new long[lMaximumDegree];
+
+			byte[] lBytes = new byte[Math.max(16, lEdgeCount + lEdgeCount / 2)];
+			int lLength = 0;
+			for (int v = 0; v < lIdBound; v++) {
+				byteOffsets[v] = lLength;
+				int lStart = pOffsets[v];
+				int lDegree = pOffsets[v + 1] - lStart;
+				for (int i = 0; i < lDegree; i++) {
+					lSorted[i] = ((long) pAdjacent[lStart + i] << 32) | (((long) pWeights[lStart + i] - baseWeight)
+						& 0xFFFFFFFFL);
+				}
+				Arrays.sort(lSorted, 0, lDegree);
+
+				int lPrevious = v;
+				for (int i = 0; i < lDegree; i++) {
+					int lAdjacent = (int) (lSorted[i] >>> 32);
+					//The first neighbour can be on either side of the vertex, but the gaps after it cannot be negative
+					int lGap = i == 0 ? (lAdjacent - v << 1) ^ (lAdjacent - v >> 31) : lAdjacent - lPrevious;
+					lPrevious = lAdjacent;
+					if (lBytes.length - lLength < 5) {
+						if (lBytes.length == Integer.MAX_VALUE - 8) {
+							throw new OutOfMemoryError("The edges take more than 2 GB once compressed.");
+						}
+						lBytes = Arrays.copyOf(lBytes, (int) Math.min(Integer.MAX_VALUE - 8, lBytes.length * 3L / 2));
+					}
+					while ((lGap & ~0x7F) != 0) {
+						lBytes[lLength++] = (byte) ((lGap & 0x7F) | 0x80);
+						lGap >>>= 7;
+					}
+					lBytes[lLength++] = (byte) lGap;
+					setWeight(lStart + i, lSorted[i] & 0xFFFFFFFFL);
+				}
+			}
+			byteOffsets[lIdBound] = lLength;
+			neighbours = Arrays.copyOf(lBytes, lLength);
+		}
+
+		int getDegree(int pVertexId) {
+			return edgeOffsets[pVertexId + 1] - edgeOffsets[pVertexId];
+		}
+
+		/**
+		 *
+		 * @param pEdgeIndex The index of an edge
+		 * @return The weight of the edge
+		 */
+		int getWeight(int pEdgeIndex) {
+			if (weightBits == 0) {
+				return baseWeight;
+			}
+			long lBit = (long) pEdgeIndex * weightBits;
+			int lWord = (int) (lBit >>> 6);
+			int lShift = (int) (lBit & 63);
+			long lValue = packedWeights[lWord] >>> lShift;
+			if (lShift + weightBits > 64) {
+				lValue |= packedWeights[lWord + 1] << (64 - lShift);
+			}
+			return (int) (baseWeight + (lValue & ((1L << weightBits) - 1)));
+		}
+
+		private void setWeight(int pEdgeIndex, long pValue) {
+			if (weightBits == 0) {
+				return;
+			}
+			long lBit = (long) pEdgeIndex * weightBits;
+			int lWord = (int) (lBit >>> 6);
+			int lShift = (int) (lBit & 63);
+			packedWeights[lWord] |= pValue << lShift;
+			if (lShift + weightBits > 64) {
+				packedWeights[lWord + 1] |= pValue >>> (64 - lShift);
+			}
+		}
+
+		long getSizeInBytes() {
+			return 4L * edgeOffsets.length + 4L * byteOffsets.length + neighbours.length + 8L * packedWeights.length;
+		}
+	}
+
+	/**
+	 * An edge cursor that decodes the neighbours of a vertex one varint at a time
+	 */
+	private static final class CompressedEdgeCursor implements EdgeCursor {
+
+		private final Adjacency adjacency;
+		private final byte[] neighbours;
+		private int vertexId;
+		private int position;
+		private int firstEdgeIndex;
+		private int edgeIndex;
+		private int end;
+		private int adjacentVertexId;
+
+		CompressedEdgeCursor(Adjacency pAdjacency) {
+			adjacency = pAdjacency;
+			neighbours = pAdjacency.neighbours;
+		}
+
+		@Override
+		public void moveTo(int pVertexId) {
+			vertexId = pVertexId;
+			position = adjacency.byteOffsets[pVertexId];
+			firstEdgeIndex = adjacency.edgeOffsets[pVertexId];
+			edgeIndex = firstEdgeIndex - 1;
+			end = adjacency.edgeOffsets[pVertexId + 1];
+		}
+
+		@Override
+		public boolean next() {
+			if (++edgeIndex >= end) {
+				edgeIndex = end;
+				return false;
+			}
+
+			int lByte = neighbours[position++];
+			int lGap = lByte & 0x7F;
+			for (int lShift = 7; lByte < 0; lShift += 7) {
+				lByte = neighbours[position++];
+				lGap |= (lByte & 0x7F) << lShift;
+			}
+
+			if (edgeIndex == firstEdgeIndex) {
+				adjacentVertexId = vertexId + ((lGap >>> 1) ^ -(lGap & 1));
+			} else {
+				adjacentVertexId += lGap;
+			}
+			return true;
+		}
+
+		@Override
+		public int getAdjacentVertexId() {
+			return adjacentVertexId;
+		}
+
+		@Override
+		public int getWeight() {
+			return adjacency.getWeight(edgeIndex);
+		}
+	}
+}
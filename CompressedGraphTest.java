@@ -0,0 +1,133 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CompressedGraphTest {
+
+	@Test
+	public void testSameAsCsrGraph() {
+		Digraph lDigraph = new Digraph();
+		for (int i = 0; i < 300; i++) {
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + (i * 37 % 300)), i % 7 - 3);
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 299) % 300)), 2);
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 150) % 300)), 2);
+		}
+		//Several edges to the same vertex, and weights at both ends of the range of an int
+		lDigraph.addEdge(new Vertex("V5"), new Vertex("V6"), Integer.MAX_VALUE);
+		lDigraph.addEdge(new Vertex("V5"), new Vertex("V6"), Integer.MIN_VALUE);
+		lDigraph.addEdge(new Vertex("\u00e9t\u00e9"), new Vertex("V0"), 0);
+		lDigraph.removeVertex(lDigraph.getVertex("V100"));
+		CsrGraph lSnapshot = lDigraph.freeze();
+		CompressedGraph lCompressed = lDigraph.compress();
+
+		assertEquals(lSnapshot.getVertexCount(), lCompressed.getVertexCount());
+		assertEquals(lSnapshot.getVertexIdBound(), lCompressed.getVertexIdBound());
+		assertEquals(lSnapshot.getEdgeCount(), lCompressed.getEdgeCount());
+		for (int v = 0; v < lSnapshot.getVertexIdBound(); v++) {
+			assertEquals(lSnapshot.containsVertex(v), lCompressed.containsVertex(v));
+			assertEquals(lSnapshot.getVertexLabel(v), lCompressed.getVertexLabel(v));
+			if (lSnapshot.containsVertex(v)) {
+				assertEquals(v, lCompressed.getVertexId(lSnapshot.getVertexLabel(v)));
+			}
+			assertEquals(lSnapshot.getOutDegree(v), lCompressed.getOutDegree(v));
+			assertEquals(lSnapshot.getInDegree(v), lCompressed.getInDegree(v));
+
+			//The same edges, though the compressed ones come sorted by the vertex at the other end
+			assertEquals(getEdges(lSnapshot.newOutgoingCursor(), v), getEdges(lCompressed.newOutgoingCursor(), v));
+			assertEquals(getEdges(lSnapshot.newIncomingCursor(), v), getEdges(lCompressed.newIncomingCursor(), v));
+		}
+		assertEquals(-1, lCompressed.getVertexId("V100"));
+		assertEquals(-1, lCompressed.getVertexId(null));
+
+		//The algorithms search the compressed graph the same as the snapshot
+		Digraph lPositive = new Digraph();
+		for (int i = 0; i < 300; i++) {
+			lPositive.addEdge(new Vertex("V" + i), new Vertex("V" + (i * 37 % 300)), i % 7 + 1);
+			lPositive.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 299) % 300)), 4);
+		}
+		CsrGraph lPositiveSnapshot = lPositive.freeze();
+		CompressedGraph lPositiveCompressed = lPositive.compress();
+		int lSourceId = lPositiveCompressed.getVertexId("V0");
+		assertTrue(Arrays.equals(new DijkstrasAlgorithm().findMinimumDistance(lPositiveSnapshot, lSourceId),
+			new DijkstrasAlgorithm().findMinimumDistance(lPositiveCompressed, lSourceId)));
+		assertEquals(new TarjanAlgorithm().findStronglyConnectedComponents(lSnapshot).size(),
+			new TarjanAlgorithm().findStronglyConnectedComponents(lCompressed).size());
+	}
+
+	@Test
+	public void testBuildCompressed() {
+		//Vertices far apart in id need varints several bytes long, and a weight shared by every edge takes no memory
+		DigraphBuilder lBuilder = new DigraphBuilder();
+		int lVertexCount = 200000;
+		for (int v = 0; v < lVertexCount; v++) {
+			lBuilder.addVertex("V" + v);
+		}
+		for (int v = 0; v < lVertexCount; v++) {
+			lBuilder.addEdge(v, (v + 1) % lVertexCount, 1);
+			lBuilder.addEdge(v, (int) ((v * 7919L) % lVertexCount), 1);
+			lBuilder.addEdge(v, lVertexCount - 1 - v, 1);
+		}
+		lBuilder.addEdge(0, 1, 1);
+		CompressedGraph lCompressed = lBuilder.buildCompressed();
+		CsrGraph lSnapshot = lBuilder.buildFrozen();
+		assertEquals(lSnapshot.getEdgeCount(), lCompressed.getEdgeCount());
+		//Less than half the 24 bytes an edge takes in a CsrGraph, even with the offsets of only 3 edges a vertex
+		assertTrue(lCompressed.getEdgeSizeInBytes() < lSnapshot.getEdgeCount() * 12L);
+
+		for (int v = 0; v < lVertexCount; v += 997) {
+			assertEquals(getEdges(lSnapshot.newOutgoingCursor(), v), getEdges(lCompressed.newOutgoingCursor(), v));
+			assertEquals(getEdges(lSnapshot.newIncomingCursor(), v), getEdges(lCompressed.newIncomingCursor(), v));
+		}
+		assertTrue(Arrays.equals(new DijkstrasAlgorithm().findMinimumDistance(lSnapshot, 0),
+			new DijkstrasAlgorithm().findMinimumDistance(lCompressed, 0)));
+
+		//An empty graph
+		CompressedGraph lEmpty = new DigraphBuilder().buildCompressed();
+		assertEquals(0, lEmpty.getVertexCount());
+		assertEquals(-1, lEmpty.getVertexId("V1"));
+	}
+
+	@Test
+	public void testCompressConcurrentDigraph() {
+		//A ConcurrentDigraph is compressed with every stripe held, and freed ids are skipped
+		ConcurrentDigraph lGraph = new ConcurrentDigraph();
+		for (int i = 0; i < 40; i++) {
+			lGraph.addEdge(new Vertex("V" + i), new Vertex("V" + (i * 3 % 40)), i % 6 + 1);
+		}
+		lGraph.removeVertex(lGraph.getVertex("V7"));
+		CsrGraph lSnapshot = lGraph.freeze();
+		CompressedGraph lCompressed = lGraph.compress();
+
+		assertEquals(39, lCompressed.getVertexCount());
+		assertEquals(lSnapshot.getVertexCount(), lCompressed.getVertexCount());
+		assertEquals(lSnapshot.getEdgeCount(), lCompressed.getEdgeCount());
+		for (int v = 0; v < lSnapshot.getVertexIdBound(); v++) {
+			assertEquals(lSnapshot.getVertexLabel(v), lCompressed.getVertexLabel(v));
+			assertEquals(getEdges(lSnapshot.newOutgoingCursor(), v), getEdges(lCompressed.newOutgoingCursor(), v));
+			assertEquals(getEdges(lSnapshot.newIncomingCursor(), v), getEdges(lCompressed.newIncomingCursor(), v));
+		}
+	}
+
+	/**
+	 *
+	 * @param pCursor A cursor
+	 * @param pVertexId A vertex
+	 * @return The adjacent vertex and weight of each edge of the vertex, sorted
+	 */
+	private List<String> getEdges(EdgeCursor pCursor, int pVertexId) {
+		List<String> lEdges = new ArrayList<String>();
+		pCursor.moveTo(pVertexId);
+		while (pCursor.next()) {
+			lEdges.add(pCursor.getAdjacentVertexId() + ":" + pCursor.getWeight());
+		}
+		Collections.sort(lEdges);
+		return lEdges;
+	}
+}
@@ -0,0 +1,990 @@
+package graphAssignment;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * A directed graph that many threads can add vertices and edges to at the same time, for loading a graph from many
+ * sources at once.  It has the same methods as Digraph, and can be passed to anything that takes one.
+ *
+ * <p>
+ * A Digraph lets only one thread change it at a time.  Here the vertices and edges are kept in ConcurrentHashMaps,
+ * the edge lists of each vertex are ConcurrentEdgeLists, which can be added to while they are read, and the vertex
+ * ids are kept in chunks that never move, so reading the graph never waits.  Each change holds one of a set of
+ * stripe locks, picked by the label of the vertex, or the labels of the from and to vertices of the edge.  Threads
+ * adding edges between different vertices almost never hold the same stripe, so they run side by side.  Since every
+ * change to the same vertex, or to edges between the same two vertices, holds the same stripe, adding a vertex or
+ * edge that is already in the graph is always caught, however many threads add it at once.
+ * </p>
+ *
+ * <p>
+ * Each method sees the graph as it was at some moment while it ran, but separate calls may see different graphs.
+ * getReadLock() holds every stripe, so nothing can change while it is held, and the searches and traversals of the
+ * graph, and the algorithms that take a Digraph, hold it while they run.  Unlike with a Digraph, threads holding it
+ * wait for each other, so many threads querying a graph that is still being loaded should query a freeze() snapshot
+ * instead.  Removing a vertex also holds every stripe, since it has to remove the edges of the vertex while none are
+ * added.
+ * </p>
+ *
+ * <p>
+ * Listeners are not supported, since changes are made by many threads at once, in no one order.
+ * addGraphChangeListener() prints an error and does not add the listener, and the classes that are kept up to date
+ * by listening to a graph, DynamicShortestPathTree, DynamicStronglyConnectedComponents and GraphLog, turn a
+ * ConcurrentDigraph down.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class ConcurrentDigraph extends Digraph {
+
+	/**
+	 * Generated id
+	 */
+	private static final long serialVersionUID = 3865209734511622087L;
+
+	//The number of stripe locks, which must be a power of two
+	private static final int STRIPE_COUNT = 64;
+
+	//The vertex ids are kept in chunks of 1024
+	private static final int CHUNK_BITS = 10;
+	private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+	//Each change holds one stripe, and the read lock holds all of them.  The vertices and edges themselves are kept
+	//by Digraph, in the concurrent collections this graph gives it.
+	private final transient ReentrantLock[] stripes;
+	private final transient Lock stripesLock;
+
+	/**
+	 * Class Constructor
+	 */
+	ConcurrentDigraph() {
+		super(new ConcurrentHashMap<String, Vertex>(), new ConcurrentHashMap<Edge, Edge>(),
+			new ConcurrentHashMap<Long, Integer>(), new VertexChunks(), new ConcurrentLinkedDeque<Integer>());
+		stripes = new ReentrantLock[STRIPE_COUNT];
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+		stripesLock = new StripesLock();
+	}
+
+	/**
+	 * Class Constructor, with list of vertices as a parameter
+	 *
+	 * @param pVertices The initial set of vertices for this graph
+	 */
+	ConcurrentDigraph(List<Vertex> pVertices) {
+		this();
+		if (pVertices != null) {
+			for (Vertex lVertex : pVertices) {
+				addVertex(lVertex);
+			}
+		}
+	}
+
+	/**
+	 * Adds an edge to the graph.  If the from and to vertices do not yet exist in this graph, they are added.  Only
+	 * the stripe of the from and to vertices is held, so threads adding edges between other vertices are not held up.
+	 *
+	 * <p>
+	 * If the edge is null or does not have both a from and to vertex, an error is printed
+	 * out and the method immediately returns.  Additionally, if the edge already exists in the graph, based on the
+	 * from and to vertices and the weight of the edge, the edge will not be added a second time.
+	 * </p>
+	 *
+	 * @param pEdge The edge to add to the graph
+	 */
+	@Override
+	public void addEdge(Edge pEdge) {
+		//Validate that the edge is non-null
+		if (pEdge == null) {
+			System.out.println("Cannot add a null edge.");
+			return;
+		}
+
+		//Validate that the edge has both a from and to vertex
+		if (pEdge.getFromVertex() == null || pEdge.getToVertex() == null || pEdge.getFromVertex().getLabel() == null
+			|| pEdge.getToVertex().getLabel() == null) {
+			System.out.println("An edge must have both a from and to vertex.");
+			return;
+		}
+
+		while (true) {
+			//Find or add the from and to vertices before taking the stripe of the edge, so a thread never holds two
+			//stripes at once
+			Vertex lFromVertex = findOrAddVertex(pEdge.getFromVertex());
+			Vertex lToVertex = findOrAddVertex(pEdge.getToVertex());
+
+			ReentrantLock lStripe = getStripe(lFromVertex.getLabel(), lToVertex.getLabel());
+			lStripe.lock();
+			try {
+				//If either vertex was removed since it was found, find them again.  Removing a vertex holds every
+				//stripe, so once they are checked here they stay in the graph until the edge is added.
+				if (getVertexMap().get(lFromVertex.getLabel()) != lFromVertex
+					|| getVertexMap().get(lToVertex.getLabel()) != lToVertex) {
+					continue;
+				}
+
+				//Attach the edge to the vertices of this graph, which may not be the ones it was created with
+				if (pEdge.getFromVertex() != lFromVertex) {
+					pEdge.setFromVertex(lFromVertex);
+				}
+				if (pEdge.getToVertex() != lToVertex) {
+					pEdge.setToVertex(lToVertex);
+				}
+
+				if (getEdgeMap().putIfAbsent(pEdge, pEdge) != null) {
+					System.out.println("This edge already exists");
+					return;
+				}
+
+				lFromVertex.appendOutgoingEdge(pEdge);
+				lToVertex.appendIncomingEdge(pEdge);
+				getEdgePairCounts().merge(getEdgePairKey(lFromVertex, lToVertex), 1, Integer::sum);
+				pEdge.setGraph(this);
+				incrementVersion();
+				return;
+			} finally {
+				lStripe.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Removes the edge from the graph, and removes the edge from its from and to vertices.  If the edge is null, an
+	 * error is printed out and the method returns immediately.
+	 *
+	 * @param pEdge The edge to remove from the graph
+	 */
+	@Override
+	public void removeEdge(Edge pEdge) {
+		//Validate that the edge is non-null
+		if (pEdge == null || pEdge.getFromVertex() == null || pEdge.getToVertex() == null) {
+			System.out.println("Cannot add a null edge.");
+			return;
+		}
+
+		ReentrantLock lStripe = getStripe(pEdge.getFromVertex().getLabel(), pEdge.getToVertex().getLabel());
+		lStripe.lock();
+		try {
+			//Find the edge object that is actually in the graph, which may not be the one passed in
+			Edge lEdge = getEdgeMap().remove(pEdge);
+			if (lEdge == null) {
+				System.out.println("This edge does not exist in the graph.");
+				return;
+			}
+
+			lEdge.getFromVertex().removeOutgoingEdge(lEdge);
+			lEdge.getToVertex().removeIncomingEdge(lEdge);
+			getEdgePairCounts().merge(getEdgePairKey(lEdge.getFromVertex(), lEdge.getToVertex()), -1,
+				(pCount, pChange) -> pCount + pChange == 0 ? null : pCount + pChange);
+			lEdge.setGraph(null);
+			incrementVersion();
+		} finally {
+			lStripe.unlock();
+		}
+	}
+
+	/**
+	 * Changes the weight of an edge in the graph.  Since the weight is part of what identifies an edge, the edge is
+	 * moved to its new place in the map of edges.  If the graph already has an edge between the same vertices with
+	 * the new weight, an error is printed out and the weight is not changed.  This is called by Edge.setWeight.
+	 *
+	 * @param pEdge An edge in this graph
+	 * @param pWeight The new weight of the edge
+	 */
+	@Override
+	void changeEdgeWeight(Edge pEdge, int pWeight) {
+		ReentrantLock lStripe = getStripe(pEdge.getFromVertex().getLabel(), pEdge.getToVertex().getLabel());
+		lStripe.lock();
+		try {
+			if (pEdge.getWeight() == pWeight) {
+				return;
+			}
+
+			//If another thread removed the edge first, it is no longer in the graph and only the edge changes
+			if (getEdgeMap().get(pEdge) != pEdge) {
+				pEdge.storeWeight(pWeight);
+				return;
+			}
+
+			//Don't allow the change if it would make the edge a duplicate of another edge
+			if (getEdgeMap().containsKey(new Edge(pEdge.getFromVertex(), pEdge.getToVertex(), pWeight))) {
+				System.out.println("An edge with this weight already exists");
+				return;
+			}
+
+			getEdgeMap().remove(pEdge);
+			pEdge.storeWeight(pWeight);
+			getEdgeMap().put(pEdge, pEdge);
+			incrementVersion();
+		} finally {
+			lStripe.unlock();
+		}
+	}
+
+	/**
+	 * Gets the read lock of the graph.  While a thread holds it, every stripe is held, so the graph cannot be changed,
+	 * and several calls, or a walk over the graph with its EdgeCursors, all see the same graph.  Other threads that
+	 * want the read lock wait until it is unlocked.  The lock must be unlocked by the thread that locked it.
+	 *
+	 * @return The read lock of the graph
+	 */
+	@Override
+	public Lock getReadLock() {
+		return stripesLock;
+	}
+
+	/**
+	 * Listeners are not supported, since the graph is changed by many threads at once, in no one order.  An error is
+	 * printed out and the listener is not added.
+	 *
+	 * @param pListener The listener
+	 */
+	@Override
+	public void addGraphChangeListener(GraphChangeListener pListener) {
+		System.out.println("A ConcurrentDigraph does not tell listeners about changes.");
+	}
+
+	@Override
+	public boolean containsEdge(Edge pEdge) {
+		return pEdge != null && getEdgeMap().containsKey(pEdge);
+	}
+
+	@Override
+	public boolean containsEdge(Vertex pFromVertex, Vertex pToVertex) {
+		if (pFromVertex == null || pToVertex == null) {
+			return false;
+		}
+
+		Vertex lFromVertex = getVertexMap().get(pFromVertex.getLabel());
+		Vertex lToVertex = getVertexMap().get(pToVertex.getLabel());
+		if (lFromVertex == null || lToVertex == null) {
+			return false;
+		}
+
+		return getEdgePairCounts().containsKey(getEdgePairKey(lFromVertex, lToVertex));
+	}
+
+	/**
+	 *
+	 * @param pFromVertex The from vertex of an edge in this graph
+	 * @param pToVertex The to vertex of an edge in this graph
+	 * @return A key combining the ids of the two vertices
+	 */
+	private static Long getEdgePairKey(Vertex pFromVertex, Vertex pToVertex) {
+		return ((long) pFromVertex.getId() << 32) | (pToVertex.getId() & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public Vertex getVertex(String pLabel) {
+		return pLabel == null ? null : getVertexMap().get(pLabel);
+	}
+
+	@Override
+	public Vertex getVertex(int pVertexId) {
+		return getVertexChunks().get(pVertexId);
+	}
+
+	@Override
+	public int getVertexId(String pLabel) {
+		Vertex lVertex = getVertex(pLabel);
+		return lVertex == null ? -1 : lVertex.getId();
+	}
+
+	@Override
+	public int getVertexCount() {
+		return getVertexMap().size();
+	}
+
+	@Override
+	public int getVertexIdBound() {
+		return getVertexChunks().size();
+	}
+
+	@Override
+	public int getEdgeCount() {
+		return getEdgeMap().size();
+	}
+
+	@Override
+	public int getOutDegree(int pVertexId) {
+		Vertex lVertex = getVertex(pVertexId);
+		return lVertex == null ? 0 : lVertex.getOutgoingEdges().size();
+	}
+
+	@Override
+	public int getInDegree(int pVertexId) {
+		Vertex lVertex = getVertex(pVertexId);
+		return lVertex == null ? 0 : lVertex.getIncomingEdges().size();
+	}
+
+	@Override
+	public void forEachOutNeighbor(int pVertexId, IntConsumer pConsumer) {
+		Vertex lVertex = getVertex(pVertexId);
+		if (lVertex != null) {
+			for (Edge lEdge : lVertex.getOutgoingEdges()) {
+				pConsumer.accept(lEdge.getToVertex().getId());
+			}
+		}
+	}
+
+	@Override
+	public void forEachInNeighbor(int pVertexId, IntConsumer pConsumer) {
+		Vertex lVertex = getVertex(pVertexId);
+		if (lVertex != null) {
+			for (Edge lEdge : lVertex.getIncomingEdges()) {
+				pConsumer.accept(lEdge.getFromVertex().getId());
+			}
+		}
+	}
+
+	@Override
+	public EdgeCursor newOutgoingCursor() {
+		return new SnapshotEdgeCursor(true);
+	}
+
+	@Override
+	public EdgeCursor newIncomingCursor() {
+		return new SnapshotEdgeCursor(false);
+	}
+
+	/**
+	 * Adds a vertex to the graph.  If the vertex is null, an error will be printed out and the method will return
+	 * immediately.  If the vertex already exists in the graph, a message will be printed out and the vertex will not
+	 * be added again.  Only the stripe of the label is held, so threads adding other vertices are not held up.
+	 *
+	 * @param pVertex The vertex to add to the graph
+	 */
+	@Override
+	public void addVertex(Vertex pVertex) {
+		//Validate that the vertex is non-null
+		if (pVertex == null || pVertex.getLabel() == null) {
+			System.out.println("Cannot add a null vertex.");
+			return;
+		}
+
+		ReentrantLock lStripe = getStripe(pVertex.getLabel());
+		lStripe.lock();
+		try {
+			//If the vertex already exists, do not add it
+			if (getVertexMap().containsKey(pVertex.getLabel())) {
+				System.out.println("This vertex already exists.");
+				return;
+			}
+			putVertex(pVertex);
+		} finally {
+			lStripe.unlock();
+		}
+	}
+
+	/**
+	 * Finds the vertex of this graph with the same label as the given vertex, adding the given vertex if there is
+	 * none.  Unlike addVertex, finding a vertex that is already in the graph is not an error.
+	 *
+	 * @param pVertex The from or to vertex of an edge being added
+	 * @return The vertex in this graph with the label
+	 */
+	private Vertex findOrAddVertex(Vertex pVertex) {
+		Vertex lVertex = getVertexMap().get(pVertex.getLabel());
+		if (lVertex != null) {
+			return lVertex;
+		}
+
+		ReentrantLock lStripe = getStripe(pVertex.getLabel());
+		lStripe.lock();
+		try {
+			lVertex = getVertexMap().get(pVertex.getLabel());
+			if (lVertex == null) {
+				putVertex(pVertex);
+				lVertex = pVertex;
+			}
+			return lVertex;
+		} finally {
+			lStripe.unlock();
+		}
+	}
+
+	/**
+	 * Gives a vertex that is not in the graph its id, and adds it.  The stripe of its label must be held.  The vertex
+	 * is put in the map last, so a thread that finds it there finds it ready to have edges added.
+	 *
+	 * @param pVertex The vertex to add
+	 */
+	private void putVertex(Vertex pVertex) {
+		pVertex.useConcurrentEdgeLists();
+		Integer lFreeId = getFreeVertexIds().poll();
+		int lVertexId = lFreeId == null ? getVertexChunks().nextId() : lFreeId;
+		pVertex.setId(lVertexId);
+		getVertexChunks().set(lVertexId, pVertex);
+		getVertexMap().put(pVertex.getLabel(), pVertex);
+		incrementVersion();
+	}
+
+	/**
+	 *
+	 * @return The vertex with each id, which Digraph keeps for this graph
+	 */
+	private VertexChunks getVertexChunks() {
+		return (VertexChunks) getVerticesById();
+	}
+
+	/**
+	 * Removes a vertex from the graph, and removes all connecting edges.  If the vertex is null, or is not contained
+	 * in the graph, an error message is printed out and the method returns immediately.  This method holds every
+	 * stripe, so no edge can be added to the vertex while its edges are removed.
+	 *
+	 * @param pVertex The vertex to remove from the graph
+	 */
+	@Override
+	public void removeVertex(Vertex pVertex) {
+		stripesLock.lock();
+		try {
+			//Validate that the vertex is non-null
+			if (pVertex == null) {
+				System.out.println("Cannot remove a null vertex.");
+				return;
+			}
+
+			//If the vertex doesn't exist in the graph, nothing to do, return
+			Vertex lVertex = getVertexMap().remove(pVertex.getLabel());
+			if (lVertex == null) {
+				System.out.println("This vertex does not exist in the graph.");
+				return;
+			}
+
+			//Remove all edges associated with this vertex
+			for (Edge lEdge : lVertex.getAllEdges()) {
+				if (getEdgeMap().get(lEdge) == lEdge) {
+					removeEdge(lEdge);
+				}
+			}
+
+			//Free up the id of the vertex so it can be given to the next vertex that is added
+			int lVertexId = lVertex.getId();
+			getVertexChunks().set(lVertexId, null);
+			getFreeVertexIds().push(lVertexId);
+			lVertex.setId(-1);
+			incrementVersion();
+		} finally {
+			stripesLock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		stripesLock.lock();
+		try {
+			StringBuilder lStrBuilder = new StringBuilder();
+
+			lStrBuilder.append("\nEdges:");
+
+			if (!getEdgeMap().isEmpty()) {
+				for (Edge lEdge : getEdgeMap().values()) {
+					lStrBuilder.append("\n" + lEdge.toString());
+				}
+			} else {
+				lStrBuilder.append("\nNone.");
+			}
+
+			lStrBuilder.append("\n\nVertices:\n");
+
+			if (!getVertexMap().isEmpty()) {
+				lStrBuilder.append(getVertexKeys());
+			} else {
+				lStrBuilder.append("None.");
+			}
+			lStrBuilder.append("\n");
+
+			return lStrBuilder.toString();
+		} finally {
+			stripesLock.unlock();
+		}
+	}
+
+	@Override
+	public Set<String> getVertexKeys() {
+		return new HashSet<String>(getVertexMap().keySet());
+	}
+
+	@Override
+	public List<Vertex> getVertices() {
+		return new ArrayList<Vertex>(getVertexMap().values());
+	}
+
+	@Override
+	public List<Edge> getEdges() {
+		return new ArrayList<Edge>(getEdgeMap().values());
+	}
+
+	@Override
+	public List<Edge> getAllEdges(Vertex pVertex) {
+		//Validate that the vertex is non-null
+		if (pVertex == null) {
+			System.out.println("Vertex is null.");
+			return null;
+		}
+
+		Vertex lVertex = getVertexMap().get(pVertex.getLabel());
+		if (lVertex == null) {
+			System.out.println("The graph does not contain the given vertex.");
+			return null;
+		}
+
+		return lVertex.getAllEdges();
+	}
+
+	@Override
+	public List<Vertex> getPreviousVertices(Vertex pVertex) {
+		//Validate that the vertex is non-null
+		if (pVertex == null) {
+			System.out.println("Cannot find previous vertices for null vertex.");
+			return null;
+		}
+
+		//Validate that the graph contains this vertex
+		Vertex lVertex = getVertexMap().get(pVertex.getLabel());
+		if (lVertex == null) {
+			System.out.println("The vertex does not exist in the graph.");
+			return null;
+		}
+
+		//If the vertex has no incoming edges, return null
+		List<Edge> lIncomingEdges = lVertex.getIncomingEdges();
+		if (lIncomingEdges.isEmpty()) {
+			System.out.println("This vertex does not have any previous vertices.");
+			return null;
+		}
+
+		List<Vertex> lAdjacentVertices = new ArrayList<Vertex>();
+		for (Edge lEdge : lIncomingEdges) {
+			lAdjacentVertices.add(lEdge.getFromVertex());
+		}
+		return lAdjacentVertices;
+	}
+
+	@Override
+	public List<Vertex> getNextVertices(Vertex pVertex) {
+		//Validate that the vertex is non-null
+		if (pVertex == null) {
+			System.out.println("Cannot find next vertices for null vertex.");
+			return null;
+		}
+
+		//Validate that the graph contains this vertex
+		Vertex lVertex = getVertexMap().get(pVertex.getLabel());
+		if (lVertex == null) {
+			System.out.println("The vertex does not exist in the graph.");
+			return null;
+		}
+
+		//If the vertex has no outgoing edges, return null
+		List<Edge> lOutgoingEdges = lVertex.getOutgoingEdges();
+		if (lOutgoingEdges.isEmpty()) {
+			return null;
+		}
+
+		List<Vertex> lAdjacentVertices = new ArrayList<Vertex>();
+		for (Edge lEdge : lOutgoingEdges) {
+			lAdjacentVertices.add(lEdge.getToVertex());
+		}
+		return lAdjacentVertices;
+	}
+
+	@Override
+	public Boolean isConnected() {
+		stripesLock.lock();
+		try {
+			//Find the first vertex in the graph
+			int lStartId = 0;
+			while (lStartId < getVertexIdBound() && getVertex(lStartId) == null) {
+				lStartId++;
+			}
+
+			if (lStartId == getVertexIdBound()) {
+				System.out.println("The graph does not have any vertices.");
+				return false;
+			}
+
+			//Compare the number of vertices reached from the first vertex with the number of vertices in the graph
+			return GraphTraversal.depthFirstSearch(this, lStartId, pVertexId -> true) == getVertexMap().size();
+		} finally {
+			stripesLock.unlock();
+		}
+	}
+
+	@Override
+	public List<Vertex> depthFirstSeach(Vertex pVertex) {
+		stripesLock.lock();
+		try {
+			final List<Vertex> lVistedList = new ArrayList<Vertex>();
+			depthFirstSearch(pVertex, pVertexId -> lVistedList.add(getVertex(pVertexId)));
+			return lVistedList;
+		} finally {
+			stripesLock.unlock();
+		}
+	}
+
+	@Override
+	public int depthFirstSearch(Vertex pVertex, VertexVisitor pVisitor) {
+		stripesLock.lock();
+		try {
+			return GraphTraversal.depthFirstSearch(this, pVertex == null ? -1 : getVertexId(pVertex.getLabel()),
+				pVisitor);
+		} finally {
+			stripesLock.unlock();
+		}
+	}
+
+	@Override
+	public int breadthFirstSearch(Vertex pVertex, VertexVisitor pVisitor) {
+		stripesLock.lock();
+		try {
+			return GraphTraversal.breadthFirstSearch(this, pVertex == null ? -1 : getVertexId(pVertex.getLabel()),
+				pVisitor);
+		} finally {
+			stripesLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isReachable(Vertex pFromVertex, Vertex pToVertex) {
+		stripesLock.lock();
+		try {
+			if (pFromVertex == null || pToVertex == null || !getVertexMap().containsKey(pToVertex.getLabel())) {
+				return false;
+			}
+			return GraphTraversal.isReachable(this, getVertexId(pFromVertex.getLabel()),
+				getVertexId(pToVertex.getLabel()));
+		} finally {
+			stripesLock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @param pLabel The label of a vertex
+	 * @return The stripe that guards adding and removing the vertex
+	 */
+	private ReentrantLock getStripe(String pLabel) {
+		int lHash = pLabel.hashCode();
+		return stripes[(lHash ^ (lHash >>> 16)) & (STRIPE_COUNT - 1)];
+	}
+
+	/**
+	 *
+	 * @param pFromLabel The label of the from vertex of an edge
+	 * @param pToLabel The label of the to vertex of an edge
+	 * @return The stripe that guards the edges from one vertex to the other
+	 */
+	private ReentrantLock getStripe(String pFromLabel, String pToLabel) {
+		int lHash = 31 * pFromLabel.hashCode() + pToLabel.hashCode();
+		return stripes[(lHash ^ (lHash >>> 16)) & (STRIPE_COUNT - 1)];
+	}
+
+	/**
+	 * The graph is saved as a SavedGraph, which writes out the vertices while nothing can change, and makes a new
+	 * ConcurrentDigraph of them when it is read back in.
+	 */
+	private Object writeReplace() {
+		return new SavedGraph(this);
+	}
+
+	/**
+	 * Fills an empty graph with vertices read back in, which already have their ids and their edges.  The ids that
+	 * no vertex has are free to be handed out again, lowest first.
+	 *
+	 * @param pVertices The vertices of the graph, with their ids set and their edges in their edge lists
+	 */
+	@Override
+	void restoreVertices(List<Vertex> pVertices) {
+		int lIdBound = 0;
+		for (Vertex lVertex : pVertices) {
+			lVertex.useConcurrentEdgeLists();
+			getVertexMap().put(lVertex.getLabel(), lVertex);
+			getVertexChunks().set(lVertex.getId(), lVertex);
+			lIdBound = Math.max(lIdBound, lVertex.getId() + 1);
+		}
+		getVertexChunks().setSize(lIdBound);
+		for (int i = lIdBound - 1; i >= 0; i--) {
+			if (getVertex(i) == null) {
+				getFreeVertexIds().push(i);
+			}
+		}
+
+		for (Vertex lVertex : pVertices) {
+			for (Edge lEdge : lVertex.getOutgoingEdges()) {
+				lEdge.setGraph(this);
+				getEdgeMap().put(lEdge, lEdge);
+				getEdgePairCounts().merge(getEdgePairKey(lEdge.getFromVertex(), lEdge.getToVertex()), 1,
+					Integer::sum);
+			}
+		}
+		incrementVersion();
+	}
+
+	/**
+	 * Holds every stripe, always locking them in the same order, so nothing can change while it is held
+	 */
+	private class StripesLock implements Lock {
+
+		@Override
+		public void lock() {
+			for (ReentrantLock lStripe : stripes) {
+				lStripe.lock();
+			}
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException {
+			for (int i = 0; i < stripes.length; i++) {
+				try {
+					stripes[i].lockInterruptibly();
+				} catch (InterruptedException pException) {
+					unlockFirst(i);
+					throw pException;
+				}
+			}
+		}
+
+		@Override
+		public boolean tryLock() {
+			for (int i = 0; i < stripes.length; i++) {
+				if (!stripes[i].tryLock()) {
+					unlockFirst(i);
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public boolean tryLock(long pTime, TimeUnit pUnit) throws InterruptedException {
+			long lDeadline = System.nanoTime() + pUnit.toNanos(pTime);
+			for (int i = 0; i < stripes.length; i++) {
+				boolean lLocked;
+				try {
+					lLocked = stripes[i].tryLock(lDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				} catch (InterruptedException pException) {
+					unlockFirst(i);
+					throw pException;
+				}
+				if (!lLocked) {
+					unlockFirst(i);
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void unlock() {
+			unlockFirst(stripes.length);
+		}
+
+		/**
+		 * Unlocks the first stripes, in the opposite order to how they were locked
+		 *
+		 * @param pCount The number of stripes to unlock
+		 */
+		private void unlockFirst(int pCount) {
+			for (int i = pCount - 1; i >= 0; i--) {
+				stripes[i].unlock();
+			}
+		}
+
+		@Override
+		public Condition newCondition() {
+			throw new UnsupportedOperationException("The read lock of a ConcurrentDigraph has no conditions.");
+		}
+	}
+
+	/**
+	 * The vertex with each id, kept in chunks that are created as they are needed and never move, so a thread giving
+	 * out an id never has to copy the vertices of another.  Only the array of chunks is grown, under the lock of the
+	 * list.  Any id below the size may be asked for, and is null if it is not in use.
+	 */
+	private static class VertexChunks extends AbstractList<Vertex> {
+
+		private volatile AtomicReferenceArray<AtomicReferenceArray<Vertex>> chunks =
+			new AtomicReferenceArray<AtomicReferenceArray<Vertex>>(16);
+		private final AtomicInteger size = new AtomicInteger();
+
+		@Override
+		public Vertex get(int pVertexId) {
+			AtomicReferenceArray<AtomicReferenceArray<Vertex>> lChunks = chunks;
+			if (pVertexId < 0 || (pVertexId >>> CHUNK_BITS) >= lChunks.length()) {
+				return null;
+			}
+			AtomicReferenceArray<Vertex> lChunk = lChunks.get(pVertexId >>> CHUNK_BITS);
+			return lChunk == null ? null : lChunk.get(pVertexId & CHUNK_MASK);
+		}
+
+		/**
+		 * Puts a vertex in the slot for its id, creating the chunk of the slot if it does not exist yet.
+		 *
+		 * @param pVertexId The id
+		 * @param pVertex The vertex with the id, or null if the id is being freed
+		 * @return The vertex that had the id before
+		 */
+		@Override
+		public Vertex set(int pVertexId, Vertex pVertex) {
+			int lChunkIndex = pVertexId >>> CHUNK_BITS;
+			AtomicReferenceArray<AtomicReferenceArray<Vertex>> lChunks = chunks;
+			if (lChunkIndex >= lChunks.length() || lChunks.get(lChunkIndex) == null) {
+				synchronized (this) {
+					lChunks = chunks;
+					if (lChunkIndex >= lChunks.length()) {
+						//Copy the chunks into a bigger array.  The chunks themselves are shared, so a vertex put in
+						//one by another thread is not lost.
+						AtomicReferenceArray<AtomicReferenceArray<Vertex>> lNewChunks =
+							new AtomicReferenceArray<AtomicReferenceArray<Vertex>>(
+								Math.max(lChunks.length() * 2, lChunkIndex + 1));
+						for (int i = 0; i < lChunks.length(); i++) {
+							lNewChunks.set(i, lChunks.get(i));
+						}
+						lChunks = lNewChunks;
+					}
+					if (lChunks.get(lChunkIndex) == null) {
+						lChunks.set(lChunkIndex, new AtomicReferenceArray<Vertex>(1 << CHUNK_BITS));
+					}
+					chunks = lChunks;
+				}
+			}
+			return lChunks.get(lChunkIndex).getAndSet(pVertexId & CHUNK_MASK, pVertex);
+		}
+
+		/**
+		 *
+		 * @return One more than the highest id that has been handed out
+		 */
+		@Override
+		public int size() {
+			return size.get();
+		}
+
+		/**
+		 *
+		 * @return An id that has never been handed out
+		 */
+		int nextId() {
+			return size.getAndIncrement();
+		}
+
+		/**
+		 *
+		 * @param pSize One more than the highest id of the vertices put in a graph that is being read back in
+		 */
+		void setSize(int pSize) {
+			size.set(pSize);
+		}
+	}
+
+	/**
+	 * What a ConcurrentDigraph is saved as.  The vertices, which bring their edges with them, are written out while
+	 * every stripe of the graph is held, and a new graph is made of them when they are read back in.
+	 */
+	private static class SavedGraph implements Serializable {
+
+		/**
+		 * Generated id
+		 */
+		private static final long serialVersionUID = -6170435532146781925L;
+
+		private transient ConcurrentDigraph graph;
+		private transient List<Vertex> vertices;
+
+		SavedGraph(ConcurrentDigraph pGraph) {
+			graph = pGraph;
+		}
+
+		private void writeObject(ObjectOutputStream pOutputStream) throws IOException {
+			graph.stripesLock.lock();
+			try {
+				pOutputStream.defaultWriteObject();
+				pOutputStream.writeObject(graph.getVertices());
+			} finally {
+				graph.stripesLock.unlock();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void readObject(ObjectInputStream pInputStream) throws IOException, ClassNotFoundException {
+			pInputStream.defaultReadObject();
+			vertices = (List<Vertex>) pInputStream.readObject();
+		}
+
+		/**
+		 * Each vertex keeps its id, and the edge index is rebuilt from the edge lists of the vertices
+		 */
+		private Object readResolve() {
+			ConcurrentDigraph lGraph = new ConcurrentDigraph();
+			lGraph.restoreVertices(vertices);
+			return lGraph;
+		}
+	}
+
+	/**
+	 * An edge cursor over a snapshot of the outgoing or incoming edge list of a vertex in this graph
+	 */
+	private class SnapshotEdgeCursor implements EdgeCursor {
+
+		private final boolean outgoing;
+		private ConcurrentEdgeList.Snapshot snapshot;
+		private Edge edge;
+		private int position;
+
+		SnapshotEdgeCursor(boolean pOutgoing) {
+			outgoing = pOutgoing;
+		}
+
+		@Override
+		public void moveTo(int pVertexId) {
+			//A vertex removed since its id was found has no edges
+			Vertex lVertex = getVertex(pVertexId);
+			if (lVertex == null) {
+				snapshot = ConcurrentEdgeList.EMPTY;
+			} else {
+				List<Edge> lEdgeList = outgoing ? lVertex.getOutgoingEdges() : lVertex.getIncomingEdges();
+				snapshot = ((ConcurrentEdgeList) lEdgeList).getSnapshot();
+			}
+			position = -1;
+		}
+
+		@Override
+		public boolean next() {
+			position++;
+			if (position >= snapshot.size) {
+				return false;
+			}
+			edge = snapshot.edges[position];
+			return true;
+		}
+
+		@Override
+		public int getAdjacentVertexId() {
+			return outgoing ? edge.getToVertex().getId() : edge.getFromVertex().getId();
+		}
+
+		@Override
+		public int getWeight() {
+			return edge.getWeight();
+		}
+	}
+}
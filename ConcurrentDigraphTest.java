@@ -0,0 +1,150 @@
+package graphAssignment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentDigraphTest {
+
+	@Test
+	public void testSameAsDigraph() throws Exception {
+		Digraph lDigraph = new Digraph();
+		ConcurrentDigraph lConcurrentDigraph = new ConcurrentDigraph();
+		Random lRandom = new Random(3);
+		for (int i = 0; i < 300; i++) {
+			String lFromLabel = "V" + lRandom.nextInt(60);
+			String lToLabel = "V" + lRandom.nextInt(60);
+			int lWeight = 1 + lRandom.nextInt(5);
+			lDigraph.addEdge(new Vertex(lFromLabel), new Vertex(lToLabel), lWeight);
+			lConcurrentDigraph.addEdge(new Vertex(lFromLabel), new Vertex(lToLabel), lWeight);
+		}
+		Assert.assertEquals(lDigraph, lConcurrentDigraph);
+		Assert.assertEquals(lConcurrentDigraph, lDigraph);
+
+		//The algorithms that take a Digraph work on either
+		Map<Vertex, Integer> lExpected = new DijkstrasAlgorithm().findMinimumDistance(lDigraph, new Vertex("V0"));
+		Assert.assertEquals(lExpected, new DijkstrasAlgorithm().findMinimumDistance(lConcurrentDigraph,
+			new Vertex("V0")));
+		Assert.assertEquals(new TarjanAlgorithm().findStronglyConnectedComponents(lDigraph).size(),
+			new TarjanAlgorithm().findStronglyConnectedComponents(lConcurrentDigraph).size());
+
+		//Removing a vertex removes its edges, and its id is given to the next vertex
+		Vertex lVertex = lConcurrentDigraph.getVertex("V5");
+		int lVertexId = lVertex.getId();
+		lDigraph.removeVertex(new Vertex("V5"));
+		lConcurrentDigraph.removeVertex(lVertex);
+		Assert.assertEquals(lDigraph, lConcurrentDigraph);
+		Assert.assertNull(lConcurrentDigraph.getVertex(lVertexId));
+		lConcurrentDigraph.addVertex(new Vertex("W"));
+		Assert.assertEquals(lVertexId, lConcurrentDigraph.getVertexId("W"));
+
+		//Changing a weight moves the edge
+		Edge lEdge = lConcurrentDigraph.getEdges().get(0);
+		long lVersion = lConcurrentDigraph.getVersion();
+		lEdge.setWeight(100);
+		Assert.assertTrue(lConcurrentDigraph.containsEdge(lEdge));
+		Assert.assertTrue(lConcurrentDigraph.getVersion() > lVersion);
+
+		//It is read back in as a ConcurrentDigraph
+		Assert.assertTrue(Digraph.saveGraphToFile(lConcurrentDigraph, "ConcurrentGraphFile"));
+		Digraph lReadGraph = Digraph.readGraphFromFile("ConcurrentGraphFile");
+		Assert.assertTrue(lReadGraph instanceof ConcurrentDigraph);
+		Assert.assertEquals(lConcurrentDigraph, lReadGraph);
+		Assert.assertEquals(lConcurrentDigraph.freeze().getEdgeCount(), lReadGraph.freeze().getEdgeCount());
+	}
+
+	@Test
+	public void testConcurrentAdds() throws Exception {
+		ConcurrentDigraph lGraph = new ConcurrentDigraph();
+
+		//Every thread adds the same edges in a different order, so most adds are duplicates
+		AtomicReference<Throwable> lFailure = new AtomicReference<Throwable>();
+		List<Thread> lThreads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Random lRandom = new Random(t);
+			lThreads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < 4000; i++) {
+						int lFrom = lRandom.nextInt(200);
+						lGraph.addEdge(new Vertex("V" + lFrom), new Vertex("V" + ((lFrom * 7 + i % 5) % 200)), 1);
+
+						//A search by vertex id holds the read lock, so no vertex is added while it runs
+						lGraph.getReadLock().lock();
+						try {
+							new DijkstrasAlgorithm().getShortestDistance((IndexedGraph) lGraph, 0, lFrom);
+						} finally {
+							lGraph.getReadLock().unlock();
+						}
+					}
+				} catch (Throwable e) {
+					lFailure.compareAndSet(null, e);
+				}
+			}));
+		}
+		for (Thread lThread : lThreads) {
+			lThread.start();
+		}
+		for (Thread lThread : lThreads) {
+			lThread.join();
+		}
+		Assert.assertNull(lFailure.get());
+
+		//Each vertex and edge was added exactly once, and the edge lists agree with the edges
+		Assert.assertEquals(lGraph.getVertexCount(), lGraph.getVertexIdBound());
+		int lListedEdges = 0;
+		for (Vertex lVertex : lGraph.getVertices()) {
+			Assert.assertSame(lVertex, lGraph.getVertex(lVertex.getId()));
+			lListedEdges += lVertex.getOutgoingEdges().size();
+			for (Edge lEdge : lVertex.getOutgoingEdges()) {
+				Assert.assertTrue(lGraph.containsEdge(lEdge));
+			}
+		}
+		Assert.assertEquals(lGraph.getEdgeCount(), lListedEdges);
+		Assert.assertEquals(lGraph.getEdgeCount(), lGraph.freeze().getEdgeCount());
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		ConcurrentDigraph lGraph = new ConcurrentDigraph();
+		lGraph.addEdge(new Vertex("A"), new Vertex("B"), 2);
+		lGraph.addEdge(new Vertex("B"), new Vertex("C"), 3);
+		lGraph.addEdge(new Vertex("C"), new Vertex("A"), 4);
+		lGraph.removeVertex(lGraph.getVertex("B"));
+
+		ByteArrayOutputStream lBytes = new ByteArrayOutputStream();
+		ObjectOutputStream lObjectOutputStream = new ObjectOutputStream(lBytes);
+		lObjectOutputStream.writeObject(lGraph);
+		lObjectOutputStream.close();
+		Object lRead = new ObjectInputStream(new ByteArrayInputStream(lBytes.toByteArray())).readObject();
+
+		//It is read back in as a ConcurrentDigraph with the same ids, and the id of B is given to the next vertex
+		Assert.assertTrue(lRead instanceof ConcurrentDigraph);
+		ConcurrentDigraph lReadGraph = (ConcurrentDigraph) lRead;
+		Assert.assertEquals(lGraph, lReadGraph);
+		Assert.assertEquals(lGraph.getVertexId("C"), lReadGraph.getVertexId("C"));
+		lReadGraph.addEdge(new Vertex("C"), new Vertex("D"), 5);
+		Assert.assertEquals(1, lReadGraph.getVertexId("D"));
+		Assert.assertEquals(2, lReadGraph.freeze().getEdgeCount());
+	}
+
+	@Test
+	public void testListenersRejected() throws Exception {
+		ConcurrentDigraph lGraph = new ConcurrentDigraph();
+		lGraph.addEdge(new Vertex("A"), new Vertex("B"), 2);
+
+		//The classes that listen to a graph turn a ConcurrentDigraph down instead of quietly going out of date
+		DynamicShortestPathTree lTree = new DynamicShortestPathTree(lGraph, lGraph.getVertex("A"));
+		Assert.assertNull(lTree.getShortestPath(lGraph.getVertex("B")));
+		Assert.assertEquals(0, new DynamicStronglyConnectedComponents(lGraph).getComponentCount());
+		Assert.assertNull(GraphLog.create(lGraph, "concurrent"));
+	}
+}
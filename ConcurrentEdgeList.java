@@ -0,0 +1,140 @@
+package graphAssignment;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.RandomAccess;
+
+/**
+ * The incoming or outgoing edge list of a vertex in a ConcurrentDigraph, which many threads can add to while others
+ * read it.  The edges are kept in an array that is grown by doubling, so adding an edge takes constant time on
+ * average, and only removing an edge copies the array.
+ *
+ * <p>
+ * Each change publishes a new snapshot of the array and its size, and the part of an array that is inside a
+ * published snapshot is never written again.  A reader that takes a snapshot, such as an iterator or an EdgeCursor,
+ * sees the list as it was at that moment however it changes afterward, and never throws
+ * ConcurrentModificationException.  Changes are made one at a time, on the monitor of the list, so threads adding
+ * edges only wait for each other when they add to the same vertex.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+class ConcurrentEdgeList extends AbstractList<Edge> implements RandomAccess, Serializable {
+
+	/**
+	 * Generated id
+	 */
+	private static final long serialVersionUID = 4217508846260539215L;
+
+	//The snapshot of every list that has never had an edge
+	static final Snapshot EMPTY = new Snapshot(new Edge[0], 0);
+
+	private transient volatile Snapshot snapshot;
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pEdges The edges the list starts with
+	 */
+	ConcurrentEdgeList(Collection<Edge> pEdges) {
+		Edge[] lEdges = pEdges.toArray(new Edge[0]);
+		snapshot = lEdges.length == 0 ? EMPTY : new Snapshot(lEdges, lEdges.length);
+	}
+
+	/**
+	 *
+	 * @return The edges in the list right now, which do not change when the list does
+	 */
+	Snapshot getSnapshot() {
+		return snapshot;
+	}
+
+	@Override
+	public Edge get(int pIndex) {
+		Snapshot lSnapshot = snapshot;
+		if (pIndex < 0 || pIndex >= lSnapshot.size) {
+			throw new IndexOutOfBoundsException("Index: " + pIndex + ", Size: " + lSnapshot.size);
+		}
+		return lSnapshot.edges[pIndex];
+	}
+
+	@Override
+	public int size() {
+		return snapshot.size;
+	}
+
+	/**
+	 * Iterates over the edges in the list when the iterator is created.
+	 */
+	@Override
+	public Iterator<Edge> iterator() {
+		Snapshot lSnapshot = snapshot;
+		return Arrays.asList(lSnapshot.edges).subList(0, lSnapshot.size).iterator();
+	}
+
+	/**
+	 * Adds an edge to the end of the list, in place unless the array is full.
+	 *
+	 * @param pEdge The edge to add
+	 * @return True, since the list always changes
+	 */
+	@Override
+	public synchronized boolean add(Edge pEdge) {
+		Snapshot lSnapshot = snapshot;
+		Edge[] lEdges = lSnapshot.edges;
+		if (lSnapshot.size == lEdges.length) {
+			lEdges = Arrays.copyOf(lEdges, Math.max(4, lEdges.length * 2));
+		}
+		lEdges[lSnapshot.size] = pEdge;
+		snapshot = new Snapshot(lEdges, lSnapshot.size + 1);
+		return true;
+	}
+
+	/**
+	 * Removes an edge from the list, into a new array so the snapshots that have it are not changed.  The edge is
+	 * looked for by identity rather than equality, since an equal edge may have been added in its place.
+	 *
+	 * @param pEdge The edge to remove
+	 * @return True if the edge was found and removed, False otherwise
+	 */
+	synchronized boolean removeEdge(Edge pEdge) {
+		Snapshot lSnapshot = snapshot;
+		for (int i = 0; i < lSnapshot.size; i++) {
+			if (lSnapshot.edges[i] == pEdge) {
+				Edge[] lEdges = new Edge[lSnapshot.edges.length];
+				System.arraycopy(lSnapshot.edges, 0, lEdges, 0, i);
+				System.arraycopy(lSnapshot.edges, i + 1, lEdges, i, lSnapshot.size - i - 1);
+				snapshot = new Snapshot(lEdges, lSnapshot.size - 1);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The list is saved as an ArrayList, and ConcurrentDigraph puts it back into a ConcurrentEdgeList when the graph
+	 * is read back in.
+	 */
+	private Object writeReplace() {
+		return new ArrayList<Edge>(this);
+	}
+
+	/**
+	 * The edges of the list at one moment: the first size edges of the array, which are never written again
+	 */
+	static final class Snapshot {
+
+		final Edge[] edges;
+		final int size;
+
+		Snapshot(Edge[] pEdges, int pSize) {
+			edges = pEdges;
+			size = pSize;
+		}
+	}
+}
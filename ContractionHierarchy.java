@@ -0,0 +1,535 @@
+package graphAssignment;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A contraction hierarchy of a graph, which answers shortest path queries many times faster than Dijkstra's Algorithm
+ * once it has been built.  Building it contracts the vertices in order of importance, adding shortcut edges that keep
+ * every shortest distance the same (see ContractionHierarchyBuilder).  A query is then a bidirectional search that
+ * only ever follows edges toward more important vertices: forward from the source, and backward from the destination.
+ * The two searches meet at the most important vertex of the shortest path, and each shortcut on the path is unpacked
+ * back into the edges of the graph.
+ *
+ * <p>
+ * The hierarchy is built from a snapshot of the graph, such as the CsrGraph returned by Digraph.freeze(), and keeps
+ * the vertex ids of the graph.  It does not change when the graph changes, so it should be built again after that.
+ * It can be saved to a file and read back, so it does not have to be built again after a restart.  Queries can be run
+ * from several threads at once.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class ContractionHierarchy implements Serializable {
+
+	private static final long serialVersionUID = -5817850610473890144L;
+
+	private final String[] labels;
+	private final int[] ranks;
+
+	//The upward edges leaving each vertex, in compressed sparse row form
+	private final int[] upOffsets;
+	private final int[] upTargets;
+	private final int[] upWeights;
+	private final int[] upMiddles;
+
+	//The edges entering each vertex from a vertex of higher rank, in compressed sparse row form
+	private final int[] downOffsets;
+	private final int[] downSources;
+	private final int[] downWeights;
+	private final int[] downMiddles;
+
+	//The search state of each thread that runs queries
+	private transient ThreadLocal<QueryState> queryStates;
+
+	/**
+	 * Class constructor, which builds the hierarchy for a graph using all of the available cores.  If the graph is
+	 * null, an error is printed out and the hierarchy is empty.
+	 *
+	 * @param pGraph The graph to build the hierarchy for
+	 */
+	public ContractionHierarchy(IndexedGraph pGraph) {
+		if (pGraph == null) {
+			System.out.println("The graph must be provided.");
+		}
+
+		int lVertexIdBound = pGraph == null ? 0 : pGraph.getVertexIdBound();
+		labels = new String[lVertexIdBound];
+		for (int v = 0; v < lVertexIdBound; v++) {
+			labels[v] = pGraph.getVertexLabel(v);
+		}
+
+		//Without a graph, build the hierarchy of an empty snapshot
+		ContractionHierarchyBuilder lBuilder = new ContractionHierarchyBuilder(pGraph != null ? pGraph 
+			: new CsrGraph(new String[0], new int[1], new int[0], new int[0]));
+		lBuilder.contract();
+		ranks = lBuilder.getRanks();
+
+		//Pack the upward and downward edges of each vertex into flat arrays
+		upOffsets = new int[lVertexIdBound + 1];
+		downOffsets = new int[lVertexIdBound + 1];
+		for (int v = 0; v < lVertexIdBound; v++) {
+			upOffsets[v + 1] = upOffsets[v] + lBuilder.getUpwardEdges(v).size;
+			downOffsets[v + 1] = downOffsets[v] + lBuilder.getDownwardEdges(v).size;
+		}
+
+		upTargets = new int[upOffsets[lVertexIdBound]];
+		upWeights = new int[upTargets.length];
+		upMiddles = new int[upTargets.length];
+		downSources = new int[downOffsets[lVertexIdBound]];
+		downWeights = new int[downSources.length];
+		downMiddles = new int[downSources.length];
+		for (int v = 0; v < lVertexIdBound; v++) {
+			ContractionHierarchyBuilder.EdgeList lUp = lBuilder.getUpwardEdges(v);
+			System.arraycopy(lUp.vertices, 0, upTargets, upOffsets[v], lUp.size);
+			System.arraycopy(lUp.weights, 0, upWeights, upOffsets[v], lUp.size);
+			System.arraycopy(lUp.middles, 0, upMiddles, upOffsets[v], lUp.size);
+
+			ContractionHierarchyBuilder.EdgeList lDown = lBuilder.getDownwardEdges(v);
+			System.arraycopy(lDown.vertices, 0, downSources, downOffsets[v], lDown.size);
+			System.arraycopy(lDown.weights, 0, downWeights, downOffsets[v], lDown.size);
+			System.arraycopy(lDown.middles, 0, downMiddles, downOffsets[v], lDown.size);
+		}
+
+		queryStates = newQueryStates();
+	}
+
+	/**
+	 *
+	 * @return One more than the highest vertex id of the graph the hierarchy was built for
+	 */
+	public int getVertexIdBound() {
+		return labels.length;
+	}
+
+	/**
+	 *
+	 * @return The number of shortcut edges added while building the hierarchy
+	 */
+	public int getShortcutCount() {
+		int lShortcutCount = 0;
+		for (int lMiddle : upMiddles) {
+			if (lMiddle != -1) {
+				lShortcutCount++;
+			}
+		}
+		for (int lMiddle : downMiddles) {
+			if (lMiddle != -1) {
+				lShortcutCount++;
+			}
+		}
+		return lShortcutCount;
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The position of the vertex in the contraction order, where higher is more important, or -1 if the id
+	 * is not in use
+	 */
+	public int getRank(int pVertexId) {
+		return ranks[pVertexId];
+	}
+
+	/**
+	 * Given a directed graph, gets the shortest path between two vertices.  The graph must be the one the hierarchy
+	 * was built from (or have the same vertex ids).  If either the graph, source, or destination parameters are null,
+	 * or the source or destination is not in the hierarchy, an error is printed out and null is returned.  Null is
+	 * also returned if the destination cannot be reached from the source.
+	 *
+	 * @param pGraph The directed graph the hierarchy was built from
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return A list of vertices, such that position 0 will contain the source vertex, and the last vertex in the
+	 * list will be the destination vertex
+	 */
+	public List<Vertex> getShortestPath(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			int[] lPath = getShortestPath(getVertexId(pGraph, pSource), getVertexId(pGraph, pDestination));
+			if (lPath == null) {
+				return null;
+			}
+
+			List<Vertex> lPathOfVertices = new ArrayList<Vertex>(lPath.length);
+			for (int lVertexId : lPath) {
+				lPathOfVertices.add(pGraph.getVertex(labels[lVertexId]));
+			}
+			return lPathOfVertices;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Given a directed graph, gets the shortest distance between two vertices.  The graph must be the one the
+	 * hierarchy was built from (or have the same vertex ids).  If either the graph, source, or destination parameters
+	 * are null, or the source or destination is not in the hierarchy, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The directed graph the hierarchy was built from
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return The distance from source to destination, or Integer.MAX_VALUE if the destination cannot be reached
+	 */
+	public Integer getShortestDistance(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			return getShortestDistance(getVertexId(pGraph, pSource), getVertexId(pGraph, pDestination));
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the shortest path between two vertices.  If the source or destination is not in the hierarchy, an error is
+	 * printed out and null is returned.  Null is also returned if the destination cannot be reached from the source.
+	 *
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The vertex ids along the path, such that position 0 is the source and the last position is the
+	 * destination
+	 */
+	public int[] getShortestPath(int pSourceId, int pDestinationId) {
+		QueryState lState = search(pSourceId, pDestinationId);
+		if (lState == null || lState.meetingVertex == -1) {
+			return null;
+		}
+		int lMeetingVertex = lState.meetingVertex;
+
+		//The packed path climbs from the source to the meeting vertex, then comes back down to the destination
+		int[] lPacked = new int[16];
+		int lPackedLength = 0;
+		for (int lVertex = lMeetingVertex; lVertex != -1; lVertex = lState.forward.getParent(lVertex)) {
+			if (lPackedLength == lPacked.length) {
+				lPacked = Arrays.copyOf(lPacked, lPackedLength * 2);
+			}
+			lPacked[lPackedLength++] = lVertex;
+		}
+		reverse(lPacked, lPackedLength);
+		for (int lVertex = lState.backward.getParent(lMeetingVertex); lVertex != -1;
+			lVertex = lState.backward.getParent(lVertex)) {
+			if (lPackedLength == lPacked.length) {
+				lPacked = Arrays.copyOf(lPacked, lPackedLength * 2);
+			}
+			lPacked[lPackedLength++] = lVertex;
+		}
+
+		//Replace each shortcut with the two edges it stands for, until only edges of the graph are left
+		int[] lPath = new int[Math.max(16, lPackedLength)];
+		int lPathLength = 0;
+		lPath[lPathLength++] = lPacked[0];
+		int[] lStack = new int[16];
+		for (int i = 0; i + 1 < lPackedLength; i++) {
+			int lStackSize = 0;
+			lStack[lStackSize++] = lPacked[i];
+			lStack[lStackSize++] = lPacked[i + 1];
+
+			while (lStackSize > 0) {
+				int lTo = lStack[--lStackSize];
+				int lFrom = lStack[--lStackSize];
+				int lMiddle = getMiddle(lFrom, lTo);
+				if (lMiddle == -1) {
+					if (lPathLength == lPath.length) {
+						lPath = Arrays.copyOf(lPath, lPathLength * 2);
+					}
+					lPath[lPathLength++] = lTo;
+					continue;
+				}
+
+				//Push the second half first, so the first half is unpacked first
+				if (lStackSize + 4 > lStack.length) {
+					lStack = Arrays.copyOf(lStack, lStack.length * 2);
+				}
+				lStack[lStackSize++] = lMiddle;
+				lStack[lStackSize++] = lTo;
+				lStack[lStackSize++] = lFrom;
+				lStack[lStackSize++] = lMiddle;
+			}
+		}
+
+		return Arrays.copyOf(lPath, lPathLength);
+	}
+
+	/**
+	 * Gets the shortest distance between two vertices.  If the source or destination is not in the hierarchy, an
+	 * error is printed out and null is returned.
+	 *
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The distance from source to destination, or Integer.MAX_VALUE if the destination cannot be reached
+	 */
+	public Integer getShortestDistance(int pSourceId, int pDestinationId) {
+		QueryState lState = search(pSourceId, pDestinationId);
+		if (lState == null) {
+			return null;
+		}
+		return lState.distance;
+	}
+
+	/**
+	 * Runs the upward searches from the source and the destination until neither can find a shorter path.
+	 *
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The search state of this thread, holding the result, or null if the parameters were not valid
+	 */
+	private QueryState search(int pSourceId, int pDestinationId) {
+		//Validate the source and destination
+		if (!containsVertex(pSourceId) || !containsVertex(pDestinationId)) {
+			System.out.println("The source and destination must both be in the hierarchy.");
+			return null;
+		}
+
+		QueryState lState = queryStates.get();
+		SearchWorkspace lForward = lState.forward;
+		SearchWorkspace lBackward = lState.backward;
+		lForward.reset(labels.length);
+		lBackward.reset(labels.length);
+		lForward.setDistance(pSourceId, 0, -1);
+		lBackward.setDistance(pDestinationId, 0, -1);
+		lForward.getFringe().insert(pSourceId, 0);
+		lBackward.getFringe().insert(pDestinationId, 0);
+
+		long lBestDistance = Long.MAX_VALUE;
+		int lMeetingVertex = -1;
+
+		//Take turns between the searches; a search is finished once its closest fringe vertex is as far as the best
+		//path, since every upward path from there can only be longer
+		boolean lForwardTurn = true;
+		while (true) {
+			boolean lForwardDone = lForward.getFringe().isEmpty() || lForward.getFringe().getMinPriority() >= lBestDistance;
+			boolean lBackwardDone = lBackward.getFringe().isEmpty()
+				|| lBackward.getFringe().getMinPriority() >= lBestDistance;
+			if (lForwardDone && lBackwardDone) {
+				break;
+			}
+			if (lForwardDone) {
+				lForwardTurn = false;
+			} else if (lBackwardDone) {
+				lForwardTurn = true;
+			}
+
+			SearchWorkspace lThisSide = lForwardTurn ? lForward : lBackward;
+			SearchWorkspace lOtherSide = lForwardTurn ? lBackward : lForward;
+			int[] lOffsets = lForwardTurn ? upOffsets : downOffsets;
+			int[] lVertices = lForwardTurn ? upTargets : downSources;
+			int[] lWeights = lForwardTurn ? upWeights : downWeights;
+
+			int lVertex = lThisSide.getFringe().removeMin();
+			int lVertexDistance = lThisSide.getDistance(lVertex);
+			if (lOtherSide.isReached(lVertex)) {
+				long lPathDistance = (long) lVertexDistance + lOtherSide.getDistance(lVertex);
+				if (lPathDistance < lBestDistance) {
+					lBestDistance = lPathDistance;
+					lMeetingVertex = lVertex;
+				}
+			}
+
+			for (int i = lOffsets[lVertex]; i < lOffsets[lVertex + 1]; i++) {
+				int lNextVertex = lVertices[i];
+				int lCurrentDistance = lVertexDistance + lWeights[i];
+				if (lCurrentDistance < lThisSide.getDistance(lNextVertex)) {
+					lThisSide.setDistance(lNextVertex, lCurrentDistance, lVertex);
+					lThisSide.getFringe().insert(lNextVertex, lCurrentDistance);
+				}
+			}
+			lForwardTurn = !lForwardTurn;
+		}
+
+		lState.distance = lBestDistance == Long.MAX_VALUE ? Integer.MAX_VALUE : (int) lBestDistance;
+		lState.meetingVertex = lMeetingVertex;
+		return lState;
+	}
+
+	/**
+	 * Finds the vertex a hierarchy edge goes through.  An edge is kept with whichever of its two vertices has the
+	 * lower rank.
+	 *
+	 * @param pFromId The vertex the edge leaves
+	 * @param pToId The vertex the edge enters
+	 * @return The contracted vertex the shortcut goes through, or -1 if the edge is an edge of the graph
+	 */
+	private int getMiddle(int pFromId, int pToId) {
+		if (ranks[pFromId] < ranks[pToId]) {
+			for (int i = upOffsets[pFromId]; i < upOffsets[pFromId + 1]; i++) {
+				if (upTargets[i] == pToId) {
+					return upMiddles[i];
+				}
+			}
+		} else {
+			for (int i = downOffsets[pToId]; i < downOffsets[pToId + 1]; i++) {
+				if (downSources[i] == pFromId) {
+					return downMiddles[i];
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return True if the id belongs to a vertex in the hierarchy, False otherwise
+	 */
+	private boolean containsVertex(int pVertexId) {
+		return pVertexId >= 0 && pVertexId < labels.length && labels[pVertexId] != null;
+	}
+
+	/**
+	 * Finds the id of a vertex of a directed graph, and checks that the hierarchy has the same vertex at that id.
+	 *
+	 * @param pGraph The directed graph
+	 * @param pVertex A vertex
+	 * @return The id of the vertex, or -1 if it is not in both the graph and the hierarchy
+	 */
+	private int getVertexId(Digraph pGraph, Vertex pVertex) {
+		int lVertexId = pGraph.getVertexId(pVertex.getLabel());
+		if (!containsVertex(lVertexId) || !labels[lVertexId].equals(pVertex.getLabel())) {
+			return -1;
+		}
+		return lVertexId;
+	}
+
+	/**
+	 * Reverses the first part of an array.
+	 *
+	 * @param pValues The array
+	 * @param pLength The number of values to reverse
+	 */
+	private static void reverse(int[] pValues, int pLength) {
+		for (int i = 0, j = pLength - 1; i < j; i++, j--) {
+			int lValue = pValues[i];
+			pValues[i] = pValues[j];
+			pValues[j] = lValue;
+		}
+	}
+
+	/**
+	 *
+	 * @return The per-thread search state for queries
+	 */
+	private static ThreadLocal<QueryState> newQueryStates() {
+		return ThreadLocal.withInitial(() -> new QueryState());
+	}
+
+	/**
+	 * Sets up the per-thread search state, which is not saved with the hierarchy.
+	 *
+	 * @param pIn The stream the hierarchy is being read from
+	 */
+	private void readObject(ObjectInputStream pIn) throws IOException, ClassNotFoundException {
+		pIn.defaultReadObject();
+		queryStates = newQueryStates();
+	}
+
+	/**
+	 * This class method saves a hierarchy to a specified file, in non-human readable form.  If the hierarchy is null
+	 * or a file name is not provided, an error is printed and nothing is saved.
+	 *
+	 * @param pHierarchy The hierarchy to save to the file
+	 * @param pFileName The name of the file
+	 * @return True if the hierarchy was saved to the file successfully, False otherwise
+	 */
+	public static Boolean saveHierarchyToFile(ContractionHierarchy pHierarchy, String pFileName) throws IOException {
+		//Validate the hierarchy and the file name
+		if (pHierarchy == null) {
+			System.out.println("The hierarchy is null.");
+			return false;
+		}
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return false;
+		}
+
+		ObjectOutputStream lObjOut = null;
+
+		//Write the hierarchy to the specified file
+		try {
+			lObjOut = new ObjectOutputStream(new FileOutputStream(pFileName));
+			lObjOut.writeObject(pHierarchy);
+			lObjOut.flush();
+		} catch (FileNotFoundException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return false;
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return false;
+		} finally {
+			if (lObjOut != null) {
+				lObjOut.close();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads the specified file and returns the hierarchy.  If any errors occur, they will be printed out and null will
+	 * be returned.
+	 *
+	 * @param pFileName The file to read
+	 * @return The hierarchy that was stored in the file
+	 */
+	public static ContractionHierarchy readHierarchyFromFile(String pFileName) throws IOException {
+		//Validate the file name is not null
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return null;
+		}
+
+		ObjectInputStream lObjectInputStream = null;
+		ContractionHierarchy lHierarchy = null;
+
+		//Read the hierarchy from the file
+		try {
+			lObjectInputStream = new ObjectInputStream(new FileInputStream(pFileName));
+			Object lObj = lObjectInputStream.readObject();
+			if (!(lObj instanceof ContractionHierarchy)) {
+				System.out.println("The file does not hold a contraction hierarchy.");
+			} else {
+				lHierarchy = (ContractionHierarchy) lObj;
+			}
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+		} catch (ClassNotFoundException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+		} finally {
+			if (lObjectInputStream != null) {
+				lObjectInputStream.close();
+			}
+		}
+		return lHierarchy;
+	}
+
+	/**
+	 * The state of the searches run by one thread, and the result of its last query
+	 */
+	private static class QueryState {
+
+		private final SearchWorkspace forward = new SearchWorkspace();
+		private final SearchWorkspace backward = new SearchWorkspace();
+		private int distance;
+		private int meetingVertex;
+	}
+}
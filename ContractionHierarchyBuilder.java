@@ -0,0 +1,406 @@
+package graphAssignment;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Does the preprocessing for a ContractionHierarchy.  The vertices are contracted one after another, from least to
+ * most important: contracting a vertex takes it out of the remaining graph, and adds a shortcut edge between two of
+ * its neighbours wherever the path through it is the only shortest path between them.  The order comes from the edge
+ * difference of each vertex (the shortcuts its contraction would add, less the edges it would remove) plus the number
+ * of its neighbours that have already been contracted, which keeps the contraction spread evenly over the graph.
+ *
+ * <p>
+ * The work is done in rounds so it can run on all cores.  Each round contracts an independent set of vertices, each of
+ * which has a lower priority than all of its remaining neighbours.  The shortcuts for the vertices in the set are
+ * found in parallel, since no two of them are next to each other, and then added one vertex at a time.  The searches
+ * for other paths (witnesses) never pass through a vertex being contracted in the same round.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+class ContractionHierarchyBuilder {
+
+	//The most vertices a witness search settles before giving up and adding the shortcut anyway.  Working out a
+	//priority only needs a good guess at the number of shortcuts, so it uses a much smaller limit
+	private final static int CONTRACTION_SETTLE_LIMIT = 500;
+	private final static int PRIORITY_SETTLE_LIMIT = 50;
+
+	private final int vertexIdBound;
+	private final EdgeList[] outgoingEdges;
+	private final EdgeList[] incomingEdges;
+	private final boolean[] contracted;
+	private final int[] deletedNeighbours;
+	private final int[] priorities;
+	private final int[] ranks;
+
+	//The neighbours of the vertices contracted in the current round, marked once each and listed in changedIds, so
+	//that only they are worked out again and only their marks are cleared afterwards
+	private final boolean[] changed;
+	private final int[] changedIds;
+	private int changedCount;
+	private final ThreadLocal<WitnessState> witnessStates = ThreadLocal.withInitial(() -> new WitnessState());
+
+	/**
+	 * Class constructor, which copies the edges of the graph.  Self loops are dropped, and of several edges between the
+	 * same two vertices only the cheapest is kept, since neither can be part of a shortest path.
+	 *
+	 * @param pGraph The graph to build the hierarchy for
+	 */
+	ContractionHierarchyBuilder(IndexedGraph pGraph) {
+		vertexIdBound = pGraph.getVertexIdBound();
+		outgoingEdges = new EdgeList[vertexIdBound];
+		incomingEdges = new EdgeList[vertexIdBound];
+		contracted = new boolean[vertexIdBound];
+		deletedNeighbours = new int[vertexIdBound];
+		priorities = new int[vertexIdBound];
+		ranks = new int[vertexIdBound];
+		Arrays.fill(ranks, -1);
+		changed = new boolean[vertexIdBound];
+		changedIds = new int[vertexIdBound];
+
+		for (int v = 0; v < vertexIdBound; v++) {
+			outgoingEdges[v] = new EdgeList();
+			incomingEdges[v] = new EdgeList();
+		}
+
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		for (int v = 0; v < vertexIdBound; v++) {
+			if (!pGraph.containsVertex(v)) {
+				contracted[v] = true;
+				continue;
+			}
+			lCursor.moveTo(v);
+			while (lCursor.next()) {
+				if (lCursor.getAdjacentVertexId() != v) {
+					addEdge(v, lCursor.getAdjacentVertexId(), lCursor.getWeight(), -1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Contracts every vertex, in rounds of independent sets.
+	 */
+	void contract() {
+		int[] lRemaining = IntStream.range(0, vertexIdBound).filter(v -> !contracted[v]).toArray();
+		IntStream.of(lRemaining).parallel().forEach(v -> priorities[v] = computePriority(v));
+		int lNextRank = 0;
+
+		while (lRemaining.length > 0) {
+			//Choose the vertices that come before all of their neighbours, which always includes the lowest priority
+			int[] lSelected = IntStream.of(lRemaining).parallel().filter(v -> isLocalMinimum(v)).toArray();
+			for (int lVertex : lSelected) {
+				contracted[lVertex] = true;
+			}
+
+			//Find the shortcuts for every selected vertex at once
+			int[][] lShortcuts = new int[lSelected.length][];
+			IntStream.range(0, lSelected.length).parallel().forEach(i -> lShortcuts[i] = findShortcuts(lSelected[i],
+				CONTRACTION_SETTLE_LIMIT));
+
+			//Take each selected vertex out of the remaining graph and add its shortcuts
+			for (int i = 0; i < lSelected.length; i++) {
+				int lVertex = lSelected[i];
+				ranks[lVertex] = lNextRank++;
+				removeFromNeighbours(lVertex);
+				int[] lVertexShortcuts = lShortcuts[i];
+				for (int j = 0; j < lVertexShortcuts.length; j += 3) {
+					addEdge(lVertexShortcuts[j], lVertexShortcuts[j + 1], lVertexShortcuts[j + 2], lVertex);
+				}
+			}
+
+			//Only the neighbours of contracted vertices can have a different priority now
+			lRemaining = IntStream.of(lRemaining).filter(v -> !contracted[v]).toArray();
+			Arrays.stream(changedIds, 0, changedCount).parallel().filter(v -> !contracted[v])
+				.forEach(v -> priorities[v] = computePriority(v));
+			for (int i = 0; i < changedCount; i++) {
+				changed[changedIds[i]] = false;
+			}
+			changedCount = 0;
+		}
+	}
+
+	/**
+	 *
+	 * @return The rank of each vertex id, with the first vertex contracted being 0, and -1 for unused ids
+	 */
+	int[] getRanks() {
+		return ranks;
+	}
+
+	/**
+	 * After contraction, the edges of each vertex are the ones to and from vertices that were still in the graph when
+	 * it was contracted, which are the upward edges of the hierarchy.
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The edges from the vertex to vertices of higher rank
+	 */
+	EdgeList getUpwardEdges(int pVertexId) {
+		return outgoingEdges[pVertexId];
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The edges to the vertex from vertices of higher rank
+	 */
+	EdgeList getDownwardEdges(int pVertexId) {
+		return incomingEdges[pVertexId];
+	}
+
+	/**
+	 * Checks if a vertex comes before all of its remaining neighbours, by priority and then by id.
+	 *
+	 * @param pVertexId A remaining vertex
+	 * @return True if the vertex can be contracted in this round, False otherwise
+	 */
+	private boolean isLocalMinimum(int pVertexId) {
+		return isBeforeNeighbours(pVertexId, outgoingEdges[pVertexId])
+			&& isBeforeNeighbours(pVertexId, incomingEdges[pVertexId]);
+	}
+
+	/**
+	 *
+	 * @param pVertexId A remaining vertex
+	 * @param pEdges Some of its edges
+	 * @return True if the vertex comes before each vertex at the other end of the edges, False otherwise
+	 */
+	private boolean isBeforeNeighbours(int pVertexId, EdgeList pEdges) {
+		for (int i = 0; i < pEdges.size; i++) {
+			int lNeighbour = pEdges.vertices[i];
+			if (priorities[lNeighbour] < priorities[pVertexId]
+				|| (priorities[lNeighbour] == priorities[pVertexId] && lNeighbour < pVertexId)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Works out the priority of a vertex from what contracting it now would do.
+	 *
+	 * @param pVertexId A remaining vertex
+	 * @return The edge difference plus the number of neighbours already contracted; lower is contracted sooner
+	 */
+	private int computePriority(int pVertexId) {
+		int lShortcutCount = findShortcuts(pVertexId, PRIORITY_SETTLE_LIMIT).length / 3;
+		int lRemovedEdges = outgoingEdges[pVertexId].size + incomingEdges[pVertexId].size;
+		return lShortcutCount - lRemovedEdges + deletedNeighbours[pVertexId];
+	}
+
+	/**
+	 * Finds the shortcuts needed to contract a vertex.  For each incoming edge, a search from the vertex at the other
+	 * end looks for paths to the vertex's outgoing neighbours that do not go through it, and a shortcut is needed for
+	 * each neighbour where no such path is as short.  Nothing is changed, so this can be called from several threads.
+	 *
+	 * @param pVertexId The vertex to contract
+	 * @param pSettleLimit The most vertices each witness search may settle
+	 * @return The shortcuts, three ints each: from vertex, to vertex and weight
+	 */
+	private int[] findShortcuts(int pVertexId, int pSettleLimit) {
+		EdgeList lIncoming = incomingEdges[pVertexId];
+		EdgeList lOutgoing = outgoingEdges[pVertexId];
+		int[] lShortcuts = new int[0];
+		int lShortcutCount = 0;
+
+		//Mark the outgoing neighbours, so the witness searches can stop once they have all been settled
+		WitnessState lState = witnessStates.get();
+		lState.targets.reset(vertexIdBound);
+		int lMaxOutgoingWeight = 0;
+		for (int j = 0; j < lOutgoing.size; j++) {
+			lMaxOutgoingWeight = Math.max(lMaxOutgoingWeight, lOutgoing.weights[j]);
+			lState.targets.setDistance(lOutgoing.vertices[j], 0, -1);
+		}
+
+		for (int i = 0; i < lIncoming.size; i++) {
+			int lFrom = lIncoming.vertices[i];
+			int lIncomingWeight = lIncoming.weights[i];
+			SearchWorkspace lWorkspace = searchWitnesses(lState, lFrom, pVertexId, lIncomingWeight + lMaxOutgoingWeight,
+				lOutgoing.size, pSettleLimit);
+
+			for (int j = 0; j < lOutgoing.size; j++) {
+				int lTo = lOutgoing.vertices[j];
+				int lViaDistance = lIncomingWeight + lOutgoing.weights[j];
+				if (lTo == lFrom || lWorkspace.getDistance(lTo) <= lViaDistance) {
+					continue;
+				}
+
+				if (lShortcutCount * 3 == lShortcuts.length) {
+					lShortcuts = Arrays.copyOf(lShortcuts, Math.max(6, lShortcuts.length * 2));
+				}
+				lShortcuts[lShortcutCount * 3] = lFrom;
+				lShortcuts[lShortcutCount * 3 + 1] = lTo;
+				lShortcuts[lShortcutCount * 3 + 2] = lViaDistance;
+				lShortcutCount++;
+			}
+		}
+
+		return Arrays.copyOf(lShortcuts, lShortcutCount * 3);
+	}
+
+	/**
+	 * Runs a limited Dijkstra search in the remaining graph, leaving out the vertex being contracted.
+	 *
+	 * @param pState The witness search state of this thread, with the targets marked
+	 * @param pSourceId The vertex to start at
+	 * @param pIgnoredVertexId The vertex being contracted
+	 * @param pMaxDistance The search stops once every remaining vertex is farther than this
+	 * @param pTargetCount The number of marked targets; the search stops once they have all been settled
+	 * @param pSettleLimit The most vertices the search may settle
+	 * @return The workspace holding the distances that were found
+	 */
+	private SearchWorkspace searchWitnesses(WitnessState pState, int pSourceId, int pIgnoredVertexId, int pMaxDistance,
+		int pTargetCount, int pSettleLimit) {
+		SearchWorkspace lWorkspace = pState.search;
+		lWorkspace.reset(vertexIdBound);
+		IndexedPriorityQueue lFringe = lWorkspace.getFringe();
+		lWorkspace.setDistance(pSourceId, 0, -1);
+		lFringe.insert(pSourceId, 0);
+		int lSettledCount = 0;
+		int lTargetsSettled = 0;
+
+		while (!lFringe.isEmpty() && lFringe.getMinPriority() <= pMaxDistance && lSettledCount < pSettleLimit
+			&& lTargetsSettled < pTargetCount) {
+			int lVertex = lFringe.removeMin();
+			int lVertexDistance = lWorkspace.getDistance(lVertex);
+			lSettledCount++;
+			if (pState.targets.isReached(lVertex)) {
+				lTargetsSettled++;
+			}
+
+			EdgeList lEdges = outgoingEdges[lVertex];
+			for (int i = 0; i < lEdges.size; i++) {
+				int lNextVertex = lEdges.vertices[i];
+				if (lNextVertex == pIgnoredVertexId || contracted[lNextVertex]) {
+					continue;
+				}
+				int lCurrentDistance = lVertexDistance + lEdges.weights[i];
+				if (lCurrentDistance < lWorkspace.getDistance(lNextVertex)) {
+					lWorkspace.setDistance(lNextVertex, lCurrentDistance, lVertex);
+					lFringe.insert(lNextVertex, lCurrentDistance);
+				}
+			}
+		}
+
+		return lWorkspace;
+	}
+
+	/**
+	 * Takes a contracted vertex out of the edge lists of its neighbours.  Its own edge lists are left as they are.
+	 * Each neighbour is marked as changed, since its priority needs to be worked out again.
+	 *
+	 * @param pVertexId The contracted vertex
+	 */
+	private void removeFromNeighbours(int pVertexId) {
+		EdgeList lOutgoing = outgoingEdges[pVertexId];
+		for (int i = 0; i < lOutgoing.size; i++) {
+			int lNeighbour = lOutgoing.vertices[i];
+			incomingEdges[lNeighbour].remove(pVertexId);
+			deletedNeighbours[lNeighbour]++;
+			markChanged(lNeighbour);
+		}
+
+		EdgeList lIncoming = incomingEdges[pVertexId];
+		for (int i = 0; i < lIncoming.size; i++) {
+			int lNeighbour = lIncoming.vertices[i];
+			outgoingEdges[lNeighbour].remove(pVertexId);
+			deletedNeighbours[lNeighbour]++;
+			markChanged(lNeighbour);
+		}
+	}
+
+	/**
+	 * Marks a vertex as changed in the current round, listing it the first time.
+	 *
+	 * @param pVertexId The vertex
+	 */
+	private void markChanged(int pVertexId) {
+		if (!changed[pVertexId]) {
+			changed[pVertexId] = true;
+			changedIds[changedCount++] = pVertexId;
+		}
+	}
+
+	/**
+	 * Adds an edge to the remaining graph, or lowers the weight of the edge already between the two vertices.
+	 *
+	 * @param pFromId The vertex the edge leaves
+	 * @param pToId The vertex the edge enters
+	 * @param pWeight The weight of the edge
+	 * @param pMiddleId The contracted vertex a shortcut goes through, or -1 for an edge of the graph
+	 */
+	private void addEdge(int pFromId, int pToId, int pWeight, int pMiddleId) {
+		outgoingEdges[pFromId].addOrLower(pToId, pWeight, pMiddleId);
+		incomingEdges[pToId].addOrLower(pFromId, pWeight, pMiddleId);
+	}
+
+	/**
+	 * The witness search state of one thread: the search itself, and the outgoing neighbours it is looking for, which
+	 * are marked by being "reached" in a second workspace
+	 */
+	private static class WitnessState {
+
+		private final SearchWorkspace search = new SearchWorkspace();
+		private final SearchWorkspace targets = new SearchWorkspace();
+	}
+
+	/**
+	 * A growable list of the edges on one side of a vertex, kept in parallel arrays.  For an outgoing list the vertices
+	 * are the "to vertices", and for an incoming list they are the "from vertices".
+	 */
+	static class EdgeList {
+
+		int[] vertices = new int[4];
+		int[] weights = new int[4];
+		int[] middles = new int[4];
+		int size;
+
+		/**
+		 * Adds an edge, unless there is already an edge to the same vertex, in which case the cheaper one is kept.
+		 *
+		 * @param pVertexId The vertex at the other end of the edge
+		 * @param pWeight The weight of the edge
+		 * @param pMiddleId The vertex a shortcut goes through, or -1
+		 */
+		void addOrLower(int pVertexId, int pWeight, int pMiddleId) {
+			for (int i = 0; i < size; i++) {
+				if (vertices[i] == pVertexId) {
+					if (pWeight < weights[i]) {
+						weights[i] = pWeight;
+						middles[i] = pMiddleId;
+					}
+					return;
+				}
+			}
+
+			if (size == vertices.length) {
+				vertices = Arrays.copyOf(vertices, size * 2);
+				weights = Arrays.copyOf(weights, size * 2);
+				middles = Arrays.copyOf(middles, size * 2);
+			}
+			vertices[size] = pVertexId;
+			weights[size] = pWeight;
+			middles[size] = pMiddleId;
+			size++;
+		}
+
+		/**
+		 * Removes the edge to a vertex, by moving the last edge into its place.
+		 *
+		 * @param pVertexId The vertex at the other end of the edge
+		 */
+		void remove(int pVertexId) {
+			for (int i = 0; i < size; i++) {
+				if (vertices[i] == pVertexId) {
+					size--;
+					vertices[i] = vertices[size];
+					weights[i] = weights[size];
+					middles[i] = middles[size];
+					return;
+				}
+			}
+		}
+	}
+}
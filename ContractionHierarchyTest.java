@@ -0,0 +1,145 @@
+package graphAssignment;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContractionHierarchyTest {
+
+	@Test
+	public void testGetShortestPath() {
+		Digraph lGraph = getGraph();
+		ContractionHierarchy lHierarchy = new ContractionHierarchy(lGraph.freeze());
+
+		//Test finding the shortest path from vertex A to vertex F: A, B, E, G, F
+		List<Vertex> lPath = lHierarchy.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
+		List<Vertex> lExpectedPath = new DijkstrasAlgorithm().getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
+		Assert.assertEquals(lExpectedPath, lPath);
+		Assert.assertEquals(12, lHierarchy.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F")).intValue());
+
+		//A path from a vertex to itself is just the vertex
+		Assert.assertEquals(1, lHierarchy.getShortestPath(lGraph, lGraph.getVertex("C"), lGraph.getVertex("C")).size());
+
+		//Nothing leads back to A
+		Assert.assertNull(lHierarchy.getShortestPath(lGraph, lGraph.getVertex("F"), lGraph.getVertex("A")));
+		Assert.assertEquals(Integer.MAX_VALUE, lHierarchy.getShortestDistance(lGraph, lGraph.getVertex("F"), lGraph.getVertex("A")).intValue());
+		Assert.assertNull(lHierarchy.getShortestDistance(lGraph, new Vertex("Z"), lGraph.getVertex("A")));
+	}
+
+	@Test
+	public void testMatchesDijkstrasAlgorithm() {
+		CsrGraph lGraph = RandomGraphs.getRandomGraph(400, 1600, 0, 39, 5);
+		ContractionHierarchy lHierarchy = new ContractionHierarchy(lGraph);
+		DijkstrasAlgorithm lDijkstra = new DijkstrasAlgorithm();
+
+		for (int lSource = 0; lSource < 400; lSource += 9) {
+			int[] lDistances = lDijkstra.findMinimumDistance(lGraph, lSource);
+			for (int lDestination = 0; lDestination < 400; lDestination++) {
+				Assert.assertEquals(lDistances[lDestination], lHierarchy.getShortestDistance(lSource, lDestination).intValue());
+
+				//The unpacked path should only use edges of the graph, and add up to the distance
+				int[] lPath = lHierarchy.getShortestPath(lSource, lDestination);
+				if (lDistances[lDestination] == Integer.MAX_VALUE) {
+					Assert.assertNull(lPath);
+					continue;
+				}
+				Assert.assertEquals(lSource, lPath[0]);
+				Assert.assertEquals(lDestination, lPath[lPath.length - 1]);
+				Assert.assertEquals(lDistances[lDestination], getPathDistance(lGraph, lPath));
+			}
+		}
+	}
+
+	@Test
+	public void testSaveAndReadHierarchy() throws IOException {
+		CsrGraph lGraph = RandomGraphs.getRandomGraph(150, 600, 0, 39, 9);
+		ContractionHierarchy lHierarchy = new ContractionHierarchy(lGraph);
+
+		File lFile = File.createTempFile("hierarchy", ".ser");
+		try {
+			Assert.assertTrue(ContractionHierarchy.saveHierarchyToFile(lHierarchy, lFile.getPath()));
+			ContractionHierarchy lReadHierarchy = ContractionHierarchy.readHierarchyFromFile(lFile.getPath());
+
+			Assert.assertEquals(lHierarchy.getShortcutCount(), lReadHierarchy.getShortcutCount());
+			for (int lDestination = 0; lDestination < 150; lDestination++) {
+				Assert.assertEquals(lHierarchy.getShortestDistance(0, lDestination), lReadHierarchy.getShortestDistance(0, lDestination));
+			}
+		} finally {
+			lFile.delete();
+		}
+	}
+
+	@Test
+	public void testQueriesFromSeveralThreads() throws InterruptedException {
+		final CsrGraph lGraph = RandomGraphs.getRandomGraph(300, 1200, 0, 39, 13);
+		final ContractionHierarchy lHierarchy = new ContractionHierarchy(lGraph);
+		final int[] lExpected = new DijkstrasAlgorithm().findMinimumDistance(lGraph, 7);
+		final boolean[] lFailed = new boolean[4];
+
+		Thread[] lThreads = new Thread[4];
+		for (int t = 0; t < lThreads.length; t++) {
+			final int lThreadIndex = t;
+			lThreads[t] = new Thread(() -> {
+				for (int lRepeat = 0; lRepeat < 5; lRepeat++) {
+					for (int lDestination = 0; lDestination < 300; lDestination++) {
+						if (lHierarchy.getShortestDistance(7, lDestination) != lExpected[lDestination]) {
+							lFailed[lThreadIndex] = true;
+						}
+					}
+				}
+			});
+			lThreads[t].start();
+		}
+		for (Thread lThread : lThreads) {
+			lThread.join();
+		}
+		for (boolean lThreadFailed : lFailed) {
+			Assert.assertFalse(lThreadFailed);
+		}
+	}
+
+	private int getPathDistance(IndexedGraph pGraph, int[] pPath) {
+		int lDistance = 0;
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		for (int i = 0; i + 1 < pPath.length; i++) {
+			//Take the cheapest edge between the two vertices, since there can be several
+			int lCheapest = Integer.MAX_VALUE;
+			lCursor.moveTo(pPath[i]);
+			while (lCursor.next()) {
+				if (lCursor.getAdjacentVertexId() == pPath[i + 1]) {
+					lCheapest = Math.min(lCheapest, lCursor.getWeight());
+				}
+			}
+			Assert.assertNotEquals(Integer.MAX_VALUE, lCheapest);
+			lDistance += lCheapest;
+		}
+		return lDistance;
+	}
+
+	private Digraph getGraph() {
+		Digraph lGraph = new Digraph();
+
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
+		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
+		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
+		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
+		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
+
+		return lGraph;
+	}
+}
@@ -0,0 +1,241 @@
+package graphAssignment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is an immutable snapshot of a directed graph, stored in compressed sparse row (CSR) form.  The outgoing edges
+ * of vertex v are the entries outOffsets[v] through outOffsets[v + 1] - 1 of the outTargets and outWeights arrays, and
+ * the incoming edges are stored the same way in a second, reversed set of arrays.  Walking the edges of a vertex
+ * reads a few contiguous ints instead of following Edge and Vertex references around the heap, which is much faster
+ * on large graphs.
+ *
+ * <p>
+ * A snapshot is created with Digraph.freeze(), and does not change when the Digraph is modified afterwards.  Because
+ * it is immutable, a snapshot can be shared freely between threads.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class CsrGraph implements IndexedGraph {
+
+	private final String[] labels;
+	private final Map<String, Integer> idOfLabel;
+	private final int vertexCount;
+
+	private final int[] outOffsets;
+	private final int[] outTargets;
+	private final int[] outWeights;
+
+	private final int[] inOffsets;
+	private final int[] inSources;
+	private final int[] inWeights;
+
+	/**
+	 * Class constructor.  The incoming edge arrays are built from the outgoing ones.  The arrays are used directly,
+	 * not copied, so they must not be changed by the caller afterwards.
+	 *
+	 * @param pLabels The label of each vertex id, or null for an id that is not in use
+	 * @param pOutOffsets The start of each vertex's outgoing edges, with one extra entry holding the edge count
+	 * @param pOutTargets The to vertex of each edge
+	 * @param pOutWeights The weight of each edge
+	 */
+	CsrGraph(String[] pLabels, int[] pOutOffsets, int[] pOutTargets, int[] pOutWeights) {
+		labels = pLabels;
+		outOffsets = pOutOffsets;
+		outTargets = pOutTargets;
+		outWeights = pOutWeights;
+
+		//Index the labels so that vertices can be looked up by label
+		int lVertexCount = 0;
+		idOfLabel = new HashMap<String, Integer>(labels.length * 2);
+		for (int i = 0; i < labels.length; i++) {
+			if (labels[i] != null) {
+				idOfLabel.put(labels[i], i);
+				lVertexCount++;
+			}
+		}
+		vertexCount = lVertexCount;
+
+		//Build the reverse CSR with a counting sort of the edges by their to vertex
+		int lIdBound = labels.length;
+		int lEdgeCount = outTargets.length;
+		inOffsets = new int[lIdBound + 1];
+		inSources = new int[lEdgeCount];
+		inWeights = new int[lEdgeCount];
+
+		for (int i = 0; i < lEdgeCount; i++) {
+			inOffsets[outTargets[i] + 1]++;
+		}
+		for (int i = 0; i < lIdBound; i++) {
+			inOffsets[i + 1] += inOffsets[i];
+		}
+
+		int[] lNextSlot = new int[lIdBound];
+		System.arraycopy(inOffsets, 0, lNextSlot, 0, lIdBound);
+		for (int lFrom = 0; lFrom < lIdBound; lFrom++) {
+			for (int i = outOffsets[lFrom]; i < outOffsets[lFrom + 1]; i++) {
+				int lSlot = lNextSlot[outTargets[i]]++;
+				inSources[lSlot] = lFrom;
+				inWeights[lSlot] = outWeights[i];
+			}
+		}
+	}
+
+	@Override
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	@Override
+	public int getVertexIdBound() {
+		return labels.length;
+	}
+
+	@Override
+	public int getEdgeCount() {
+		return outTargets.length;
+	}
+
+	@Override
+	public long getVersion() {
+		//A snapshot never changes
+		return 0;
+	}
+
+	@Override
+	public boolean containsVertex(int pVertexId) {
+		return pVertexId >= 0 && pVertexId < labels.length && labels[pVertexId] != null;
+	}
+
+	@Override
+	public int getVertexId(String pLabel) {
+		Integer lId = idOfLabel.get(pLabel);
+		return lId == null ? -1 : lId;
+	}
+
+	@Override
+	public String getVertexLabel(int pVertexId) {
+		return labels[pVertexId];
+	}
+
+	@Override
+	public int getOutDegree(int pVertexId) {
+		return outOffsets[pVertexId + 1] - outOffsets[pVertexId];
+	}
+
+	@Override
+	public int getInDegree(int pVertexId) {
+		return inOffsets[pVertexId + 1] - inOffsets[pVertexId];
+	}
+
+	@Override
+	public EdgeCursor newOutgoingCursor() {
+		return new ArrayEdgeCursor(outOffsets, outTargets, outWeights);
+	}
+
+	@Override
+	public EdgeCursor newIncomingCursor() {
+		return new ArrayEdgeCursor(inOffsets, inSources, inWeights);
+	}
+
+	/**
+	 *
+	 * @return The start of each vertex's outgoing edges, plus a final entry holding the edge count.  Must not be
+	 * modified.
+	 */
+	int[] getOutOffsets() {
+		return outOffsets;
+	}
+
+	/**
+	 *
+	 * @return The to vertex of each outgoing edge.  Must not be modified.
+	 */
+	int[] getOutTargets() {
+		return outTargets;
+	}
+
+	/**
+	 *
+	 * @return The weight of each outgoing edge.  Must not be modified.
+	 */
+	int[] getOutWeights() {
+		return outWeights;
+	}
+
+	/**
+	 *
+	 * @return The start of each vertex's incoming edges, plus a final entry holding the edge count.  Must not be
+	 * modified.
+	 */
+	int[] getInOffsets() {
+		return inOffsets;
+	}
+
+	/**
+	 *
+	 * @return The from vertex of each incoming edge.  Must not be modified.
+	 */
+	int[] getInSources() {
+		return inSources;
+	}
+
+	/**
+	 *
+	 * @return The weight of each incoming edge.  Must not be modified.
+	 */
+	int[] getInWeights() {
+		return inWeights;
+	}
+
+	/**
+	 * Returns a string representation of the snapshot.
+	 *
+	 * @return A string with the number of vertices and edges
+	 */
+	@Override
+	public String toString() {
+		return "CsrGraph: " + vertexCount + " vertices, " + outTargets.length + " edges";
+	}
+
+	/**
+	 * An edge cursor over one set of CSR arrays
+	 */
+	private static final class ArrayEdgeCursor implements EdgeCursor {
+
+		private final int[] offsets;
+		private final int[] adjacent;
+		private final int[] weights;
+		private int position;
+		private int end;
+
+		ArrayEdgeCursor(int[] pOffsets, int[] pAdjacent, int[] pWeights) {
+			offsets = pOffsets;
+			adjacent = pAdjacent;
+			weights = pWeights;
+		}
+
+		@Override
+		public void moveTo(int pVertexId) {
+			position = offsets[pVertexId] - 1;
+			end = offsets[pVertexId + 1];
+		}
+
+		@Override
+		public boolean next() {
+			return ++position < end;
+		}
+
+		@Override
+		public int getAdjacentVertexId() {
+			return adjacent[position];
+		}
+
+		@Override
+		public int getWeight() {
+			return weights[position];
+		}
+	}
+}
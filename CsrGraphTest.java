@@ -0,0 +1,99 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CsrGraphTest {
+
+	@Test
+	public void testFreeze() {
+		Digraph lDigraph = getGraph();
+		CsrGraph lSnapshot = lDigraph.freeze();
+
+		//The snapshot should have the same size as the graph
+		assertEquals(5, lSnapshot.getVertexCount());
+		assertEquals(5, lSnapshot.getVertexIdBound());
+		assertEquals(6, lSnapshot.getEdgeCount());
+
+		//Every vertex should be found by its label
+		for (String lLabel : lDigraph.getVertexKeys()) {
+			int lId = lSnapshot.getVertexId(lLabel);
+			assertTrue(lSnapshot.containsVertex(lId));
+			assertEquals(lLabel, lSnapshot.getVertexLabel(lId));
+		}
+		assertEquals(-1, lSnapshot.getVertexId("V9"));
+		assertFalse(lSnapshot.containsVertex(5));
+	}
+
+	@Test
+	public void testOutgoingAndIncomingEdges() {
+		CsrGraph lSnapshot = getGraph().freeze();
+		int lV1 = lSnapshot.getVertexId("V1");
+		int lV3 = lSnapshot.getVertexId("V3");
+		int lV5 = lSnapshot.getVertexId("V5");
+
+		assertEquals(2, lSnapshot.getOutDegree(lV1));
+		assertEquals(1, lSnapshot.getInDegree(lV1));
+		assertEquals(2, lSnapshot.getInDegree(lV3));
+		assertEquals(0, lSnapshot.getOutDegree(lV5));
+		assertEquals(0, lSnapshot.getInDegree(lV5));
+
+		//The outgoing edges of V1 should keep the order they were added in: V2 then V3
+		EdgeCursor lCursor = lSnapshot.newOutgoingCursor();
+		lCursor.moveTo(lV1);
+		assertTrue(lCursor.next());
+		assertEquals("V2", lSnapshot.getVertexLabel(lCursor.getAdjacentVertexId()));
+		assertEquals(1, lCursor.getWeight());
+		assertTrue(lCursor.next());
+		assertEquals("V3", lSnapshot.getVertexLabel(lCursor.getAdjacentVertexId()));
+		assertEquals(7, lCursor.getWeight());
+		assertFalse(lCursor.next());
+
+		//The incoming edges of V3 come from V1 and V2
+		Set<String> lFromLabels = new HashSet<String>();
+		EdgeCursor lIncomingCursor = lSnapshot.newIncomingCursor();
+		lIncomingCursor.moveTo(lV3);
+		while (lIncomingCursor.next()) {
+			lFromLabels.add(lSnapshot.getVertexLabel(lIncomingCursor.getAdjacentVertexId()));
+		}
+		assertEquals(2, lFromLabels.size());
+		assertTrue(lFromLabels.contains("V1"));
+		assertTrue(lFromLabels.contains("V2"));
+	}
+
+	@Test
+	public void testSnapshotIsNotChangedByGraph() {
+		Digraph lDigraph = getGraph();
+		CsrGraph lSnapshot = lDigraph.freeze();
+
+		lDigraph.addEdge(new Vertex("V6"), lDigraph.getVertex("V1"));
+
+		assertEquals(5, lSnapshot.getVertexCount());
+		assertEquals(6, lSnapshot.getEdgeCount());
+		assertEquals(1, lSnapshot.getInDegree(lSnapshot.getVertexId("V1")));
+	}
+
+	private Digraph getGraph() {
+		Digraph lDigraph = new Digraph();
+
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3, 7);
+		lDigraph.addEdge(lVertex2, lVertex3, 3);
+		lDigraph.addEdge(lVertex3, lVertex4, 2);
+		lDigraph.addEdge(lVertex4, lVertex1, 4);
+		lDigraph.addEdge(lVertex4, lVertex4, 1);
+		lDigraph.addVertex(lVertex5);
+
+		return lDigraph;
+	}
+}
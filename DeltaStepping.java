@@ -0,0 +1,411 @@
+package graphAssignment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * This class finds the minimum distance from a source to every vertex with delta-stepping, which spreads one single
+ * source search over several threads.  Instead of settling one vertex at a time as Dijkstra's Algorithm does, the
+ * vertices are put into buckets by tentative distance, each bucket covering a range of delta distances, and all of
+ * the vertices in the lowest bucket are handled at once.  Edges no heavier than delta (light edges) can lead back into
+ * the same bucket, so they are relaxed over and over until the bucket stays empty; the heavier edges can only lead to
+ * later buckets, so they are relaxed once at the end.  The relaxations of each step run in parallel.
+ *
+ * <p>
+ * The distances found are exactly the ones Dijkstra's Algorithm finds.  A small delta does little extra work but has
+ * little to do in parallel, and a large delta the other way around; about the average edge weight is a good start.
+ * An instance is only meant to be used by one thread at a time, and the graph must not be changed during a search.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class DeltaStepping {
+
+	private final int delta;
+	private final ForkJoinPool pool;
+	private final LongAdder lightRelaxations = new LongAdder();
+	private final LongAdder heavyRelaxations = new LongAdder();
+	private int bucketCount;
+	private long elapsedTime;
+
+	/**
+	 * Class constructor, which runs the relaxations on the common ForkJoinPool
+	 *
+	 * @param pDelta The range of distances covered by each bucket, which is raised to 1 if it is less
+	 */
+	public DeltaStepping(int pDelta) {
+		this(pDelta, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pDelta The range of distances covered by each bucket, which is raised to 1 if it is less
+	 * @param pPool The pool to run the relaxations on; null is treated as the common ForkJoinPool
+	 */
+	public DeltaStepping(int pDelta, ForkJoinPool pPool) {
+		delta = Math.max(1, pDelta);
+		pool = pPool == null ? ForkJoinPool.commonPool() : pPool;
+	}
+
+	/**
+	 * Finds the minimum distance from the source to every other vertex of a directed graph.  If the graph or source
+	 * vertex is null, or the source is not in the graph, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The directed graph on which to execute this algorithm
+	 * @param pSource The vertex that is the source / starting point of the search
+	 * @return A map containing each vertex (other than the source), and its distance from the source vertex, which is
+	 * Integer.MAX_VALUE if it cannot be reached
+	 */
+	public Map<Vertex, Integer> findMinimumDistance(Digraph pGraph, Vertex pSource) {
+		//Validate that the source and graph are non-null
+		if (pGraph == null || pSource == null || pSource.getLabel() == null) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			int lSourceId = pGraph.getVertexId(pSource.getLabel());
+			int[] lDistances = findMinimumDistance(pGraph, lSourceId);
+			if (lDistances == null) {
+				return null;
+			}
+
+			//Copy the results into a map, leaving out the source
+			Map<Vertex, Integer> lDistanceFromSource = new HashMap<Vertex, Integer>();
+			for (int i = 0; i < lDistances.length; i++) {
+				Vertex lVertex = pGraph.getVertex(i);
+				if (lVertex != null && i != lSourceId) {
+					lDistanceFromSource.put(lVertex, lDistances[i]);
+				}
+			}
+			return lDistanceFromSource;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the minimum distance from the source to every vertex id of an indexed graph.  If the graph is null or does
+	 * not contain the source vertex, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph on which to execute this algorithm
+	 * @param pSourceId The id of the vertex that is the source / starting point of the search
+	 * @return An array indexed by vertex id holding the distance from the source, where the source itself is 0 and
+	 * vertices that cannot be reached are Integer.MAX_VALUE
+	 */
+	public int[] findMinimumDistance(IndexedGraph pGraph, int pSourceId) {
+		//Validate the graph and the source
+		if (pGraph == null || !pGraph.containsVertex(pSourceId)) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+
+		long lStartTime = System.nanoTime();
+		lightRelaxations.reset();
+		heavyRelaxations.reset();
+		bucketCount = 0;
+
+		int[] lDistances = new Search(pGraph).run(pSourceId);
+
+		elapsedTime = System.nanoTime() - lStartTime;
+		return lDistances;
+	}
+
+	/**
+	 * Times a search from the source with this class against the same search with Dijkstra's Algorithm.  If the
+	 * distances found are not the same, an error is printed out.  If the graph is null or does not contain the source
+	 * vertex, an error is printed out and 0 is returned.
+	 *
+	 * @param pGraph The graph on which to execute the searches
+	 * @param pSourceId The id of the vertex that is the source / starting point of the searches
+	 * @return The time taken by Dijkstra's Algorithm divided by the time taken by delta-stepping
+	 */
+	public double measureSpeedup(IndexedGraph pGraph, int pSourceId) {
+		long lStartTime = System.nanoTime();
+		int[] lExpectedDistances = new DijkstrasAlgorithm().findMinimumDistance(pGraph, pSourceId);
+		long lSequentialTime = System.nanoTime() - lStartTime;
+		if (lExpectedDistances == null) {
+			return 0;
+		}
+
+		int[] lDistances = findMinimumDistance(pGraph, pSourceId);
+		if (!Arrays.equals(lExpectedDistances, lDistances)) {
+			System.out.println("Delta-stepping did not find the same distances as Dijkstra's Algorithm.");
+		}
+		return (double) lSequentialTime / Math.max(1, elapsedTime);
+	}
+
+	/**
+	 *
+	 * @return The range of distances covered by each bucket
+	 */
+	public int getDelta() {
+		return delta;
+	}
+
+	/**
+	 *
+	 * @return The number of light edges relaxed during the last search, counting each time an edge is relaxed
+	 */
+	public long getLightRelaxationCount() {
+		return lightRelaxations.sum();
+	}
+
+	/**
+	 *
+	 * @return The number of heavy edges relaxed during the last search
+	 */
+	public long getHeavyRelaxationCount() {
+		return heavyRelaxations.sum();
+	}
+
+	/**
+	 *
+	 * @return The number of edges relaxed during the last search, light and heavy
+	 */
+	public long getRelaxationCount() {
+		return getLightRelaxationCount() + getHeavyRelaxationCount();
+	}
+
+	/**
+	 *
+	 * @return The number of buckets that had vertices in them during the last search
+	 */
+	public int getBucketCount() {
+		return bucketCount;
+	}
+
+	/**
+	 *
+	 * @return The time the last search took, in nanoseconds
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * The state of one search.  The tentative distances are lowered from several threads at once with
+	 * compare-and-set, while the buckets are only changed by the thread running the search, between the parallel
+	 * steps.
+	 */
+	private class Search {
+
+		private final AtomicIntegerArray distances;
+		private final ThreadLocal<EdgeCursor> cursors;
+
+		//The buckets are reused in a circle, since every tentative distance is within the heaviest edge weight of the
+		//bucket being worked on, and a vertex may be in a bucket more than once
+		private int[][] buckets;
+		private int[] bucketSizes;
+
+		//Stamps that keep a vertex from being handled twice in the same step, or being counted twice in the same bucket
+		private final int[] frontierStamps;
+		private final int[] settledStamps;
+		private int frontierStamp;
+		private int settledStamp;
+
+		/**
+		 * Class constructor
+		 *
+		 * @param pGraph The graph to search
+		 */
+		Search(IndexedGraph pGraph) {
+			int lVertexIdBound = pGraph.getVertexIdBound();
+			distances = new AtomicIntegerArray(lVertexIdBound);
+			cursors = ThreadLocal.withInitial(() -> pGraph.newOutgoingCursor());
+			frontierStamps = new int[lVertexIdBound];
+			settledStamps = new int[lVertexIdBound];
+
+			//Enough buckets to cover the heaviest edge, plus the bucket being worked on
+			int lMaxWeight = 0;
+			EdgeCursor lCursor = pGraph.newOutgoingCursor();
+			for (int v = 0; v < lVertexIdBound; v++) {
+				if (!pGraph.containsVertex(v)) {
+					continue;
+				}
+				lCursor.moveTo(v);
+				while (lCursor.next()) {
+					lMaxWeight = Math.max(lMaxWeight, lCursor.getWeight());
+				}
+			}
+			int lBucketCount = lMaxWeight / delta + 2;
+			buckets = new int[lBucketCount][];
+			bucketSizes = new int[lBucketCount];
+			for (int i = 0; i < lBucketCount; i++) {
+				buckets[i] = new int[4];
+			}
+		}
+
+		/**
+		 * Runs the search.
+		 *
+		 * @param pSourceId The id of the source vertex
+		 * @return The distance from the source to each vertex id
+		 */
+		int[] run(int pSourceId) {
+			for (int i = 0; i < distances.length(); i++) {
+				distances.set(i, Integer.MAX_VALUE);
+			}
+			distances.set(pSourceId, 0);
+			addToBucket(pSourceId);
+
+			long lBucket = 0;
+			int[] lSettled = new int[16];
+			while (true) {
+				//Move on to the next bucket with vertices in it, stopping once they are all empty
+				int lEmptyCount = 0;
+				while (bucketSizes[(int) (lBucket % buckets.length)] == 0 && lEmptyCount < buckets.length) {
+					lBucket++;
+					lEmptyCount++;
+				}
+				if (lEmptyCount == buckets.length) {
+					break;
+				}
+
+				//Relax the light edges of the bucket until no more vertices land in it, remembering every vertex
+				//that was handled
+				settledStamp++;
+				int lSettledCount = 0;
+				int[] lFrontier = takeBucket(lBucket);
+				while (lFrontier.length > 0) {
+					for (int lVertex : lFrontier) {
+						if (settledStamps[lVertex] != settledStamp) {
+							settledStamps[lVertex] = settledStamp;
+							if (lSettledCount == lSettled.length) {
+								lSettled = Arrays.copyOf(lSettled, lSettledCount * 2);
+							}
+							lSettled[lSettledCount++] = lVertex;
+						}
+					}
+					addAllToBuckets(relax(lFrontier, true));
+					lFrontier = takeBucket(lBucket);
+				}
+
+				if (lSettledCount > 0) {
+					bucketCount++;
+
+					//The heavy edges can only lead to later buckets, so they are relaxed once
+					addAllToBuckets(relax(Arrays.copyOf(lSettled, lSettledCount), false));
+				}
+				lBucket++;
+			}
+
+			int[] lDistances = new int[distances.length()];
+			for (int i = 0; i < lDistances.length; i++) {
+				lDistances[i] = distances.get(i);
+			}
+			return lDistances;
+		}
+
+		/**
+		 * Relaxes the light or heavy edges of some vertices in parallel.
+		 *
+		 * @param pVertices The vertices whose edges are relaxed
+		 * @param pLight True to relax the edges no heavier than delta, False to relax the others
+		 * @return The vertices whose tentative distance was lowered, possibly more than once each
+		 */
+		private int[] relax(int[] pVertices, boolean pLight) {
+			return pool.submit(() -> IntStream.of(pVertices).parallel().flatMap(v -> relax(v, pLight)).toArray()).join();
+		}
+
+		/**
+		 * Relaxes the light or heavy edges of one vertex.
+		 *
+		 * @param pVertexId The vertex whose edges are relaxed
+		 * @param pLight True to relax the edges no heavier than delta, False to relax the others
+		 * @return The vertices whose tentative distance was lowered
+		 */
+		private IntStream relax(int pVertexId, boolean pLight) {
+			int lVertexDistance = distances.get(pVertexId);
+			EdgeCursor lCursor = cursors.get();
+			lCursor.moveTo(pVertexId);
+			int[] lLowered = null;
+			int lLoweredCount = 0;
+			int lRelaxedCount = 0;
+
+			while (lCursor.next()) {
+				int lWeight = lCursor.getWeight();
+				if ((lWeight <= delta) != pLight) {
+					continue;
+				}
+				lRelaxedCount++;
+
+				//Lower the tentative distance, unless another thread has already lowered it as far
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + lWeight;
+				int lOldDistance = distances.get(lNextVertex);
+				while (lCurrentDistance < lOldDistance
+					&& !distances.compareAndSet(lNextVertex, lOldDistance, lCurrentDistance)) {
+					lOldDistance = distances.get(lNextVertex);
+				}
+				if (lCurrentDistance < lOldDistance) {
+					if (lLowered == null) {
+						lLowered = new int[4];
+					} else if (lLoweredCount == lLowered.length) {
+						lLowered = Arrays.copyOf(lLowered, lLoweredCount * 2);
+					}
+					lLowered[lLoweredCount++] = lNextVertex;
+				}
+			}
+
+			(pLight ? lightRelaxations : heavyRelaxations).add(lRelaxedCount);
+			return lLowered == null ? IntStream.empty() : IntStream.of(lLowered).limit(lLoweredCount);
+		}
+
+		/**
+		 * Takes the vertices out of a bucket, leaving out the ones that have since moved to an earlier bucket, and
+		 * vertices that are in it more than once.
+		 *
+		 * @param pBucket The number of the bucket
+		 * @return The vertices that belong in the bucket
+		 */
+		private int[] takeBucket(long pBucket) {
+			int lIndex = (int) (pBucket % buckets.length);
+			int[] lBucket = buckets[lIndex];
+			int lSize = bucketSizes[lIndex];
+			bucketSizes[lIndex] = 0;
+
+			frontierStamp++;
+			int[] lVertices = new int[lSize];
+			int lCount = 0;
+			for (int i = 0; i < lSize; i++) {
+				int lVertex = lBucket[i];
+				if (distances.get(lVertex) / delta == pBucket && frontierStamps[lVertex] != frontierStamp) {
+					frontierStamps[lVertex] = frontierStamp;
+					lVertices[lCount++] = lVertex;
+				}
+			}
+			return lCount == lSize ? lVertices : Arrays.copyOf(lVertices, lCount);
+		}
+
+		/**
+		 *
+		 * @param pVertices Vertices to put into the buckets for their tentative distances
+		 */
+		private void addAllToBuckets(int[] pVertices) {
+			for (int lVertex : pVertices) {
+				addToBucket(lVertex);
+			}
+		}
+
+		/**
+		 *
+		 * @param pVertexId A vertex to put into the bucket for its tentative distance
+		 */
+		private void addToBucket(int pVertexId) {
+			int lIndex = (distances.get(pVertexId) / delta) % buckets.length;
+			if (bucketSizes[lIndex] == buckets[lIndex].length) {
+				buckets[lIndex] = Arrays.copyOf(buckets[lIndex], bucketSizes[lIndex] * 2);
+			}
+			buckets[lIndex][bucketSizes[lIndex]++] = pVertexId;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package graphAssignment;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DeltaSteppingTest {
+
+	@Test
+	public void testFindMinimumDistance() {
+		Digraph lGraph = getGraph();
+		DeltaStepping lDeltaStepping = new DeltaStepping(3);
+
+		Map<Vertex, Integer> lDistances = lDeltaStepping.findMinimumDistance(lGraph, lGraph.getVertex("A"));
+		Assert.assertEquals(new DijkstrasAlgorithm().findMinimumDistance(lGraph, lGraph.getVertex("A")), lDistances);
+		Assert.assertEquals(12, lDistances.get(lGraph.getVertex("F")).intValue());
+		Assert.assertFalse(lDistances.containsKey(lGraph.getVertex("A")));
+
+		//Every edge was relaxed once, since each vertex was settled from a single bucket
+		Assert.assertEquals(lGraph.getEdgeCount(), lDeltaStepping.getRelaxationCount());
+
+		//Test the error cases
+		Assert.assertNull(lDeltaStepping.findMinimumDistance(lGraph, new Vertex("Z")));
+		Assert.assertNull(lDeltaStepping.findMinimumDistance(null, lGraph.getVertex("A")));
+	}
+
+	@Test
+	public void testFreedVertexId() {
+		//A Digraph that has had a vertex removed has an id that is not in use
+		Digraph lGraph = new Digraph();
+		lGraph.addEdge(new Vertex("A"), new Vertex("B"), 4);
+		lGraph.addEdge(new Vertex("A"), new Vertex("C"), 2);
+		lGraph.addEdge(new Vertex("C"), new Vertex("D"), 3);
+		lGraph.removeVertex(lGraph.getVertex("B"));
+
+		int lSourceId = lGraph.getVertexId("A");
+		int[] lDistances = new DeltaStepping(2).findMinimumDistance(lGraph, lSourceId);
+		Assert.assertArrayEquals(new DijkstrasAlgorithm().findMinimumDistance(lGraph, lSourceId), lDistances);
+		Assert.assertEquals(5, lDistances[lGraph.getVertexId("D")]);
+	}
+
+	@Test
+	public void testMatchesDijkstrasAlgorithm() {
+		CsrGraph lGraph = RandomGraphs.getRandomGraph(2000, 10000, 0, 39, 21);
+		DijkstrasAlgorithm lDijkstra = new DijkstrasAlgorithm();
+		ForkJoinPool lPool = new ForkJoinPool(4);
+
+		//Try a delta that makes every edge heavy, one in the middle, and one that makes every edge light
+		for (int lDelta : new int[] {1, 10, 1000}) {
+			DeltaStepping lDeltaStepping = new DeltaStepping(lDelta, lPool);
+			for (int lSource = 0; lSource < 2000; lSource += 397) {
+				Assert.assertArrayEquals(lDijkstra.findMinimumDistance(lGraph, lSource),
+					lDeltaStepping.findMinimumDistance(lGraph, lSource));
+				Assert.assertTrue(lDeltaStepping.getRelaxationCount() > 0);
+				Assert.assertTrue(lDeltaStepping.getBucketCount() > 0);
+			}
+		}
+
+		//Only light edges are relaxed when delta is larger than every weight
+		DeltaStepping lDeltaStepping = new DeltaStepping(1000, lPool);
+		Assert.assertTrue(lDeltaStepping.measureSpeedup(lGraph, 0) > 0);
+		Assert.assertEquals(0, lDeltaStepping.getHeavyRelaxationCount());
+		Assert.assertEquals(1, lDeltaStepping.getBucketCount());
+	}
+
+	private Digraph getGraph() {
+		Digraph lGraph = new Digraph();
+
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
+		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
+		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
+		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
+		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
+
+		return lGraph;
+	}
+}
@@ -1,586 +1,1387 @@
-package graphAssignment;
-
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-
-/**
- * This is a directed graph data structure.
- * 
- * @author Jessica Otte
- *
- */
-public class Digraph implements Serializable {
-  
-	/**
-	 * Generated id
-	 */
-	private static final long serialVersionUID = -542393287108382128L;
-	
-	
-	private Map<String, Vertex> vertices;
-	private Map<Integer, Edge> edges;
-	
-	/**
-	 * Class Constructor. Initializes the vertices and edges maps
-	 */
-	Digraph() {
-		vertices = new HashMap<String, Vertex>();
-		edges = new HashMap<Integer, Edge>();
-	}
-	
-	/**
-	 * Class Constructor, with list of vertices as a parameter
-	 * 
-	 * @param pVertices The initial set of vertices for this graph
-	 */
-	Digraph(List<Vertex> pVertices) {
-		vertices = new HashMap<String, Vertex>();
-		edges = new HashMap<Integer, Edge>();
-		
-		//Initialize the Map with the vertices, using the label as the key
-		if (pVertices != null) {
-			for (Vertex lVertex : pVertices) {
-				vertices.put(lVertex.getLabel(), lVertex);
-			}
-		}
-	}
-	
-	/**
-	 * Creates an edge based on the from and to vertices, and adds the edge to the map of edges
-	 * 
-	 * @param pFromVertex The starting vertex for the edge
-	 * @param pToVertex The ending vertex of the edge
-	 */
-	public void addEdge(Vertex pFromVertex, Vertex pToVertex) {
-		addEdge(new Edge(pFromVertex, pToVertex));
-	}
-	
-	/**
-	 * Creates an edge based on the from and to vertices and weight, and adds the edge to the map of edges
-	 * 
-	 * @param pFromVertex The starting vertex for the edge
-	 * @param pToVertex The ending vertex of the edge
-	 * @param pWeight The weight or cost of this edge
-	 */
-	public void addEdge(Vertex pFromVertex, Vertex pToVertex, int pWeight) {
-		addEdge(new Edge(pFromVertex, pToVertex, pWeight));
-	}
-	
-	/**
-	 * Creates an edge based on the passed in parameters, and adds the edge to the map of edges
-	 * 
-	 * @param pFromVertex The starting vertex for the edge
-	 * @param pToVertex The ending vertex of the edge
-	 * @param pWeight The weight or cost of this edge
-	 * @param pLabel The label or name of this edge
-	 */
-	public void addEdge(Vertex pFromVertex, Vertex pToVertex, int pWeight, String pLabel) {
-		Edge lEdge = new Edge(pFromVertex, pToVertex, pWeight, pLabel);
-		addEdge(lEdge);
-	}
-	
-	/**
-	 * Adds an edge to the graph.  If the from and to vertices do not yet exist in this graph, they are added.  This 
-	 * method is synchronized so that multiple threads won't add edges at the same time. 
-	 * 
-	 * <p>
-	 * If the edge is null or does not have both a from and to vertex, an error is printed
-	 * out and the method immediately returns.  Additionally, if the edge already exists in the graph, based on the 
-	 * from and to vertices and the weight of the edge, the edge will not be added a second time.
-	 * </p>
-	 * 
-	 * @param pEdge The edge to add to the graph
-	 */
-	public synchronized void addEdge(Edge pEdge) {
-		
-		//Validate that the edge is non-null
-		if (pEdge == null) {
-			System.out.println("Cannot add a null edge.");
-			return;
-		}
-		
-		//Validate that the edge has both a from and to vertex
-		if (pEdge.getFromVertex() == null || pEdge.getToVertex() == null) {
-			System.out.println("An edge must have both a from and to vertex.");
-			return;
-		}
-		
-		//If the edge already exists, do not add it
-		if (edges.containsValue(pEdge)) {
-			System.out.println("This edge already exists");
-			return;
-		}
-				
-		//Get the from and to vertices from the edge
-		Vertex lFromVertex = pEdge.getFromVertex();
-		Vertex lToVertex = pEdge.getToVertex();
-		
-		//If the from vertex does not yet exist, add it
-		if (!vertices.containsKey(lFromVertex.getLabel())) {
-			addVertex(lFromVertex);
-		}
-				
-		//If the to vertex does not yet exist, add it
-		if (!vertices.containsKey(lToVertex.getLabel())) {
-			addVertex(lToVertex);
-		}
-				
-		//Add the edge to the appropriate list for each of the vertices
-		lFromVertex.addOutgoingEdge(pEdge);
-		lToVertex.addIncomingEdge(pEdge);
-		
-		//Add the edge to the map of edges
-		edges.put(pEdge.hashCode(), pEdge);		
-	}
-	
-	/**
-	 * Removes the edge from the graph, and removes the edge from its from and to vertices.  If the edge is null, an 
-	 * error is printed out and the method returns immediately.  This method is synchronized so that multiple threads 
-	 * won't remove edges at the same time. 
-	 * 
-	 * @param pEdge The edge to remove from the graph
-	 */
-	public synchronized void removeEdge(Edge pEdge) {
-		
-		//Validate that the edge is non-null
-		if (pEdge == null) {
-			System.out.println("Cannot add a null edge.");
-			return;
-		}
-		
-		//Remove the edge from the from and to vertices
-		pEdge.getFromVertex().removeEdge(pEdge);
-		pEdge.getToVertex().removeEdge(pEdge);
-		
-		//Remove the edge from the graph
-		edges.remove(pEdge.hashCode());
-	}
-	
-	/**
-	 * 
-	 * @param pLabel The label that uniquely identifies the vertex
-	 * @return The Vertex with the label matching pLabel
-	 */
-	public Vertex getVertex(String pLabel) {
-		return vertices.get(pLabel);
-	}
-	
-	/**
-	 * Adds a vertex to the graph.  If the vertex is null, an error will be printed out and the method will return 
-	 * immediately.  If the vertex already exists in the graph, a message will be printed out and the vertex will not 
-	 * be added again.  This method is synchronized so that multiple threads will not be adding vertices at the 
-	 * same time.
-	 * 
-	 * @param pVertex The vertex to add to the graph
-	 */
-	public synchronized void addVertex(Vertex pVertex) {
-		//Validate that the vertex is non-null
-		if (pVertex == null) {
-			System.out.println("Cannot add a null vertex.");
-			return;
-		}
-				
-		//If the vertex already exists, do not add it
-		if (vertices.containsValue(pVertex)) {
-			System.out.println("This vertex already exists.");
-			return;
-		}
-				
-		//Add the vertex to the graph
-		vertices.put(pVertex.getLabel(), pVertex);
-	}
-	
-	/**
-	 * Removes a vertex from the graph, and removes all connecting edges.  If the vertex is null, or is not contained
-	 * in the graph, an error message is printed out and the method returns immediately.  This method is synchronized
-	 * so that multiple threads cannot remove vertices at the same time.
-	 * 
-	 * @param pVertex The vertex to remove from the graph
-	 */
-	public synchronized void removeVertex(Vertex pVertex) {
-		//Validate that the vertex is non-null
-		if (pVertex == null) {
-			System.out.println("Cannot remove a null vertex.");
-			return;
-		}
-						
-		//If the vertex doesn't exist in the graph, nothing to do, return
-		if (!vertices.containsValue(pVertex)) {
-			System.out.println("This vertex does not exist in the graph.");
-			return;
-		}
-		
-		//Remove the vertex from the graph
-		Vertex lVertex = vertices.remove(pVertex.getLabel());
-		
-		//Remove all edges associated with this vertex
-		List<Edge> lAllEdges = lVertex.getAllEdges();
-		if (lAllEdges != null && !lAllEdges.isEmpty()) {
-			while (lAllEdges.size() > 0) {
-				removeEdge(lAllEdges.remove(0));
-			}
-		}
-	}
-	
-	/**
-	 * Returns a string representation of the graph.
-	 * 
-	 * @return A string representing the edges and vertices of the graph
-	 */
-	@Override
-	public String toString() {
-		StringBuilder lStrBuilder = new StringBuilder();
-		
-		lStrBuilder.append("\nEdges:");
-		
-		if (edges != null && !edges.isEmpty()) {
-			Iterator<Entry<Integer, Edge>> lIter = edges.entrySet().iterator();
-			while (lIter.hasNext()) {
-				Edge lEdge = lIter.next().getValue();
-				lStrBuilder.append("\n" + lEdge.toString());
-			}
-		} else {
-			lStrBuilder.append("\nNone.");
-		}
-		
-		lStrBuilder.append("\n\nVertices:\n");
-		
-		if (vertices != null && !vertices.isEmpty()) {
-			lStrBuilder.append(getVertexKeys());
-		} else {
-			lStrBuilder.append("None.");
-		}
-		lStrBuilder.append("\n");
-		
-		return lStrBuilder.toString();
-	}
-	
-	/**
-	 * 
-	 * @return The label of each vertex in the graph
-	 */
-	public Set<String> getVertexKeys() {
-		return vertices.keySet();
-	}
-	
-	/**
-	 * 
-	 * @return Each vertex in the graph
-	 */
-	public List<Vertex> getVertices() {
-		return new ArrayList<Vertex>(vertices.values());
-	}
-	
-	/**
-	 * 
-	 * @return Each edge in the graph
-	 */
-	public List<Edge> getEdges() {
-		return new ArrayList<Edge>(edges.values());
-	}
-	
-	/**
-	 * Gets all of the edges associated with a given vertex.  If the vertex is null or if the vertex does not exist in 
-	 * the graph, an error is printed out, and the method returns null.
-	 * 
-	 * @param pVertex The vertex whose edges are returned 
-	 * @return All edges, incoming and outgoing, for pVertex
-	 */
-	public List<Edge> getAllEdges(Vertex pVertex) {
-		
-		//Validate that the vertex is non-null
-		if (pVertex == null) {
-			System.out.println("Vertex is null.");
-			return null;
-		}
-		
-		if (!vertices.containsKey(pVertex.getLabel())) {
-			System.out.println("The graph does not contain the given vertex.");
-			return null;
-		}
-		
-		return vertices.get(pVertex.getLabel()).getAllEdges();
-	}
-	
-	/**
-	 * This method will return all vertices adjacent to the given vertex where the edge is directed towards pVertex.  
-	 * If pVertex is null or is not contained in the graph, an error is printed out and the method returns null.  If 
-	 * the vertex does not have any previous vertices, null is returned.
-	 * 
-	 * @param pVertex The vertex whose previous vertices are desired
-	 * @return All adjacent vertices to pVertex where the edge connecting them is incoming for pVertex (directed towards
-	 * pVertex)
-	 */
-	public List<Vertex> getPreviousVertices(Vertex pVertex) {
-		//Validate that the vertex is non-null
-		if (pVertex == null) {
-			System.out.println("Cannot find previous vertices for null vertex.");
-			return null;
-		}
-		
-		//Validate that the graph contains this vertex
-		if (!vertices.containsKey(pVertex.getLabel())) {
-			System.out.println("The vertex does not exist in the graph.");
-			return null;
-		}
-		
-		//If the vertex has no incoming edges, return null
-		if (pVertex.getIncomingEdges() == null || pVertex.getIncomingEdges().isEmpty()) {
-			System.out.println("This vertex does not have any previous vertices.");
-			return null;
-		}
-		
-		//Find all adjacent vertices using the incoming edges for the vertex
-		List<Vertex> lAdjacentVertices = new ArrayList<Vertex>();
-		for (Edge lEdge : pVertex.getIncomingEdges()) {
-			lAdjacentVertices.add(lEdge.getFromVertex());
-		}			
-		
-		return lAdjacentVertices;
-	}
-	
-	/**
-	 * This method will return all vertices adjacent to the given vertex where the edge is directed away from pVertex.  
-	 * If pVertex is null or is not contained in the graph, an error is printed out and the method returns null.  If 
-	 * the vertex does not have any next vertices, null is returned.
-	 * 
-	 * @param pVertex The vertex whose next vertices are desired
-	 * @return All adjacent vertices to pVertex where the edge connecting them is outgoing for pVertex (directed away
-	 * from pVertex)
-	 */
-	public List<Vertex> getNextVertices(Vertex pVertex) {
-		//Validate that the vertex is non-null
-		if (pVertex == null) {
-			System.out.println("Cannot find next vertices for null vertex.");
-			return null;
-		}
-
-		//Validate that the graph contains this vertex
-		if (!vertices.containsKey(pVertex.getLabel())) {
-			System.out.println("The vertex does not exist in the graph.");
-			return null;
-		}
-
-		//If the vertex has no outgoing edges, return null
-		if (pVertex.getOutgoingEdges() == null || pVertex.getOutgoingEdges().isEmpty()) {
-			return null;
-		}
-
-		//Find all adjacent vertices using the outgoing edges for the vertex
-		List<Vertex> lAdjacentVertices = new ArrayList<Vertex>();
-		for (Edge lEdge : pVertex.getOutgoingEdges()) {
-			lAdjacentVertices.add(lEdge.getToVertex());
-		}			
-
-		return lAdjacentVertices;
-	}	
-	
-	/**
-	 * A graph is equal (in this case) if the vertices and edges are the same.
-	 */
-	@Override
-	public boolean equals(Object pObj) {
-	    if (pObj == null) {
-	    	return false;
-	    }
-	    
-	    if (pObj == this) {
-	    	return true;
-	    }
-	    
-	    if (!(pObj instanceof Digraph)) {
-	    	return false;
-	    }
-	    
-	    boolean lIsEqual = true;
-	    Digraph lGraph = (Digraph)pObj;
-	    
-	    //A graph is equal if it's vertices and edges are equal
-	    //First just check to make sure the amount of vertices and edges are equal
-	    lIsEqual = ((getVertices() == null && lGraph.getVertices() == null) || (getVertices().isEmpty() && lGraph.getVertices().isEmpty()) || (getVertices() != null && lGraph.getVertices() != null));
-	    lIsEqual = lIsEqual && ((getEdges() == null && lGraph.getEdges() == null) || (getEdges().isEmpty() && lGraph.getEdges().isEmpty()) || (getEdges() != null && lGraph.getEdges() != null));
-	    lIsEqual = lIsEqual && getVertices().size() == lGraph.getVertices().size() && getEdges().size() == lGraph.getEdges().size(); 
-	    
-	    if (lIsEqual) {
-	    	
-	    	//Make sure all of the vertices in the other graph exist in the list of vertices in this graph
-	    	if (lGraph.getVertices() != null && !lGraph.getVertices().isEmpty()) {
-		    	for (Vertex lOtherVertex : lGraph.getVertices()) {
-		    		if (!getVertices().contains(lOtherVertex)) {
-		    			lIsEqual = false;
-		    			break;
-		    		}
-		    	}
-	    	}
-	    	
-	    	if (lIsEqual) {
-	    		//Make sure all of the edges in the other graph are contained in this graph
-	    		if (lGraph.getEdges() != null && !lGraph.getEdges().isEmpty()) {
-	    			for (Edge lOtherEdge : lGraph.getEdges()) {
-	    				if (!getEdges().contains(lOtherEdge)) {
-	    					lIsEqual = false;
-	    					break;
-	    				}
-	    			}
-	    		}
-	    	}
-	    }
-	    	    
-	    return lIsEqual;
-	}
-	
-	/**
-	 * This method returns true if the graph is considered connected, ie: there is an edge connecting each vertex.  It
-	 * performs a depth first search and then compares the number of vertices that were marked as visited with the 
-	 * number of vertices in the graph.  If all were visited, then the graph is connected.
-	 * 
-	 * @return True if the graph is connected, False otherwise
-	 * 
-	 */
-	public Boolean isConnected() {
-		//Perform DFS using any vertex in the graph, and get back the vertices that were visited
-		List<Vertex> lVerticesVisited = depthFirstSeach(getVertices().get(0));
-		
-		//Compare the number of vertices visited with the number of vertices in the graph
-		return lVerticesVisited.size() == getVertices().size();
-	}
-	
-	/**
-	 * Performs a depth first search of the graph, given a starting vertex.  
-	 * 
-	 * @param pVertex The starting vertex for the search
-	 * @return The vertices that were visited
-	 */
-	public List<Vertex> depthFirstSeach(Vertex pVertex) {
-		List<Vertex> lVistedList = new ArrayList<Vertex>();
-		
-		depthFirstSearch(pVertex, lVistedList);
-		
-		return lVistedList;
-	}
-	
-	/**
-	 * Performs a depth first search of the graph, given a starting vertex and a visited list of vertices.
-	 * 
-	 * @param pVertex The starting vertex for the search
-	 * @param pVisitedList The vertices that were visited
-	 */
-	private void depthFirstSearch(Vertex pVertex, List<Vertex> pVisitedList) {
-		
-		//Add the vertex to the list of visited vertices
-		pVisitedList.add(pVertex);
-		
-		//Traverse the graph by getting the next vertex that this vertex can get to, and if it hasn't been visited
-		//add it to the list and perform the search on that next vertex
-		List<Vertex> lNextVertices = getNextVertices(pVertex);
-		if (lNextVertices != null && !lNextVertices.isEmpty()) {
-			for (Vertex lNextVertex : getNextVertices(pVertex)) {
-				if (!pVisitedList.contains(lNextVertex)) {
-					depthFirstSearch(lNextVertex, pVisitedList);
-				}
-			}
-		}
-	}
-	
-	
-	/**
-	 * This class method saves a specified graph to a specified file, in non-human readable form. If the graph is 
-	 * null or has no vertices, then an error is printed out and the graph is not saved.  If a file name is not 
-	 * provided, an error is printed and the graph is not saved.
-	 * 
-	 * @param pGraph The graph to save to the file
-	 * @param pFileName The name of the file
-	 * @return True if the graph was saved to the file successfully, False otherwise
-	 */
-	public static Boolean saveGraphToFile(Digraph pGraph, String pFileName) throws IOException {
-		//Validate that the graph is not null and not empty
-		if (pGraph == null || pGraph.getVertices() == null || pGraph.getVertices().isEmpty()) {
-			System.out.println("The graph is null or empty.");
-			return false;
-		}
-		
-		//Validate the file name
-		if (pFileName == null || pFileName.isEmpty()) {
-			System.out.println("A file name must be provided.");
-			return false;
-		}
-		
-		FileOutputStream lFileOutputStream = null;
-		ObjectOutputStream lObjOut = null;
-		
-		//Write the graph to the specified file
-		try {
-			lFileOutputStream = new FileOutputStream(pFileName);
-			lObjOut = new ObjectOutputStream(lFileOutputStream);
-			lObjOut.writeObject(pGraph);
-			lObjOut.flush();
-		} catch (FileNotFoundException pException) {
-			System.out.println("Exception: " + pException.getMessage());
-			return false;
-		} catch (IOException pException) {
-			System.out.println("Exception: " + pException.getMessage());
-			return false;
-		} finally {
-			if (lFileOutputStream != null) {
-				lFileOutputStream.close();
-			}
-			if (lObjOut != null) {
-				lObjOut.close();
-			}
-		}
-		
-		return true;
-	}
-	
-	/**
-	 * Reads the specified file and returns the graph representation.  If any errors occur, they will be printed out 
-	 * and null will be returned.
-	 * 
-	 * @param pFileName The file to read
-	 * @return The graph that was stored in the file
-	 */
-	public static Digraph readGraphFromFile(String pFileName) throws IOException {
-		//Validate the file name is not null
-		if (pFileName == null || pFileName.isEmpty()) {
-			System.out.println("A file name must be provided.");
-			return null;
-		}
-		
-		ObjectInputStream lObjectInputStream = null;
-		Digraph lGraph = null;
-		
-		//Read the graph from the file
-		try {
-			lObjectInputStream = new ObjectInputStream(new FileInputStream(pFileName));
-			Object lObj = lObjectInputStream.readObject();
-			if (lObj == null) {
-				System.out.println("The object in the file is null");
-			} else if (!(lObj instanceof Digraph)) {
-				System.out.println("The object in the file is null");
-			} else {
-				lGraph = (Digraph)lObj;
-			}
-		} catch (IOException pException) {
-			System.out.println("Exception: " + pException.getMessage());
-		} catch (ClassNotFoundException pException) {
-			System.out.println("Exception: " + pException.getMessage());
-		} finally {
-			if (lObjectInputStream != null) {
-				lObjectInputStream.close();
-			}
-		}
-		return lGraph;
-	}
-}
+package graphAssignment;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * This is a directed graph data structure.
+ * 
+ * <p>
+ * Each vertex is given a dense integer id when it is added to the graph, which stays the same for as long as the 
+ * vertex is in the graph.  The id of a removed vertex is handed out again to the next vertex that is added, so the 
+ * ids stay close to 0 through getVertexIdBound() - 1, and algorithms can keep their state in arrays indexed by id.
+ * </p>
+ * 
+ * <p>
+ * The graph can be used from several threads at once.  It is guarded by a read/write lock: any number of threads can 
+ * read it at the same time, while a change waits for the readers to finish and keeps everyone else out until it is 
+ * done.  Each method takes the lock for as long as it runs, so the searches and traversals of the graph itself see 
+ * it as it was when they started.  A caller that makes several calls, or walks the graph through its EdgeCursors, 
+ * and needs them all to see the same graph should hold getReadLock() around them, or work on a freeze() snapshot.
+ * </p>
+ * 
+ * @author Jessica Otte
+ *
+ */
+public class Digraph implements Serializable, IndexedGraph {
+  
+	/**
+	 * Generated id
+	 */
+	private static final long serialVersionUID = -542393287108382128L;
+	
+	
+	private Map<String, Vertex> vertices;
+	//Every edge, keyed on itself so an equal edge can be found in constant time, and the number of edges between 
+	//each pair of from and to vertex ids.  Both are rebuilt from the vertices when the graph is read back in.
+	private transient Map<Edge, Edge> edges;
+	private transient Map<Long, Integer> edgePairCounts;
+	
+	//The vertex with each id (null for an id that is free), and the ids that are free to be handed out again
+	private List<Vertex> verticesById;
+	private Deque<Integer> freeVertexIds;
+	
+	//Incremented every time a vertex or edge is added or removed, or an edge weight is changed
+	private transient volatile long version;
+	
+	//Lets a ConcurrentDigraph increment the version from many threads at once
+	private static final AtomicLongFieldUpdater<Digraph> VERSION_UPDATER = 
+		AtomicLongFieldUpdater.newUpdater(Digraph.class, "version");
+	
+	//Told about every change, after the version is incremented.  Listeners are not saved with the graph.
+	private transient List<GraphChangeListener> listeners = new CopyOnWriteArrayList<GraphChangeListener>();
+	
+	//Held for reading by every method that reads the graph, and for writing by every method that changes it
+	private transient ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	/**
+	 * Class Constructor. Initializes the vertices and edges maps
+	 */
+	Digraph() {
+		vertices = new HashMap<String, Vertex>();
+		edges = new HashMap<Edge, Edge>();
+		edgePairCounts = new HashMap<Long, Integer>();
+		verticesById = new ArrayList<Vertex>();
+		freeVertexIds = new ArrayDeque<Integer>();
+	}
+	
+	/**
+	 * Class Constructor, with list of vertices as a parameter
+	 * 
+	 * @param pVertices The initial set of vertices for this graph
+	 */
+	Digraph(List<Vertex> pVertices) {
+		vertices = new HashMap<String, Vertex>();
+		edges = new HashMap<Edge, Edge>();
+		edgePairCounts = new HashMap<Long, Integer>();
+		verticesById = new ArrayList<Vertex>();
+		freeVertexIds = new ArrayDeque<Integer>();
+		
+		//Initialize the Map with the vertices, using the label as the key
+		if (pVertices != null) {
+			for (Vertex lVertex : pVertices) {
+				vertices.put(lVertex.getLabel(), lVertex);
+				assignVertexId(lVertex);
+			}
+		}
+	}
+	
+	/**
+	 * Class Constructor, with the maps made big enough up front for the given number of vertices and edges, so they 
+	 * do not have to grow as the graph is loaded.  Used by DigraphBuilder.
+	 * 
+	 * @param pExpectedVertexCount The number of vertices the graph will have
+	 * @param pExpectedEdgeCount The number of edges the graph will have
+	 */
+	Digraph(int pExpectedVertexCount, int pExpectedEdgeCount) {
+		vertices = new HashMap<String, Vertex>(getMapCapacity(pExpectedVertexCount));
+		edges = new HashMap<Edge, Edge>(getMapCapacity(pExpectedEdgeCount));
+		edgePairCounts = new HashMap<Long, Integer>(getMapCapacity(pExpectedEdgeCount));
+		verticesById = new ArrayList<Vertex>(pExpectedVertexCount);
+		freeVertexIds = new ArrayDeque<Integer>();
+	}
+	
+	/**
+	 * Class Constructor, for a ConcurrentDigraph, which keeps the vertices and edges in collections that many threads 
+	 * can change at once.  The collections must be empty, and every method of the graph uses them.
+	 * 
+	 * @param pVertices The vertices by label
+	 * @param pEdges Every edge, keyed on itself
+	 * @param pEdgePairCounts The number of edges between each pair of from and to vertex ids
+	 * @param pVerticesById The vertex with each id
+	 * @param pFreeVertexIds The ids that are free to be handed out again
+	 */
+	Digraph(Map<String, Vertex> pVertices, Map<Edge, Edge> pEdges, Map<Long, Integer> pEdgePairCounts, 
+		List<Vertex> pVerticesById, Deque<Integer> pFreeVertexIds) {
+		vertices = pVertices;
+		edges = pEdges;
+		edgePairCounts = pEdgePairCounts;
+		verticesById = pVerticesById;
+		freeVertexIds = pFreeVertexIds;
+	}
+	
+	/**
+	 * 
+	 * @param pExpectedSize The number of entries a HashMap will hold
+	 * @return The capacity the map needs to hold them without growing
+	 */
+	private static int getMapCapacity(int pExpectedSize) {
+		return (int) Math.min(Integer.MAX_VALUE, pExpectedSize * 4L / 3 + 1);
+	}
+	
+	/**
+	 * Creates an edge based on the from and to vertices, and adds the edge to the map of edges
+	 * 
+	 * @param pFromVertex The starting vertex for the edge
+	 * @param pToVertex The ending vertex of the edge
+	 */
+	public void addEdge(Vertex pFromVertex, Vertex pToVertex) {
+		addEdge(new Edge(pFromVertex, pToVertex));
+	}
+	
+	/**
+	 * Creates an edge based on the from and to vertices and weight, and adds the edge to the map of edges
+	 * 
+	 * @param pFromVertex The starting vertex for the edge
+	 * @param pToVertex The ending vertex of the edge
+	 * @param pWeight The weight or cost of this edge
+	 */
+	public void addEdge(Vertex pFromVertex, Vertex pToVertex, int pWeight) {
+		addEdge(new Edge(pFromVertex, pToVertex, pWeight));
+	}
+	
+	/**
+	 * Creates an edge based on the passed in parameters, and adds the edge to the map of edges
+	 * 
+	 * @param pFromVertex The starting vertex for the edge
+	 * @param pToVertex The ending vertex of the edge
+	 * @param pWeight The weight or cost of this edge
+	 * @param pLabel The label or name of this edge
+	 */
+	public void addEdge(Vertex pFromVertex, Vertex pToVertex, int pWeight, String pLabel) {
+		Edge lEdge = new Edge(pFromVertex, pToVertex, pWeight, pLabel);
+		addEdge(lEdge);
+	}
+	
+	/**
+	 * Adds an edge to the graph.  If the from and to vertices do not yet exist in this graph, they are added.  This 
+	 * method holds the write lock so that multiple threads won't change the graph at the same time. 
+	 * 
+	 * <p>
+	 * If the edge is null or does not have both a from and to vertex, an error is printed
+	 * out and the method immediately returns.  Additionally, if the edge already exists in the graph, based on the 
+	 * from and to vertices and the weight of the edge, the edge will not be added a second time.
+	 * </p>
+	 * 
+	 * @param pEdge The edge to add to the graph
+	 */
+	public void addEdge(Edge pEdge) {
+		lock.writeLock().lock();
+		try {
+			//Validate that the edge is non-null
+			if (pEdge == null) {
+				System.out.println("Cannot add a null edge.");
+				return;
+			}
+		
+			//Validate that the edge has both a from and to vertex
+			if (pEdge.getFromVertex() == null || pEdge.getToVertex() == null) {
+				System.out.println("An edge must have both a from and to vertex.");
+				return;
+			}
+		
+			//If the edge already exists, do not add it
+			if (edges.containsKey(pEdge)) {
+				System.out.println("This edge already exists");
+				return;
+			}
+				
+			//Get the from and to vertices from the edge
+			Vertex lFromVertex = pEdge.getFromVertex();
+			Vertex lToVertex = pEdge.getToVertex();
+		
+			//If the from vertex does not yet exist, add it.  If the graph already has a vertex with this label, attach 
+			//the edge to that vertex
+			if (!vertices.containsKey(lFromVertex.getLabel())) {
+				addVertex(lFromVertex);
+			} else if (vertices.get(lFromVertex.getLabel()) != lFromVertex) {
+				lFromVertex = vertices.get(lFromVertex.getLabel());
+				pEdge.setFromVertex(lFromVertex);
+			}
+				
+			//If the to vertex does not yet exist, add it
+			if (!vertices.containsKey(lToVertex.getLabel())) {
+				addVertex(lToVertex);
+			} else if (vertices.get(lToVertex.getLabel()) != lToVertex) {
+				lToVertex = vertices.get(lToVertex.getLabel());
+				pEdge.setToVertex(lToVertex);
+			}
+				
+			//Add the edge to the appropriate list for each of the vertices.  The edge is known not to be in the graph 
+			//yet, so the lists do not need to be searched for it.
+			lFromVertex.appendOutgoingEdge(pEdge);
+			lToVertex.appendIncomingEdge(pEdge);
+		
+			//Add the edge to the map of edges
+			edges.put(pEdge, pEdge);
+			edgePairCounts.merge(getEdgePairKey(lFromVertex, lToVertex), 1, Integer::sum);
+			pEdge.setGraph(this);
+			version++;
+		
+			for (GraphChangeListener lListener : listeners) {
+				lListener.edgeAdded(this, pEdge);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Removes the edge from the graph, and removes the edge from its from and to vertices.  If the edge is null, an 
+	 * error is printed out and the method returns immediately.  This method holds the write lock so that multiple 
+	 * threads won't change the graph at the same time. 
+	 * 
+	 * @param pEdge The edge to remove from the graph
+	 */
+	public void removeEdge(Edge pEdge) {
+		lock.writeLock().lock();
+		try {
+			//Validate that the edge is non-null
+			if (pEdge == null) {
+				System.out.println("Cannot add a null edge.");
+				return;
+			}
+		
+			//Find the edge object that is actually in the graph, which may not be the one passed in
+			Edge lEdge = edges.remove(pEdge);
+			if (lEdge == null) {
+				System.out.println("This edge does not exist in the graph.");
+				return;
+			}
+		
+			//Remove the edge from the from and to vertices
+			lEdge.getFromVertex().removeOutgoingEdge(lEdge);
+			lEdge.getToVertex().removeIncomingEdge(lEdge);
+		
+			//Remove the edge from the count of edges between its vertices
+			Long lPairKey = getEdgePairKey(lEdge.getFromVertex(), lEdge.getToVertex());
+			if (edgePairCounts.merge(lPairKey, -1, Integer::sum) == 0) {
+				edgePairCounts.remove(lPairKey);
+			}
+			lEdge.setGraph(null);
+			version++;
+		
+			for (GraphChangeListener lListener : listeners) {
+				lListener.edgeRemoved(this, lEdge);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Changes the weight of an edge in the graph.  Since the weight is part of what identifies an edge, the edge is 
+	 * moved to its new place in the map of edges.  If the graph already has an edge between the same vertices with 
+	 * the new weight, an error is printed out and the weight is not changed.  This is called by Edge.setWeight.
+	 * 
+	 * @param pEdge An edge in this graph
+	 * @param pWeight The new weight of the edge
+	 */
+	void changeEdgeWeight(Edge pEdge, int pWeight) {
+		lock.writeLock().lock();
+		try {
+			if (pEdge.getWeight() == pWeight) {
+				return;
+			}
+		
+			//Don't allow the change if it would make the edge a duplicate of another edge
+			if (edges.containsKey(new Edge(pEdge.getFromVertex(), pEdge.getToVertex(), pWeight))) {
+				System.out.println("An edge with this weight already exists");
+				return;
+			}
+		
+			int lOldWeight = pEdge.getWeight();
+			edges.remove(pEdge);
+			pEdge.storeWeight(pWeight);
+			edges.put(pEdge, pEdge);
+			version++;
+		
+			for (GraphChangeListener lListener : listeners) {
+				lListener.edgeWeightChanged(this, pEdge, lOldWeight);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Returns the structural version of the graph.  The version goes up every time a vertex or edge is added or 
+	 * removed, or the weight of an edge is changed, and never goes down.  Anything computed from the graph, such as a 
+	 * shortest path, can remember the version it was computed at, and is still valid as long as the version has not 
+	 * changed.  This is much cheaper than comparing the graph with a copy of itself.
+	 * 
+	 * @return The current version of the graph
+	 */
+	@Override
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Increments the version without holding the write lock.  Only used by ConcurrentDigraph, whose changes are made 
+	 * by many threads at once.
+	 */
+	void incrementVersion() {
+		VERSION_UPDATER.incrementAndGet(this);
+	}
+	
+	/**
+	 * 
+	 * @return The vertices by label.  Only used by ConcurrentDigraph, which guards them with its own locks.
+	 */
+	Map<String, Vertex> getVertexMap() {
+		return vertices;
+	}
+	
+	/**
+	 * 
+	 * @return Every edge, keyed on itself.  Only used by ConcurrentDigraph, which guards them with its own locks.
+	 */
+	Map<Edge, Edge> getEdgeMap() {
+		return edges;
+	}
+	
+	/**
+	 * 
+	 * @return The number of edges between each pair of from and to vertex ids.  Only used by ConcurrentDigraph, which 
+	 * guards them with its own locks.
+	 */
+	Map<Long, Integer> getEdgePairCounts() {
+		return edgePairCounts;
+	}
+	
+	/**
+	 * 
+	 * @return The vertex with each id.  Only used by ConcurrentDigraph, which guards them with its own locks.
+	 */
+	List<Vertex> getVerticesById() {
+		return verticesById;
+	}
+	
+	/**
+	 * 
+	 * @return The ids that are free to be handed out again.  Only used by ConcurrentDigraph, which guards them with 
+	 * its own locks.
+	 */
+	Deque<Integer> getFreeVertexIds() {
+		return freeVertexIds;
+	}
+	
+	/**
+	 * Gets the read lock of the graph.  While a thread holds it, the graph cannot be changed, so several calls, or a 
+	 * walk over the graph with its EdgeCursors, all see the same graph.  Other threads can read the graph at the same 
+	 * time.  The lock must be unlocked by the thread that locked it, and the graph must not be changed by that thread 
+	 * while it holds the lock, since a read lock cannot be turned into a write lock.
+	 * 
+	 * @return The read lock of the graph
+	 */
+	public Lock getReadLock() {
+		return lock.readLock();
+	}
+	
+	/**
+	 * Adds a listener that is told about every change made to the graph from now on.  The listener is called while 
+	 * the graph holds its write lock.  If the listener is null, an error is printed out and it is not added.
+	 * 
+	 * @param pListener The listener to add
+	 */
+	public void addGraphChangeListener(GraphChangeListener pListener) {
+		if (pListener == null) {
+			System.out.println("Cannot add a null listener.");
+			return;
+		}
+		listeners.add(pListener);
+	}
+	
+	/**
+	 * 
+	 * @param pListener A listener to stop telling about changes to the graph
+	 */
+	public void removeGraphChangeListener(GraphChangeListener pListener) {
+		listeners.remove(pListener);
+	}
+	
+	/**
+	 * Checks if the graph has an edge equal to the given edge, meaning one with the same from and to vertices and the 
+	 * same weight.
+	 * 
+	 * @param pEdge The edge to look for
+	 * @return True if the graph contains the edge, False otherwise
+	 */
+	public boolean containsEdge(Edge pEdge) {
+		lock.readLock().lock();
+		try {
+			return pEdge != null && edges.containsKey(pEdge);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Checks if the graph has at least one edge directed from one vertex to another, of any weight.
+	 * 
+	 * @param pFromVertex The starting vertex of the edge
+	 * @param pToVertex The ending vertex of the edge
+	 * @return True if the graph contains an edge from pFromVertex to pToVertex, False otherwise
+	 */
+	public boolean containsEdge(Vertex pFromVertex, Vertex pToVertex) {
+		lock.readLock().lock();
+		try {
+			if (pFromVertex == null || pToVertex == null) {
+				return false;
+			}
+		
+			Vertex lFromVertex = vertices.get(pFromVertex.getLabel());
+			Vertex lToVertex = vertices.get(pToVertex.getLabel());
+			if (lFromVertex == null || lToVertex == null) {
+				return false;
+			}
+		
+			return edgePairCounts.containsKey(getEdgePairKey(lFromVertex, lToVertex));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param pFromVertex The from vertex of an edge in this graph
+	 * @param pToVertex The to vertex of an edge in this graph
+	 * @return A key combining the ids of the two vertices
+	 */
+	private static Long getEdgePairKey(Vertex pFromVertex, Vertex pToVertex) {
+		return ((long) pFromVertex.getId() << 32) | (pToVertex.getId() & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * 
+	 * @param pLabel The label that uniquely identifies the vertex
+	 * @return The Vertex with the label matching pLabel
+	 */
+	public Vertex getVertex(String pLabel) {
+		lock.readLock().lock();
+		try {
+			return vertices.get(pLabel);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param pVertexId The id of the vertex
+	 * @return The Vertex with the given id, or null if no vertex in the graph has that id
+	 */
+	public Vertex getVertex(int pVertexId) {
+		lock.readLock().lock();
+		try {
+			if (pVertexId < 0 || pVertexId >= verticesById.size()) {
+				return null;
+			}
+			return verticesById.get(pVertexId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getVertexId(String pLabel) {
+		lock.readLock().lock();
+		try {
+			Vertex lVertex = vertices.get(pLabel);
+			return lVertex == null ? -1 : lVertex.getId();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public String getVertexLabel(int pVertexId) {
+		Vertex lVertex = getVertex(pVertexId);
+		return lVertex == null ? null : lVertex.getLabel();
+	}
+	
+	@Override
+	public boolean containsVertex(int pVertexId) {
+		return getVertex(pVertexId) != null;
+	}
+	
+	@Override
+	public int getVertexCount() {
+		lock.readLock().lock();
+		try {
+			return vertices.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getVertexIdBound() {
+		lock.readLock().lock();
+		try {
+			return verticesById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getEdgeCount() {
+		lock.readLock().lock();
+		try {
+			return edges.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getOutDegree(int pVertexId) {
+		lock.readLock().lock();
+		try {
+			//An id that is not in use has no edges
+			Vertex lVertex = verticesById.get(pVertexId);
+			return lVertex == null ? 0 : lVertex.getOutgoingEdges().size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getInDegree(int pVertexId) {
+		lock.readLock().lock();
+		try {
+			Vertex lVertex = verticesById.get(pVertexId);
+			return lVertex == null ? 0 : lVertex.getIncomingEdges().size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Calls the consumer with the id of each vertex that the given vertex has an edge directed toward.
+	 * 
+	 * @param pVertexId The id of the vertex whose next vertices are desired
+	 * @param pConsumer Called with the id of each next vertex
+	 */
+	public void forEachOutNeighbor(int pVertexId, IntConsumer pConsumer) {
+		lock.readLock().lock();
+		try {
+			Vertex lVertex = verticesById.get(pVertexId);
+			if (lVertex == null) {
+				return;
+			}
+			for (Edge lEdge : lVertex.getOutgoingEdges()) {
+				pConsumer.accept(lEdge.getToVertex().getId());
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Calls the consumer with the id of each vertex that has an edge directed toward the given vertex.
+	 * 
+	 * @param pVertexId The id of the vertex whose previous vertices are desired
+	 * @param pConsumer Called with the id of each previous vertex
+	 */
+	public void forEachInNeighbor(int pVertexId, IntConsumer pConsumer) {
+		lock.readLock().lock();
+		try {
+			Vertex lVertex = verticesById.get(pVertexId);
+			if (lVertex == null) {
+				return;
+			}
+			for (Edge lEdge : lVertex.getIncomingEdges()) {
+				pConsumer.accept(lEdge.getFromVertex().getId());
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public EdgeCursor newOutgoingCursor() {
+		return new VertexEdgeCursor(true);
+	}
+	
+	@Override
+	public EdgeCursor newIncomingCursor() {
+		return new VertexEdgeCursor(false);
+	}
+	
+	/**
+	 * Adds a vertex to the graph.  If the vertex is null, an error will be printed out and the method will return 
+	 * immediately.  If the vertex already exists in the graph, a message will be printed out and the vertex will not 
+	 * be added again.  This method holds the write lock so that multiple threads will not be changing the graph at the 
+	 * same time.
+	 * 
+	 * @param pVertex The vertex to add to the graph
+	 */
+	public void addVertex(Vertex pVertex) {
+		lock.writeLock().lock();
+		try {
+			//Validate that the vertex is non-null
+			if (pVertex == null) {
+				System.out.println("Cannot add a null vertex.");
+				return;
+			}
+				
+			//If the vertex already exists, do not add it
+			if (vertices.containsKey(pVertex.getLabel())) {
+				System.out.println("This vertex already exists.");
+				return;
+			}
+				
+			//Add the vertex to the graph
+			vertices.put(pVertex.getLabel(), pVertex);
+			assignVertexId(pVertex);
+			version++;
+		
+			for (GraphChangeListener lListener : listeners) {
+				lListener.vertexAdded(this, pVertex);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Adds a vertex that is known not to be in the graph, without checking it or telling the listeners.  Only used by 
+	 * DigraphBuilder, on a graph that no other thread can see yet.
+	 * 
+	 * @param pVertex A vertex whose label is not in the graph
+	 */
+	void appendVertex(Vertex pVertex) {
+		vertices.put(pVertex.getLabel(), pVertex);
+		assignVertexId(pVertex);
+		version++;
+	}
+	
+	/**
+	 * Adds an edge that is known not to be in the graph, between two vertices that are, without checking it or 
+	 * telling the listeners.  Only used by DigraphBuilder, on a graph that no other thread can see yet.
+	 * 
+	 * @param pEdge An edge that is not in the graph, whose from and to vertices are
+	 */
+	void appendEdge(Edge pEdge) {
+		pEdge.getFromVertex().appendOutgoingEdge(pEdge);
+		pEdge.getToVertex().appendIncomingEdge(pEdge);
+		edges.put(pEdge, pEdge);
+		edgePairCounts.merge(getEdgePairKey(pEdge.getFromVertex(), pEdge.getToVertex()), 1, Integer::sum);
+		pEdge.setGraph(this);
+		version++;
+	}
+	
+	/**
+	 * Gives a vertex that was just added to the graph its id, reusing the id of a removed vertex if there is one
+	 * 
+	 * @param pVertex The vertex that was added
+	 */
+	private void assignVertexId(Vertex pVertex) {
+		if (freeVertexIds.isEmpty()) {
+			pVertex.setId(verticesById.size());
+			verticesById.add(pVertex);
+		} else {
+			pVertex.setId(freeVertexIds.pop());
+			verticesById.set(pVertex.getId(), pVertex);
+		}
+	}
+	
+	/**
+	 * Removes a vertex from the graph, and removes all connecting edges.  If the vertex is null, or is not contained
+	 * in the graph, an error message is printed out and the method returns immediately.  This method holds the write 
+	 * lock so that multiple threads cannot change the graph at the same time.
+	 * 
+	 * @param pVertex The vertex to remove from the graph
+	 */
+	public void removeVertex(Vertex pVertex) {
+		lock.writeLock().lock();
+		try {
+			//Validate that the vertex is non-null
+			if (pVertex == null) {
+				System.out.println("Cannot remove a null vertex.");
+				return;
+			}
+						
+			//If the vertex doesn't exist in the graph, nothing to do, return
+			if (!vertices.containsKey(pVertex.getLabel())) {
+				System.out.println("This vertex does not exist in the graph.");
+				return;
+			}
+		
+			//Remove the vertex from the graph
+			Vertex lVertex = vertices.remove(pVertex.getLabel());
+		
+			//Remove all edges associated with this vertex.  The incoming edges are listed after the outgoing ones are 
+			//removed, so a self-loop, which is in both, is only removed once.
+			for (Edge lEdge : new ArrayList<Edge>(lVertex.getOutgoingEdges())) {
+				removeEdge(lEdge);
+			}
+			for (Edge lEdge : new ArrayList<Edge>(lVertex.getIncomingEdges())) {
+				removeEdge(lEdge);
+			}
+		
+			//Free up the id of the vertex so it can be given to the next vertex that is added
+			int lVertexId = lVertex.getId();
+			verticesById.set(lVertexId, null);
+			freeVertexIds.push(lVertexId);
+			lVertex.setId(-1);
+			version++;
+		
+			for (GraphChangeListener lListener : listeners) {
+				lListener.vertexRemoved(this, lVertex, lVertexId);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Returns a string representation of the graph.
+	 * 
+	 * @return A string representing the edges and vertices of the graph
+	 */
+	@Override
+	public String toString() {
+		lock.readLock().lock();
+		try {
+			StringBuilder lStrBuilder = new StringBuilder();
+		
+			lStrBuilder.append("\nEdges:");
+		
+			if (edges != null && !edges.isEmpty()) {
+				Iterator<Edge> lIter = edges.values().iterator();
+				while (lIter.hasNext()) {
+					Edge lEdge = lIter.next();
+					lStrBuilder.append("\n" + lEdge.toString());
+				}
+			} else {
+				lStrBuilder.append("\nNone.");
+			}
+		
+			lStrBuilder.append("\n\nVertices:\n");
+		
+			if (vertices != null && !vertices.isEmpty()) {
+				lStrBuilder.append(getVertexKeys());
+			} else {
+				lStrBuilder.append("None.");
+			}
+			lStrBuilder.append("\n");
+		
+			return lStrBuilder.toString();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return The label of each vertex in the graph, as a copy that is not changed when the graph is
+	 */
+	public Set<String> getVertexKeys() {
+		lock.readLock().lock();
+		try {
+			return new HashSet<String>(vertices.keySet());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return Each vertex in the graph
+	 */
+	public List<Vertex> getVertices() {
+		lock.readLock().lock();
+		try {
+			return new ArrayList<Vertex>(vertices.values());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return Each edge in the graph
+	 */
+	public List<Edge> getEdges() {
+		lock.readLock().lock();
+		try {
+			return new ArrayList<Edge>(edges.values());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Gets all of the edges associated with a given vertex.  If the vertex is null or if the vertex does not exist in 
+	 * the graph, an error is printed out, and the method returns null.
+	 * 
+	 * @param pVertex The vertex whose edges are returned 
+	 * @return All edges, incoming and outgoing, for pVertex
+	 */
+	public List<Edge> getAllEdges(Vertex pVertex) {
+		lock.readLock().lock();
+		try {
+			//Validate that the vertex is non-null
+			if (pVertex == null) {
+				System.out.println("Vertex is null.");
+				return null;
+			}
+		
+			if (!vertices.containsKey(pVertex.getLabel())) {
+				System.out.println("The graph does not contain the given vertex.");
+				return null;
+			}
+		
+			return vertices.get(pVertex.getLabel()).getAllEdges();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * This method will return all vertices adjacent to the given vertex where the edge is directed towards pVertex.  
+	 * If pVertex is null or is not contained in the graph, an error is printed out and the method returns null.  If 
+	 * the vertex does not have any previous vertices, null is returned.
+	 * 
+	 * @param pVertex The vertex whose previous vertices are desired
+	 * @return All adjacent vertices to pVertex where the edge connecting them is incoming for pVertex (directed towards
+	 * pVertex)
+	 */
+	public List<Vertex> getPreviousVertices(Vertex pVertex) {
+		lock.readLock().lock();
+		try {
+			//Validate that the vertex is non-null
+			if (pVertex == null) {
+				System.out.println("Cannot find previous vertices for null vertex.");
+				return null;
+			}
+		
+			//Validate that the graph contains this vertex
+			if (!vertices.containsKey(pVertex.getLabel())) {
+				System.out.println("The vertex does not exist in the graph.");
+				return null;
+			}
+		
+			//If the vertex has no incoming edges, return null
+			if (pVertex.getIncomingEdges() == null || pVertex.getIncomingEdges().isEmpty()) {
+				System.out.println("This vertex does not have any previous vertices.");
+				return null;
+			}
+		
+			//Find all adjacent vertices using the incoming edges for the vertex
+			List<Vertex> lAdjacentVertices = new ArrayList<Vertex>();
+			for (Edge lEdge : pVertex.getIncomingEdges()) {
+				lAdjacentVertices.add(lEdge.getFromVertex());
+			}			
+		
+			return lAdjacentVertices;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * This method will return all vertices adjacent to the given vertex where the edge is directed away from pVertex.  
+	 * If pVertex is null or is not contained in the graph, an error is printed out and the method returns null.  If 
+	 * the vertex does not have any next vertices, null is returned.
+	 * 
+	 * @param pVertex The vertex whose next vertices are desired
+	 * @return All adjacent vertices to pVertex where the edge connecting them is outgoing for pVertex (directed away
+	 * from pVertex)
+	 */
+	public List<Vertex> getNextVertices(Vertex pVertex) {
+		lock.readLock().lock();
+		try {
+			//Validate that the vertex is non-null
+			if (pVertex == null) {
+				System.out.println("Cannot find next vertices for null vertex.");
+				return null;
+			}
+
+			//Validate that the graph contains this vertex
+			if (!vertices.containsKey(pVertex.getLabel())) {
+				System.out.println("The vertex does not exist in the graph.");
+				return null;
+			}
+
+			//If the vertex has no outgoing edges, return null
+			if (pVertex.getOutgoingEdges() == null || pVertex.getOutgoingEdges().isEmpty()) {
+				return null;
+			}
+
+			//Find all adjacent vertices using the outgoing edges for the vertex
+			List<Vertex> lAdjacentVertices = new ArrayList<Vertex>();
+			for (Edge lEdge : pVertex.getOutgoingEdges()) {
+				lAdjacentVertices.add(lEdge.getToVertex());
+			}			
+
+			return lAdjacentVertices;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}	
+	
+	/**
+	 * A graph is equal (in this case) if the vertices and edges are the same.
+	 */
+	@Override
+	public boolean equals(Object pObj) {
+	    if (pObj == null) {
+	    	return false;
+	    }
+	    
+	    if (pObj == this) {
+	    	return true;
+	    }
+	    
+	    if (!(pObj instanceof Digraph)) {
+	    	return false;
+	    }
+	    
+	    Digraph lGraph = (Digraph)pObj;
+	    
+	    //Copy the other graph's vertices and edges under its own lock first, so the two locks are never held at once 
+	    //and two threads comparing the graphs both ways cannot lock each other out.  The other graph is read through 
+	    //its own read lock and methods, since it may be a ConcurrentDigraph, which has locks of its own.
+	    Set<String> lVertexKeys;
+	    List<Edge> lEdges;
+	    lGraph.getReadLock().lock();
+	    try {
+	    	lVertexKeys = lGraph.getVertexKeys();
+	    	lEdges = lGraph.getEdges();
+	    } finally {
+	    	lGraph.getReadLock().unlock();
+	    }
+	    
+	    getReadLock().lock();
+	    try {
+		    //A graph is equal if it's vertices and edges are equal
+		    //First just check to make sure the amount of vertices and edges are equal
+		    boolean lIsEqual = getVertexCount() == lVertexKeys.size() && getEdgeCount() == lEdges.size();
+		    
+		    //Make sure all of the vertices and edges in the other graph exist in this graph.  Both are looked up by 
+		    //key, so this takes time proportional to the size of the graph
+		    for (Iterator<String> lIter = lVertexKeys.iterator(); lIsEqual && lIter.hasNext();) {
+		    	lIsEqual = getVertex(lIter.next()) != null;
+		    }
+		    for (Iterator<Edge> lIter = lEdges.iterator(); lIsEqual && lIter.hasNext();) {
+		    	lIsEqual = containsEdge(lIter.next());
+		    }
+		    	    
+		    return lIsEqual;
+	    } finally {
+	    	getReadLock().unlock();
+	    }
+	}
+	
+	/**
+	 * This method returns true if the graph is considered connected, ie: there is an edge connecting each vertex.  It
+	 * performs a depth first search and then compares the number of vertices that were marked as visited with the 
+	 * number of vertices in the graph.  If all were visited, then the graph is connected.  If the graph has no 
+	 * vertices, an error is printed out and false is returned.
+	 * 
+	 * @return True if the graph is connected, False otherwise
+	 * 
+	 */
+	public Boolean isConnected() {
+		lock.readLock().lock();
+		try {
+			//Find the first vertex in the graph
+			int lStartId = 0;
+			while (lStartId < verticesById.size() && verticesById.get(lStartId) == null) {
+				lStartId++;
+			}
+		
+			if (lStartId == verticesById.size()) {
+				System.out.println("The graph does not have any vertices.");
+				return false;
+			}
+		
+			//Perform DFS using the first vertex in the graph, and get back the number of vertices that were visited
+			int lVerticesVisited = GraphTraversal.depthFirstSearch(this, lStartId, pVertexId -> true);
+		
+			//Compare the number of vertices visited with the number of vertices in the graph
+			return lVerticesVisited == vertices.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Performs a depth first search of the graph, given a starting vertex.  
+	 * 
+	 * @param pVertex The starting vertex for the search
+	 * @return The vertices that were visited, in the order they were visited
+	 */
+	public List<Vertex> depthFirstSeach(Vertex pVertex) {
+		lock.readLock().lock();
+		try {
+			final List<Vertex> lVistedList = new ArrayList<Vertex>();
+		
+			depthFirstSearch(pVertex, pVertexId -> lVistedList.add(verticesById.get(pVertexId)));
+		
+			return lVistedList;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Performs a depth first search of the graph, given a starting vertex, calling the visitor with the id of each 
+	 * vertex as it is reached.  If the vertex is null or not in the graph, an error is printed out and nothing is 
+	 * visited.
+	 * 
+	 * @param pVertex The starting vertex for the search
+	 * @param pVisitor Called for each vertex that is reached; the search stops as soon as it returns false
+	 * @return The number of vertices that were visited
+	 */
+	public int depthFirstSearch(Vertex pVertex, VertexVisitor pVisitor) {
+		lock.readLock().lock();
+		try {
+			return GraphTraversal.depthFirstSearch(this, getStartId(pVertex), pVisitor);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Performs a breadth first search of the graph, given a starting vertex, calling the visitor with the id of each 
+	 * vertex as it is reached.  If the vertex is null or not in the graph, an error is printed out and nothing is 
+	 * visited.
+	 * 
+	 * @param pVertex The starting vertex for the search
+	 * @param pVisitor Called for each vertex that is reached; the search stops as soon as it returns false
+	 * @return The number of vertices that were visited
+	 */
+	public int breadthFirstSearch(Vertex pVertex, VertexVisitor pVisitor) {
+		lock.readLock().lock();
+		try {
+			return GraphTraversal.breadthFirstSearch(this, getStartId(pVertex), pVisitor);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Checks if there is a path from one vertex to another.  The search stops as soon as the destination is found.
+	 * 
+	 * @param pFromVertex The vertex to start at
+	 * @param pToVertex The vertex to look for
+	 * @return True if pToVertex can be reached from pFromVertex, False otherwise
+	 */
+	public boolean isReachable(Vertex pFromVertex, Vertex pToVertex) {
+		lock.readLock().lock();
+		try {
+			if (pToVertex == null || !vertices.containsKey(pToVertex.getLabel())) {
+				return false;
+			}
+			return GraphTraversal.isReachable(this, getStartId(pFromVertex), getVertexId(pToVertex.getLabel()));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param pVertex The starting vertex of a traversal
+	 * @return The id of the vertex in this graph, or -1 if it is null or not in the graph
+	 */
+	private int getStartId(Vertex pVertex) {
+		return pVertex == null ? -1 : getVertexId(pVertex.getLabel());
+	}
+	
+	/**
+	 * Creates an immutable compressed sparse row (CSR) snapshot of the graph.  Each vertex keeps the id it has in 
+	 * this graph, and the outgoing edges of each vertex keep the order they have in the graph.  Later changes to the 
+	 * graph are not reflected in the snapshot.  This method holds the read lock so that the graph cannot be modified 
+	 * while the snapshot is taken.
+	 * 
+	 * @return A read-only snapshot of the graph
+	 */
+	public CsrGraph freeze() {
+		getReadLock().lock();
+		try {
+			int lIdBound = verticesById.size();
+			int[] lOffsets = new int[lIdBound + 1];
+			int[] lTargets = new int[edges.size()];
+			int[] lWeights = new int[edges.size()];
+			String[] lLabels = layOutEdges(lOffsets, lTargets, lWeights);
+		
+			return new CsrGraph(lLabels, lOffsets, lTargets, lWeights);
+		} finally {
+			getReadLock().unlock();
+		}
+	}
+	
+	/**
+	 * Creates an immutable snapshot of the graph that takes far less memory than the graph itself, or than a 
+	 * CsrGraph, as described by CompressedGraph.  Each vertex keeps the id it has in this graph.  The labels of the 
+	 * edges are not kept, and later changes to the graph are not reflected in the snapshot.  This method holds the 
+	 * read lock while the edges are copied, but not while they are compressed.
+	 * 
+	 * @return A read-only compressed snapshot of the graph
+	 */
+	public CompressedGraph compress() {
+		int[] lOffsets;
+		int[] lTargets;
+		int[] lWeights;
+		String[] lLabels;
+		getReadLock().lock();
+		try {
+			lOffsets = new int[verticesById.size() + 1];
+			lTargets = new int[edges.size()];
+			lWeights = new int[edges.size()];
+			lLabels = layOutEdges(lOffsets, lTargets, lWeights);
+		} finally {
+			getReadLock().unlock();
+		}
+		return new CompressedGraph(lLabels, lOffsets, lTargets, lWeights);
+	}
+	
+	/**
+	 * Lays out the outgoing edges of each vertex one after another, in order of vertex id, in compressed sparse row 
+	 * form.  Must be called holding the read lock, with arrays sized for the graph.
+	 * 
+	 * @param pOffsets Filled with the start of each vertex's outgoing edges, and then the edge count
+	 * @param pTargets Filled with the to vertex of each edge
+	 * @param pWeights Filled with the weight of each edge
+	 * @return The label of each vertex id, or null for an id that is not in use
+	 */
+	private String[] layOutEdges(int[] pOffsets, int[] pTargets, int[] pWeights) {
+		int lIdBound = pOffsets.length - 1;
+		String[] lLabels = new String[lIdBound];
+		int lEdgeCount = 0;
+		for (int i = 0; i < lIdBound; i++) {
+			pOffsets[i] = lEdgeCount;
+			Vertex lVertex = verticesById.get(i);
+			if (lVertex == null) {
+				continue;
+			}
+		
+			lLabels[i] = lVertex.getLabel();
+			for (Edge lEdge : lVertex.getOutgoingEdges()) {
+				pTargets[lEdgeCount] = lEdge.getToVertex().getId();
+				pWeights[lEdgeCount] = lEdge.getWeight();
+				lEdgeCount++;
+			}
+		}
+		pOffsets[lIdBound] = lEdgeCount;
+		return lLabels;
+	}
+	
+	/**
+	 * This class method saves a specified graph to a specified file, in non-human readable form. If the graph is 
+	 * null or has no vertices, then an error is printed out and the graph is not saved.  If a file name is not 
+	 * provided, an error is printed and the graph is not saved.  The graph is saved in the compact binary format 
+	 * described by GraphFile.
+	 * 
+	 * @param pGraph The graph to save to the file
+	 * @param pFileName The name of the file
+	 * @return True if the graph was saved to the file successfully, False otherwise
+	 */
+	public static Boolean saveGraphToFile(Digraph pGraph, String pFileName) throws IOException {
+		//Validate that the graph is not null and not empty
+		if (pGraph == null || pGraph.getVertices() == null || pGraph.getVertices().isEmpty()) {
+			System.out.println("The graph is null or empty.");
+			return false;
+		}
+		
+		//Validate the file name
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return false;
+		}
+		
+		return GraphFile.write(pGraph, pFileName);
+	}
+	
+	/**
+	 * Reads the specified file and returns the graph representation.  If any errors occur, they will be printed out 
+	 * and null will be returned.  Files saved with Java serialization, before there was a graph file format, can 
+	 * still be read, so they can be read in and saved again in the new format.
+	 * 
+	 * @param pFileName The file to read
+	 * @return The graph that was stored in the file
+	 */
+	public static Digraph readGraphFromFile(String pFileName) throws IOException {
+		//Validate the file name is not null
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return null;
+		}
+		
+		if (!GraphFile.isSerializedGraph(pFileName)) {
+			return GraphFile.read(pFileName);
+		}
+		
+		ObjectInputStream lObjectInputStream = null;
+		Digraph lGraph = null;
+		
+		//Read the graph from the file
+		try {
+			lObjectInputStream = new ObjectInputStream(new FileInputStream(pFileName));
+			Object lObj = lObjectInputStream.readObject();
+			if (lObj == null) {
+				System.out.println("The object in the file is null");
+			} else if (!(lObj instanceof Digraph)) {
+				System.out.println("The object in the file is null");
+			} else {
+				lGraph = (Digraph)lObj;
+			}
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+		} catch (ClassNotFoundException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+		} finally {
+			if (lObjectInputStream != null) {
+				lObjectInputStream.close();
+			}
+		}
+		return lGraph;
+	}
+	
+	/**
+	 * Reads the graph when it is deserialized.  Graphs saved before vertices had ids are given ids as they are read,
+	 * and the edge index is rebuilt from the edge lists of the vertices.
+	 */
+	private void readObject(ObjectInputStream pInputStream) throws IOException, ClassNotFoundException {
+		pInputStream.defaultReadObject();
+		
+		if (verticesById == null) {
+			verticesById = new ArrayList<Vertex>();
+			freeVertexIds = new ArrayDeque<Integer>();
+			for (Vertex lVertex : vertices.values()) {
+				assignVertexId(lVertex);
+			}
+		}
+		
+		edges = new HashMap<Edge, Edge>();
+		edgePairCounts = new HashMap<Long, Integer>();
+		listeners = new CopyOnWriteArrayList<GraphChangeListener>();
+		lock = new ReentrantReadWriteLock();
+		indexEdges();
+	}
+	
+	/**
+	 * Fills an empty graph with vertices read back in from a graph file, which already have their ids and their 
+	 * edges.  The ids that no vertex has are free to be handed out again, lowest first.  Only used by GraphFile, on a 
+	 * graph that no other thread can see yet.
+	 * 
+	 * @param pVertices The vertices of the graph, with their ids set and their edges in their edge lists
+	 */
+	void restoreVertices(List<Vertex> pVertices) {
+		for (Vertex lVertex : pVertices) {
+			vertices.put(lVertex.getLabel(), lVertex);
+			while (verticesById.size() <= lVertex.getId()) {
+				verticesById.add(null);
+			}
+			verticesById.set(lVertex.getId(), lVertex);
+		}
+		for (int i = verticesById.size() - 1; i >= 0; i--) {
+			if (verticesById.get(i) == null) {
+				freeVertexIds.push(i);
+			}
+		}
+		indexEdges();
+		version++;
+	}
+	
+	/**
+	 * Rebuilds the edge index, and the positions of the edges in their lists, from the edge lists of the vertices
+	 */
+	private void indexEdges() {
+		for (Vertex lVertex : vertices.values()) {
+			List<Edge> lOutgoingEdges = lVertex.getOutgoingEdges();
+			for (int i = 0; i < lOutgoingEdges.size(); i++) {
+				Edge lEdge = lOutgoingEdges.get(i);
+				lEdge.setOutgoingPosition(i);
+				lEdge.setGraph(this);
+				edges.put(lEdge, lEdge);
+				edgePairCounts.merge(getEdgePairKey(lEdge.getFromVertex(), lEdge.getToVertex()), 1, Integer::sum);
+			}
+			
+			List<Edge> lIncomingEdges = lVertex.getIncomingEdges();
+			for (int i = 0; i < lIncomingEdges.size(); i++) {
+				lIncomingEdges.get(i).setIncomingPosition(i);
+			}
+		}
+	}
+	
+	/**
+	 * An edge cursor over the outgoing or incoming edge list of a vertex in this graph
+	 */
+	private class VertexEdgeCursor implements EdgeCursor {
+		
+		private final boolean outgoing;
+		private List<Edge> edgeList;
+		private Edge edge;
+		private int position;
+		
+		VertexEdgeCursor(boolean pOutgoing) {
+			outgoing = pOutgoing;
+		}
+		
+		@Override
+		public void moveTo(int pVertexId) {
+			//An id that is not in use has no edges
+			Vertex lVertex = verticesById.get(pVertexId);
+			if (lVertex == null) {
+				edgeList = Collections.<Edge>emptyList();
+			} else {
+				edgeList = outgoing ? lVertex.getOutgoingEdges() : lVertex.getIncomingEdges();
+			}
+			position = -1;
+		}
+		
+		@Override
+		public boolean next() {
+			position++;
+			if (position >= edgeList.size()) {
+				return false;
+			}
+			edge = edgeList.get(position);
+			return true;
+		}
+		
+		@Override
+		public int getAdjacentVertexId() {
+			return outgoing ? edge.getToVertex().getId() : edge.getFromVertex().getId();
+		}
+		
+		@Override
+		public int getWeight() {
+			return edge.getWeight();
+		}
+	}
+}
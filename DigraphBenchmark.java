@@ -0,0 +1,199 @@
+package graphAssignment;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many operations a second several threads get through on one Digraph, with a mix of reads and writes.
+ * Each mix is run twice: once with every operation made to wait on the graph's monitor, which is how a caller had to
+ * use the graph from several threads when it only synchronized its changes, and once relying on the graph's own
+ * read/write lock, so readers can run side by side.
+ *
+ * <p>
+ * It then measures how fast the threads can load a graph, each adding its share of the edges, into a Digraph and
+ * into a ConcurrentDigraph.
+ * </p>
+ *
+ * <p>
+ * The arguments are the number of threads, the number of vertices, and how long to run each mix in milliseconds, and
+ * default to the number of processors, 10000 and 2000.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class DigraphBenchmark {
+
+	//The percentage of operations that change the graph, in each mix that is run
+	private static final int[] WRITE_PERCENTAGES = {0, 1, 10, 50};
+
+	public static void main(String[] args) {
+		int lThreadCount = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int lVertexCount = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+		long lMillis = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+
+		System.out.println("Threads: " + lThreadCount + ", vertices: " + lVertexCount);
+		System.out.println("Writes %    Monitor ops/s    Read/write lock ops/s    Speedup");
+		for (int lWritePercentage : WRITE_PERCENTAGES) {
+			double lMonitor = measureThroughput(getRandomGraph(lVertexCount), lThreadCount, lWritePercentage,
+				lMillis, true);
+			double lReadWriteLock = measureThroughput(getRandomGraph(lVertexCount), lThreadCount, lWritePercentage,
+				lMillis, false);
+			System.out.println(String.format("%8d    %13.0f    %21.0f    %7.2f", lWritePercentage, lMonitor,
+				lReadWriteLock, lReadWriteLock / lMonitor));
+		}
+
+		System.out.println();
+		System.out.println("Loading " + lVertexCount * 4 + " edges");
+		System.out.println("Digraph edges/s    ConcurrentDigraph edges/s    Speedup");
+		for (int lRun = 0; lRun < 3; lRun++) {
+			double lDigraph = measureLoading(new Digraph(), lThreadCount, lVertexCount);
+			double lConcurrentDigraph = measureLoading(new ConcurrentDigraph(), lThreadCount, lVertexCount);
+			System.out.println(String.format("%15.0f    %25.0f    %7.2f", lDigraph, lConcurrentDigraph,
+				lConcurrentDigraph / lDigraph));
+		}
+	}
+
+	/**
+	 * Runs the threads against the graph for the given time.  A read looks up a vertex by label and walks its next
+	 * vertices and their next vertices.  A write adds or removes an edge between two random vertices.
+	 *
+	 * @param pGraph The graph to run the operations on
+	 * @param pThreadCount The number of threads to run at once
+	 * @param pWritePercentage The percentage of operations that change the graph
+	 * @param pMillis How long to run for, in milliseconds
+	 * @param pUseMonitor True to make every operation wait on the graph's monitor
+	 * @return The number of operations completed per second, by all of the threads together
+	 */
+	private static double measureThroughput(Digraph pGraph, int pThreadCount, int pWritePercentage, long pMillis,
+		boolean pUseMonitor) {
+		int lVertexCount = pGraph.getVertexCount();
+		long lEndTime = System.nanoTime() + pMillis * 1000000L;
+		AtomicLong lOperationCount = new AtomicLong();
+
+		Thread[] lThreads = new Thread[pThreadCount];
+		for (int t = 0; t < pThreadCount; t++) {
+			Random lRandom = new Random(t);
+			lThreads[t] = new Thread(() -> {
+				long lOperations = 0;
+				while (System.nanoTime() < lEndTime) {
+					boolean lIsWrite = lRandom.nextInt(100) < pWritePercentage;
+					if (pUseMonitor) {
+						synchronized (pGraph) {
+							runOperation(pGraph, lRandom, lVertexCount, lIsWrite);
+						}
+					} else if (lIsWrite) {
+						runOperation(pGraph, lRandom, lVertexCount, true);
+					} else {
+						//A read makes several calls, so it holds the read lock to see the same graph in all of them
+						pGraph.getReadLock().lock();
+						try {
+							runOperation(pGraph, lRandom, lVertexCount, false);
+						} finally {
+							pGraph.getReadLock().unlock();
+						}
+					}
+					lOperations++;
+				}
+				lOperationCount.addAndGet(lOperations);
+			});
+			lThreads[t].start();
+		}
+
+		for (Thread lThread : lThreads) {
+			try {
+				lThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return 0;
+			}
+		}
+		return lOperationCount.get() * 1000.0 / pMillis;
+	}
+
+	/**
+	 * Loads a graph with four edges out of each vertex, split between the threads.  The vertices are added by the 
+	 * edges, so the threads add vertices as well.
+	 *
+	 * @param pGraph The empty graph to load
+	 * @param pThreadCount The number of threads to load it with
+	 * @param pVertexCount The number of vertices
+	 * @return The number of edges added per second, by all of the threads together
+	 */
+	private static double measureLoading(Digraph pGraph, int pThreadCount, int pVertexCount) {
+		long lStartTime = System.nanoTime();
+		Thread[] lThreads = new Thread[pThreadCount];
+		for (int t = 0; t < pThreadCount; t++) {
+			int lFirstVertex = t;
+			lThreads[t] = new Thread(() -> {
+				Random lRandom = new Random(lFirstVertex);
+				for (int v = lFirstVertex; v < pVertexCount; v += pThreadCount) {
+					for (int j = 0; j < 4; j++) {
+						pGraph.addEdge(new Vertex("V" + v), new Vertex("V" + lRandom.nextInt(pVertexCount)), j);
+					}
+				}
+			});
+			lThreads[t].start();
+		}
+
+		for (Thread lThread : lThreads) {
+			try {
+				lThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return 0;
+			}
+		}
+		return pGraph.getEdgeCount() * 1e9 / (System.nanoTime() - lStartTime);
+	}
+
+	/**
+	 * Runs one read or write on the graph.
+	 *
+	 * @param pGraph The graph to run the operation on
+	 * @param pRandom Picks the vertices
+	 * @param pVertexCount The number of vertices in the graph, each labeled V and its number
+	 * @param pIsWrite True to change the graph, False to read it
+	 */
+	private static void runOperation(Digraph pGraph, Random pRandom, int pVertexCount, boolean pIsWrite) {
+		Vertex lVertex = pGraph.getVertex("V" + pRandom.nextInt(pVertexCount));
+		if (pIsWrite) {
+			Vertex lToVertex = pGraph.getVertex("V" + pRandom.nextInt(pVertexCount));
+			if (pGraph.containsEdge(lVertex, lToVertex)) {
+				pGraph.removeEdge(new Edge(lVertex, lToVertex));
+			} else {
+				pGraph.addEdge(lVertex, lToVertex);
+			}
+			return;
+		}
+
+		List<Vertex> lNextVertices = pGraph.getNextVertices(lVertex);
+		for (Vertex lNextVertex : lNextVertices) {
+			pGraph.getNextVertices(lNextVertex);
+		}
+	}
+
+	/**
+	 *
+	 * @param pVertexCount The number of vertices
+	 * @return A graph where each vertex has edges to four random vertices
+	 */
+	private static Digraph getRandomGraph(int pVertexCount) {
+		Random lRandom = new Random(pVertexCount);
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < pVertexCount; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int i = 0; i < pVertexCount; i++) {
+			Vertex lFromVertex = lGraph.getVertex("V" + i);
+			while (lFromVertex.getOutgoingEdges().size() < 4) {
+				Vertex lToVertex = lGraph.getVertex("V" + lRandom.nextInt(pVertexCount));
+				if (!lGraph.containsEdge(lFromVertex, lToVertex)) {
+					lGraph.addEdge(lFromVertex, lToVertex);
+				}
+			}
+		}
+		return lGraph;
+	}
+}
@@ -0,0 +1,471 @@
+package graphAssignment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Loads a large graph much faster than adding its edges one at a time to a Digraph.  The builder is told roughly how
+ * many vertices and edges to expect, so it can size everything up front.  The edges are kept in int arrays of vertex
+ * ids, with no Edge objects and no checks for duplicates, until build() or buildFrozen() is called.  The duplicates
+ * are then taken out in a single pass over a hash table of the edges, keeping the first of each.  As with a Digraph,
+ * an edge is a duplicate of another with the same from and to vertices and the same weight.
+ *
+ * <p>
+ * build() creates a Digraph with the edges in the order they were added, the same as adding them one at a time would.
+ * buildFrozen() goes straight to a CsrGraph snapshot, without creating a Vertex or Edge object at all, which is the
+ * fastest way to load a graph that only needs to be searched.  buildCompressed() goes straight to a CompressedGraph,
+ * for a graph too big to search as a CsrGraph.  Vertices are given ids in the order they are first seen, and keep them
+ * in all three.
+ * </p>
+ *
+ * <p>
+ * A builder is not safe to use from several threads at once.  It can be built more than once, and added to between
+ * builds.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class DigraphBuilder {
+
+	private static final int DEFAULT_EDGE_WEIGHT = 1;
+
+	//The id of each label, and the label of each id
+	private final Map<String, Integer> vertexIds;
+	private String[] labels;
+	private int vertexCount;
+
+	//The edges, in the order they were added.  The labels are only kept once an edge is given one.
+	private int[] fromIds;
+	private int[] toIds;
+	private int[] weights;
+	private String[] edgeLabels;
+	private int edgeCount;
+	private int duplicateCount;
+
+	/**
+	 * Class constructor, for a graph of unknown size
+	 */
+	public DigraphBuilder() {
+		this(16, 16);
+	}
+
+	/**
+	 * Class constructor.  The counts only need to be rough: the builder grows past them if it has to.  If either is
+	 * negative, an error is printed out and the builder starts small.
+	 *
+	 * @param pExpectedVertexCount The number of vertices the graph is expected to have
+	 * @param pExpectedEdgeCount The number of edges expected to be added, including any duplicates
+	 */
+	public DigraphBuilder(int pExpectedVertexCount, int pExpectedEdgeCount) {
+		if (pExpectedVertexCount < 0 || pExpectedEdgeCount < 0) {
+			System.out.println("The expected vertex and edge counts cannot be negative.");
+			pExpectedVertexCount = 16;
+			pExpectedEdgeCount = 16;
+		}
+		vertexIds = new HashMap<String, Integer>((int) Math.min(Integer.MAX_VALUE, pExpectedVertexCount * 4L / 3 + 1));
+		labels = new String[Math.max(pExpectedVertexCount, 1)];
+		fromIds = new int[Math.max(pExpectedEdgeCount, 1)];
+		toIds = new int[fromIds.length];
+		weights = new int[fromIds.length];
+	}
+
+	/**
+	 * Adds a vertex, if there is not one with the same label already.  If the label is null, an error is printed out
+	 * and -1 is returned.
+	 *
+	 * @param pLabel The label which uniquely identifies the vertex
+	 * @return The id of the vertex with the label
+	 */
+	public int addVertex(String pLabel) {
+		if (pLabel == null) {
+			System.out.println("Cannot add a vertex without a label.");
+			return -1;
+		}
+
+		Integer lVertexId = vertexIds.get(pLabel);
+		if (lVertexId != null) {
+			return lVertexId;
+		}
+
+		if (vertexCount == labels.length) {
+			labels = Arrays.copyOf(labels, grow(labels.length));
+		}
+		labels[vertexCount] = pLabel;
+		vertexIds.put(pLabel, vertexCount);
+		return vertexCount++;
+	}
+
+	/**
+	 * Adds an edge with a weight of 1, adding its from and to vertices if they have not been added yet.
+	 *
+	 * @param pFromLabel The label of the vertex the edge starts at
+	 * @param pToLabel The label of the vertex the edge goes to
+	 * @return True if the edge was added, False if either label is null
+	 */
+	public boolean addEdge(String pFromLabel, String pToLabel) {
+		return addEdge(pFromLabel, pToLabel, DEFAULT_EDGE_WEIGHT, null);
+	}
+
+	/**
+	 * Adds an edge, adding its from and to vertices if they have not been added yet.
+	 *
+	 * @param pFromLabel The label of the vertex the edge starts at
+	 * @param pToLabel The label of the vertex the edge goes to
+	 * @param pWeight The weight or cost of the edge
+	 * @return True if the edge was added, False if either label is null
+	 */
+	public boolean addEdge(String pFromLabel, String pToLabel, int pWeight) {
+		return addEdge(pFromLabel, pToLabel, pWeight, null);
+	}
+
+	/**
+	 * Adds an edge, adding its from and to vertices if they have not been added yet.  If either label is null, an
+	 * error is printed out and the edge is not added.
+	 *
+	 * @param pFromLabel The label of the vertex the edge starts at
+	 * @param pToLabel The label of the vertex the edge goes to
+	 * @param pWeight The weight or cost of the edge
+	 * @param pLabel The label or name of the edge, or null for none
+	 * @return True if the edge was added, False if either vertex label is null
+	 */
+	public boolean addEdge(String pFromLabel, String pToLabel, int pWeight, String pLabel) {
+		if (pFromLabel == null || pToLabel == null) {
+			System.out.println("An edge must have both a from and to vertex.");
+			return false;
+		}
+		appendEdge(addVertex(pFromLabel), addVertex(pToLabel), pWeight, pLabel);
+		return true;
+	}
+
+	/**
+	 * Adds an edge between two vertices that have already been added, by their ids.  If either id has not been given
+	 * out, an error is printed out and the edge is not added.
+	 *
+	 * @param pFromId The id of the vertex the edge starts at
+	 * @param pToId The id of the vertex the edge goes to
+	 * @param pWeight The weight or cost of the edge
+	 * @return True if the edge was added, False otherwise
+	 */
+	public boolean addEdge(int pFromId, int pToId, int pWeight) {
+		if (!isVertexId(pFromId) || !isVertexId(pToId)) {
+			System.out.println("The from and to vertices must have been added.");
+			return false;
+		}
+		appendEdge(pFromId, pToId, pWeight, null);
+		return true;
+	}
+
+	/**
+	 * Adds many edges at once, between vertices that have already been added, by their ids.  The arrays are copied
+	 * in one go.  If the arrays are null or of different lengths, or any id has not been given out, an error is
+	 * printed out and none of the edges are added.
+	 *
+	 * @param pFromIds The id of the vertex each edge starts at
+	 * @param pToIds The id of the vertex each edge goes to
+	 * @param pWeights The weight of each edge, or null to give every edge a weight of 1
+	 * @return True if the edges were added, False otherwise
+	 */
+	public boolean addEdges(int[] pFromIds, int[] pToIds, int[] pWeights) {
+		if (pFromIds == null || pToIds == null || pFromIds.length != pToIds.length
+			|| (pWeights != null && pWeights.length != pFromIds.length)) {
+			System.out.println("The from ids, to ids and weights must all be provided, and be the same length.");
+			return false;
+		}
+		for (int i = 0; i < pFromIds.length; i++) {
+			if (!isVertexId(pFromIds[i]) || !isVertexId(pToIds[i])) {
+				System.out.println("The from and to vertices must have been added.");
+				return false;
+			}
+		}
+
+		ensureEdgeCapacity(edgeCount + pFromIds.length);
+		System.arraycopy(pFromIds, 0, fromIds, edgeCount, pFromIds.length);
+		System.arraycopy(pToIds, 0, toIds, edgeCount, pToIds.length);
+		if (pWeights == null) {
+			Arrays.fill(weights, edgeCount, edgeCount + pFromIds.length, DEFAULT_EDGE_WEIGHT);
+		} else {
+			System.arraycopy(pWeights, 0, weights, edgeCount, pWeights.length);
+		}
+		edgeCount += pFromIds.length;
+		return true;
+	}
+
+	/**
+	 * Adds many edges at once, by the labels of their vertices, adding the vertices that have not been added yet.  If
+	 * the arrays are null or of different lengths, or any label is null, an error is printed out and none of the
+	 * edges are added.
+	 *
+	 * @param pFromLabels The label of the vertex each edge starts at
+	 * @param pToLabels The label of the vertex each edge goes to
+	 * @param pWeights The weight of each edge, or null to give every edge a weight of 1
+	 * @return True if the edges were added, False otherwise
+	 */
+	public boolean addEdges(String[] pFromLabels, String[] pToLabels, int[] pWeights) {
+		if (pFromLabels == null || pToLabels == null || pFromLabels.length != pToLabels.length
+			|| (pWeights != null && pWeights.length != pFromLabels.length)) {
+			System.out.println("The from labels, to labels and weights must all be provided, and be the same length.");
+			return false;
+		}
+		for (int i = 0; i < pFromLabels.length; i++) {
+			if (pFromLabels[i] == null || pToLabels[i] == null) {
+				System.out.println("An edge must have both a from and to vertex.");
+				return false;
+			}
+		}
+
+		ensureEdgeCapacity(edgeCount + pFromLabels.length);
+		for (int i = 0; i < pFromLabels.length; i++) {
+			appendEdge(addVertex(pFromLabels[i]), addVertex(pToLabels[i]),
+				pWeights == null ? DEFAULT_EDGE_WEIGHT : pWeights[i], null);
+		}
+		return true;
+	}
+
+	/**
+	 * Adds every edge of a stream, in order, by the labels of their vertices, adding the vertices that have not been
+	 * added yet.  The edges keep their weights and labels.  Edges without both a from and to vertex are skipped with
+	 * an error printed out.
+	 *
+	 * @param pEdges The edges, for example the edges of another graph
+	 * @return The number of edges that were added
+	 */
+	public int addEdges(Stream<Edge> pEdges) {
+		if (pEdges == null) {
+			System.out.println("The edges must be provided.");
+			return 0;
+		}
+
+		int lEdgeCount = edgeCount;
+		pEdges.forEachOrdered(pEdge -> {
+			if (pEdge == null || pEdge.getFromVertex() == null || pEdge.getToVertex() == null) {
+				System.out.println("An edge must have both a from and to vertex.");
+				return;
+			}
+			addEdge(pEdge.getFromVertex().getLabel(), pEdge.getToVertex().getLabel(), pEdge.getWeight(),
+				pEdge.getLabel());
+		});
+		return edgeCount - lEdgeCount;
+	}
+
+	/**
+	 *
+	 * @return The number of vertices added so far
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 *
+	 * @return The number of edges added so far, less the duplicates taken out by the last build
+	 */
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 *
+	 * @return The number of duplicate edges taken out by the last build
+	 */
+	public int getDuplicateCount() {
+		return duplicateCount;
+	}
+
+	/**
+	 * Creates a Digraph with the vertices and edges, leaving out the duplicate edges.  The maps of the graph are
+	 * sized for it up front, and the edges are added without being checked one at a time.
+	 *
+	 * @return A new Digraph
+	 */
+	public Digraph build() {
+		removeDuplicates();
+
+		Digraph lGraph = new Digraph(vertexCount, edgeCount);
+		Vertex[] lVertices = new Vertex[vertexCount];
+		for (int v = 0; v < vertexCount; v++) {
+			lVertices[v] = new Vertex(labels[v]);
+			lGraph.appendVertex(lVertices[v]);
+		}
+		for (int i = 0; i < edgeCount; i++) {
+			String lLabel = edgeLabels == null || edgeLabels[i] == null ? "" : edgeLabels[i];
+			lGraph.appendEdge(new Edge(lVertices[fromIds[i]], lVertices[toIds[i]], weights[i], lLabel));
+		}
+		return lGraph;
+	}
+
+	/**
+	 * Creates a CsrGraph snapshot with the vertices and edges, leaving out the duplicate edges, without creating a
+	 * Digraph first.  The edges are put in order of their from vertex with a counting sort, which keeps the edges of
+	 * each vertex in the order they were added.  The labels of the edges are not kept.
+	 *
+	 * @return A new CsrGraph
+	 */
+	public CsrGraph buildFrozen() {
+		removeDuplicates();
+
+		int[] lTargets = new int[edgeCount];
+		int[] lWeights = new int[edgeCount];
+		int[] lOffsets = sortByFromVertex(lTargets, lWeights);
+		return new CsrGraph(Arrays.copyOf(labels, vertexCount), lOffsets, lTargets, lWeights);
+	}
+
+	/**
+	 * Creates a CompressedGraph snapshot with the vertices and edges, leaving out the duplicate edges, without
+	 * creating a Digraph or a CsrGraph first.  This takes the least memory of the three, for graphs that are too big
+	 * for the others.  The labels of the edges are not kept.
+	 *
+	 * @return A new CompressedGraph
+	 */
+	public CompressedGraph buildCompressed() {
+		removeDuplicates();
+
+		int[] lTargets = new int[edgeCount];
+		int[] lWeights = new int[edgeCount];
+		int[] lOffsets = sortByFromVertex(lTargets, lWeights);
+		return new CompressedGraph(Arrays.copyOf(labels, vertexCount), lOffsets, lTargets, lWeights);
+	}
+
+	/**
+	 * Puts the edges in order of their from vertex with a counting sort, which keeps the edges of each vertex in the
+	 * order they were added.
+	 *
+	 * @param pTargets Filled with the to vertex of each edge
+	 * @param pWeights Filled with the weight of each edge
+	 * @return The start of each vertex's edges, with one extra entry holding the edge count
+	 */
+	private int[] sortByFromVertex(int[] pTargets, int[] pWeights) {
+		int[] lOffsets = new int[vertexCount + 1];
+		for (int i = 0; i < edgeCount; i++) {
+			lOffsets[fromIds[i] + 1]++;
+		}
+		for (int v = 0; v < vertexCount; v++) {
+			lOffsets[v + 1] += lOffsets[v];
+		}
+
+		int[] lNext = Arrays.copyOf(lOffsets, vertexCount);
+		for (int i = 0; i < edgeCount; i++) {
+			int lPosition = lNext[fromIds[i]]++;
+			pTargets[lPosition] = toIds[i];
+			pWeights[lPosition] = weights[i];
+		}
+		return lOffsets;
+	}
+
+	/**
+	 * Takes the duplicate edges out, keeping the first of each and the order of the rest, in a single pass.  Each
+	 * edge that is kept is put in an open addressing hash table of edge positions, keyed on its from and to ids and
+	 * its weight, where the edges after it look for their duplicates.
+	 */
+	private void removeDuplicates() {
+		int lTableSize = Integer.highestOneBit(Math.max(edgeCount, 1)) << 2;
+		int lMask = lTableSize - 1;
+		int[] lTable = new int[lTableSize];
+		Arrays.fill(lTable, -1);
+
+		int lKeptCount = 0;
+		for (int i = 0; i < edgeCount; i++) {
+			int lSlot = hash(fromIds[i], toIds[i], weights[i]) & lMask;
+			boolean lIsDuplicate = false;
+			while (lTable[lSlot] != -1) {
+				int lKept = lTable[lSlot];
+				if (fromIds[lKept] == fromIds[i] && toIds[lKept] == toIds[i] && weights[lKept] == weights[i]) {
+					lIsDuplicate = true;
+					break;
+				}
+				lSlot = (lSlot + 1) & lMask;
+			}
+			if (lIsDuplicate) {
+				continue;
+			}
+
+			//Move the edge down over the duplicates before it
+			fromIds[lKeptCount] = fromIds[i];
+			toIds[lKeptCount] = toIds[i];
+			weights[lKeptCount] = weights[i];
+			if (edgeLabels != null) {
+				edgeLabels[lKeptCount] = edgeLabels[i];
+			}
+			lTable[lSlot] = lKeptCount++;
+		}
+
+		duplicateCount = edgeCount - lKeptCount;
+		if (edgeLabels != null) {
+			Arrays.fill(edgeLabels, lKeptCount, edgeCount, null);
+		}
+		edgeCount = lKeptCount;
+	}
+
+	/**
+	 *
+	 * @param pFromId The from vertex of an edge
+	 * @param pToId The to vertex of an edge
+	 * @param pWeight The weight of an edge
+	 * @return A hash of the three, with the bits well mixed so the low bits can be used as a table slot
+	 */
+	private static int hash(int pFromId, int pToId, int pWeight) {
+		long lHash = ((long) pFromId << 32 | (pToId & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L + pWeight;
+		lHash *= 0xC2B2AE3D27D4EB4FL;
+		return (int) (lHash ^ (lHash >>> 32));
+	}
+
+	/**
+	 * Adds an edge between two ids that are known to be valid.
+	 *
+	 * @param pFromId The id of the vertex the edge starts at
+	 * @param pToId The id of the vertex the edge goes to
+	 * @param pWeight The weight or cost of the edge
+	 * @param pLabel The label or name of the edge, or null for none
+	 */
+	private void appendEdge(int pFromId, int pToId, int pWeight, String pLabel) {
+		ensureEdgeCapacity(edgeCount + 1);
+		if (pLabel != null && !pLabel.isEmpty() && edgeLabels == null) {
+			edgeLabels = new String[fromIds.length];
+		}
+		fromIds[edgeCount] = pFromId;
+		toIds[edgeCount] = pToId;
+		weights[edgeCount] = pWeight;
+		if (edgeLabels != null) {
+			edgeLabels[edgeCount] = pLabel;
+		}
+		edgeCount++;
+	}
+
+	/**
+	 * Grows the edge arrays, if needed, to hold the given number of edges.
+	 *
+	 * @param pEdgeCount The number of edges the arrays need to hold
+	 */
+	private void ensureEdgeCapacity(int pEdgeCount) {
+		if (pEdgeCount <= fromIds.length) {
+			return;
+		}
+		int lCapacity = Math.max(pEdgeCount, grow(fromIds.length));
+		fromIds = Arrays.copyOf(fromIds, lCapacity);
+		toIds = Arrays.copyOf(toIds, lCapacity);
+		weights = Arrays.copyOf(weights, lCapacity);
+		if (edgeLabels != null) {
+			edgeLabels = Arrays.copyOf(edgeLabels, lCapacity);
+		}
+	}
+
+	/**
+	 *
+	 * @param pLength The length of an array that is full
+	 * @return The length to grow it to
+	 */
+	private static int grow(int pLength) {
+		return Math.min(Integer.MAX_VALUE - 8, Math.max(16, pLength + (pLength >> 1)));
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return True if the id has been given to a vertex
+	 */
+	private boolean isVertexId(int pVertexId) {
+		return pVertexId >= 0 && pVertexId < vertexCount;
+	}
+}
@@ -0,0 +1,81 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class DigraphBuilderTest {
+
+	@Test
+	public void testBuild() {
+		DigraphBuilder lBuilder = new DigraphBuilder(4, 8);
+		lBuilder.addEdge("V1", "V2", 3);
+		lBuilder.addEdge("V1", "V2", 3);
+		lBuilder.addEdge("V1", "V2", 5, "Toll");
+		int lV3 = lBuilder.addVertex("V3");
+		int lV4 = lBuilder.addVertex("V4");
+		assertTrue(lBuilder.addEdges(new int[] {lV3, lV3}, new int[] {lV4, lV4}, null));
+		assertTrue(lBuilder.addEdges(new String[] {"V2", "V4"}, new String[] {"V3", "V1"}, new int[] {2, 4}));
+
+		//Bad input is turned away without adding anything
+		assertEquals(-1, lBuilder.addVertex(null));
+		assertFalse(lBuilder.addEdge(lV3, 7, 1));
+		assertFalse(lBuilder.addEdges(new int[] {lV3}, new int[] {lV4, lV3}, null));
+		assertEquals(7, lBuilder.getEdgeCount());
+
+		Digraph lGraph = lBuilder.build();
+		assertEquals(2, lBuilder.getDuplicateCount());
+		assertEquals(5, lBuilder.getEdgeCount());
+
+		//The graph should be the same as one built an edge at a time
+		Digraph lExpected = new Digraph();
+		lExpected.addEdge(new Vertex("V1"), new Vertex("V2"), 3);
+		lExpected.addEdge(new Vertex("V1"), new Vertex("V2"), 5);
+		lExpected.addEdge(new Vertex("V3"), new Vertex("V4"));
+		lExpected.addEdge(new Vertex("V2"), new Vertex("V3"), 2);
+		lExpected.addEdge(new Vertex("V4"), new Vertex("V1"), 4);
+		assertEquals(lExpected, lGraph);
+		assertEquals("Toll", lGraph.getVertex("V1").getOutgoingEdges().get(1).getLabel());
+
+		//The graph can still be changed as usual
+		lGraph.addEdge(lGraph.getVertex("V4"), lGraph.getVertex("V2"));
+		assertEquals(6, lGraph.getEdgeCount());
+		assertEquals(Integer.valueOf(2), new DijkstrasAlgorithm().getShortestDistance(lGraph, lGraph.getVertex("V3"),
+			lGraph.getVertex("V2")));
+
+		//Edges streamed from another graph keep their weights
+		DigraphBuilder lCopyBuilder = new DigraphBuilder();
+		assertEquals(6, lCopyBuilder.addEdges(lGraph.getEdges().stream()));
+		assertEquals(lGraph, lCopyBuilder.build());
+	}
+
+	@Test
+	public void testBuildFrozen() {
+		DigraphBuilder lBuilder = new DigraphBuilder();
+		Digraph lDigraph = new Digraph();
+		for (int i = 0; i < 200; i++) {
+			int lFrom = (i * 7) % 50;
+			int lTo = (i * 13 + 1) % 50;
+			lBuilder.addEdge("V" + lFrom, "V" + lTo, i % 3 + 1);
+			lDigraph.addEdge(new Vertex("V" + lFrom), new Vertex("V" + lTo), i % 3 + 1);
+		}
+
+		CsrGraph lFrozen = lBuilder.buildFrozen();
+		CsrGraph lExpected = lDigraph.freeze();
+		assertEquals(lExpected.getVertexCount(), lFrozen.getVertexCount());
+		assertEquals(lExpected.getEdgeCount(), lFrozen.getEdgeCount());
+
+		//Both snapshots should give every vertex the same id, and the same distances from it
+		for (int v = 0; v < lExpected.getVertexIdBound(); v++) {
+			assertEquals(lExpected.getVertexLabel(v), lFrozen.getVertexLabel(v));
+			assertEquals(lExpected.getOutDegree(v), lFrozen.getOutDegree(v));
+			assertEquals(lExpected.getInDegree(v), lFrozen.getInDegree(v));
+		}
+		for (int v = 0; v < lExpected.getVertexIdBound(); v += 10) {
+			assertTrue(Arrays.equals(new DijkstrasAlgorithm().findMinimumDistance(lExpected, v),
+				new DijkstrasAlgorithm().findMinimumDistance(lFrozen, v)));
+		}
+	}
+}
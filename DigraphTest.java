@@ -1,458 +1,767 @@
-package graphAssignment;
-
-import static org.junit.Assert.*;
-
-import java.util.List;
-
-import org.junit.Test;
-
-public class DigraphTest {
-
-	@Test
-	public void test() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
-		lDigraph.addEdge(lVertex3, lVertex6, 4);
-		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
-		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
-		lDigraph.addEdge(lVertex4, lVertex6);
-		lDigraph.addEdge(lVertex5, lVertex4, 2);
-		lDigraph.addEdge(lVertex5, lVertex6, 5);
-		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
-		lDigraph.addEdge(lVertex7, lVertex1);
-		
-		//Print out the graph to view it
-		System.out.println(lDigraph.toString());
-		
-		//Verify the size of the graph
-		assertEquals(11, lDigraph.getEdges().size());
-		assertEquals(7, lDigraph.getVertices().size());
-	}
-	
-	@Test
-	public void testGetVertexKeys_byAddingEdges() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
-		lDigraph.addEdge(lVertex3, lVertex6, 4);
-		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
-		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
-		lDigraph.addEdge(lVertex4, lVertex6);
-		lDigraph.addEdge(lVertex5, lVertex4, 2);
-		lDigraph.addEdge(lVertex5, lVertex6, 5);
-		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
-		lDigraph.addEdge(lVertex7, lVertex1);
-		
-		//Print out the graph
-		System.out.println(lDigraph.getVertexKeys().toString());
-		
-		//Assert the vertex keys got added to the graph
-		assertNotNull(lDigraph.getVertexKeys());
-		assertEquals(7, lDigraph.getVertexKeys().size());
-	}
-	
-	@Test
-	public void testGetVertexKeys_byAddingVertices() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addVertex(lVertex1);
-		lDigraph.addVertex(lVertex2);
-		lDigraph.addVertex(lVertex3);
-		lDigraph.addVertex(lVertex4);
-		lDigraph.addVertex(lVertex5);
-		lDigraph.addVertex(lVertex6);
-		lDigraph.addVertex(lVertex7);
-		
-		//Print out the vertex keys
-		System.out.println(lDigraph.getVertexKeys().toString());
-		
-		//Assert the vertex keys got added to the graph
-		assertNotNull(lDigraph.getVertexKeys());
-		assertEquals(7, lDigraph.getVertexKeys().size());
-	}
-	
-	@Test
-	public void testRemoveVertex_NoEdges() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addVertex(lVertex1);
-		lDigraph.addVertex(lVertex2);
-		lDigraph.addVertex(lVertex3);
-		lDigraph.addVertex(lVertex4);
-		lDigraph.addVertex(lVertex5);
-		lDigraph.addVertex(lVertex6);
-		lDigraph.addVertex(lVertex7);
-		
-		//Precondition: the number of vertex keys should be 7, and edges should be 0
-		assertEquals(7, lDigraph.getVertexKeys().size());
-		assertEquals(0, lDigraph.getEdges().size());
-		
-		//Remove the vertex "V4"
-		lDigraph.removeVertex(lVertex4);
-		
-		//Print out the graph
-		System.out.println(lDigraph.toString());
-		
-		//Verify that the size of vertices is expected: 6 (one less because we removed one) 
-		assertNotNull(lDigraph.getVertexKeys());
-		assertEquals(6, lDigraph.getVertexKeys().size());
-		
-		//No edges were added, so the number of edges should still be 0.  This is just to be sure.
-		assertEquals(0, lDigraph.getEdges().size());
-	}
-	
-	@Test
-	public void testRemoveVertex_WithEdgesAffected() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
-		lDigraph.addEdge(lVertex3, lVertex6, 4);
-		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
-		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
-		lDigraph.addEdge(lVertex4, lVertex6);
-		lDigraph.addEdge(lVertex5, lVertex4, 2);
-		lDigraph.addEdge(lVertex5, lVertex6, 5);
-		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
-		lDigraph.addEdge(lVertex7, lVertex1);
-		
-		//Precondition: verify the number of vertices is 7 and the edges is 11
-		assertEquals(7, lDigraph.getVertexKeys().size());
-		assertEquals(11, lDigraph.getEdges().size());
-		
-		//Remove the vertex "V4" from the graph
-		lDigraph.removeVertex(lVertex4);
-		
-		//Print out the graph
-		System.out.println(lDigraph.toString());
-		
-		//Verify that vertices are one less (6), and the edges are fewer: 8 (because there were 3 edges linked to V4)
-		assertNotNull(lDigraph.getVertexKeys());
-		assertEquals(6, lDigraph.getVertexKeys().size());
-		assertEquals(8, lDigraph.getEdges().size());
-	}
-	
-	@Test
-	public void testRemoveVertex_WithEdgesAffected2() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
-		lDigraph.addEdge(lVertex3, lVertex6, 4);
-		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
-		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
-		lDigraph.addEdge(lVertex4, lVertex6);
-		lDigraph.addEdge(lVertex5, lVertex4, 2);
-		lDigraph.addEdge(lVertex5, lVertex6, 5);
-		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
-		lDigraph.addEdge(lVertex7, lVertex1);
-		
-		//Precondition: verify the number of vertices (7) and edges (11)
-		assertEquals(7, lDigraph.getVertexKeys().size());
-		assertEquals(11, lDigraph.getEdges().size());
-		
-		//Remove vertex "V3" from the graph
-		lDigraph.removeVertex(lVertex3);
-		
-		//Print the graph
-		System.out.println(lDigraph.toString());
-		
-		//Verify that vertices are one less (6), and the edges are fewer: 6 (because there were 5 edges linked to V3)
-		assertNotNull(lDigraph.getVertexKeys());
-		assertEquals(6, lDigraph.getVertexKeys().size());
-		assertEquals(6, lDigraph.getEdges().size());
-	}
-	
-	@Test
-	public void testRemoveEdge() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		Edge lEdge = new Edge(lVertex3, lVertex4, 10, "edge 3->4");
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge 2->3");
-		lDigraph.addEdge(lVertex3, lVertex6, 4);
-		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
-		lDigraph.addEdge(lEdge);
-		lDigraph.addEdge(lVertex4, lVertex6);
-		lDigraph.addEdge(lVertex5, lVertex4, 2);
-		lDigraph.addEdge(lVertex5, lVertex6, 5);
-		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
-		lDigraph.addEdge(lVertex7, lVertex1);
-		
-		//Precondition: verify the number of vertices (7) and edges (11) 
-		assertEquals(11, lDigraph.getEdges().size());
-		assertEquals(7, lDigraph.getVertexKeys().size());
-		
-		//Remove the edge linking V3 to V4
-		lDigraph.removeEdge(lEdge);
-		
-		//Print the graph
-		System.out.println(lDigraph.toString());
-		
-		//Verify that the edges decreased by one and the vertices were unaffected
-		assertNotNull(lDigraph.getEdges());
-		assertEquals(10, lDigraph.getEdges().size());
-		assertEquals(7, lDigraph.getVertexKeys().size());
-	}
-	
-	@Test
-	public void testGetPreviousVertices() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge 2->3");
-		lDigraph.addEdge(lVertex3, lVertex6, 4);
-		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
-		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
-		lDigraph.addEdge(lVertex4, lVertex6);
-		lDigraph.addEdge(lVertex5, lVertex4, 2);
-		lDigraph.addEdge(lVertex5, lVertex6, 5);
-		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
-		lDigraph.addEdge(lVertex7, lVertex1);
-		
-		//Get the vertices where there is an edge to vertex 6
-		List<Vertex> lVertices = lDigraph.getPreviousVertices(lVertex6);
-		
-		//Assert that the correct vertices were returned: V3, V4, V5
-		assertNotNull(lVertices);
-		assertEquals(3, lVertices.size());
-		assertTrue(lVertices.contains(lVertex3));
-		assertTrue(lVertices.contains(lVertex4));
-		assertTrue(lVertices.contains(lVertex5));
-	}
-	
-	@Test
-	public void testGetNextVertices() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		Vertex lVertex6 = new Vertex("V6");
-		Vertex lVertex7 = new Vertex("V7");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge 2->3");
-		lDigraph.addEdge(lVertex3, lVertex6, 4);
-		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
-		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
-		lDigraph.addEdge(lVertex4, lVertex6);
-		lDigraph.addEdge(lVertex5, lVertex4, 2);
-		lDigraph.addEdge(lVertex5, lVertex6, 5);
-		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
-		lDigraph.addEdge(lVertex7, lVertex1);
-		
-		//Get the next vertices following the edges after V3
-		List<Vertex> lVertices = lDigraph.getNextVertices(lVertex3);
-		
-		//Assert that the vertices are expected: V4, V5, V6
-		assertNotNull(lVertices);
-		assertEquals(3, lVertices.size());
-		assertTrue(lVertices.contains(lVertex4));
-		assertTrue(lVertices.contains(lVertex5));
-		assertTrue(lVertices.contains(lVertex6));
-	}
-	
-	@Test
-	public void testDepthFirstSearch() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3);
-		lDigraph.addEdge(lVertex3, lVertex1);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		
-		//Run the depth first search with vertex V3 as the root
-		List<Vertex> lListOfVertices = lDigraph.depthFirstSeach(lVertex3);
-		
-		//Assert the expected order of the results: 3, 1, 2, 4
-		assertEquals(4, lListOfVertices.size());
-		assertEquals(lVertex3, lListOfVertices.get(0));
-		assertEquals(lVertex1, lListOfVertices.get(1));
-		assertEquals(lVertex2, lListOfVertices.get(2));
-		assertEquals(lVertex4, lListOfVertices.get(3));
-	}
-	
-	@Test
-	public void testIsConnected_True() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3);
-		lDigraph.addEdge(lVertex3, lVertex1);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		
-		//Find out if the graph is connected
-		Boolean lIsConnected = lDigraph.isConnected();
-		
-		//This graph should be connected
-		assertTrue(lIsConnected);
-	}
-	
-	@Test
-	public void testIsConnected_False() {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3);
-		lDigraph.addEdge(lVertex3, lVertex1);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		lDigraph.addVertex(lVertex5);
-		
-		//Find out if the graph is connected
-		Boolean lIsConnected = lDigraph.isConnected();
-		
-		//This graph is not connected; specifically V5 is not connected by any edges to the rest of the graph
-		assertFalse(lIsConnected);
-	}
-	
-	@Test
-	public void testSaveAndReadFromFile() throws Exception {
-		Digraph lDigraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertex1 = new Vertex("V1");
-		Vertex lVertex2 = new Vertex("V2");
-		Vertex lVertex3 = new Vertex("V3");
-		Vertex lVertex4 = new Vertex("V4");
-		Vertex lVertex5 = new Vertex("V5");
-		
-		//Add edges between the vertices
-		lDigraph.addEdge(lVertex1, lVertex2);
-		lDigraph.addEdge(lVertex1, lVertex3);
-		lDigraph.addEdge(lVertex2, lVertex3);
-		lDigraph.addEdge(lVertex3, lVertex1);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		lDigraph.addEdge(lVertex3, lVertex4);
-		lDigraph.addVertex(lVertex5);
-		
-		Boolean lSaveSuccessful = Digraph.saveGraphToFile(lDigraph, "Graph2File");
-		assertTrue(lSaveSuccessful);
-		
-		Digraph lReadGraph = Digraph.readGraphFromFile("Graph2File");
-		assertNotNull(lReadGraph);
-		assertEquals(lDigraph, lReadGraph);
-	}
-}
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class DigraphTest {
+
+	@Test
+	public void test() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
+		lDigraph.addEdge(lVertex3, lVertex6, 4);
+		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
+		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
+		lDigraph.addEdge(lVertex4, lVertex6);
+		lDigraph.addEdge(lVertex5, lVertex4, 2);
+		lDigraph.addEdge(lVertex5, lVertex6, 5);
+		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
+		lDigraph.addEdge(lVertex7, lVertex1);
+		
+		//Print out the graph to view it
+		System.out.println(lDigraph.toString());
+		
+		//Verify the size of the graph
+		assertEquals(11, lDigraph.getEdges().size());
+		assertEquals(7, lDigraph.getVertices().size());
+	}
+	
+	@Test
+	public void testGetVertexKeys_byAddingEdges() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
+		lDigraph.addEdge(lVertex3, lVertex6, 4);
+		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
+		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
+		lDigraph.addEdge(lVertex4, lVertex6);
+		lDigraph.addEdge(lVertex5, lVertex4, 2);
+		lDigraph.addEdge(lVertex5, lVertex6, 5);
+		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
+		lDigraph.addEdge(lVertex7, lVertex1);
+		
+		//Print out the graph
+		System.out.println(lDigraph.getVertexKeys().toString());
+		
+		//Assert the vertex keys got added to the graph
+		assertNotNull(lDigraph.getVertexKeys());
+		assertEquals(7, lDigraph.getVertexKeys().size());
+	}
+	
+	@Test
+	public void testGetVertexKeys_byAddingVertices() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addVertex(lVertex1);
+		lDigraph.addVertex(lVertex2);
+		lDigraph.addVertex(lVertex3);
+		lDigraph.addVertex(lVertex4);
+		lDigraph.addVertex(lVertex5);
+		lDigraph.addVertex(lVertex6);
+		lDigraph.addVertex(lVertex7);
+		
+		//Print out the vertex keys
+		System.out.println(lDigraph.getVertexKeys().toString());
+		
+		//Assert the vertex keys got added to the graph
+		assertNotNull(lDigraph.getVertexKeys());
+		assertEquals(7, lDigraph.getVertexKeys().size());
+	}
+	
+	@Test
+	public void testRemoveVertex_NoEdges() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addVertex(lVertex1);
+		lDigraph.addVertex(lVertex2);
+		lDigraph.addVertex(lVertex3);
+		lDigraph.addVertex(lVertex4);
+		lDigraph.addVertex(lVertex5);
+		lDigraph.addVertex(lVertex6);
+		lDigraph.addVertex(lVertex7);
+		
+		//Precondition: the number of vertex keys should be 7, and edges should be 0
+		assertEquals(7, lDigraph.getVertexKeys().size());
+		assertEquals(0, lDigraph.getEdges().size());
+		
+		//Remove the vertex "V4"
+		lDigraph.removeVertex(lVertex4);
+		
+		//Print out the graph
+		System.out.println(lDigraph.toString());
+		
+		//Verify that the size of vertices is expected: 6 (one less because we removed one) 
+		assertNotNull(lDigraph.getVertexKeys());
+		assertEquals(6, lDigraph.getVertexKeys().size());
+		
+		//No edges were added, so the number of edges should still be 0.  This is just to be sure.
+		assertEquals(0, lDigraph.getEdges().size());
+	}
+	
+	@Test
+	public void testRemoveVertex_WithEdgesAffected() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
+		lDigraph.addEdge(lVertex3, lVertex6, 4);
+		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
+		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
+		lDigraph.addEdge(lVertex4, lVertex6);
+		lDigraph.addEdge(lVertex5, lVertex4, 2);
+		lDigraph.addEdge(lVertex5, lVertex6, 5);
+		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
+		lDigraph.addEdge(lVertex7, lVertex1);
+		
+		//Precondition: verify the number of vertices is 7 and the edges is 11
+		assertEquals(7, lDigraph.getVertexKeys().size());
+		assertEquals(11, lDigraph.getEdges().size());
+		
+		//Remove the vertex "V4" from the graph
+		lDigraph.removeVertex(lVertex4);
+		
+		//Print out the graph
+		System.out.println(lDigraph.toString());
+		
+		//Verify that vertices are one less (6), and the edges are fewer: 8 (because there were 3 edges linked to V4)
+		assertNotNull(lDigraph.getVertexKeys());
+		assertEquals(6, lDigraph.getVertexKeys().size());
+		assertEquals(8, lDigraph.getEdges().size());
+	}
+	
+	@Test
+	public void testRemoveVertex_WithEdgesAffected2() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge2");
+		lDigraph.addEdge(lVertex3, lVertex6, 4);
+		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
+		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
+		lDigraph.addEdge(lVertex4, lVertex6);
+		lDigraph.addEdge(lVertex5, lVertex4, 2);
+		lDigraph.addEdge(lVertex5, lVertex6, 5);
+		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
+		lDigraph.addEdge(lVertex7, lVertex1);
+		
+		//Precondition: verify the number of vertices (7) and edges (11)
+		assertEquals(7, lDigraph.getVertexKeys().size());
+		assertEquals(11, lDigraph.getEdges().size());
+		
+		//Remove vertex "V3" from the graph
+		lDigraph.removeVertex(lVertex3);
+		
+		//Print the graph
+		System.out.println(lDigraph.toString());
+		
+		//Verify that vertices are one less (6), and the edges are fewer: 6 (because there were 5 edges linked to V3)
+		assertNotNull(lDigraph.getVertexKeys());
+		assertEquals(6, lDigraph.getVertexKeys().size());
+		assertEquals(6, lDigraph.getEdges().size());
+	}
+	
+	@Test
+	public void testRemoveEdge() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		Edge lEdge = new Edge(lVertex3, lVertex4, 10, "edge 3->4");
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge 2->3");
+		lDigraph.addEdge(lVertex3, lVertex6, 4);
+		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
+		lDigraph.addEdge(lEdge);
+		lDigraph.addEdge(lVertex4, lVertex6);
+		lDigraph.addEdge(lVertex5, lVertex4, 2);
+		lDigraph.addEdge(lVertex5, lVertex6, 5);
+		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
+		lDigraph.addEdge(lVertex7, lVertex1);
+		
+		//Precondition: verify the number of vertices (7) and edges (11) 
+		assertEquals(11, lDigraph.getEdges().size());
+		assertEquals(7, lDigraph.getVertexKeys().size());
+		
+		//Remove the edge linking V3 to V4
+		lDigraph.removeEdge(lEdge);
+		
+		//Print the graph
+		System.out.println(lDigraph.toString());
+		
+		//Verify that the edges decreased by one and the vertices were unaffected
+		assertNotNull(lDigraph.getEdges());
+		assertEquals(10, lDigraph.getEdges().size());
+		assertEquals(7, lDigraph.getVertexKeys().size());
+	}
+	
+	@Test
+	public void testContainsEdge() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		
+		//Add edges between the vertices, including two from V1 to V2 with different weights
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex2, 5);
+		lDigraph.addEdge(lVertex2, lVertex3, 3);
+		
+		//An equal edge (same vertices and weight) should not be added again, even if it is a different object
+		lDigraph.addEdge(new Edge(new Vertex("V1"), new Vertex("V2"), 5, "duplicate"));
+		assertEquals(3, lDigraph.getEdges().size());
+		assertEquals(2, lVertex1.getOutgoingEdges().size());
+		
+		assertTrue(lDigraph.containsEdge(lVertex1, lVertex2));
+		assertTrue(lDigraph.containsEdge(new Vertex("V2"), new Vertex("V3")));
+		assertFalse(lDigraph.containsEdge(lVertex2, lVertex1));
+		assertFalse(lDigraph.containsEdge(lVertex1, new Vertex("V9")));
+		assertTrue(lDigraph.containsEdge(new Edge(lVertex1, lVertex2, 5)));
+		assertFalse(lDigraph.containsEdge(new Edge(lVertex1, lVertex2, 6)));
+		
+		//Removing one of the V1 to V2 edges, using an equal edge object, leaves the other one
+		lDigraph.removeEdge(new Edge(lVertex1, lVertex2, 1));
+		assertEquals(2, lDigraph.getEdges().size());
+		assertTrue(lDigraph.containsEdge(lVertex1, lVertex2));
+		assertEquals(1, lVertex1.getOutgoingEdges().size());
+		assertEquals(1, lVertex2.getIncomingEdges().size());
+		
+		lDigraph.removeEdge(new Edge(lVertex1, lVertex2, 5));
+		assertFalse(lDigraph.containsEdge(lVertex1, lVertex2));
+		assertEquals(0, lVertex1.getOutgoingEdges().size());
+		assertEquals(0, lVertex2.getIncomingEdges().size());
+	}
+	
+	@Test
+	public void testSetWeight() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		
+		Edge lEdge = new Edge(lVertex1, lVertex2, 1);
+		lDigraph.addEdge(lEdge);
+		lDigraph.addEdge(lVertex1, lVertex2, 4);
+		
+		//Changing the weight moves the edge in the graph, so it can still be found and removed
+		lEdge.setWeight(2);
+		assertTrue(lDigraph.containsEdge(new Edge(lVertex1, lVertex2, 2)));
+		assertFalse(lDigraph.containsEdge(new Edge(lVertex1, lVertex2, 1)));
+		
+		//A weight that would make it a duplicate of the other edge is not allowed
+		lEdge.setWeight(4);
+		assertEquals(2, lEdge.getWeight());
+		
+		lDigraph.removeEdge(lEdge);
+		assertEquals(1, lDigraph.getEdges().size());
+		assertFalse(lDigraph.containsEdge(new Edge(lVertex1, lVertex2, 2)));
+	}
+	
+	@Test
+	public void testRemoveEdge_ManyEdges() {
+		Digraph lDigraph = new Digraph();
+		Vertex lHub = new Vertex("Hub");
+		
+		//Add a few thousand edges out of and into the same vertex
+		for (int i = 0; i < 5000; i++) {
+			Vertex lVertex = new Vertex("V" + i);
+			lDigraph.addEdge(lHub, lVertex, i);
+			lDigraph.addEdge(lVertex, lHub, i);
+		}
+		assertEquals(10000, lDigraph.getEdges().size());
+		
+		//Remove every other outgoing edge, and check the remaining ones are all still in place
+		for (int i = 0; i < 5000; i += 2) {
+			lDigraph.removeEdge(new Edge(lHub, new Vertex("V" + i), i));
+		}
+		assertEquals(2500, lHub.getOutgoingEdges().size());
+		assertEquals(5000, lHub.getIncomingEdges().size());
+		for (int i = 1; i < 5000; i += 2) {
+			assertTrue(lDigraph.containsEdge(lHub, lDigraph.getVertex("V" + i)));
+			assertFalse(lDigraph.containsEdge(lHub, lDigraph.getVertex("V" + (i - 1))));
+		}
+		
+		//Removing the hub removes the rest
+		lDigraph.removeVertex(lHub);
+		assertEquals(0, lDigraph.getEdges().size());
+	}
+	
+	@Test
+	public void testGetPreviousVertices() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge 2->3");
+		lDigraph.addEdge(lVertex3, lVertex6, 4);
+		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
+		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
+		lDigraph.addEdge(lVertex4, lVertex6);
+		lDigraph.addEdge(lVertex5, lVertex4, 2);
+		lDigraph.addEdge(lVertex5, lVertex6, 5);
+		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
+		lDigraph.addEdge(lVertex7, lVertex1);
+		
+		//Get the vertices where there is an edge to vertex 6
+		List<Vertex> lVertices = lDigraph.getPreviousVertices(lVertex6);
+		
+		//Assert that the correct vertices were returned: V3, V4, V5
+		assertNotNull(lVertices);
+		assertEquals(3, lVertices.size());
+		assertTrue(lVertices.contains(lVertex3));
+		assertTrue(lVertices.contains(lVertex4));
+		assertTrue(lVertices.contains(lVertex5));
+	}
+	
+	@Test
+	public void testGetNextVertices() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		Vertex lVertex6 = new Vertex("V6");
+		Vertex lVertex7 = new Vertex("V7");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3, 3, "edge 2->3");
+		lDigraph.addEdge(lVertex3, lVertex6, 4);
+		lDigraph.addEdge(lVertex3, lVertex5, 15, "edge 3->5");
+		lDigraph.addEdge(lVertex3, lVertex4, 10, "edge 3->4");
+		lDigraph.addEdge(lVertex4, lVertex6);
+		lDigraph.addEdge(lVertex5, lVertex4, 2);
+		lDigraph.addEdge(lVertex5, lVertex6, 5);
+		lDigraph.addEdge(lVertex6, lVertex7, 10, "edge 6->7");
+		lDigraph.addEdge(lVertex7, lVertex1);
+		
+		//Get the next vertices following the edges after V3
+		List<Vertex> lVertices = lDigraph.getNextVertices(lVertex3);
+		
+		//Assert that the vertices are expected: V4, V5, V6
+		assertNotNull(lVertices);
+		assertEquals(3, lVertices.size());
+		assertTrue(lVertices.contains(lVertex4));
+		assertTrue(lVertices.contains(lVertex5));
+		assertTrue(lVertices.contains(lVertex6));
+	}
+	
+	@Test
+	public void testVertexIds() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3);
+		lDigraph.addEdge(lVertex3, lVertex1);
+		
+		//The vertices should be numbered in the order they were added
+		assertEquals(0, lVertex1.getId());
+		assertEquals(1, lVertex2.getId());
+		assertEquals(2, lVertex3.getId());
+		assertEquals(3, lDigraph.getVertexIdBound());
+		assertEquals(1, lDigraph.getVertexId("V2"));
+		assertEquals(-1, lDigraph.getVertexId("V4"));
+		assertEquals(lVertex3, lDigraph.getVertex(2));
+		assertEquals("V1", lDigraph.getVertexLabel(0));
+		
+		assertEquals(2, lDigraph.getOutDegree(0));
+		assertEquals(2, lDigraph.getInDegree(2));
+		
+		//Collect the next vertices of V1 by id
+		final List<Integer> lNextIds = new ArrayList<Integer>();
+		lDigraph.forEachOutNeighbor(0, pId -> lNextIds.add(pId));
+		assertEquals(2, lNextIds.size());
+		assertTrue(lNextIds.contains(1));
+		assertTrue(lNextIds.contains(2));
+		
+		//Removing a vertex frees its id, and the next vertex added is given that id
+		lDigraph.removeVertex(lVertex2);
+		assertEquals(-1, lVertex2.getId());
+		assertFalse(lDigraph.containsVertex(1));
+		assertNull(lDigraph.getVertexLabel(1));
+		assertEquals(2, lDigraph.getVertexCount());
+		
+		lDigraph.addVertex(lVertex4);
+		assertEquals(1, lVertex4.getId());
+		assertEquals(3, lDigraph.getVertexIdBound());
+		assertEquals(lVertex4, lDigraph.getVertex(1));
+	}
+	
+	@Test
+	public void testRemoveVertexWithSelfLoop() {
+		Digraph lDigraph = new Digraph();
+		lDigraph.addEdge(new Vertex("A"), new Vertex("A"), 1);
+		lDigraph.addEdge(new Vertex("A"), new Vertex("B"), 2);
+		lDigraph.addEdge(new Vertex("B"), new Vertex("A"), 3);
+		
+		//The self-loop is only removed once, so no error is printed
+		PrintStream lOut = System.out;
+		ByteArrayOutputStream lPrinted = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(lPrinted));
+		try {
+			lDigraph.removeVertex(lDigraph.getVertex("A"));
+		} finally {
+			System.setOut(lOut);
+		}
+		assertEquals("", lPrinted.toString());
+		assertEquals(0, lDigraph.getEdgeCount());
+		assertEquals(1, lDigraph.getVertexCount());
+		assertTrue(lDigraph.getVertex("B").getAllEdges().isEmpty());
+	}
+	
+	@Test
+	public void testFreedVertexIds() {
+		Digraph lDigraph = new Digraph();
+		for (int i = 0; i < 6; i++) {
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 1) % 6)), i + 1);
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 3) % 6)), 2);
+		}
+		int lFreedId = lDigraph.getVertexId("V2");
+		lDigraph.removeVertex(lDigraph.getVertex("V2"));
+		lDigraph.removeVertex(lDigraph.getVertex("V4"));
+		CsrGraph lSnapshot = lDigraph.freeze();
+		
+		//An id that is not in use has no edges, the same as in a snapshot
+		EdgeCursor lOutgoingCursor = lDigraph.newOutgoingCursor();
+		EdgeCursor lIncomingCursor = lDigraph.newIncomingCursor();
+		for (int v = 0; v < lDigraph.getVertexIdBound(); v++) {
+			assertEquals(lSnapshot.getOutDegree(v), lDigraph.getOutDegree(v));
+			assertEquals(lSnapshot.getInDegree(v), lDigraph.getInDegree(v));
+			
+			final List<Integer> lNeighbours = new ArrayList<Integer>();
+			lDigraph.forEachOutNeighbor(v, pId -> lNeighbours.add(pId));
+			lDigraph.forEachInNeighbor(v, pId -> lNeighbours.add(pId));
+			assertEquals(lSnapshot.getOutDegree(v) + lSnapshot.getInDegree(v), lNeighbours.size());
+			
+			int lEdgeCount = 0;
+			lOutgoingCursor.moveTo(v);
+			while (lOutgoingCursor.next()) {
+				lEdgeCount++;
+			}
+			lIncomingCursor.moveTo(v);
+			while (lIncomingCursor.next()) {
+				lEdgeCount++;
+			}
+			assertEquals(lNeighbours.size(), lEdgeCount);
+		}
+		assertFalse(lDigraph.containsVertex(lFreedId));
+		assertEquals(0, lDigraph.getOutDegree(lFreedId));
+		assertEquals(0, lDigraph.getInDegree(lFreedId));
+	}
+	
+	@Test
+	public void testDepthFirstSearch() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3);
+		lDigraph.addEdge(lVertex3, lVertex1);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		
+		//Run the depth first search with vertex V3 as the root
+		List<Vertex> lListOfVertices = lDigraph.depthFirstSeach(lVertex3);
+		
+		//Assert the expected order of the results: 3, 1, 2, 4
+		assertEquals(4, lListOfVertices.size());
+		assertEquals(lVertex3, lListOfVertices.get(0));
+		assertEquals(lVertex1, lListOfVertices.get(1));
+		assertEquals(lVertex2, lListOfVertices.get(2));
+		assertEquals(lVertex4, lListOfVertices.get(3));
+	}
+	
+	@Test
+	public void testBreadthFirstSearch() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex2, lVertex4);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex3, lVertex5);
+		
+		//Run the breadth first search with vertex V1 as the root
+		final List<Vertex> lListOfVertices = new ArrayList<Vertex>();
+		int lVisitedCount = lDigraph.breadthFirstSearch(lVertex1, pVertexId -> lListOfVertices.add(lDigraph.getVertex(pVertexId)));
+		
+		//Assert the expected order of the results: 1, 2, 3, 4, 5
+		assertEquals(5, lVisitedCount);
+		assertEquals(lVertex1, lListOfVertices.get(0));
+		assertEquals(lVertex2, lListOfVertices.get(1));
+		assertEquals(lVertex3, lListOfVertices.get(2));
+		assertEquals(lVertex4, lListOfVertices.get(3));
+		assertEquals(lVertex5, lListOfVertices.get(4));
+		
+		//Stop the search as soon as V3 is reached
+		lListOfVertices.clear();
+		lDigraph.depthFirstSearch(lVertex1, pVertexId -> lListOfVertices.add(lDigraph.getVertex(pVertexId)) && pVertexId != lVertex3.getId());
+		assertEquals(4, lListOfVertices.size());
+		assertEquals(lVertex3, lListOfVertices.get(3));
+		
+		assertTrue(lDigraph.isReachable(lVertex1, lVertex5));
+		assertFalse(lDigraph.isReachable(lVertex2, lVertex5));
+	}
+	
+	@Test
+	public void testIsConnected_True() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3);
+		lDigraph.addEdge(lVertex3, lVertex1);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		
+		//Find out if the graph is connected
+		Boolean lIsConnected = lDigraph.isConnected();
+		
+		//This graph should be connected
+		assertTrue(lIsConnected);
+	}
+	
+	@Test
+	public void testIsConnected_False() {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3);
+		lDigraph.addEdge(lVertex3, lVertex1);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		lDigraph.addVertex(lVertex5);
+		
+		//Find out if the graph is connected
+		Boolean lIsConnected = lDigraph.isConnected();
+		
+		//This graph is not connected; specifically V5 is not connected by any edges to the rest of the graph
+		assertFalse(lIsConnected);
+	}
+	
+	@Test
+	public void testSaveAndReadFromFile() throws Exception {
+		Digraph lDigraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+		
+		//Add edges between the vertices
+		lDigraph.addEdge(lVertex1, lVertex2);
+		lDigraph.addEdge(lVertex1, lVertex3);
+		lDigraph.addEdge(lVertex2, lVertex3);
+		lDigraph.addEdge(lVertex3, lVertex1);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		lDigraph.addEdge(lVertex3, lVertex4);
+		lDigraph.addVertex(lVertex5);
+		
+		Boolean lSaveSuccessful = Digraph.saveGraphToFile(lDigraph, "Graph2File");
+		assertTrue(lSaveSuccessful);
+		
+		Digraph lReadGraph = Digraph.readGraphFromFile("Graph2File");
+		assertNotNull(lReadGraph);
+		assertEquals(lDigraph, lReadGraph);
+	}
+	
+	@Test
+	public void testConcurrentReadsAndWrites() throws Exception {
+		Digraph lDigraph = new Digraph();
+		for (int i = 0; i < 50; i++) {
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 1) % 50)), 1);
+		}
+		
+		//One thread keeps adding and removing edges while the others read the graph and search it
+		AtomicReference<Throwable> lFailure = new AtomicReference<Throwable>();
+		Thread lWriter = new Thread(() -> {
+			Random lRandom = new Random(1);
+			for (int i = 0; i < 5000; i++) {
+				Vertex lFromVertex = lDigraph.getVertex("V" + lRandom.nextInt(50));
+				Vertex lToVertex = lDigraph.getVertex("V" + lRandom.nextInt(50));
+				if (lDigraph.containsEdge(lFromVertex, lToVertex)) {
+					lDigraph.removeEdge(new Edge(lFromVertex, lToVertex, 1));
+				} else {
+					lDigraph.addEdge(lFromVertex, lToVertex, 1);
+				}
+			}
+		});
+		List<Thread> lReaders = new ArrayList<Thread>();
+		for (int t = 0; t < 3; t++) {
+			lReaders.add(new Thread(() -> {
+				try {
+					while (lWriter.isAlive()) {
+						for (String lKey : lDigraph.getVertexKeys()) {
+							lDigraph.getNextVertices(lDigraph.getVertex(lKey));
+						}
+						new DijkstrasAlgorithm().findMinimumDistance(lDigraph, lDigraph.getVertex("V0"));
+						
+						//Holding the read lock, the graph cannot change between two calls
+						lDigraph.getReadLock().lock();
+						try {
+							long lVersion = lDigraph.getVersion();
+							int lEdgeCount = lDigraph.getEdges().size();
+							assertEquals(lEdgeCount, lDigraph.getEdgeCount());
+							assertEquals(lVersion, lDigraph.getVersion());
+						} finally {
+							lDigraph.getReadLock().unlock();
+						}
+					}
+				} catch (Throwable e) {
+					lFailure.compareAndSet(null, e);
+				}
+			}));
+		}
+		
+		for (Thread lReader : lReaders) {
+			lReader.start();
+		}
+		lWriter.start();
+		lWriter.join();
+		for (Thread lReader : lReaders) {
+			lReader.join();
+		}
+		assertNull(lFailure.get());
+		assertEquals(50, lDigraph.getVertexCount());
+	}
+}
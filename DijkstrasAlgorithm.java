@@ -1,203 +1,712 @@
-package graphAssignment;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-/**
- * This class implements Dijkstra's Algorithm and uses it to find the shortest path between two vertices as well
- * as the shortest distance between two vertices, given a directed graph.  
- * 
- * @author Jessica Otte	
- *
- */
-public class DijkstrasAlgorithm {
-
-	private Map<Vertex, Integer> distanceFromSource = new HashMap<Vertex, Integer>();
-	private Map<Vertex, Vertex> previousVertex = new HashMap<Vertex, Vertex>();
-	private Vertex source;
-	private Digraph graph;
-	
-	/**
-	 * This is the implementation of Dijkstra's Algorithm.  It takes in the directed graph and the source vertex, 
-	 * and returns a map that contains each vertex (other than the source) and the minimum distance from the source 
-	 * vertex to that vertex.  If the graph or source vertex is null, an error is printed out and null is returned.
-	 * 
-	 * @param pGraph The directed graph on which to execute this algorithm
-	 * @param pSource The vertex that is the source / starting point of the search
-	 * @return A map containing each vertex (other than the source), and its distance from the source vertex.
-	 */
-	public Map<Vertex, Integer> findMinimumDistance(Digraph pGraph, Vertex pSource) {
-		//Validate that the source and graph are non-null
-		if (pGraph == null || pSource == null || pSource.getLabel() == null) {
-			System.out.println("The graph and source vertex must be provided.");
-			return null;
-		}
-		
-		//Verify that the graph has vertices
-		if (pGraph.getVertices() == null || pGraph.getVertices().isEmpty()) {
-			System.out.println("The graph does not have any vertices.");
-			return null;
-		}
-		
-		//Get the source vertex in the graph
-		Vertex lSourceVertex = pGraph.getVertex(pSource.getLabel());
-		
-		//If the source is null it means we have not yet run this algorithm, and we need to.
-		//If the source is not null, check if the source vertex or the graph is different from the last time this 
-		//algorithm was run.  If they're different, we need to run it.  Initialize the variables
-		if (source == null || !lSourceVertex.equals(source) || !pGraph.equals(graph)) {
-			graph = pGraph;
-			source = lSourceVertex;
-			distanceFromSource = new HashMap<Vertex, Integer>();
-			previousVertex = new HashMap<Vertex, Vertex>();
-		} else if (lSourceVertex.equals(source) && graph.equals(pGraph)) {
-			//If the source vertex and graph parameters are the same as the variables, we know we have already
-			//run this algorithm and can directly return the results
-			return distanceFromSource;
-		}
-		
-		//Initialize the distance for each vertex (except source) to the max value
-		for (Vertex lVertex : pGraph.getVertices()) {
-			if (!lVertex.equals(pSource)) {
-				distanceFromSource.put(lVertex, Integer.MAX_VALUE);
-			}
-		}
-
-		List<Vertex> lFringe = new ArrayList<Vertex>();
-		List<Edge> lEdgesToTraverse = lSourceVertex.getOutgoingEdges();
-		
-		//Get each of the next vertices 
-		//Use the edge to determine the distance from the source (which is currently only one edge length away)
-		//Set the previous vertex to the source vertex 
-		//Add the vertex to the "fringe" 
-		if (lEdgesToTraverse != null && !lEdgesToTraverse.isEmpty()) {
-			for (Edge lEdge : lEdgesToTraverse) {
-				Vertex lNextVertex = lEdge.getToVertex();
-				distanceFromSource.put(lNextVertex, lEdge.getWeight());
-				previousVertex.put(lNextVertex, lEdge.getFromVertex());
-				lFringe.add(lNextVertex);
-			}
-		}
-		
-		//Loop over the fringe vertices and do what we just did above for each of them
-		while (!lFringe.isEmpty()) {
-			
-			//Get one of the fringe vertices
-			Vertex lFringeVertex = lFringe.remove(0);
-			lEdgesToTraverse = lFringeVertex.getOutgoingEdges();
-			if (lEdgesToTraverse != null && !lEdgesToTraverse.isEmpty()) {
-				for (Edge lEdge : lEdgesToTraverse) {
-					Vertex lNextVertex = lEdge.getToVertex();
-					
-					// We don't want to include the source in our calculations
-					if (lNextVertex.equals(pSource) || distanceFromSource.get(lNextVertex) == null) {
-						continue;
-					}
-					
-					//The distance is the distance from the previous vertex + the edge to this vertex
-					Integer lCurrentDistance = distanceFromSource.get(lFringeVertex) + lEdge.getWeight();
-					
-					//If the distance from the source to this vertex is the max, then update the distance
-					if (distanceFromSource.get(lNextVertex).equals(Integer.MAX_VALUE)) {
-						
-						distanceFromSource.put(lNextVertex, lCurrentDistance);
-						previousVertex.put(lNextVertex, lFringeVertex);
-						lFringe.add(lNextVertex);
-					} else {
-						//Check if the current distance is less than the distance that was previously calculated
-						if (distanceFromSource.get(lNextVertex) > lCurrentDistance) {
-							distanceFromSource.put(lNextVertex, lCurrentDistance);
-							previousVertex.put(lNextVertex, lFringeVertex);
-						}
-					}
-				}
-			}
-		}
-		return distanceFromSource;
-	}
-	
-	/**
-	 * This method can be called to clear / reset the variables
-	 */
-	public void clear() {
-		graph = null;
-		source = null;
-		distanceFromSource = new HashMap<Vertex, Integer>();
-		previousVertex = new HashMap<Vertex, Vertex>();
-	}
-	
-	/**
-	 * Given a directed graph, gets the shortest path between two vertices.  If either the graph, source, or 
-	 * destination parameters are null, null will be returned.
-	 * 
-	 * @param pGraph The directed graph to run the algorithm on
-	 * @param pSource The vertex to start at
-	 * @param pDestination The vertex to end at
-	 * @return A list of vertices, such that position 0 will contain the source vertex, and the last vertex in the 
-	 * list will be the destination vertex 
-	 */
-	public List<Vertex> getShortestPath(Digraph pGraph, Vertex pSource, Vertex pDestination) {
-		//Validate the parameters are non-null
-		if (pGraph == null || pSource == null || pDestination == null) {
-			System.out.println("The graph, source, and destination must all be non-null.");
-			return null;
-		}
-		
-		//If we haven't yet done the calculation, do it now
-		if ((source == null || previousVertex.isEmpty())
-			|| (source != null && !pSource.equals(source)) || (graph != null && !pGraph.equals(graph))) {
-			findMinimumDistance(pGraph, pSource);
-		} 
-		
-		List<Vertex> lPathOfVertices = new ArrayList<Vertex>();
-		
-		//First, let's add the destination
-		lPathOfVertices.add(0, pDestination);
-		
-		//Get the previous vertex for the destination
-		Vertex lPreviousVertex = previousVertex.get(pDestination);
-		
-		//Work backward looking at each previous vertex from destination to source
-		while (!lPreviousVertex.equals(pSource)) {
-			
-			//Push the previous vertex onto the path 
-			//(This will insert the value at the front of the list, and shift the other values to the right)
-			lPathOfVertices.add(0, lPreviousVertex);
-			
-			//Get the next previous vertex
-			lPreviousVertex = previousVertex.get(lPreviousVertex);
-		}
-		
-		//Make sure to push the source onto the path
-		lPathOfVertices.add(0, pSource);
-		
-		return lPathOfVertices;
-	}
-	
-	/**
-	 * Given a directed graph, gets the shortest distance between two vertices.  If either the graph, source, or 
-	 * destination parameters are null, null will be returned.
-	 * 
-	 * @param pGraph The directed graph to run the algorithm on
-	 * @param pSource The vertex to start at
-	 * @param pDestination The vertex to end at
-	 * @return The distance from source to destination
-	 */
-	public Integer getShortestDistance(Digraph pGraph, Vertex pSource, Vertex pDestination) {
-		//Validate the parameters are non-null
-		if (pGraph == null || pSource == null || pDestination == null) {
-			System.out.println("The graph, source, and destination must all be non-null.");
-			return null;
-		}
-		
-		//If we haven't yet done the calculation, do it now
-		if ((source == null || distanceFromSource.isEmpty())
-			|| (source != null && !pSource.equals(source)) || (graph != null && !pGraph.equals(graph))) {
-			findMinimumDistance(pGraph, pSource);
-		} 
-		
-		return distanceFromSource.get(pDestination);
-	}
-}
+package graphAssignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * This class implements Dijkstra's Algorithm and uses it to find the shortest path between two vertices as well
+ * as the shortest distance between two vertices, given a directed graph.  
+ * 
+ * @author Jessica Otte	
+ *
+ */
+public class DijkstrasAlgorithm {
+
+	private Map<Vertex, Integer> distanceFromSource = new HashMap<Vertex, Integer>();
+	private Map<Vertex, Vertex> previousVertex = new HashMap<Vertex, Vertex>();
+	private Vertex source;
+	private Digraph graph;
+	private long graphVersion;
+	private final IntFunction<IndexedPriorityQueue> queueFactory;
+	private final ShortestPathTreeCache cache;
+	private SearchWorkspace workspace;
+	
+	/**
+	 * Class constructor, which uses an indexed 4-ary heap for the fringe of the search
+	 */
+	public DijkstrasAlgorithm() {
+		this(pCapacity -> new IndexedDaryHeap(pCapacity), null);
+	}
+	
+	/**
+	 * Class constructor, which keeps the shortest path tree of each source in a cache.  The cache can be shared 
+	 * between threads, each with its own DijkstrasAlgorithm, so that queries from the same few sources only run the 
+	 * search once for each version of the graph.
+	 * 
+	 * @param pCache The cache of shortest path trees, or null to not cache them
+	 */
+	public DijkstrasAlgorithm(ShortestPathTreeCache pCache) {
+		this(pCapacity -> new IndexedDaryHeap(pCapacity), pCache);
+	}
+	
+	/**
+	 * Class constructor, which allows the priority queue used for the fringe of the search to be swapped out, for 
+	 * example to compare the performance of different heaps.
+	 * 
+	 * @param pQueueFactory Creates an empty priority queue for the given number of vertices
+	 */
+	public DijkstrasAlgorithm(IntFunction<IndexedPriorityQueue> pQueueFactory) {
+		this(pQueueFactory, null);
+	}
+	
+	/**
+	 * Class constructor
+	 * 
+	 * @param pQueueFactory Creates an empty priority queue for the given number of vertices
+	 * @param pCache The cache of shortest path trees, or null to not cache them
+	 */
+	public DijkstrasAlgorithm(IntFunction<IndexedPriorityQueue> pQueueFactory, ShortestPathTreeCache pCache) {
+		queueFactory = pQueueFactory;
+		cache = pCache;
+	}
+	
+	/**
+	 * This is the implementation of Dijkstra's Algorithm.  It takes in the directed graph and the source vertex, 
+	 * and returns a map that contains each vertex (other than the source) and the minimum distance from the source 
+	 * vertex to that vertex.  If the graph or source vertex is null, an error is printed out and null is returned.
+	 * 
+	 * @param pGraph The directed graph on which to execute this algorithm
+	 * @param pSource The vertex that is the source / starting point of the search
+	 * @return A map containing each vertex (other than the source), and its distance from the source vertex.
+	 */
+	public Map<Vertex, Integer> findMinimumDistance(Digraph pGraph, Vertex pSource) {
+		//Validate that the source and graph are non-null
+		if (pGraph == null || pSource == null || pSource.getLabel() == null) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+		
+		pGraph.getReadLock().lock();
+		try {
+			//Verify that the graph has vertices
+			if (pGraph.getVertices() == null || pGraph.getVertices().isEmpty()) {
+				System.out.println("The graph does not have any vertices.");
+				return null;
+			}
+		
+			//Get the source vertex in the graph
+			Vertex lSourceVertex = pGraph.getVertex(pSource.getLabel());
+		
+			if (lSourceVertex == null) {
+				System.out.println("The source vertex does not exist in the graph.");
+				return null;
+			}
+		
+			//If the source vertex and graph are the same as the last time this algorithm was run, and the graph has not
+			//been changed since, we can directly return the results
+			if (isCached(pGraph, lSourceVertex)) {
+				return distanceFromSource;
+			}
+		
+			//Otherwise we need to run it.  Initialize the variables, remembering the version of the graph the results
+			//are for
+			graph = pGraph;
+			graphVersion = pGraph.getVersion();
+			source = lSourceVertex;
+			distanceFromSource = new HashMap<Vertex, Integer>();
+			previousVertex = new HashMap<Vertex, Vertex>();
+		
+			//Run the search on the graph's vertex ids, so its state can be kept in arrays instead of maps
+			int lSourceId = lSourceVertex.getId();
+			ShortestPathTree lTree = findShortestPathTree(pGraph, lSourceId);
+		
+			//Copy the results into the maps, leaving out the source
+			for (int i = 0; i < pGraph.getVertexIdBound(); i++) {
+				Vertex lVertex = pGraph.getVertex(i);
+				if (lVertex == null || i == lSourceId) {
+					continue;
+				}
+				distanceFromSource.put(lVertex, lTree.getDistance(i));
+				if (lTree.getPreviousVertexId(i) != -1) {
+					previousVertex.put(lVertex, pGraph.getVertex(lTree.getPreviousVertexId(i)));
+				}
+			}
+		
+			return distanceFromSource;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+	
+	/**
+	 * Checks if the results from the last run of the algorithm can be reused.  Rather than comparing the graphs, this 
+	 * compares the version of the graph with the version the results were computed at, which takes constant time.
+	 * 
+	 * @param pGraph The graph being queried
+	 * @param pSource The source vertex being queried
+	 * @return True if the last run was for the same graph and source, and the graph has not changed since
+	 */
+	private boolean isCached(Digraph pGraph, Vertex pSource) {
+		return source != null && pGraph == graph && graphVersion == pGraph.getVersion() && source.equals(pSource);
+	}
+	
+	/**
+	 * This method can be called to clear / reset the variables
+	 */
+	public void clear() {
+		graph = null;
+		source = null;
+		distanceFromSource = new HashMap<Vertex, Integer>();
+		previousVertex = new HashMap<Vertex, Vertex>();
+	}
+	
+	/**
+	 * Given a directed graph, gets the shortest path between two vertices.  If either the graph, source, or 
+	 * destination parameters are null, null will be returned.
+	 * 
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return A list of vertices, such that position 0 will contain the source vertex, and the last vertex in the 
+	 * list will be the destination vertex 
+	 */
+	public List<Vertex> getShortestPath(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+		
+		pGraph.getReadLock().lock();
+		try {
+			//With a cache of trees, read the path straight from the tree rather than building the maps
+			if (cache != null) {
+				ShortestPathTree lTree = findShortestPathTree(pGraph, pSource);
+				Vertex lDestination = pGraph.getVertex(pDestination.getLabel());
+				if (lTree == null || lDestination == null) {
+					return null;
+				}
+			
+				int[] lPath = lTree.getPath(lDestination.getId());
+				if (lPath == null) {
+					return null;
+				}
+				List<Vertex> lPathOfVertices = new ArrayList<Vertex>(lPath.length);
+				for (int lVertexId : lPath) {
+					lPathOfVertices.add(pGraph.getVertex(lVertexId));
+				}
+				return lPathOfVertices;
+			}
+		
+			//If we haven't yet done the calculation, do it now
+			if (!isCached(pGraph, pSource) && findMinimumDistance(pGraph, pSource) == null) {
+				return null;
+			}
+		
+			List<Vertex> lPathOfVertices = new ArrayList<Vertex>();
+		
+			//First, let's add the destination
+			lPathOfVertices.add(0, pDestination);
+		
+			//Get the previous vertex for the destination
+			Vertex lPreviousVertex = previousVertex.get(pDestination);
+		
+			//Work backward looking at each previous vertex from destination to source
+			while (!lPreviousVertex.equals(pSource)) {
+			
+				//Push the previous vertex onto the path 
+				//(This will insert the value at the front of the list, and shift the other values to the right)
+				lPathOfVertices.add(0, lPreviousVertex);
+			
+				//Get the next previous vertex
+				lPreviousVertex = previousVertex.get(lPreviousVertex);
+			}
+		
+			//Make sure to push the source onto the path
+			lPathOfVertices.add(0, pSource);
+		
+			return lPathOfVertices;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+	
+	/**
+	 * Given a directed graph, gets the shortest distance between two vertices.  If either the graph, source, or 
+	 * destination parameters are null, null will be returned.  Unless this algorithm has a cache of trees, or has 
+	 * already found the distances from the source, the search stops as soon as the destination is settled.
+	 * 
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pDestination The vertex to end at
+	 * @return The distance from source to destination
+	 */
+	public Integer getShortestDistance(Digraph pGraph, Vertex pSource, Vertex pDestination) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSource == null || pDestination == null) {
+			System.out.println("The graph, source, and destination must all be non-null.");
+			return null;
+		}
+		
+		pGraph.getReadLock().lock();
+		try {
+			//With a cache of trees, read the distance straight from the tree rather than building the maps.  As with 
+			//the maps, there is no distance from the source to itself
+			if (cache != null) {
+				ShortestPathTree lTree = findShortestPathTree(pGraph, pSource);
+				Vertex lDestination = pGraph.getVertex(pDestination.getLabel());
+				if (lTree == null || lDestination == null || lDestination.getId() == lTree.getSourceId()) {
+					return null;
+				}
+				return lTree.getDistance(lDestination.getId());
+			}
+		
+			//If the distances from this source were already found, read the distance from them
+			if (isCached(pGraph, pSource)) {
+				return distanceFromSource.get(pDestination);
+			}
+		
+			//Otherwise search by vertex id, only until the destination is settled.  As with the maps, there is no 
+			//distance from the source to itself, or to a vertex that is not in the graph
+			Vertex lSource = pGraph.getVertex(pSource.getLabel());
+			if (lSource == null) {
+				System.out.println("The source vertex does not exist in the graph.");
+				return null;
+			}
+			Vertex lDestination = pGraph.getVertex(pDestination.getLabel());
+			if (lDestination == null || lDestination == lSource) {
+				return null;
+			}
+			return getShortestDistance((IndexedGraph) pGraph, lSource.getId(), lDestination.getId());
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+	
+	/**
+	 * Gets the shortest path tree for a source vertex of a directed graph, from the cache if there is one.
+	 * 
+	 * @param pGraph The directed graph
+	 * @param pSource The source vertex
+	 * @return The tree, or null if the source is not in the graph
+	 */
+	private ShortestPathTree findShortestPathTree(Digraph pGraph, Vertex pSource) {
+		Vertex lSourceVertex = pGraph.getVertex(pSource.getLabel());
+		if (lSourceVertex == null) {
+			System.out.println("The source vertex does not exist in the graph.");
+			return null;
+		}
+		return findShortestPathTree((IndexedGraph) pGraph, lSourceVertex.getId());
+	}
+	
+	/**
+	 * Gets the shortest path tree for a source vertex of an indexed graph.  If this algorithm was given a cache, the 
+	 * tree is taken from the cache when it is still current, and otherwise computed and added to the cache.  If the 
+	 * graph is null or does not contain the source vertex, an error is printed out and null is returned.
+	 * 
+	 * @param pGraph The graph on which to execute this algorithm
+	 * @param pSourceId The id of the vertex that is the source / starting point of the search
+	 * @return The distances and paths from the source to every vertex in the graph
+	 */
+	public ShortestPathTree findShortestPathTree(IndexedGraph pGraph, int pSourceId) {
+		//Validate the graph and the source
+		if (pGraph == null || !pGraph.containsVertex(pSourceId)) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+		
+		if (cache != null) {
+			ShortestPathTree lTree = cache.get(pGraph, pSourceId);
+			if (lTree != null) {
+				return lTree;
+			}
+		}
+		
+		//Remember the version before the search, so a change during the search makes the tree out of date
+		long lVersion = pGraph.getVersion();
+		int[] lDistances = new int[pGraph.getVertexIdBound()];
+		int[] lPrevious = new int[pGraph.getVertexIdBound()];
+		computeShortestPaths(pGraph, pSourceId, lDistances, lPrevious);
+		ShortestPathTree lTree = new ShortestPathTree(pGraph, lVersion, pSourceId, lDistances, lPrevious);
+		
+		if (cache != null) {
+			cache.put(lTree);
+		}
+		return lTree;
+	}
+	
+	/**
+	 * This is Dijkstra's Algorithm run directly on an indexed graph, such as a CsrGraph snapshot of a Digraph.  It 
+	 * returns the minimum distance from the source to every vertex id in the graph.  If the graph is null or does not 
+	 * contain the source vertex, an error is printed out and null is returned.
+	 * 
+	 * @param pGraph The graph on which to execute this algorithm
+	 * @param pSourceId The id of the vertex that is the source / starting point of the search
+	 * @return An array indexed by vertex id holding the distance from the source, where the source itself is 0 and 
+	 * vertices that cannot be reached are Integer.MAX_VALUE
+	 */
+	public int[] findMinimumDistance(IndexedGraph pGraph, int pSourceId) {
+		//The graph and source are validated when the tree is found
+		ShortestPathTree lTree = findShortestPathTree(pGraph, pSourceId);
+		return lTree == null ? null : lTree.getDistances();
+	}
+	
+	/**
+	 * Given an indexed graph, gets the shortest path between two vertices.  If the graph is null or does not contain 
+	 * the source or destination, an error is printed out and null is returned.  Null is also returned if the 
+	 * destination cannot be reached from the source.  Unless this algorithm has a cache of trees, the search stops 
+	 * as soon as the destination is settled.
+	 * 
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The vertex ids along the path, such that position 0 is the source and the last position is the 
+	 * destination
+	 */
+	public int[] getShortestPath(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		//Validate the graph, source and destination
+		if (pGraph == null || !pGraph.containsVertex(pSourceId) || !pGraph.containsVertex(pDestinationId)) {
+			System.out.println("The graph, source, and destination must all be provided.");
+			return null;
+		}
+		
+		if (cache != null) {
+			return findShortestPathTree(pGraph, pSourceId).getPath(pDestinationId);
+		}
+		
+		SearchWorkspace lWorkspace = searchTo(pGraph, pSourceId, pDestinationId);
+		if (!lWorkspace.isReached(pDestinationId)) {
+			return null;
+		}
+		
+		//Count the vertices on the path, then fill the path in from the destination back to the source
+		int lLength = 1;
+		for (int lVertex = pDestinationId; lVertex != pSourceId; lVertex = lWorkspace.getParent(lVertex)) {
+			lLength++;
+		}
+		
+		int[] lPath = new int[lLength];
+		int lVertex = pDestinationId;
+		for (int i = lLength - 1; i >= 0; i--) {
+			lPath[i] = lVertex;
+			lVertex = lWorkspace.getParent(lVertex);
+		}
+		
+		return lPath;
+	}
+	
+	/**
+	 * Given an indexed graph, gets the shortest distance between two vertices.  If the graph is null or does not 
+	 * contain the source or destination, an error is printed out and null is returned.  Unless this algorithm has a 
+	 * cache of trees, the search stops as soon as the destination is settled.
+	 * 
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The distance from source to destination, or Integer.MAX_VALUE if the destination cannot be reached
+	 */
+	public Integer getShortestDistance(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		//Validate the graph, source and destination
+		if (pGraph == null || !pGraph.containsVertex(pSourceId) || !pGraph.containsVertex(pDestinationId)) {
+			System.out.println("The graph, source, and destination must all be provided.");
+			return null;
+		}
+		
+		if (cache != null) {
+			return findShortestPathTree(pGraph, pSourceId).getDistance(pDestinationId);
+		}
+		return searchTo(pGraph, pSourceId, pDestinationId).getDistance(pDestinationId);
+	}
+	
+	/**
+	 * Finds every vertex whose distance from the source is at most the given distance.  The search never goes past 
+	 * that distance, so it only takes time and memory in proportion to the part of the graph within it.  If the graph 
+	 * is null or does not contain the source, an error is printed out and null is returned.
+	 * 
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pMaxDistance The largest distance to include
+	 * @return The vertices within the distance, including the source, in order of their distance from the source
+	 */
+	public SearchRegion findVerticesWithinDistance(IndexedGraph pGraph, int pSourceId, int pMaxDistance) {
+		//Validate the graph and the source
+		if (pGraph == null || !pGraph.containsVertex(pSourceId)) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+		
+		SearchWorkspace lWorkspace = getWorkspace(pGraph);
+		IndexedPriorityQueue lFringe = lWorkspace.getFringe();
+		lWorkspace.setDistance(pSourceId, 0, -1);
+		lFringe.insert(pSourceId, 0);
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		
+		//Vertices are added as they are settled, which is in order of distance
+		int[] lSettled = new int[16];
+		int lSettledCount = 0;
+		
+		while (!lFringe.isEmpty()) {
+			int lVertex = lFringe.removeMin();
+			int lVertexDistance = lWorkspace.getDistance(lVertex);
+			if (lSettledCount == lSettled.length) {
+				lSettled = Arrays.copyOf(lSettled, lSettledCount * 2);
+			}
+			lSettled[lSettledCount++] = lVertex;
+			
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + lCursor.getWeight();
+				
+				//Vertices beyond the radius are never put on the fringe
+				if (lCurrentDistance <= pMaxDistance && lCurrentDistance < lWorkspace.getDistance(lNextVertex)) {
+					lWorkspace.setDistance(lNextVertex, lCurrentDistance, lVertex);
+					lFringe.insert(lNextVertex, lCurrentDistance);
+				}
+			}
+		}
+		
+		int[] lVertexIds = Arrays.copyOf(lSettled, lSettledCount);
+		int[] lDistances = new int[lSettledCount];
+		for (int i = 0; i < lSettledCount; i++) {
+			lDistances[i] = lWorkspace.getDistance(lVertexIds[i]);
+		}
+		return new SearchRegion(lVertexIds, lDistances);
+	}
+	
+	/**
+	 * Finds every vertex that can be reached from the source by following at most the given number of edges, whatever 
+	 * their weights.  The search only takes time and memory in proportion to the part of the graph it reaches.  If 
+	 * the graph is null or does not contain the source, an error is printed out and null is returned.
+	 * 
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the vertex to start at
+	 * @param pMaxHops The most edges a path may follow
+	 * @return The vertices within the number of edges, including the source, with the fewest edges needed to reach 
+	 * each one as its distance
+	 */
+	public SearchRegion findVerticesWithinHops(IndexedGraph pGraph, int pSourceId, int pMaxHops) {
+		//Validate the graph and the source
+		if (pGraph == null || !pGraph.containsVertex(pSourceId)) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+		
+		//A breadth first search, where the list of reached vertices is also the queue of vertices to explore
+		SearchWorkspace lWorkspace = getWorkspace(pGraph);
+		lWorkspace.setDistance(pSourceId, 0, -1);
+		int[] lReached = new int[16];
+		lReached[0] = pSourceId;
+		int lReachedCount = 1;
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		
+		for (int lHead = 0; lHead < lReachedCount; lHead++) {
+			int lVertex = lReached[lHead];
+			int lHops = lWorkspace.getDistance(lVertex);
+			if (lHops >= pMaxHops) {
+				//Every vertex after this one is at least as far, so nothing else can be reached
+				break;
+			}
+			
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				if (lWorkspace.isReached(lNextVertex)) {
+					continue;
+				}
+				lWorkspace.setDistance(lNextVertex, lHops + 1, lVertex);
+				if (lReachedCount == lReached.length) {
+					lReached = Arrays.copyOf(lReached, lReachedCount * 2);
+				}
+				lReached[lReachedCount++] = lNextVertex;
+			}
+		}
+		
+		int[] lVertexIds = Arrays.copyOf(lReached, lReachedCount);
+		int[] lDistances = new int[lReachedCount];
+		for (int i = 0; i < lReachedCount; i++) {
+			lDistances[i] = lWorkspace.getDistance(lVertexIds[i]);
+		}
+		return new SearchRegion(lVertexIds, lDistances);
+	}
+	
+	/**
+	 * Given a directed graph, finds every vertex whose distance from the source is at most the given distance.  If 
+	 * the graph or source is null, or the source is not in the graph, an error is printed out and null is returned.
+	 * 
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pMaxDistance The largest distance to include
+	 * @return A map containing each vertex within the distance (including the source), and its distance from the 
+	 * source, in order of distance
+	 */
+	public Map<Vertex, Integer> findVerticesWithinDistance(Digraph pGraph, Vertex pSource, int pMaxDistance) {
+		//Validate that the source and graph are non-null
+		if (pGraph == null || pSource == null) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+		
+		pGraph.getReadLock().lock();
+		try {
+			return toVertexMap(pGraph, findVerticesWithinDistance(pGraph, pGraph.getVertexId(pSource.getLabel()), 
+				pMaxDistance));
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+	
+	/**
+	 * Given a directed graph, finds every vertex that can be reached from the source by following at most the given 
+	 * number of edges.  If the graph or source is null, or the source is not in the graph, an error is printed out and 
+	 * null is returned.
+	 * 
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSource The vertex to start at
+	 * @param pMaxHops The most edges a path may follow
+	 * @return A map containing each vertex within the number of edges (including the source), and the fewest edges 
+	 * needed to reach it, in order of that number
+	 */
+	public Map<Vertex, Integer> findVerticesWithinHops(Digraph pGraph, Vertex pSource, int pMaxHops) {
+		//Validate that the source and graph are non-null
+		if (pGraph == null || pSource == null) {
+			System.out.println("The graph and source vertex must be provided.");
+			return null;
+		}
+		
+		pGraph.getReadLock().lock();
+		try {
+			return toVertexMap(pGraph, findVerticesWithinHops(pGraph, pGraph.getVertexId(pSource.getLabel()),
+				pMaxHops));
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+	
+	/**
+	 * Converts a region of a directed graph to a map from each vertex to its distance.
+	 * 
+	 * @param pGraph The directed graph that was searched
+	 * @param pRegion The region found by the search, or null if the search failed
+	 * @return A map that keeps the order of the region, or null if the region is null
+	 */
+	private Map<Vertex, Integer> toVertexMap(Digraph pGraph, SearchRegion pRegion) {
+		if (pRegion == null) {
+			return null;
+		}
+		
+		Map<Vertex, Integer> lDistances = new LinkedHashMap<Vertex, Integer>(pRegion.size() * 2);
+		for (int i = 0; i < pRegion.size(); i++) {
+			lDistances.put(pGraph.getVertex(pRegion.getVertexId(i)), pRegion.getDistance(i));
+		}
+		return lDistances;
+	}
+	
+	/**
+	 * Runs Dijkstra's Algorithm from the source until the destination is settled, or every reachable vertex has been.
+	 * 
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the source vertex
+	 * @param pDestinationId The id of the destination vertex
+	 * @return The workspace holding the distances and previous vertices found by the search
+	 */
+	private SearchWorkspace searchTo(IndexedGraph pGraph, int pSourceId, int pDestinationId) {
+		SearchWorkspace lWorkspace = getWorkspace(pGraph);
+		IndexedPriorityQueue lFringe = lWorkspace.getFringe();
+		lWorkspace.setDistance(pSourceId, 0, -1);
+		lFringe.insert(pSourceId, 0);
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		
+		while (!lFringe.isEmpty()) {
+			//Once the destination is settled its distance is final, so there is no need to go further
+			int lVertex = lFringe.removeMin();
+			if (lVertex == pDestinationId) {
+				break;
+			}
+			int lVertexDistance = lWorkspace.getDistance(lVertex);
+			
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + lCursor.getWeight();
+				if (lCurrentDistance < lWorkspace.getDistance(lNextVertex)) {
+					lWorkspace.setDistance(lNextVertex, lCurrentDistance, lVertex);
+					lFringe.insert(lNextVertex, lCurrentDistance);
+				}
+			}
+		}
+		
+		return lWorkspace;
+	}
+	
+	/**
+	 * Gets the workspace for a search, which is created the first time it is needed and reused after that, so that 
+	 * searches that only explore part of the graph do not have to allocate or clear arrays for the whole graph.
+	 * 
+	 * @param pGraph The graph that will be searched
+	 * @return The workspace, ready for a new search
+	 */
+	private SearchWorkspace getWorkspace(IndexedGraph pGraph) {
+		if (workspace == null) {
+			workspace = new SearchWorkspace(queueFactory.apply(0));
+		}
+		workspace.reset(pGraph.getVertexIdBound());
+		return workspace;
+	}
+	
+	/**
+	 * Runs Dijkstra's Algorithm on an indexed graph, filling in the distance and previous vertex of every vertex id.
+	 * 
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the source vertex
+	 * @param pDistances Filled in with the distance from the source, or Integer.MAX_VALUE if unreachable
+	 * @param pPrevious Filled in with the previous vertex on the shortest path, or -1 for the source and for 
+	 * vertices that cannot be reached
+	 */
+	private void computeShortestPaths(IndexedGraph pGraph, int pSourceId, int[] pDistances, int[] pPrevious) {
+		computeShortestPaths(pGraph, pGraph.newOutgoingCursor(), pSourceId, pDistances, pPrevious, null);
+	}
+	
+	/**
+	 * Runs Dijkstra's Algorithm on an indexed graph along the edges walked by the given cursor, filling in the 
+	 * distance and previous vertex of every vertex id.  With a cursor over incoming edges, the distances are to the 
+	 * source instead of from it.
+	 * 
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pCursor A cursor over the outgoing or incoming edges of the graph
+	 * @param pSourceId The id of the source vertex
+	 * @param pDistances Filled in with the distance from the source, or Integer.MAX_VALUE if unreachable
+	 * @param pPrevious Filled in with the previous vertex on the shortest path, or -1 for the source and for 
+	 * vertices that cannot be reached
+	 * @param pSettledOrder If not null, filled in with the vertices in the order they were settled
+	 * @return The number of vertices that were settled
+	 */
+	int computeShortestPaths(IndexedGraph pGraph, EdgeCursor pCursor, int pSourceId, int[] pDistances, 
+		int[] pPrevious, int[] pSettledOrder) {
+		Arrays.fill(pDistances, Integer.MAX_VALUE);
+		Arrays.fill(pPrevious, -1);
+		pDistances[pSourceId] = 0;
+		
+		IndexedPriorityQueue lFringe = queueFactory.apply(pGraph.getVertexIdBound());
+		lFringe.insert(pSourceId, 0);
+		int lSettledCount = 0;
+		
+		while (!lFringe.isEmpty()) {
+			//Settle the closest fringe vertex, and relax each of its edges
+			int lVertex = lFringe.removeMin();
+			int lVertexDistance = pDistances[lVertex];
+			if (pSettledOrder != null) {
+				pSettledOrder[lSettledCount] = lVertex;
+			}
+			lSettledCount++;
+			
+			pCursor.moveTo(lVertex);
+			while (pCursor.next()) {
+				int lNextVertex = pCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + pCursor.getWeight();
+				if (lCurrentDistance < pDistances[lNextVertex]) {
+					pDistances[lNextVertex] = lCurrentDistance;
+					pPrevious[lNextVertex] = lVertex;
+					lFringe.insert(lNextVertex, lCurrentDistance);
+				}
+			}
+		}
+		
+		return lSettledCount;
+	}
+}
\ No newline at end of file
@@ -1,290 +1,487 @@
-package graphAssignment;
-
-import java.util.List;
-import java.util.Map;
-
-import org.junit.Test;
-
-import org.junit.Assert;
-
-public class DijkstrasAlgorithmTest {
-	
-	
-	/*
-	 * To help with visualizing, the graphs the I used for the tests look something like the following.
-	 * Excuse the lack of artistic ability.  Also, the @ will represent the arrow head
-	 * 
-	 * 
-	 * Graph1:
-	 * 
-	 * 					6             6
-	 * 		    B -------------@ D ----------@ F
-	 * 		   @  \             @              @
-	 *      5 /     \			|			   |
-	 *   	 /        \			|			   |
-	 *  	A       3   \       | 2    		   | 2
-	 *		 \            \     |              |
-	 *	  10  \             \	|	 		   |
-	 *		   @              @	|     		   |
-	 * 			C @------------ E -----------@ G
-	 *                  2              2
-	 * 
-	 * Graph2:
-	 * 
-	 *                  7
-	 * 			  B -------------@ D
-	 *          @ |@ \         /  @
-	 *         /  ||  \       /   |
-	 *      5 /   ||   \     / 2  |
-	 *       /   2||     \ /      |
-	 *      A     ||     / \      | 7
-	 *       \    ||    /   \     |
-	 *     3  \   ||1  /     \ 1  |
-	 *         \  ||  /       \   |
-	 *          @ @  @         @  |
-	 *            C -------------@ E
-	 *                  4
-	 * 
-	 * 
-	 * Graph3:
-	 * 
-	 *                   A
-	 *                 / @  @
-	 *            4 /    |    \  2
-	 *            /      |       \ 
-	 *          /        |         \
-	 *        @          |           \
-	 *       F           |            B
-	 *       @ \@        | 1        / @
-	 *       |   \\ 1    |        /   |
-	 *       |   1 \\    |      / 2   |
-	 *       |       @\  |   @        |
-	 *     3 |           G            |3
-	 *       |        @  | \          |
-	 *       |     /     |    \  4    |
-	 *       |  /  2     |        @   |
-	 *       E           |            C
-	 *        @          |        @  
-	 *          \        |3    / 2
-	 *          1   \    @  /
-	 *                   D
-	 * 
-	 * 
-	 */
-	
-
-	@Test
-	public void testFindMinimumDistance_Graph1_SourceA() {
-		Digraph lGraph = getGraph1();
-		
-		//Test finding the minimum distance from all vertices to the source vertex
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("A"));
-		
-		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("B")).intValue());
-		Assert.assertEquals(10, lDistanceMap.get(lGraph.getVertex("C")).intValue());
-		Assert.assertEquals(10, lDistanceMap.get(lGraph.getVertex("D")).intValue());
-		Assert.assertEquals(8, lDistanceMap.get(lGraph.getVertex("E")).intValue());
-		Assert.assertEquals(12, lDistanceMap.get(lGraph.getVertex("F")).intValue());
-		Assert.assertEquals(10, lDistanceMap.get(lGraph.getVertex("G")).intValue());
-	}
-	
-	
-	@Test
-	public void testFindMinimumDistance_Graph2_SourceA() {
-		Digraph lGraph = getGraph2();
-		
-		//Test finding the minimum distance from all vertices to the source vertex
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("A"));
-		
-		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("B")).intValue());
-		Assert.assertEquals(3, lDistanceMap.get(lGraph.getVertex("C")).intValue());
-		Assert.assertEquals(12, lDistanceMap.get(lGraph.getVertex("D")).intValue());
-		Assert.assertEquals(6, lDistanceMap.get(lGraph.getVertex("E")).intValue());
-	}
-	
-	@Test
-	public void testFindMinimumDistance_Graph3_SourceA() {
-		Digraph lGraph = getGraph3();
-		
-		//Test finding the minimum distance from all vertices to the source vertex
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("A"));
-		
-		Assert.assertEquals(12, lDistanceMap.get(lGraph.getVertex("B")).intValue());
-		Assert.assertEquals(9, lDistanceMap.get(lGraph.getVertex("C")).intValue());
-		Assert.assertEquals(8, lDistanceMap.get(lGraph.getVertex("D")).intValue());
-		Assert.assertEquals(9, lDistanceMap.get(lGraph.getVertex("E")).intValue());
-		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("F")).intValue());
-		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("G")).intValue());
-	}
-	
-	@Test
-	public void testFindMinimumDistance_Graph3_SourceD() {
-		Digraph lGraph = getGraph3();
-		
-		//Test finding the minimum distance from all vertices to the source vertex
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("D"));
-		
-		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("A")).intValue());
-		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("B")).intValue());
-		Assert.assertEquals(2, lDistanceMap.get(lGraph.getVertex("C")).intValue());
-		Assert.assertEquals(1, lDistanceMap.get(lGraph.getVertex("E")).intValue());
-		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("F")).intValue());
-		Assert.assertEquals(3, lDistanceMap.get(lGraph.getVertex("G")).intValue());
-	}
-	
-	@Test
-	public void testGetShortestPath_Graph1_SourceA() {
-		Digraph lGraph = getGraph1();
-		
-		//Test finding the shortest path from vertex A to vertex F
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
-		
-		Assert.assertEquals("A", lPath.get(0).getLabel());
-		Assert.assertEquals("B", lPath.get(1).getLabel());
-		Assert.assertEquals("E", lPath.get(2).getLabel());
-		Assert.assertEquals("G", lPath.get(3).getLabel());
-		Assert.assertEquals("F", lPath.get(4).getLabel());
-	}
-	
-	@Test
-	public void testGetShortestPath_Graph2_SourceA() {
-		Digraph lGraph = getGraph2();
-		
-		//Test finding the shortest path from vertex A to vertex B
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("B"));
-		
-		Assert.assertEquals("A", lPath.get(0).getLabel());
-		Assert.assertEquals("C", lPath.get(1).getLabel());
-		Assert.assertEquals("B", lPath.get(2).getLabel());
-	}
-	
-	@Test
-	public void testGetShortestPath_Graph3_SourceD() {
-		Digraph lGraph = getGraph3();
-		
-		//Test finding the shortest path from vertex D to vertex A
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("D"), lGraph.getVertex("A"));
-		
-		Assert.assertEquals("D", lPath.get(0).getLabel());
-		Assert.assertEquals("E", lPath.get(1).getLabel());
-		Assert.assertEquals("G", lPath.get(2).getLabel());
-		Assert.assertEquals("A", lPath.get(3).getLabel());
-	}
-	
-	@Test
-	public void testGetShortestDistance_Graph1_SourceA() {
-		Digraph lGraph = getGraph1();
-		
-		//Test finding the shortest distance from vertex A to vertex F
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		Integer lValue = lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
-		
-		Assert.assertEquals(12, lValue.intValue());
-	}
-	
-	@Test
-	public void testGetShortestDistance_Graph2_SourceA() {
-		Digraph lGraph = getGraph2();
-		
-		//Test finding the shortest distance from vertex A to vertex B
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		Integer lValue = lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("B"));
-		
-		Assert.assertEquals(4, lValue.intValue());
-	}
-	
-	@Test
-	public void testGetShortestDistance_Graph3_SourceD() {
-		Digraph lGraph = getGraph3();
-		
-		//Test finding the shortest distance from vertex D to vertex A
-		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
-		Integer lValue = lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("D"), lGraph.getVertex("A"));
-		
-		Assert.assertEquals(4, lValue.intValue());
-	}
-	
-	
-	
-	private Digraph getGraph1() {
-		Digraph lGraph = new Digraph();
-		
-		Vertex lVertexA = new Vertex("A");
-		Vertex lVertexB = new Vertex("B");
-		Vertex lVertexC = new Vertex("C");
-		Vertex lVertexD = new Vertex("D");
-		Vertex lVertexE = new Vertex("E");
-		Vertex lVertexF = new Vertex("F");
-		Vertex lVertexG = new Vertex("G");
-		
-		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
-		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
-		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
-		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
-		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
-		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
-		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
-		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
-		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
-		
-		return lGraph;
-	}
-	
-	private Digraph getGraph2() {
-		Digraph lGraph = new Digraph();
-		
-		Vertex lVertexA = new Vertex("A");
-		Vertex lVertexB = new Vertex("B");
-		Vertex lVertexC = new Vertex("C");
-		Vertex lVertexD = new Vertex("D");
-		Vertex lVertexE = new Vertex("E");
-		
-		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
-		lGraph.addEdge(lVertexA, lVertexC, 3, "a->c");
-		lGraph.addEdge(lVertexB, lVertexC, 2, "b->c");
-		lGraph.addEdge(lVertexB, lVertexD, 7, "b->d");
-		lGraph.addEdge(lVertexB, lVertexE, 1, "b->e");
-		lGraph.addEdge(lVertexC, lVertexB, 1, "c->b");
-		lGraph.addEdge(lVertexC, lVertexE, 4, "c->e");
-		lGraph.addEdge(lVertexD, lVertexC, 2, "d->c");
-		lGraph.addEdge(lVertexE, lVertexD, 7, "e->d");
-		
-		return lGraph;
-	}
-	
-	private Digraph getGraph3() {
-		Digraph lGraph = new Digraph();
-		
-		Vertex lVertexA = new Vertex("A");
-		Vertex lVertexB = new Vertex("B");
-		Vertex lVertexC = new Vertex("C");
-		Vertex lVertexD = new Vertex("D");
-		Vertex lVertexE = new Vertex("E");
-		Vertex lVertexF = new Vertex("F");
-		Vertex lVertexG = new Vertex("G");
-		
-		lGraph.addEdge(lVertexA, lVertexF, 4, "a->f");
-		lGraph.addEdge(lVertexB, lVertexA, 2, "b->a");
-		lGraph.addEdge(lVertexB, lVertexG, 2, "b->g");
-		lGraph.addEdge(lVertexC, lVertexB, 3, "c->b");
-		lGraph.addEdge(lVertexD, lVertexC, 2, "d->c");
-		lGraph.addEdge(lVertexD, lVertexE, 1, "d->e");
-		lGraph.addEdge(lVertexE, lVertexF, 3, "e->f");
-		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
-		lGraph.addEdge(lVertexF, lVertexG, 1, "f->g");
-		lGraph.addEdge(lVertexG, lVertexF, 1, "g->f");
-		lGraph.addEdge(lVertexG, lVertexA, 1, "g->a");
-		lGraph.addEdge(lVertexG, lVertexC, 4, "g->c");
-		lGraph.addEdge(lVertexG, lVertexD, 3, "g->d");
-		
-		return lGraph;
-	}
-
-}
+package graphAssignment;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.junit.Assert;
+
+public class DijkstrasAlgorithmTest {
+	
+	
+	/*
+	 * To help with visualizing, the graphs the I used for the tests look something like the following.
+	 * Excuse the lack of artistic ability.  Also, the @ will represent the arrow head
+	 * 
+	 * 
+	 * Graph1:
+	 * 
+	 * 					6             6
+	 * 		    B -------------@ D ----------@ F
+	 * 		   @  \             @              @
+	 *      5 /     \			|			   |
+	 *   	 /        \			|			   |
+	 *  	A       3   \       | 2    		   | 2
+	 *		 \            \     |              |
+	 *	  10  \             \	|	 		   |
+	 *		   @              @	|     		   |
+	 * 			C @------------ E -----------@ G
+	 *                  2              2
+	 * 
+	 * Graph2:
+	 * 
+	 *                  7
+	 * 			  B -------------@ D
+	 *          @ |@ \         /  @
+	 *         /  ||  \       /   |
+	 *      5 /   ||   \     / 2  |
+	 *       /   2||     \ /      |
+	 *      A     ||     / \      | 7
+	 *       \    ||    /   \     |
+	 *     3  \   ||1  /     \ 1  |
+	 *         \  ||  /       \   |
+	 *          @ @  @         @  |
+	 *            C -------------@ E
+	 *                  4
+	 * 
+	 * 
+	 * Graph3:
+	 * 
+	 *                   A
+	 *                 / @  @
+	 *            4 /    |    \  2
+	 *            /      |       \ 
+	 *          /        |         \
+	 *        @          |           \
+	 *       F           |            B
+	 *       @ \@        | 1        / @
+	 *       |   \\ 1    |        /   |
+	 *       |   1 \\    |      / 2   |
+	 *       |       @\  |   @        |
+	 *     3 |           G            |3
+	 *       |        @  | \          |
+	 *       |     /     |    \  4    |
+	 *       |  /  2     |        @   |
+	 *       E           |            C
+	 *        @          |        @  
+	 *          \        |3    / 2
+	 *          1   \    @  /
+	 *                   D
+	 * 
+	 * 
+	 */
+	
+
+	@Test
+	public void testFindMinimumDistance_Graph1_SourceA() {
+		Digraph lGraph = getGraph1();
+		
+		//Test finding the minimum distance from all vertices to the source vertex
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("A"));
+		
+		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("B")).intValue());
+		Assert.assertEquals(10, lDistanceMap.get(lGraph.getVertex("C")).intValue());
+		Assert.assertEquals(10, lDistanceMap.get(lGraph.getVertex("D")).intValue());
+		Assert.assertEquals(8, lDistanceMap.get(lGraph.getVertex("E")).intValue());
+		Assert.assertEquals(12, lDistanceMap.get(lGraph.getVertex("F")).intValue());
+		Assert.assertEquals(10, lDistanceMap.get(lGraph.getVertex("G")).intValue());
+	}
+	
+	
+	@Test
+	public void testFindMinimumDistance_Graph2_SourceA() {
+		Digraph lGraph = getGraph2();
+		
+		//Test finding the minimum distance from all vertices to the source vertex
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("A"));
+		
+		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("B")).intValue());
+		Assert.assertEquals(3, lDistanceMap.get(lGraph.getVertex("C")).intValue());
+		
+		//A -> C -> B -> D and A -> C -> B -> E
+		Assert.assertEquals(11, lDistanceMap.get(lGraph.getVertex("D")).intValue());
+		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("E")).intValue());
+	}
+	
+	@Test
+	public void testFindMinimumDistance_Graph3_SourceA() {
+		Digraph lGraph = getGraph3();
+		
+		//Test finding the minimum distance from all vertices to the source vertex
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("A"));
+		
+		Assert.assertEquals(12, lDistanceMap.get(lGraph.getVertex("B")).intValue());
+		Assert.assertEquals(9, lDistanceMap.get(lGraph.getVertex("C")).intValue());
+		Assert.assertEquals(8, lDistanceMap.get(lGraph.getVertex("D")).intValue());
+		Assert.assertEquals(9, lDistanceMap.get(lGraph.getVertex("E")).intValue());
+		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("F")).intValue());
+		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("G")).intValue());
+	}
+	
+	@Test
+	public void testFindMinimumDistance_Graph3_SourceD() {
+		Digraph lGraph = getGraph3();
+		
+		//Test finding the minimum distance from all vertices to the source vertex
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("D"));
+		
+		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("A")).intValue());
+		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("B")).intValue());
+		Assert.assertEquals(2, lDistanceMap.get(lGraph.getVertex("C")).intValue());
+		Assert.assertEquals(1, lDistanceMap.get(lGraph.getVertex("E")).intValue());
+		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("F")).intValue());
+		Assert.assertEquals(3, lDistanceMap.get(lGraph.getVertex("G")).intValue());
+	}
+	
+	@Test
+	public void testFindMinimumDistance_Graph3_SourceA_PairingHeap() {
+		Digraph lGraph = getGraph3();
+		
+		//The same search as above, but using a pairing heap for the fringe
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm(pCapacity -> new PairingHeap(pCapacity));
+		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("A"));
+		
+		Assert.assertEquals(12, lDistanceMap.get(lGraph.getVertex("B")).intValue());
+		Assert.assertEquals(9, lDistanceMap.get(lGraph.getVertex("C")).intValue());
+		Assert.assertEquals(8, lDistanceMap.get(lGraph.getVertex("D")).intValue());
+		Assert.assertEquals(9, lDistanceMap.get(lGraph.getVertex("E")).intValue());
+		Assert.assertEquals(4, lDistanceMap.get(lGraph.getVertex("F")).intValue());
+		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("G")).intValue());
+	}
+	
+	@Test
+	public void testFindMinimumDistance_UnreachableVertex() {
+		Digraph lGraph = getGraph1();
+		
+		//Nothing leads back to A, so it should stay at the max value when searching from B
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("B"));
+		
+		Assert.assertEquals(Integer.MAX_VALUE, lDistanceMap.get(lGraph.getVertex("A")).intValue());
+		Assert.assertEquals(5, lDistanceMap.get(lGraph.getVertex("C")).intValue());
+		Assert.assertNull(lDistanceMap.get(lGraph.getVertex("B")));
+	}
+	
+	@Test
+	public void testGetShortestPath_Graph1_SourceA() {
+		Digraph lGraph = getGraph1();
+		
+		//Test finding the shortest path from vertex A to vertex F
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
+		
+		Assert.assertEquals("A", lPath.get(0).getLabel());
+		Assert.assertEquals("B", lPath.get(1).getLabel());
+		Assert.assertEquals("E", lPath.get(2).getLabel());
+		Assert.assertEquals("G", lPath.get(3).getLabel());
+		Assert.assertEquals("F", lPath.get(4).getLabel());
+	}
+	
+	@Test
+	public void testGetShortestPath_Graph2_SourceA() {
+		Digraph lGraph = getGraph2();
+		
+		//Test finding the shortest path from vertex A to vertex B
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("B"));
+		
+		Assert.assertEquals("A", lPath.get(0).getLabel());
+		Assert.assertEquals("C", lPath.get(1).getLabel());
+		Assert.assertEquals("B", lPath.get(2).getLabel());
+	}
+	
+	@Test
+	public void testGetShortestPath_Graph3_SourceD() {
+		Digraph lGraph = getGraph3();
+		
+		//Test finding the shortest path from vertex D to vertex A
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("D"), lGraph.getVertex("A"));
+		
+		Assert.assertEquals("D", lPath.get(0).getLabel());
+		Assert.assertEquals("E", lPath.get(1).getLabel());
+		Assert.assertEquals("G", lPath.get(2).getLabel());
+		Assert.assertEquals("A", lPath.get(3).getLabel());
+	}
+	
+	@Test
+	public void testGetShortestDistance_Graph1_SourceA() {
+		Digraph lGraph = getGraph1();
+		
+		//Test finding the shortest distance from vertex A to vertex F
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Integer lValue = lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
+		
+		Assert.assertEquals(12, lValue.intValue());
+	}
+	
+	@Test
+	public void testGetShortestDistance_Graph2_SourceA() {
+		Digraph lGraph = getGraph2();
+		
+		//Test finding the shortest distance from vertex A to vertex B
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Integer lValue = lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("B"));
+		
+		Assert.assertEquals(4, lValue.intValue());
+	}
+	
+	@Test
+	public void testGetShortestDistance_Graph3_SourceD() {
+		Digraph lGraph = getGraph3();
+		
+		//Test finding the shortest distance from vertex D to vertex A
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Integer lValue = lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("D"), lGraph.getVertex("A"));
+		
+		Assert.assertEquals(4, lValue.intValue());
+	}
+	
+	
+	
+	@Test
+	public void testFindMinimumDistance_Snapshot() {
+		Digraph lGraph = getGraph3();
+		CsrGraph lSnapshot = lGraph.freeze();
+		
+		//The snapshot should give the same distances as the graph itself
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Map<Vertex, Integer> lDistanceMap = lAlgorithm.findMinimumDistance(lGraph, lGraph.getVertex("D"));
+		int[] lDistances = lAlgorithm.findMinimumDistance(lSnapshot, lSnapshot.getVertexId("D"));
+		
+		for (Vertex lVertex : lDistanceMap.keySet()) {
+			Assert.assertEquals(lDistanceMap.get(lVertex).intValue(), lDistances[lSnapshot.getVertexId(lVertex.getLabel())]);
+		}
+		Assert.assertEquals(0, lDistances[lSnapshot.getVertexId("D")]);
+	}
+	
+	@Test
+	public void testGetShortestPath_Snapshot() {
+		CsrGraph lSnapshot = getGraph1().freeze();
+		
+		//Test finding the shortest path from vertex A to vertex F: A, B, E, G, F
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		int[] lPath = lAlgorithm.getShortestPath(lSnapshot, lSnapshot.getVertexId("A"), lSnapshot.getVertexId("F"));
+		
+		Assert.assertEquals(5, lPath.length);
+		Assert.assertEquals("A", lSnapshot.getVertexLabel(lPath[0]));
+		Assert.assertEquals("B", lSnapshot.getVertexLabel(lPath[1]));
+		Assert.assertEquals("E", lSnapshot.getVertexLabel(lPath[2]));
+		Assert.assertEquals("G", lSnapshot.getVertexLabel(lPath[3]));
+		Assert.assertEquals("F", lSnapshot.getVertexLabel(lPath[4]));
+		Assert.assertEquals(12, lAlgorithm.getShortestDistance(lSnapshot, lPath[0], lPath[4]).intValue());
+		
+		//Nothing leads back to A
+		Assert.assertNull(lAlgorithm.getShortestPath(lSnapshot, lPath[4], lPath[0]));
+	}
+	
+	@Test
+	public void testGetShortestDistance_UnreachableVertex() {
+		Digraph lGraph = getGraph1();
+		
+		//The search stops at the destination, but gives the same answers as the maps
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Assert.assertEquals(5, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("B"), lGraph.getVertex("C")).intValue());
+		Assert.assertEquals(Integer.MAX_VALUE, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("B"), lGraph.getVertex("A")).intValue());
+		Assert.assertNull(lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("B"), lGraph.getVertex("B")));
+		Assert.assertNull(lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("B"), new Vertex("Z")));
+		Assert.assertNull(lAlgorithm.getShortestDistance(lGraph, new Vertex("Z"), lGraph.getVertex("B")));
+	}
+	
+	@Test
+	public void testGetShortestDistance_AfterGraphChange() {
+		Digraph lGraph = getGraph1();
+		
+		//Run the algorithm once, so the results for source A are remembered
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Assert.assertEquals(12, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F")).intValue());
+		
+		//Adding an edge changes the version of the graph, so the results are recalculated
+		long lVersion = lGraph.getVersion();
+		lGraph.addEdge(lGraph.getVertex("A"), lGraph.getVertex("F"), 3, "a->f");
+		Assert.assertTrue(lGraph.getVersion() > lVersion);
+		Assert.assertEquals(3, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F")).intValue());
+		
+		//So does changing the weight of an edge
+		lVersion = lGraph.getVersion();
+		lGraph.getVertex("A").getOutgoingEdges().get(2).setWeight(20);
+		Assert.assertTrue(lGraph.getVersion() > lVersion);
+		Assert.assertEquals(12, lAlgorithm.getShortestDistance(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F")).intValue());
+		
+		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lGraph.getVertex("A"), lGraph.getVertex("F"));
+		Assert.assertEquals(5, lPath.size());
+	}
+	
+	@Test
+	public void testGetShortestDistance_WithCache() {
+		Digraph lGraph = getGraph1();
+		ShortestPathTreeCache lCache = new ShortestPathTreeCache(10);
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm(lCache);
+		Vertex lVertexA = lGraph.getVertex("A");
+		Vertex lVertexB = lGraph.getVertex("B");
+		Vertex lVertexF = lGraph.getVertex("F");
+		
+		//Alternate between two sources; each tree should only be computed once
+		Assert.assertEquals(12, lAlgorithm.getShortestDistance(lGraph, lVertexA, lVertexF).intValue());
+		Assert.assertEquals(7, lAlgorithm.getShortestDistance(lGraph, lVertexB, lVertexF).intValue());
+		Assert.assertEquals(12, lAlgorithm.getShortestDistance(lGraph, lVertexA, lVertexF).intValue());
+		Assert.assertEquals(7, lAlgorithm.getShortestDistance(lGraph, lVertexB, lVertexF).intValue());
+		Assert.assertEquals(2, lCache.getMissCount());
+		Assert.assertEquals(2, lCache.getHitCount());
+		
+		//The results should be the same as without the cache
+		Assert.assertNull(lAlgorithm.getShortestDistance(lGraph, lVertexA, lVertexA));
+		Assert.assertEquals(Integer.MAX_VALUE, lAlgorithm.getShortestDistance(lGraph, lVertexB, lVertexA).intValue());
+		List<Vertex> lPath = lAlgorithm.getShortestPath(lGraph, lVertexA, lVertexF);
+		Assert.assertEquals(5, lPath.size());
+		Assert.assertEquals("A", lPath.get(0).getLabel());
+		Assert.assertEquals("F", lPath.get(4).getLabel());
+		Map<Vertex, Integer> lDistances = lAlgorithm.findMinimumDistance(lGraph, lVertexA);
+		Assert.assertEquals(12, lDistances.get(lVertexF).intValue());
+		
+		//Changing the graph should invalidate the trees
+		lGraph.addEdge(lVertexA, lVertexF, 3, "a->f");
+		Assert.assertEquals(3, lAlgorithm.getShortestDistance(lGraph, lVertexA, lVertexF).intValue());
+		Assert.assertEquals(1, lCache.getInvalidationCount());
+	}
+	
+	@Test
+	public void testGetShortestDistance_StopsAtDestination() {
+		CsrGraph lSnapshot = getGraph1().freeze();
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		int[] lDistances = lAlgorithm.findMinimumDistance(lSnapshot, lSnapshot.getVertexId("A"));
+		
+		//Reusing the algorithm for many point to point queries should give the same answers as the full search
+		for (int lDestination = 0; lDestination < lSnapshot.getVertexIdBound(); lDestination++) {
+			Assert.assertEquals(lDistances[lDestination], 
+				lAlgorithm.getShortestDistance(lSnapshot, lSnapshot.getVertexId("A"), lDestination).intValue());
+		}
+		
+		//E is reached through B
+		int[] lPath = lAlgorithm.getShortestPath(lSnapshot, lSnapshot.getVertexId("A"), lSnapshot.getVertexId("E"));
+		Assert.assertEquals(3, lPath.length);
+		Assert.assertEquals("B", lSnapshot.getVertexLabel(lPath[1]));
+		Assert.assertEquals(Integer.MAX_VALUE, 
+			lAlgorithm.getShortestDistance(lSnapshot, lSnapshot.getVertexId("F"), lSnapshot.getVertexId("A")).intValue());
+	}
+	
+	@Test
+	public void testFindVerticesWithinDistance() {
+		Digraph lGraph = getGraph1();
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		
+		//From A: B is 5 away, E is 8, C, D and G are 10, and F is 12
+		Map<Vertex, Integer> lDistances = lAlgorithm.findVerticesWithinDistance(lGraph, lGraph.getVertex("A"), 10);
+		Assert.assertEquals(6, lDistances.size());
+		Assert.assertEquals(0, lDistances.get(lGraph.getVertex("A")).intValue());
+		Assert.assertEquals(8, lDistances.get(lGraph.getVertex("E")).intValue());
+		Assert.assertEquals(10, lDistances.get(lGraph.getVertex("G")).intValue());
+		Assert.assertNull(lDistances.get(lGraph.getVertex("F")));
+		
+		//The vertices are in order of distance
+		SearchRegion lRegion = lAlgorithm.findVerticesWithinDistance(lGraph, lGraph.getVertex("A").getId(), 8);
+		Assert.assertEquals(3, lRegion.size());
+		Assert.assertEquals("A", lGraph.getVertexLabel(lRegion.getVertexId(0)));
+		Assert.assertEquals("B", lGraph.getVertexLabel(lRegion.getVertexId(1)));
+		Assert.assertEquals("E", lGraph.getVertexLabel(lRegion.getVertexId(2)));
+		Assert.assertEquals(8, lRegion.getDistance(2));
+		
+		Assert.assertNull(lAlgorithm.findVerticesWithinDistance(lGraph, new Vertex("Z"), 10));
+	}
+	
+	@Test
+	public void testFindVerticesWithinHops() {
+		Digraph lGraph = getGraph1();
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		
+		//A reaches B and C with one edge, and D and E with two, whatever the weights
+		Map<Vertex, Integer> lHops = lAlgorithm.findVerticesWithinHops(lGraph, lGraph.getVertex("A"), 2);
+		Assert.assertEquals(5, lHops.size());
+		Assert.assertEquals(1, lHops.get(lGraph.getVertex("C")).intValue());
+		Assert.assertEquals(2, lHops.get(lGraph.getVertex("D")).intValue());
+		Assert.assertEquals(2, lHops.get(lGraph.getVertex("E")).intValue());
+		
+		Assert.assertEquals(1, lAlgorithm.findVerticesWithinHops(lGraph, lGraph.getVertex("A"), 0).size());
+		Assert.assertEquals(7, lAlgorithm.findVerticesWithinHops(lGraph, lGraph.getVertex("A"), 10).size());
+	}
+	
+	private Digraph getGraph1() {
+		Digraph lGraph = new Digraph();
+		
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+		
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
+		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
+		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
+		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
+		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
+		
+		return lGraph;
+	}
+	
+	private Digraph getGraph2() {
+		Digraph lGraph = new Digraph();
+		
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 3, "a->c");
+		lGraph.addEdge(lVertexB, lVertexC, 2, "b->c");
+		lGraph.addEdge(lVertexB, lVertexD, 7, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 1, "b->e");
+		lGraph.addEdge(lVertexC, lVertexB, 1, "c->b");
+		lGraph.addEdge(lVertexC, lVertexE, 4, "c->e");
+		lGraph.addEdge(lVertexD, lVertexC, 2, "d->c");
+		lGraph.addEdge(lVertexE, lVertexD, 7, "e->d");
+		
+		return lGraph;
+	}
+	
+	private Digraph getGraph3() {
+		Digraph lGraph = new Digraph();
+		
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+		
+		lGraph.addEdge(lVertexA, lVertexF, 4, "a->f");
+		lGraph.addEdge(lVertexB, lVertexA, 2, "b->a");
+		lGraph.addEdge(lVertexB, lVertexG, 2, "b->g");
+		lGraph.addEdge(lVertexC, lVertexB, 3, "c->b");
+		lGraph.addEdge(lVertexD, lVertexC, 2, "d->c");
+		lGraph.addEdge(lVertexD, lVertexE, 1, "d->e");
+		lGraph.addEdge(lVertexE, lVertexF, 3, "e->f");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexF, lVertexG, 1, "f->g");
+		lGraph.addEdge(lVertexG, lVertexF, 1, "g->f");
+		lGraph.addEdge(lVertexG, lVertexA, 1, "g->a");
+		lGraph.addEdge(lVertexG, lVertexC, 4, "g->c");
+		lGraph.addEdge(lVertexG, lVertexD, 3, "g->d");
+		
+		return lGraph;
+	}
+
+}
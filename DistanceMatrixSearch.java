@@ -0,0 +1,248 @@
+package graphAssignment;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class finds the shortest distances from many sources to many targets at once.  Each source gets its own run of
+ * Dijkstra's Algorithm, which stops as soon as every target has been settled, and the runs are spread over the
+ * threads of a ForkJoinPool.  The searches do not depend on each other, so the work grows with the number of sources
+ * and shrinks with the number of threads.
+ *
+ * <p>
+ * Every thread keeps its own search workspace between runs and between calls, so a search only costs time in
+ * proportion to the part of the graph it explores.  An instance can be used from several threads at once, but the
+ * graph must not be changed while a matrix is being computed.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class DistanceMatrixSearch {
+
+	private final ForkJoinPool pool;
+	private final ThreadLocal<SearchWorkspace> workspaces = ThreadLocal.withInitial(() -> new SearchWorkspace());
+
+	/**
+	 * Class constructor, which runs the searches on the common ForkJoinPool
+	 */
+	public DistanceMatrixSearch() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pPool The pool to run the searches on; null is treated as the common ForkJoinPool
+	 */
+	public DistanceMatrixSearch(ForkJoinPool pPool) {
+		pool = pPool == null ? ForkJoinPool.commonPool() : pPool;
+	}
+
+	/**
+	 * Given a directed graph, gets the shortest distance from each source to each target.  If any of the parameters
+	 * are null, or any of the vertices are not in the graph, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The directed graph to run the algorithm on
+	 * @param pSources The vertices to start at
+	 * @param pTargets The vertices to end at
+	 * @return A matrix with a row for each source and a column for each target, holding the distance from the source
+	 * to the target, or Integer.MAX_VALUE if the target cannot be reached
+	 */
+	public int[][] getDistanceMatrix(Digraph pGraph, List<Vertex> pSources, List<Vertex> pTargets) {
+		//Validate the parameters are non-null
+		if (pGraph == null || pSources == null || pTargets == null) {
+			System.out.println("The graph, sources, and targets must all be non-null.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			int[] lSourceIds = getVertexIds(pGraph, pSources);
+			int[] lTargetIds = getVertexIds(pGraph, pTargets);
+			int[] lDistances = getDistanceMatrix(pGraph, lSourceIds, lTargetIds);
+			if (lDistances == null) {
+				return null;
+			}
+
+			int[][] lMatrix = new int[lSourceIds.length][];
+			for (int i = 0; i < lSourceIds.length; i++) {
+				lMatrix[i] = new int[lTargetIds.length];
+				System.arraycopy(lDistances, i * lTargetIds.length, lMatrix[i], 0, lTargetIds.length);
+			}
+			return lMatrix;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Given an indexed graph, gets the shortest distance from each source to each target.  If any of the parameters
+	 * are null, or any of the vertex ids are not in the graph, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceIds The ids of the vertices to start at
+	 * @param pTargetIds The ids of the vertices to end at
+	 * @return The distances one source after another, so the distance from source i to target j is at position
+	 * i * (number of targets) + j, and is Integer.MAX_VALUE if the target cannot be reached
+	 */
+	public int[] getDistanceMatrix(IndexedGraph pGraph, int[] pSourceIds, int[] pTargetIds) {
+		//Validate the graph, sources and targets
+		if (pGraph == null || pSourceIds == null || pTargetIds == null || !containsAll(pGraph, pSourceIds)
+			|| !containsAll(pGraph, pTargetIds)) {
+			System.out.println("The graph, sources, and targets must all be provided.");
+			return null;
+		}
+
+		//Mark the targets once, so each search can tell when it has settled all of them
+		boolean[] lIsTarget = new boolean[pGraph.getVertexIdBound()];
+		int lTargetCount = 0;
+		for (int lTargetId : pTargetIds) {
+			if (!lIsTarget[lTargetId]) {
+				lIsTarget[lTargetId] = true;
+				lTargetCount++;
+			}
+		}
+
+		int[] lDistances = new int[pSourceIds.length * pTargetIds.length];
+		pool.invoke(new SourceRange(pGraph, pSourceIds, pTargetIds, lIsTarget, lTargetCount, lDistances, 0,
+			pSourceIds.length));
+		return lDistances;
+	}
+
+	/**
+	 * Runs Dijkstra's Algorithm from one source until every target has been settled, and fills in its row of the
+	 * matrix.
+	 *
+	 * @param pGraph The graph to run the algorithm on
+	 * @param pSourceId The id of the source vertex
+	 * @param pTargetIds The ids of the targets, in the order of the columns
+	 * @param pIsTarget Whether each vertex id is a target
+	 * @param pTargetCount The number of different targets
+	 * @param pDistances The matrix being filled in
+	 * @param pRowStart The position of the first column of the source's row
+	 */
+	private void searchFrom(IndexedGraph pGraph, int pSourceId, int[] pTargetIds, boolean[] pIsTarget,
+		int pTargetCount, int[] pDistances, int pRowStart) {
+		//The targets are marked for every vertex id, so the graph does not need to be asked for its size here, where a
+		//Digraph could make this thread wait for its lock behind a writer
+		SearchWorkspace lWorkspace = workspaces.get();
+		lWorkspace.reset(pIsTarget.length);
+		IndexedPriorityQueue lFringe = lWorkspace.getFringe();
+		lWorkspace.setDistance(pSourceId, 0, -1);
+		lFringe.insert(pSourceId, 0);
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		int lTargetsSettled = 0;
+
+		while (!lFringe.isEmpty() && lTargetsSettled < pTargetCount) {
+			int lVertex = lFringe.removeMin();
+			if (pIsTarget[lVertex]) {
+				lTargetsSettled++;
+			}
+			int lVertexDistance = lWorkspace.getDistance(lVertex);
+
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + lCursor.getWeight();
+				if (lCurrentDistance < lWorkspace.getDistance(lNextVertex)) {
+					lWorkspace.setDistance(lNextVertex, lCurrentDistance, lVertex);
+					lFringe.insert(lNextVertex, lCurrentDistance);
+				}
+			}
+		}
+
+		//Targets that were never reached are left at Integer.MAX_VALUE by the workspace
+		for (int j = 0; j < pTargetIds.length; j++) {
+			pDistances[pRowStart + j] = lWorkspace.getDistance(pTargetIds[j]);
+		}
+	}
+
+	/**
+	 *
+	 * @param pGraph A graph
+	 * @param pVertexIds Some vertex ids
+	 * @return True if every vertex id is in the graph, False otherwise
+	 */
+	private boolean containsAll(IndexedGraph pGraph, int[] pVertexIds) {
+		for (int lVertexId : pVertexIds) {
+			if (!pGraph.containsVertex(lVertexId)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 *
+	 * @param pGraph A directed graph
+	 * @param pVertices Some vertices
+	 * @return The id of each vertex in the graph, or -1 for vertices that are null or not in the graph
+	 */
+	private int[] getVertexIds(Digraph pGraph, List<Vertex> pVertices) {
+		int[] lVertexIds = new int[pVertices.size()];
+		for (int i = 0; i < lVertexIds.length; i++) {
+			Vertex lVertex = pVertices.get(i);
+			lVertexIds[i] = lVertex == null ? -1 : pGraph.getVertexId(lVertex.getLabel());
+		}
+		return lVertexIds;
+	}
+
+	/**
+	 * The searches for a range of sources, which splits in half until there is one source left to search from.  Each
+	 * search is large enough on its own that there is no need to group several of them into one task.
+	 */
+	private class SourceRange extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IndexedGraph graph;
+		private final int[] sourceIds;
+		private final int[] targetIds;
+		private final boolean[] isTarget;
+		private final int targetCount;
+		private final int[] distances;
+		private final int start;
+		private final int end;
+
+		/**
+		 * Class constructor
+		 *
+		 * @param pGraph The graph to run the algorithm on
+		 * @param pSourceIds The ids of all of the sources
+		 * @param pTargetIds The ids of all of the targets
+		 * @param pIsTarget Whether each vertex id is a target
+		 * @param pTargetCount The number of different targets
+		 * @param pDistances The matrix being filled in
+		 * @param pStart The index of the first source in the range
+		 * @param pEnd The index after the last source in the range
+		 */
+		SourceRange(IndexedGraph pGraph, int[] pSourceIds, int[] pTargetIds, boolean[] pIsTarget, int pTargetCount,
+			int[] pDistances, int pStart, int pEnd) {
+			graph = pGraph;
+			sourceIds = pSourceIds;
+			targetIds = pTargetIds;
+			isTarget = pIsTarget;
+			targetCount = pTargetCount;
+			distances = pDistances;
+			start = pStart;
+			end = pEnd;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= 1) {
+				if (start < end) {
+					searchFrom(graph, sourceIds[start], targetIds, isTarget, targetCount, distances,
+						start * targetIds.length);
+				}
+				return;
+			}
+
+			int lMiddle = (start + end) >>> 1;
+			invokeAll(new SourceRange(graph, sourceIds, targetIds, isTarget, targetCount, distances, start, lMiddle),
+				new SourceRange(graph, sourceIds, targetIds, isTarget, targetCount, distances, lMiddle, end));
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package graphAssignment;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DistanceMatrixSearchTest {
+
+	@Test
+	public void testGetDistanceMatrix() {
+		Digraph lGraph = getGraph();
+		DistanceMatrixSearch lSearch = new DistanceMatrixSearch();
+
+		int[][] lMatrix = lSearch.getDistanceMatrix(lGraph,
+			Arrays.asList(lGraph.getVertex("A"), lGraph.getVertex("E"), lGraph.getVertex("F")),
+			Arrays.asList(lGraph.getVertex("F"), lGraph.getVertex("C"), lGraph.getVertex("A")));
+		Assert.assertArrayEquals(new int[] {12, 10, 0}, lMatrix[0]);
+		Assert.assertArrayEquals(new int[] {4, 2, Integer.MAX_VALUE}, lMatrix[1]);
+		Assert.assertArrayEquals(new int[] {0, Integer.MAX_VALUE, Integer.MAX_VALUE}, lMatrix[2]);
+
+		//Test the error cases
+		Assert.assertNull(lSearch.getDistanceMatrix(lGraph, null, Arrays.asList(lGraph.getVertex("A"))));
+		Assert.assertNull(lSearch.getDistanceMatrix(lGraph, Arrays.asList(lGraph.getVertex("A")),
+			Arrays.asList(new Vertex("Z"))));
+		Assert.assertNull(lSearch.getDistanceMatrix(null, new int[] {0}, new int[] {0}));
+	}
+
+	@Test
+	public void testMatchesDijkstrasAlgorithm() {
+		CsrGraph lGraph = RandomGraphs.getRandomGraph(500, 2000, 0, 39, 3);
+		DistanceMatrixSearch lSearch = new DistanceMatrixSearch(new ForkJoinPool(4));
+		DijkstrasAlgorithm lDijkstra = new DijkstrasAlgorithm();
+
+		//The same target twice should get the same distance in both columns
+		int[] lSources = {0, 17, 42, 99, 250, 499, 17};
+		int[] lTargets = {3, 3, 77, 128, 300, 301, 450, 499};
+		int[] lMatrix = lSearch.getDistanceMatrix(lGraph, lSources, lTargets);
+		Assert.assertEquals(lSources.length * lTargets.length, lMatrix.length);
+
+		for (int i = 0; i < lSources.length; i++) {
+			int[] lDistances = lDijkstra.findMinimumDistance(lGraph, lSources[i]);
+			for (int j = 0; j < lTargets.length; j++) {
+				Assert.assertEquals(lDistances[lTargets[j]], lMatrix[i * lTargets.length + j]);
+			}
+		}
+
+		//An empty set of sources or targets gives an empty matrix
+		Assert.assertEquals(0, lSearch.getDistanceMatrix(lGraph, new int[0], lTargets).length);
+		Assert.assertEquals(0, lSearch.getDistanceMatrix(lGraph, lSources, new int[0]).length);
+	}
+
+	private Digraph getGraph() {
+		Digraph lGraph = new Digraph();
+
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
+		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
+		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
+		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
+		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
+
+		return lGraph;
+	}
+}
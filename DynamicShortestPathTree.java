@@ -0,0 +1,403 @@
+package graphAssignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A shortest path tree from one source vertex of a Digraph that is kept up to date as the graph changes, instead of
+ * being thrown away and computed again.  The tree listens to the graph, and after each change repairs only the part
+ * of the tree the change affects, in the style of Ramalingam and Reps:
+ *
+ * <ul>
+ * <li>When an edge is added or made lighter and gives a shorter path to its to vertex, a Dijkstra search is run from
+ * that vertex, which only goes as far as the distances keep getting shorter.</li>
+ * <li>When an edge of the tree is removed or made heavier, the vertices below it in the tree lose their distances.
+ * Each of them is given the best distance through its incoming edges from the rest of the tree, and a Dijkstra
+ * search among them settles the final distances.  If the vertex below the edge has another path that is just as
+ * short, it is moved onto that path and nothing else changes.</li>
+ * <li>Any other change cannot change a distance, and costs nothing more than checking the edge.</li>
+ * </ul>
+ *
+ * <p>
+ * A change to one edge of a large graph therefore costs time in proportion to the vertices whose distance or path
+ * changes, and their edges.  Edge weights must not be negative.  The tree is safe to use from several threads.  It is
+ * guarded by the lock of the graph: it is repaired while the graph holds its write lock, by the thread that changed
+ * the graph, and each of its methods holds the read lock, so it always matches the graph as it is.  Once the tree is
+ * no longer needed, close() should be called so the graph stops telling it about changes.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class DynamicShortestPathTree implements GraphChangeListener {
+
+	private final Digraph graph;
+	private final Lock lock;
+	private Vertex source;
+	private int sourceId;
+	private int[] distances;
+	private int[] previous;
+	private long version;
+	private int lastAffectedCount;
+
+	//Reused by the repairs, so a small repair does not have to allocate anything the size of the graph
+	private final IndexedPriorityQueue fringe = new IndexedDaryHeap(0);
+	private boolean[] affected = new boolean[0];
+
+	/**
+	 * Class constructor, which computes the tree and starts listening to the graph.  If the graph or source is null,
+	 * the source is not in the graph, or the graph is a ConcurrentDigraph, which does not support listeners, an error
+	 * is printed out and the tree is left without a source, so every vertex is unreachable.
+	 *
+	 * @param pGraph The directed graph to keep the tree for
+	 * @param pSource The vertex that is the source / starting point of the tree
+	 */
+	public DynamicShortestPathTree(Digraph pGraph, Vertex pSource) {
+		graph = pGraph;
+		lock = pGraph == null ? new ReentrantReadWriteLock().readLock() : pGraph.getReadLock();
+		sourceId = -1;
+		distances = new int[0];
+		previous = new int[0];
+
+		//Validate that the source and graph are non-null
+		if (pGraph == null || pSource == null || pSource.getLabel() == null) {
+			System.out.println("The graph and source vertex must be provided.");
+			return;
+		}
+		if (pGraph instanceof ConcurrentDigraph) {
+			System.out.println("The tree cannot be kept up to date for a ConcurrentDigraph.");
+			return;
+		}
+
+		//Compute the tree and start listening while the graph is locked, so no change can be missed
+		lock.lock();
+		try {
+			source = pGraph.getVertex(pSource.getLabel());
+			if (source == null) {
+				System.out.println("The source vertex does not exist in the graph.");
+				return;
+			}
+			sourceId = source.getId();
+			ensureCapacity(pGraph.getVertexIdBound());
+			new DijkstrasAlgorithm().computeShortestPaths(pGraph, pGraph.newOutgoingCursor(), sourceId, distances,
+				previous, null);
+			version = pGraph.getVersion();
+			pGraph.addGraphChangeListener(this);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @param pDestination A vertex of the graph
+	 * @return The distance from the source to the vertex, or Integer.MAX_VALUE if it cannot be reached; null if the
+	 * vertex is null or not in the graph
+	 */
+	public Integer getDistance(Vertex pDestination) {
+		lock.lock();
+		try {
+			int lDestinationId = getVertexId(pDestination);
+			if (lDestinationId == -1) {
+				System.out.println("The destination vertex does not exist in the graph.");
+				return null;
+			}
+			return distances[lDestinationId];
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @param pDestination A vertex of the graph
+	 * @return The vertices along the shortest path, such that position 0 will contain the source vertex and the last
+	 * position will contain the destination; null if the destination cannot be reached, or is not in the graph
+	 */
+	public List<Vertex> getShortestPath(Vertex pDestination) {
+		lock.lock();
+		try {
+			int lDestinationId = getVertexId(pDestination);
+			if (lDestinationId == -1) {
+				System.out.println("The destination vertex does not exist in the graph.");
+				return null;
+			}
+			if (distances[lDestinationId] == Integer.MAX_VALUE) {
+				return null;
+			}
+
+			List<Vertex> lPath = new ArrayList<Vertex>();
+			for (int lVertex = lDestinationId; lVertex != -1; lVertex = previous[lVertex]) {
+				lPath.add(0, graph.getVertex(lVertex));
+			}
+			return lPath;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes a copy of the tree as it is now, which can be shared or put into a ShortestPathTreeCache.
+	 *
+	 * @return The tree, or null if it does not have a source
+	 */
+	public ShortestPathTree getTree() {
+		lock.lock();
+		try {
+			if (sourceId == -1) {
+				return null;
+			}
+			int lVertexIdBound = graph.getVertexIdBound();
+			return new ShortestPathTree(graph, version, sourceId, Arrays.copyOf(distances, lVertexIdBound),
+				Arrays.copyOf(previous, lVertexIdBound));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @return The source vertex, or null if it was not valid or has been removed from the graph
+	 */
+	public Vertex getSource() {
+		lock.lock();
+		try {
+			return source;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @return The number of vertices whose distance had to be worked out again by the last repair
+	 */
+	public int getLastAffectedCount() {
+		lock.lock();
+		try {
+			return lastAffectedCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops listening to the graph.  The tree keeps the distances it has, but is no longer kept up to date.
+	 */
+	public void close() {
+		if (graph != null) {
+			graph.removeGraphChangeListener(this);
+		}
+	}
+
+	@Override
+	public void vertexAdded(Digraph pGraph, Vertex pVertex) {
+		//A new vertex has no edges yet, so it cannot be reached
+		ensureCapacity(pGraph.getVertexIdBound());
+		distances[pVertex.getId()] = Integer.MAX_VALUE;
+		previous[pVertex.getId()] = -1;
+		lastAffectedCount = 0;
+		version = pGraph.getVersion();
+	}
+
+	@Override
+	public void vertexRemoved(Digraph pGraph, Vertex pVertex, int pVertexId) {
+		//The edges of the vertex have already been removed, so the vertex is unreachable unless it was the source
+		if (pVertexId == sourceId) {
+			source = null;
+			sourceId = -1;
+			Arrays.fill(distances, Integer.MAX_VALUE);
+			Arrays.fill(previous, -1);
+		}
+		lastAffectedCount = 0;
+		version = pGraph.getVersion();
+	}
+
+	@Override
+	public void edgeAdded(Digraph pGraph, Edge pEdge) {
+		lastAffectedCount = 0;
+		decreaseDistances(pEdge.getFromVertex().getId(), pEdge.getToVertex().getId(), pEdge.getWeight());
+		version = pGraph.getVersion();
+	}
+
+	@Override
+	public void edgeRemoved(Digraph pGraph, Edge pEdge) {
+		lastAffectedCount = 0;
+		increaseDistances(pEdge.getFromVertex().getId(), pEdge.getToVertex().getId(), pEdge.getWeight());
+		version = pGraph.getVersion();
+	}
+
+	@Override
+	public void edgeWeightChanged(Digraph pGraph, Edge pEdge, int pOldWeight) {
+		lastAffectedCount = 0;
+		if (pEdge.getWeight() < pOldWeight) {
+			decreaseDistances(pEdge.getFromVertex().getId(), pEdge.getToVertex().getId(), pEdge.getWeight());
+		} else {
+			increaseDistances(pEdge.getFromVertex().getId(), pEdge.getToVertex().getId(), pOldWeight);
+		}
+		version = pGraph.getVersion();
+	}
+
+	/**
+	 * Repairs the tree after an edge is added or made lighter.
+	 *
+	 * @param pFromId The from vertex of the edge
+	 * @param pToId The to vertex of the edge
+	 * @param pWeight The weight of the edge now
+	 */
+	private void decreaseDistances(int pFromId, int pToId, int pWeight) {
+		if (sourceId == -1 || distances[pFromId] == Integer.MAX_VALUE
+			|| distances[pFromId] + pWeight >= distances[pToId]) {
+			return;
+		}
+
+		//Only vertices whose distance gets shorter go on the fringe, so the search stops at the edge of the change
+		distances[pToId] = distances[pFromId] + pWeight;
+		previous[pToId] = pFromId;
+		fringe.clear();
+		fringe.insert(pToId, distances[pToId]);
+		settleFringe();
+	}
+
+	/**
+	 * Repairs the tree after an edge is removed or made heavier.
+	 *
+	 * @param pFromId The from vertex of the edge
+	 * @param pToId The to vertex of the edge
+	 * @param pOldWeight The weight the edge had when it was last part of the tree
+	 */
+	private void increaseDistances(int pFromId, int pToId, int pOldWeight) {
+		//Only an edge of the tree can make a distance longer
+		if (sourceId == -1 || previous[pToId] != pFromId || distances[pFromId] == Integer.MAX_VALUE
+			|| distances[pFromId] + pOldWeight != distances[pToId]) {
+			return;
+		}
+
+		//If another edge gives an equally short path from a vertex that is closer to the source, and so cannot be
+		//below the vertex in the tree, just use that edge instead
+		EdgeCursor lCursor = graph.newIncomingCursor();
+		lCursor.moveTo(pToId);
+		while (lCursor.next()) {
+			int lFromId = lCursor.getAdjacentVertexId();
+			if (lCursor.getWeight() > 0 && distances[lFromId] != Integer.MAX_VALUE
+				&& distances[lFromId] + lCursor.getWeight() == distances[pToId]) {
+				previous[pToId] = lFromId;
+				return;
+			}
+		}
+
+		//Find the vertices below the edge in the tree, which are the only ones whose distance can change
+		int[] lAffected = new int[16];
+		int lAffectedCount = 0;
+		lAffected[lAffectedCount++] = pToId;
+		affected[pToId] = true;
+		EdgeCursor lOutgoingCursor = graph.newOutgoingCursor();
+		for (int i = 0; i < lAffectedCount; i++) {
+			lOutgoingCursor.moveTo(lAffected[i]);
+			while (lOutgoingCursor.next()) {
+				int lToId = lOutgoingCursor.getAdjacentVertexId();
+				if (!affected[lToId] && previous[lToId] == lAffected[i]) {
+					affected[lToId] = true;
+					if (lAffectedCount == lAffected.length) {
+						lAffected = Arrays.copyOf(lAffected, lAffectedCount * 2);
+					}
+					lAffected[lAffectedCount++] = lToId;
+				}
+			}
+		}
+		for (int i = 0; i < lAffectedCount; i++) {
+			distances[lAffected[i]] = Integer.MAX_VALUE;
+			previous[lAffected[i]] = -1;
+		}
+
+		//Give each of them the best distance through an edge from the rest of the tree, whose distances are still right
+		fringe.clear();
+		for (int i = 0; i < lAffectedCount; i++) {
+			int lVertex = lAffected[i];
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lFromId = lCursor.getAdjacentVertexId();
+				if (affected[lFromId] || distances[lFromId] == Integer.MAX_VALUE) {
+					continue;
+				}
+				int lCurrentDistance = distances[lFromId] + lCursor.getWeight();
+				if (lCurrentDistance < distances[lVertex]) {
+					distances[lVertex] = lCurrentDistance;
+					previous[lVertex] = lFromId;
+				}
+			}
+			if (distances[lVertex] != Integer.MAX_VALUE) {
+				fringe.insert(lVertex, distances[lVertex]);
+			}
+		}
+		for (int i = 0; i < lAffectedCount; i++) {
+			affected[lAffected[i]] = false;
+		}
+
+		settleFringe();
+		lastAffectedCount = Math.max(lastAffectedCount, lAffectedCount);
+	}
+
+	/**
+	 * Runs Dijkstra's Algorithm from the vertices on the fringe, lowering the distances of the vertices they lead to
+	 * wherever a shorter path is found.
+	 */
+	private void settleFringe() {
+		EdgeCursor lCursor = graph.newOutgoingCursor();
+		int lSettledCount = 0;
+
+		while (!fringe.isEmpty()) {
+			int lVertex = fringe.removeMin();
+			int lVertexDistance = distances[lVertex];
+			lSettledCount++;
+
+			lCursor.moveTo(lVertex);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				int lCurrentDistance = lVertexDistance + lCursor.getWeight();
+				if (lCurrentDistance < distances[lNextVertex]) {
+					distances[lNextVertex] = lCurrentDistance;
+					previous[lNextVertex] = lVertex;
+					fringe.insert(lNextVertex, lCurrentDistance);
+				}
+			}
+		}
+
+		lastAffectedCount = Math.max(lastAffectedCount, lSettledCount);
+	}
+
+	/**
+	 * Grows the arrays to hold every vertex id of the graph, with new ids unreachable.
+	 *
+	 * @param pVertexIdBound The vertex id bound of the graph
+	 */
+	private void ensureCapacity(int pVertexIdBound) {
+		if (distances.length >= pVertexIdBound) {
+			return;
+		}
+
+		int lLength = Math.max(pVertexIdBound, distances.length + (distances.length >> 1));
+		int lOldLength = distances.length;
+		distances = Arrays.copyOf(distances, lLength);
+		previous = Arrays.copyOf(previous, lLength);
+		affected = Arrays.copyOf(affected, lLength);
+		Arrays.fill(distances, lOldLength, lLength, Integer.MAX_VALUE);
+		Arrays.fill(previous, lOldLength, lLength, -1);
+		fringe.ensureCapacity(lLength);
+	}
+
+	/**
+	 *
+	 * @param pVertex A vertex
+	 * @return The id of the vertex in the graph, or -1 if it is null, not in the graph, or there is no tree
+	 */
+	private int getVertexId(Vertex pVertex) {
+		if (pVertex == null || graph == null || sourceId == -1) {
+			return -1;
+		}
+		return graph.getVertexId(pVertex.getLabel());
+	}
+}
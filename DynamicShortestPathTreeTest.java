@@ -0,0 +1,124 @@
+package graphAssignment;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DynamicShortestPathTreeTest {
+
+	@Test
+	public void testRepairAfterEachChange() {
+		Digraph lGraph = getGraph();
+		DynamicShortestPathTree lTree = new DynamicShortestPathTree(lGraph, lGraph.getVertex("A"));
+		Assert.assertEquals(12, lTree.getDistance(lGraph.getVertex("F")).intValue());
+
+		//A shortcut from A to G makes F closer, and only changes G and F
+		lGraph.addEdge(lGraph.getVertex("A"), lGraph.getVertex("G"), 1, "a->g");
+		Assert.assertEquals(3, lTree.getDistance(lGraph.getVertex("F")).intValue());
+		Assert.assertEquals(2, lTree.getLastAffectedCount());
+
+		//Making the shortcut heavier puts F back on the path through E
+		lGraph.getEdges().stream().filter(pEdge -> pEdge.getLabel().equals("a->g")).findFirst().get().setWeight(20);
+		Assert.assertEquals(12, lTree.getDistance(lGraph.getVertex("F")).intValue());
+		Assert.assertEquals(lGraph.getVertex("E"), lTree.getShortestPath(lGraph.getVertex("F")).get(2));
+
+		//Removing B to E leaves the rest of the tree hanging off C, D and the heavy shortcut
+		lGraph.removeEdge(new Edge(lGraph.getVertex("B"), lGraph.getVertex("E"), 3));
+		Assert.assertEquals(17, lTree.getDistance(lGraph.getVertex("F")).intValue());
+		Assert.assertEquals(Integer.MAX_VALUE, lTree.getDistance(lGraph.getVertex("E")).intValue());
+		Assert.assertNull(lTree.getShortestPath(lGraph.getVertex("E")));
+
+		//A change that is not on the tree does not cost anything
+		lGraph.addEdge(lGraph.getVertex("F"), lGraph.getVertex("B"), 4, "f->b");
+		Assert.assertEquals(0, lTree.getLastAffectedCount());
+
+		ShortestPathTree lSnapshot = lTree.getTree();
+		Assert.assertTrue(lSnapshot.isCurrent());
+		Assert.assertArrayEquals(new DijkstrasAlgorithm().findMinimumDistance(lGraph, lGraph.getVertexId("A")),
+			lSnapshot.getDistances());
+
+		//Once closed, the tree is no longer told about changes
+		lTree.close();
+		lGraph.removeEdge(new Edge(lGraph.getVertex("A"), lGraph.getVertex("B"), 5));
+		Assert.assertFalse(lSnapshot.isCurrent());
+		Assert.assertEquals(5, lTree.getDistance(lGraph.getVertex("B")).intValue());
+
+		//Test the error cases
+		Assert.assertNull(lTree.getDistance(new Vertex("Z")));
+		Assert.assertNull(new DynamicShortestPathTree(lGraph, new Vertex("Z")).getTree());
+	}
+
+	@Test
+	public void testMatchesDijkstrasAlgorithm() {
+		Random lRandom = new Random(17);
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < 200; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int i = 0; i < 700; i++) {
+			addRandomEdge(lGraph, lRandom);
+		}
+		DynamicShortestPathTree lTree = new DynamicShortestPathTree(lGraph, lGraph.getVertex("V0"));
+		DijkstrasAlgorithm lDijkstra = new DijkstrasAlgorithm();
+
+		for (int lChange = 0; lChange < 400; lChange++) {
+			List<Edge> lEdges = lGraph.getEdges();
+			int lKind = lRandom.nextInt(10);
+			if (lKind < 3) {
+				addRandomEdge(lGraph, lRandom);
+			} else if (lKind < 6) {
+				lGraph.removeEdge(lEdges.get(lRandom.nextInt(lEdges.size())));
+			} else if (lKind < 9) {
+				lEdges.get(lRandom.nextInt(lEdges.size())).setWeight(lRandom.nextInt(30));
+			} else {
+				//Swap a vertex other than the source for a new one, which gets the same id back
+				lGraph.removeVertex(lGraph.getVertex(1 + lRandom.nextInt(lGraph.getVertexIdBound() - 1)));
+				lGraph.addVertex(new Vertex("W" + lChange));
+			}
+
+			ShortestPathTree lSnapshot = lTree.getTree();
+			Assert.assertTrue(lSnapshot.isCurrent());
+			Assert.assertArrayEquals(lDijkstra.findMinimumDistance(lGraph, 0), lSnapshot.getDistances());
+
+			//Each previous vertex should be joined to the vertex by an edge that accounts for the distance
+			for (int v = 1; v < lGraph.getVertexIdBound(); v++) {
+				if (lSnapshot.isReachable(v)) {
+					int lPrevious = lSnapshot.getPreviousVertexId(v);
+					Assert.assertTrue(lGraph.containsEdge(new Edge(lGraph.getVertex(lPrevious), lGraph.getVertex(v),
+						lSnapshot.getDistance(v) - lSnapshot.getDistance(lPrevious))));
+				}
+			}
+		}
+	}
+
+	private void addRandomEdge(Digraph pGraph, Random pRandom) {
+		pGraph.addEdge(pGraph.getVertex(pRandom.nextInt(pGraph.getVertexIdBound())),
+			pGraph.getVertex(pRandom.nextInt(pGraph.getVertexIdBound())), pRandom.nextInt(30));
+	}
+
+	private Digraph getGraph() {
+		Digraph lGraph = new Digraph();
+
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+
+		lGraph.addEdge(lVertexA, lVertexB, 5, "a->b");
+		lGraph.addEdge(lVertexA, lVertexC, 10, "a->c");
+		lGraph.addEdge(lVertexB, lVertexD, 6, "b->d");
+		lGraph.addEdge(lVertexB, lVertexE, 3, "b->e");
+		lGraph.addEdge(lVertexD, lVertexF, 6, "d->f");
+		lGraph.addEdge(lVertexE, lVertexC, 2, "e->c");
+		lGraph.addEdge(lVertexE, lVertexD, 2, "e->d");
+		lGraph.addEdge(lVertexE, lVertexG, 2, "e->g");
+		lGraph.addEdge(lVertexG, lVertexF, 2, "g->f");
+
+		return lGraph;
+	}
+}
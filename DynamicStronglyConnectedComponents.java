@@ -0,0 +1,708 @@
+package graphAssignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The strongly connected components of a Digraph, kept up to date as the graph changes instead of being found again
+ * by TarjanAlgorithm after every change.  The components listen to the graph, and each vertex id maps straight to the
+ * id of its component, so finding the component of a vertex takes constant time.
+ *
+ * <p>
+ * Besides the components, a topological order of the condensation (the graph with each component shrunk to one
+ * vertex) is kept, where every edge between two components goes from an earlier component to a later one.  When an
+ * edge is added between two components that are already in that order, nothing else needs to be done.  Otherwise the
+ * order is repaired as in Pearce and Kelly's algorithm: a search forward from the to component and a search backward
+ * from the from component, both only among the components between the two in the order, find the components that
+ * have to move.  Components reached by both searches are on a new cycle, and are merged into one.  Only the
+ * components between the two ends of the edge are ever looked at.
+ * </p>
+ *
+ * <p>
+ * Removing an edge can never break the order.  If the edge was inside a component, Tarjan's Algorithm is run on just
+ * that component, which may split it into several, and the pieces take its place in the order.  Changing an edge
+ * weight does not change the components.  The components are safe to use from several threads.  They are guarded
+ * by the lock of the graph: they are repaired while the graph holds its write lock, by the thread that changed the
+ * graph, and each of their methods holds the read lock.  Once they are no longer needed, close() should be
+ * called so the graph stops telling them about changes.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class DynamicStronglyConnectedComponents implements GraphChangeListener {
+
+	private final Digraph graph;
+	private final Lock lock;
+
+	//The component of each vertex id, or -1 for an id that is not in use
+	private int[] componentIds = new int[0];
+
+	//The vertices of each component id, and the position of the component in the topological order
+	private int[][] members = new int[0][];
+	private int[] memberCounts = new int[0];
+	private int[] positions = new int[0];
+	private int[] freeComponentIds = new int[0];
+	private int freeComponentIdCount;
+	private int componentCount;
+
+	//The component at each position of the topological order, or -1 for a position that is not in use.  The gaps
+	//left between components let a component that splits take several positions without moving the others.
+	private int[] order = new int[0];
+	private int orderSize;
+
+	//Marks used by the searches, stamped so they never need clearing
+	private int[] forwardMarks = new int[0];
+	private int[] backwardMarks = new int[0];
+	private int mark;
+
+	//The depth and low link of each vertex, used by Tarjan's Algorithm when a component is split
+	private int[] depths = new int[0];
+	private int[] lowLinks = new int[0];
+
+	/**
+	 * Class constructor, which finds the components with Tarjan's Algorithm and starts listening to the graph.  If
+	 * the graph is null, or is a ConcurrentDigraph, which does not support listeners, an error is printed out and
+	 * there are no components.
+	 *
+	 * @param pGraph The directed graph to keep the components for
+	 */
+	public DynamicStronglyConnectedComponents(Digraph pGraph) {
+		graph = pGraph;
+		lock = pGraph == null ? new ReentrantReadWriteLock().readLock() : pGraph.getReadLock();
+		if (pGraph == null) {
+			System.out.println("The graph must be non-null.");
+			return;
+		}
+		if (pGraph instanceof ConcurrentDigraph) {
+			System.out.println("The components cannot be kept up to date for a ConcurrentDigraph.");
+			return;
+		}
+
+		//Find the components and start listening while the graph is locked, so no change can be missed
+		lock.lock();
+		try {
+			ensureVertexCapacity(pGraph.getVertexIdBound());
+			Arrays.fill(componentIds, -1);
+			if (pGraph.getVertexCount() > 0) {
+				//Tarjan's Algorithm finds each component after all of the components it leads to, so the order is
+				//the reverse of the list
+				List<int[]> lComponents = new TarjanAlgorithm().findStronglyConnectedComponents((IndexedGraph) pGraph);
+				int[] lNewOrder = new int[lComponents.size()];
+				for (int i = lComponents.size() - 1; i >= 0; i--) {
+					lNewOrder[lComponents.size() - 1 - i] = newComponent(lComponents.get(i), lComponents.get(i).length);
+				}
+				rebuildOrder(lNewOrder, lNewOrder.length);
+			}
+			pGraph.addGraphChangeListener(this);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @param pVertex A vertex of the graph
+	 * @return The id of the component the vertex is in, or -1 if it is null or not in the graph.  Two vertices are
+	 * strongly connected if and only if they have the same component id.  The id of a component can change when it
+	 * is merged or split.
+	 */
+	public int componentOf(Vertex pVertex) {
+		lock.lock();
+		try {
+			if (pVertex == null || graph == null) {
+				return -1;
+			}
+			return componentOf(graph.getVertexId(pVertex.getLabel()));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id of the graph
+	 * @return The id of the component the vertex is in, or -1 if the id is not in use
+	 */
+	public int componentOf(int pVertexId) {
+		lock.lock();
+		try {
+			if (pVertexId < 0 || pVertexId >= componentIds.length) {
+				return -1;
+			}
+			return componentIds[pVertexId];
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the position of a vertex's component in the topological order of the condensation.  If there is an edge
+	 * from one component to another, the first has the lower position.  Positions are only meant to be compared:
+	 * they are not consecutive, and they change as edges are added.
+	 *
+	 * @param pVertexId A vertex id of the graph
+	 * @return The position of the vertex's component, or -1 if the id is not in use
+	 */
+	public int getOrderPosition(int pVertexId) {
+		lock.lock();
+		try {
+			if (pVertexId < 0 || pVertexId >= componentIds.length || componentIds[pVertexId] < 0) {
+				return -1;
+			}
+			return positions[componentIds[pVertexId]];
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @param pFirstVertex A vertex of the graph
+	 * @param pSecondVertex Another vertex of the graph
+	 * @return True if each vertex can be reached from the other, False otherwise or if either is not in the graph
+	 */
+	public boolean isStronglyConnected(Vertex pFirstVertex, Vertex pSecondVertex) {
+		lock.lock();
+		try {
+			int lFirstComponent = componentOf(pFirstVertex);
+			return lFirstComponent != -1 && lFirstComponent == componentOf(pSecondVertex);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @return The number of strongly connected components
+	 */
+	public int getComponentCount() {
+		lock.lock();
+		try {
+			return componentCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @return The number of components with more than one vertex, each of which contains a cycle
+	 */
+	public int getCyclicComponentCount() {
+		lock.lock();
+		try {
+			int lCount = 0;
+			for (int lPosition = 0; lPosition < orderSize; lPosition++) {
+				if (order[lPosition] != -1 && memberCounts[order[lPosition]] > 1) {
+					lCount++;
+				}
+			}
+			return lCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @param pVertex A vertex of the graph
+	 * @return The vertices in the same component as the vertex, or null if it is not in the graph
+	 */
+	public List<Vertex> getComponent(Vertex pVertex) {
+		lock.lock();
+		try {
+			int lComponent = componentOf(pVertex);
+			if (lComponent == -1) {
+				System.out.println("The vertex does not exist in the graph.");
+				return null;
+			}
+			return toVertices(lComponent);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets every component, in the same kind of order that TarjanAlgorithm gives: each component comes after all of
+	 * the components it has edges to.
+	 *
+	 * @return The strongly connected components
+	 */
+	public List<List<Vertex>> getStronglyConnectedComponents() {
+		lock.lock();
+		try {
+			List<List<Vertex>> lComponents = new ArrayList<List<Vertex>>(componentCount);
+			for (int lPosition = orderSize - 1; lPosition >= 0; lPosition--) {
+				if (order[lPosition] != -1) {
+					lComponents.add(toVertices(order[lPosition]));
+				}
+			}
+			return lComponents;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops listening to the graph.  The components are kept as they are, but are no longer kept up to date.
+	 */
+	public void close() {
+		if (graph != null) {
+			graph.removeGraphChangeListener(this);
+		}
+	}
+
+	@Override
+	public void vertexAdded(Digraph pGraph, Vertex pVertex) {
+		//A new vertex has no edges yet, so it is a component on its own, and can go anywhere in the order
+		ensureVertexCapacity(pGraph.getVertexIdBound());
+		int lComponent = newComponent(new int[] {pVertex.getId()}, 1);
+		if (orderSize == order.length) {
+			rebuildOrder(new int[] {lComponent}, 1);
+		} else {
+			order[orderSize] = lComponent;
+			positions[lComponent] = orderSize++;
+		}
+	}
+
+	@Override
+	public void vertexRemoved(Digraph pGraph, Vertex pVertex, int pVertexId) {
+		//The edges of the vertex have already been removed, so it is a component on its own
+		int lComponent = componentIds[pVertexId];
+		componentIds[pVertexId] = -1;
+		order[positions[lComponent]] = -1;
+		freeComponent(lComponent);
+	}
+
+	@Override
+	public void edgeAdded(Digraph pGraph, Edge pEdge) {
+		int lFromComponent = componentIds[pEdge.getFromVertex().getId()];
+		int lToComponent = componentIds[pEdge.getToVertex().getId()];
+
+		//Nothing changes if the edge is inside a component, or already agrees with the order
+		if (lFromComponent == lToComponent || positions[lFromComponent] < positions[lToComponent]) {
+			return;
+		}
+
+		//Search forward from the to component and backward from the from component, staying between the two
+		mark++;
+		int[] lForward = search(lToComponent, positions[lFromComponent], true);
+		int[] lBackward = search(lFromComponent, positions[lToComponent], false);
+
+		//The positions the components found were in are handed back out: the lowest to the components that lead to
+		//the from component, the highest to the components the to component leads to, and one in between to any new
+		//cycle.  A cycle merges several components into one, so some positions in between are left unused.
+		int[] lPooledPositions = new int[lForward.length + lBackward.length];
+		int lPooledCount = 0;
+		for (int lComponent : lForward) {
+			lPooledPositions[lPooledCount++] = positions[lComponent];
+		}
+		for (int lComponent : lBackward) {
+			if (forwardMarks[lComponent] != mark) {
+				lPooledPositions[lPooledCount++] = positions[lComponent];
+			}
+		}
+		Arrays.sort(lPooledPositions, 0, lPooledCount);
+		sortByPosition(lForward);
+		sortByPosition(lBackward);
+		for (int i = 0; i < lPooledCount; i++) {
+			order[lPooledPositions[i]] = -1;
+		}
+
+		int lNextPosition = 0;
+		for (int lComponent : lBackward) {
+			if (forwardMarks[lComponent] != mark) {
+				lNextPosition = placeComponent(lComponent, lPooledPositions, lNextPosition);
+			}
+		}
+
+		//The from component was found going forward only if the new edge closes a cycle, in which case the
+		//components found both ways are the ones on it
+		if (forwardMarks[lFromComponent] == mark) {
+			lNextPosition = placeComponent(mergeComponents(lForward), lPooledPositions, lNextPosition);
+		}
+
+		int lForwardOnlyCount = 0;
+		for (int lComponent : lForward) {
+			if (backwardMarks[lComponent] != mark) {
+				lForwardOnlyCount++;
+			}
+		}
+		lNextPosition = lPooledCount - lForwardOnlyCount;
+		for (int lComponent : lForward) {
+			if (backwardMarks[lComponent] != mark) {
+				lNextPosition = placeComponent(lComponent, lPooledPositions, lNextPosition);
+			}
+		}
+	}
+
+	@Override
+	public void edgeRemoved(Digraph pGraph, Edge pEdge) {
+		//Removing an edge between two components cannot break the order, but one inside a component may split it
+		int lComponent = componentIds[pEdge.getFromVertex().getId()];
+		if (lComponent == componentIds[pEdge.getToVertex().getId()]) {
+			splitComponent(lComponent);
+		}
+	}
+
+	/**
+	 * Searches the components along the edges of their vertices, only going to components that are not past the
+	 * given position in the order.
+	 *
+	 * @param pStartComponent The component to start at
+	 * @param pPositionBound The last position (going forward) or first position (going backward) to search
+	 * @param pForward True to follow outgoing edges, False to follow incoming edges
+	 * @return The components found, including the one the search started at
+	 */
+	private int[] search(int pStartComponent, int pPositionBound, boolean pForward) {
+		int[] lMarks = pForward ? forwardMarks : backwardMarks;
+		EdgeCursor lCursor = pForward ? graph.newOutgoingCursor() : graph.newIncomingCursor();
+		int[] lFound = new int[8];
+		int lFoundCount = 0;
+		lFound[lFoundCount++] = pStartComponent;
+		lMarks[pStartComponent] = mark;
+
+		for (int i = 0; i < lFoundCount; i++) {
+			int lComponent = lFound[i];
+			for (int j = 0; j < memberCounts[lComponent]; j++) {
+				lCursor.moveTo(members[lComponent][j]);
+				while (lCursor.next()) {
+					int lNextComponent = componentIds[lCursor.getAdjacentVertexId()];
+					int lPosition = positions[lNextComponent];
+					if (lMarks[lNextComponent] == mark
+						|| (pForward ? lPosition > pPositionBound : lPosition < pPositionBound)) {
+						continue;
+					}
+					lMarks[lNextComponent] = mark;
+					if (lFoundCount == lFound.length) {
+						lFound = Arrays.copyOf(lFound, lFoundCount * 2);
+					}
+					lFound[lFoundCount++] = lNextComponent;
+				}
+			}
+		}
+
+		return Arrays.copyOf(lFound, lFoundCount);
+	}
+
+	/**
+	 * Merges the components that were found by both searches into the largest of them.
+	 *
+	 * @param pForward The components found by the forward search
+	 * @return The merged component
+	 */
+	private int mergeComponents(int[] pForward) {
+		int lLargest = -1;
+		for (int lComponent : pForward) {
+			if (backwardMarks[lComponent] == mark
+				&& (lLargest == -1 || memberCounts[lComponent] > memberCounts[lLargest])) {
+				lLargest = lComponent;
+			}
+		}
+
+		for (int lComponent : pForward) {
+			if (backwardMarks[lComponent] != mark || lComponent == lLargest) {
+				continue;
+			}
+			for (int j = 0; j < memberCounts[lComponent]; j++) {
+				addMember(lLargest, members[lComponent][j]);
+			}
+			freeComponent(lComponent);
+		}
+		return lLargest;
+	}
+
+	/**
+	 * Runs Tarjan's Algorithm on the vertices of one component, using only the edges between them, and puts the
+	 * pieces it splits into in the component's place in the order.
+	 *
+	 * @param pComponent The component that may have been split
+	 */
+	private void splitComponent(int pComponent) {
+		int[] lMembers = Arrays.copyOf(members[pComponent], memberCounts[pComponent]);
+		for (int lVertex : lMembers) {
+			depths[lVertex] = -1;
+		}
+
+		int lIndex = 0;
+		int[] lNodeStack = new int[lMembers.length];
+		int lNodeStackSize = 0;
+		int[] lCallStack = new int[lMembers.length];
+		EdgeCursor[] lCursors = new EdgeCursor[16];
+		List<int[]> lPieces = new ArrayList<int[]>();
+
+		for (int lRoot : lMembers) {
+			if (depths[lRoot] != -1) {
+				continue;
+			}
+
+			int lCallDepth = 0;
+			int lNextVertex = lRoot;
+			while (true) {
+				if (lNextVertex != -1) {
+					//Visit the vertex: number it, push it on both stacks and start walking its edges.  A vertex is
+					//on the node stack while its low link is not -1.
+					depths[lNextVertex] = lIndex;
+					lowLinks[lNextVertex] = lIndex;
+					lIndex++;
+					lNodeStack[lNodeStackSize++] = lNextVertex;
+					if (lCallDepth == lCursors.length) {
+						lCursors = Arrays.copyOf(lCursors, lCallDepth * 2);
+					}
+					if (lCursors[lCallDepth] == null) {
+						lCursors[lCallDepth] = graph.newOutgoingCursor();
+					}
+					lCursors[lCallDepth].moveTo(lNextVertex);
+					lCallStack[lCallDepth++] = lNextVertex;
+					lNextVertex = -1;
+				}
+
+				int lVertex = lCallStack[lCallDepth - 1];
+				EdgeCursor lCursor = lCursors[lCallDepth - 1];
+				if (lCursor.next()) {
+					int lAdjacentVertex = lCursor.getAdjacentVertexId();
+					if (componentIds[lAdjacentVertex] != pComponent) {
+						//Edges leaving the component cannot be part of a cycle inside it
+						continue;
+					}
+					if (depths[lAdjacentVertex] == -1) {
+						lNextVertex = lAdjacentVertex;
+					} else if (lowLinks[lAdjacentVertex] != -1) {
+						lowLinks[lVertex] = Math.min(lowLinks[lVertex], depths[lAdjacentVertex]);
+					}
+					continue;
+				}
+
+				//All edges have been followed.  If this vertex is a root node, pop the stack and generate a piece
+				if (lowLinks[lVertex] == depths[lVertex]) {
+					int lPieceStart = lNodeStackSize;
+					do {
+						lPieceStart--;
+					} while (lNodeStack[lPieceStart] != lVertex);
+					int[] lPiece = Arrays.copyOfRange(lNodeStack, lPieceStart, lNodeStackSize);
+					lNodeStackSize = lPieceStart;
+					lPieces.add(lPiece);
+
+					//The low link stays at the root's depth for each vertex, except that -1 marks it as popped
+					for (int lPieceVertex : lPiece) {
+						lowLinks[lPieceVertex] = -1;
+					}
+				}
+
+				lCallDepth--;
+				if (lCallDepth == 0) {
+					break;
+				}
+				int lCaller = lCallStack[lCallDepth - 1];
+				if (lowLinks[lVertex] != -1) {
+					lowLinks[lCaller] = Math.min(lowLinks[lCaller], lowLinks[lVertex]);
+				}
+			}
+		}
+
+		if (lPieces.size() == 1) {
+			return;
+		}
+
+		//The pieces come out after the pieces they lead to, so they go into the order last piece first.  The first
+		//one keeps the component id, and the others fill the gaps after it, if there are enough of them
+		int lPosition = positions[pComponent];
+		memberCounts[pComponent] = 0;
+		int[] lNewComponents = new int[lPieces.size()];
+		for (int i = 0; i < lNewComponents.length; i++) {
+			int[] lPiece = lPieces.get(lPieces.size() - 1 - i);
+			if (i == 0) {
+				for (int lVertex : lPiece) {
+					addMember(pComponent, lVertex);
+				}
+				lNewComponents[i] = pComponent;
+			} else {
+				lNewComponents[i] = newComponent(lPiece, lPiece.length);
+			}
+		}
+
+		boolean lHasRoom = lPosition + lNewComponents.length <= order.length;
+		for (int i = 1; lHasRoom && i < lNewComponents.length; i++) {
+			lHasRoom = lPosition + i >= orderSize || order[lPosition + i] == -1;
+		}
+		if (lHasRoom) {
+			for (int i = 0; i < lNewComponents.length; i++) {
+				order[lPosition + i] = lNewComponents[i];
+				positions[lNewComponents[i]] = lPosition + i;
+			}
+			orderSize = Math.max(orderSize, lPosition + lNewComponents.length);
+		} else {
+			rebuildOrder(lNewComponents, 0);
+		}
+	}
+
+	/**
+	 * Lays the order out again with a gap after every component.  Some new components can be put in at the same time,
+	 * either at the position of the first of them, which must already be in the order, or at the end.
+	 *
+	 * @param pNewComponents Components to put in, in order
+	 * @param pNewCount How many of them are not in the order yet; if this is less than the number of components, the
+	 * first one is in the order and the others go right after it
+	 */
+	private void rebuildOrder(int[] pNewComponents, int pNewCount) {
+		boolean lAtEnd = pNewCount == pNewComponents.length;
+		int[] lNewOrder = new int[Math.max(16, (componentCount + pNewComponents.length) * 2 + 16)];
+		int lNewSize = 0;
+
+		for (int lPosition = 0; lPosition < orderSize; lPosition++) {
+			int lComponent = order[lPosition];
+			if (lComponent == -1) {
+				continue;
+			}
+			if (!lAtEnd && lComponent == pNewComponents[0]) {
+				for (int lNewComponent : pNewComponents) {
+					lNewOrder[lNewSize] = lNewComponent;
+					lNewOrder[lNewSize + 1] = -1;
+					lNewSize += 2;
+				}
+			} else {
+				lNewOrder[lNewSize] = lComponent;
+				lNewOrder[lNewSize + 1] = -1;
+				lNewSize += 2;
+			}
+		}
+		if (lAtEnd) {
+			for (int lNewComponent : pNewComponents) {
+				lNewOrder[lNewSize] = lNewComponent;
+				lNewOrder[lNewSize + 1] = -1;
+				lNewSize += 2;
+			}
+		}
+
+		order = lNewOrder;
+		orderSize = lNewSize;
+		for (int lPosition = 0; lPosition < orderSize; lPosition += 2) {
+			positions[order[lPosition]] = lPosition;
+		}
+	}
+
+	/**
+	 * Puts a component at the next of the pooled positions.
+	 *
+	 * @param pComponent The component to place
+	 * @param pPooledPositions The positions being handed out, in order
+	 * @param pNextPosition The index of the next position to hand out
+	 * @return The index of the position after it
+	 */
+	private int placeComponent(int pComponent, int[] pPooledPositions, int pNextPosition) {
+		order[pPooledPositions[pNextPosition]] = pComponent;
+		positions[pComponent] = pPooledPositions[pNextPosition];
+		return pNextPosition + 1;
+	}
+
+	/**
+	 * Sorts components by their position in the order, which has not been changed yet.
+	 *
+	 * @param pComponents The components to sort
+	 */
+	private void sortByPosition(int[] pComponents) {
+		//Sort the positions, then turn each back into its component, since positions are unique
+		for (int i = 0; i < pComponents.length; i++) {
+			pComponents[i] = positions[pComponents[i]];
+		}
+		Arrays.sort(pComponents);
+		for (int i = 0; i < pComponents.length; i++) {
+			pComponents[i] = order[pComponents[i]];
+		}
+	}
+
+	/**
+	 * Creates a component for some vertices.  It is not put into the order.
+	 *
+	 * @param pVertices The vertices of the component
+	 * @param pCount The number of vertices
+	 * @return The id of the new component
+	 */
+	private int newComponent(int[] pVertices, int pCount) {
+		int lComponent;
+		if (freeComponentIdCount > 0) {
+			lComponent = freeComponentIds[--freeComponentIdCount];
+		} else {
+			lComponent = members.length;
+			int lLength = Math.max(16, members.length * 2);
+			members = Arrays.copyOf(members, lLength);
+			memberCounts = Arrays.copyOf(memberCounts, lLength);
+			positions = Arrays.copyOf(positions, lLength);
+			forwardMarks = Arrays.copyOf(forwardMarks, lLength);
+			backwardMarks = Arrays.copyOf(backwardMarks, lLength);
+			freeComponentIds = Arrays.copyOf(freeComponentIds, lLength);
+			for (int i = lLength - 1; i > lComponent; i--) {
+				freeComponentIds[freeComponentIdCount++] = i;
+			}
+		}
+
+		members[lComponent] = new int[Math.max(4, pCount)];
+		memberCounts[lComponent] = 0;
+		for (int i = 0; i < pCount; i++) {
+			addMember(lComponent, pVertices[i]);
+		}
+		componentCount++;
+		return lComponent;
+	}
+
+	/**
+	 * Frees the id of a component that is no longer used.  Its vertices must already be in other components, and it
+	 * must already be out of the order.
+	 *
+	 * @param pComponent The component
+	 */
+	private void freeComponent(int pComponent) {
+		members[pComponent] = null;
+		memberCounts[pComponent] = 0;
+		freeComponentIds[freeComponentIdCount++] = pComponent;
+		componentCount--;
+	}
+
+	/**
+	 *
+	 * @param pComponent A component
+	 * @param pVertexId A vertex to move into it
+	 */
+	private void addMember(int pComponent, int pVertexId) {
+		if (memberCounts[pComponent] == members[pComponent].length) {
+			members[pComponent] = Arrays.copyOf(members[pComponent], memberCounts[pComponent] * 2);
+		}
+		members[pComponent][memberCounts[pComponent]++] = pVertexId;
+		componentIds[pVertexId] = pComponent;
+	}
+
+	/**
+	 * Grows the arrays indexed by vertex id to hold every vertex id of the graph.
+	 *
+	 * @param pVertexIdBound The vertex id bound of the graph
+	 */
+	private void ensureVertexCapacity(int pVertexIdBound) {
+		if (componentIds.length >= pVertexIdBound) {
+			return;
+		}
+
+		int lLength = Math.max(pVertexIdBound, componentIds.length + (componentIds.length >> 1));
+		int lOldLength = componentIds.length;
+		componentIds = Arrays.copyOf(componentIds, lLength);
+		Arrays.fill(componentIds, lOldLength, lLength, -1);
+		depths = Arrays.copyOf(depths, lLength);
+		lowLinks = Arrays.copyOf(lowLinks, lLength);
+	}
+
+	/**
+	 *
+	 * @param pComponent A component
+	 * @return The vertices of the component
+	 */
+	private List<Vertex> toVertices(int pComponent) {
+		List<Vertex> lVertices = new ArrayList<Vertex>(memberCounts[pComponent]);
+		for (int i = 0; i < memberCounts[pComponent]; i++) {
+			lVertices.add(graph.getVertex(members[pComponent][i]));
+		}
+		return lVertices;
+	}
+}
@@ -0,0 +1,173 @@
+package graphAssignment;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DynamicStronglyConnectedComponentsTest {
+
+	@Test
+	public void testMergeAndSplit() {
+		Digraph lGraph = new Digraph();
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		lGraph.addEdge(lVertexA, lVertexB, 1);
+		lGraph.addEdge(lVertexB, lVertexC, 1);
+		lGraph.addEdge(lVertexC, lVertexD, 1);
+
+		DynamicStronglyConnectedComponents lComponents = new DynamicStronglyConnectedComponents(lGraph);
+		Assert.assertEquals(4, lComponents.getComponentCount());
+		Assert.assertEquals(0, lComponents.getCyclicComponentCount());
+
+		//Closing the loop from D back to B merges B, C and D
+		lGraph.addEdge(lVertexD, lVertexB, 1);
+		Assert.assertEquals(2, lComponents.getComponentCount());
+		Assert.assertEquals(1, lComponents.getCyclicComponentCount());
+		Assert.assertTrue(lComponents.isStronglyConnected(lVertexB, lVertexD));
+		Assert.assertFalse(lComponents.isStronglyConnected(lVertexA, lVertexB));
+		Assert.assertEquals(3, lComponents.getComponent(lVertexC).size());
+
+		//Breaking the loop splits them up again
+		lGraph.removeEdge(new Edge(lVertexC, lVertexD, 1));
+		Assert.assertEquals(4, lComponents.getComponentCount());
+		Assert.assertFalse(lComponents.isStronglyConnected(lVertexB, lVertexD));
+
+		//The components come out in the same kind of order as Tarjan's Algorithm, so C, which leads nowhere, is first
+		List<List<Vertex>> lList = lComponents.getStronglyConnectedComponents();
+		Assert.assertEquals(lVertexC, lList.get(0).get(0));
+		Assert.assertEquals(lVertexA, lList.get(3).get(0));
+
+		//Test the error cases
+		Assert.assertEquals(-1, lComponents.componentOf(new Vertex("Z")));
+		Assert.assertNull(lComponents.getComponent(null));
+		Assert.assertEquals(-1, lComponents.getOrderPosition(-1));
+		Assert.assertEquals(-1, lComponents.getOrderPosition(lGraph.getVertexIdBound()));
+	}
+
+	@Test
+	public void testMatchesTarjanAlgorithm() {
+		Random lRandom = new Random(5);
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < 120; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int i = 0; i < 100; i++) {
+			addRandomEdge(lGraph, lRandom);
+		}
+		DynamicStronglyConnectedComponents lComponents = new DynamicStronglyConnectedComponents(lGraph);
+		TarjanAlgorithm lTarjan = new TarjanAlgorithm();
+
+		for (int lChange = 0; lChange < 600; lChange++) {
+			makeRandomChange(lGraph, lRandom, lChange);
+			assertMatchesTarjanAlgorithm(lGraph, lComponents, lTarjan);
+		}
+
+		//Small, dense graphs close several cycles at once far more often
+		for (int lSeed = 0; lSeed < 300; lSeed++) {
+			lRandom = new Random(lSeed);
+			lGraph = new Digraph();
+			for (int i = 0; i < 6; i++) {
+				lGraph.addVertex(new Vertex("V" + i));
+			}
+			for (int i = 0; i < 6; i++) {
+				addRandomEdge(lGraph, lRandom);
+			}
+			lComponents = new DynamicStronglyConnectedComponents(lGraph);
+			for (int lChange = 0; lChange < 40; lChange++) {
+				makeRandomChange(lGraph, lRandom, lChange);
+				assertMatchesTarjanAlgorithm(lGraph, lComponents, lTarjan);
+			}
+			lComponents.close();
+		}
+	}
+
+	@Test
+	public void testMergeKeepsOrder() {
+		//Adding 5->4 closes a cycle through several components.  The components only reached going forward from 4
+		//must stay after the ones that lead to them, or adding 2->1 afterwards is taken as already in order.
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < 6; i++) {
+			lGraph.addVertex(new Vertex("v" + i));
+		}
+		String[] lStart = {"3>2", "5>2", "0>5", "2>1", "3>5", "4>0"};
+		for (String lEdge : lStart) {
+			changeEdge(lGraph, "+" + lEdge);
+		}
+		DynamicStronglyConnectedComponents lComponents = new DynamicStronglyConnectedComponents(lGraph);
+		TarjanAlgorithm lTarjan = new TarjanAlgorithm();
+		String[] lChanges = {"+0>3", "-3>5", "+0>3", "-0>5", "-2>1", "-4>0", "+2>5", "-0>3", "+1>2", "-5>2", "+3>5",
+			"+4>1", "-4>1", "+4>3", "-2>5", "+1>1", "+5>4", "+2>1"};
+		for (String lChange : lChanges) {
+			changeEdge(lGraph, lChange);
+			assertMatchesTarjanAlgorithm(lGraph, lComponents, lTarjan);
+		}
+		Assert.assertTrue(lComponents.isStronglyConnected(lGraph.getVertex("v1"), lGraph.getVertex("v2")));
+	}
+
+	/**
+	 * Checks that two vertices share a component exactly when Tarjan's Algorithm puts them together, and that every
+	 * edge between two components goes forward in the order.
+	 */
+	private void assertMatchesTarjanAlgorithm(Digraph pGraph, DynamicStronglyConnectedComponents pComponents,
+		TarjanAlgorithm pTarjan) {
+		int[] lExpected = pTarjan.findComponentIds(pGraph);
+		Assert.assertEquals(pTarjan.findStronglyConnectedComponents((IndexedGraph) pGraph).size(),
+			pComponents.getComponentCount());
+		for (int u = 0; u < pGraph.getVertexIdBound(); u++) {
+			for (int v = u + 1; v < pGraph.getVertexIdBound(); v++) {
+				Assert.assertEquals(lExpected[u] == lExpected[v],
+					pComponents.componentOf(u) == pComponents.componentOf(v));
+			}
+		}
+
+		for (Edge lEdge : pGraph.getEdges()) {
+			int lFromId = lEdge.getFromVertex().getId();
+			int lToId = lEdge.getToVertex().getId();
+			if (pComponents.componentOf(lFromId) != pComponents.componentOf(lToId)) {
+				Assert.assertTrue(pComponents.getOrderPosition(lFromId) < pComponents.getOrderPosition(lToId));
+			}
+		}
+	}
+
+	private void makeRandomChange(Digraph pGraph, Random pRandom, int pChange) {
+		List<Edge> lEdges = pGraph.getEdges();
+		int lKind = pRandom.nextInt(10);
+		if (lKind < 5 || lEdges.isEmpty()) {
+			addRandomEdge(pGraph, pRandom);
+		} else if (lKind < 9) {
+			pGraph.removeEdge(lEdges.get(pRandom.nextInt(lEdges.size())));
+		} else {
+			//Swap a vertex for a new one, which gets the same id back
+			pGraph.removeVertex(pGraph.getVertex(pRandom.nextInt(pGraph.getVertexIdBound())));
+			pGraph.addVertex(new Vertex("W" + pChange));
+		}
+	}
+
+	/**
+	 * Adds or removes an edge with weight 1, written as "+from>to" or "-from>to" with the numbers of the vertices
+	 */
+	private void changeEdge(Digraph pGraph, String pChange) {
+		String[] lEnds = pChange.substring(1).split(">");
+		Vertex lFrom = pGraph.getVertex("v" + lEnds[0]);
+		Vertex lTo = pGraph.getVertex("v" + lEnds[1]);
+		if (pChange.charAt(0) == '+') {
+			pGraph.addEdge(lFrom, lTo, 1);
+		} else {
+			for (Edge lEdge : lFrom.getOutgoingEdges()) {
+				if (lEdge.getToVertex() == lTo) {
+					pGraph.removeEdge(lEdge);
+					break;
+				}
+			}
+		}
+	}
+
+	private void addRandomEdge(Digraph pGraph, Random pRandom) {
+		pGraph.addEdge(pGraph.getVertex(pRandom.nextInt(pGraph.getVertexIdBound())),
+			pGraph.getVertex(pRandom.nextInt(pGraph.getVertexIdBound())), 1 + pRandom.nextInt(3));
+	}
+}
@@ -1,163 +1,258 @@
-package graphAssignment;
-
-import java.io.Serializable;
-
-/**
- * This class represents an edge in a directed graph.  It must have a from and to vertex, and can optionally have a
- * label and weight. 
- * 
- * @author Jessica Otte
- */
-public class Edge implements Serializable  {
-	
-	/**
-	 * Generated id
-	 */
-	private static final long serialVersionUID = -2234935466538726673L;
-	
-	private Vertex fromVertex;
-	private Vertex toVertex;
-	private String label;
-	private int weight;
-	private final static int DEFAULT_EDGE_WEIGHT = 1;
-	
-	
-	/**
-	 * Class constructor that takes in the from and to vertices, initializes the label to empty string and defaults the 
-	 * weight to 1.
-	 * 
-	 * @param pFromVertex The vertex that this edge starts at
-	 * @param pToVertex The vertex that this edge connects to
-	 */
-	Edge(Vertex pFromVertex, Vertex pToVertex) {
-		this(pFromVertex, pToVertex, DEFAULT_EDGE_WEIGHT, "");
-	}
-	
-	/**
-	 * Class constructor that takes in the from and to vertices, as well as the weight, and initializes the label 
-	 * to empty string.
-	 * 
-	 * @param pFromVertex The vertex that this edge starts at
-	 * @param pToVertex The vertex that this edge connects to
-	 * @param pWeight The weight or cost of this edge
-	 */
-	Edge(Vertex pFromVertex, Vertex pToVertex, int pWeight) {
-		this(pFromVertex, pToVertex, pWeight, "");
-	}
-	
-	/**
-	 * Class constructor that takes in the from and to vertices, the weight, and the label.
-	 * @param pFromVertex The vertex that this edge starts at
-	 * @param pToVertex The vertex that this edge connects to
-	 * @param pWeight The weight or cost of this edge
-	 * @param pLabel The label or name
-	 */
-	Edge(Vertex pFromVertex, Vertex pToVertex, int pWeight, String pLabel) {
-		fromVertex = pFromVertex;
-		toVertex = pToVertex;
-		label = pLabel;
-		weight = pWeight;
-	}
-	
-	/**
-	 * 
-	 * @return The from vertex, which is the starting point for this edge
-	 */
-	public Vertex getFromVertex() {
-		return fromVertex;
-	}
-	
-	/**
-	 * 
-	 * @return The to vertex, which is the end of this edge
-	 */
-	public Vertex getToVertex() {
-		return toVertex;
-	}
-	
-	/**
-	 * 
-	 * @return The label or name of this edge
-	 */
-	public String getLabel() {
-		return label;
-	}
-	
-	/**
-	 * 
-	 * @param pLabel The label or name for this edge
-	 */
-	public void setLabel(String pLabel) {
-		label = pLabel;
-	}
-	
-	/**
-	 * 
-	 * @return The weight or cost of this edge
-	 */
-	public int getWeight() {
-		return weight;
-	}
-	
-	/**
-	 * 
-	 * @param pWeight The weight or cost of this edge
-	 */
-	public void setWeight(int pWeight) {
-		weight = pWeight;
-	}
-	
-	/*
-	//This will take in a vertex and return the other vertex that this edge connects to
-	//TODO: is this needed?
-	public Vertex getNeighbor(Vertex pVertex) {
-		if (pVertex == null) {
-			return null;
-		}
-			
-		if (pVertex.equals(fromVertex)) {
-			return toVertex;
-		} else if (pVertex.equals(toVertex)) {
-			return fromVertex;
-		} else {
-			return null;
-		}
-	}*/
-	
-	/**
-	 * Two edges are considered equal if their from and to vertices, and the weight is equal.
-	 */
-	@Override
-	public boolean equals(Object pObj) {
-	    if (pObj == null) {
-	    	return false;
-	    }
-	    
-	    if (pObj == this) {
-	    	return true;
-	    }
-	    
-	    if (!(pObj instanceof Edge)) {
-	    	return false;
-	    }
-	    
-	    Edge lEdge = (Edge)pObj;
-	    
-	    boolean lIsEqual = true;
-	    
-	    lIsEqual = (getFromVertex() == null && lEdge.getFromVertex() == null) || (getFromVertex() != null && getFromVertex().equals(lEdge.getFromVertex()));
-	    lIsEqual = lIsEqual && ((getToVertex() == null && lEdge.getToVertex() == null) || (getToVertex() != null && getToVertex().equals(lEdge.getToVertex())));
-	    lIsEqual = lIsEqual && (getWeight() == lEdge.getWeight());
-	    
-	    return lIsEqual;
-	}
-	
-	/**
-	 * Returns a string representation of the edge, displaying the from and to vertices, along with the weight and label
-	 */
-	@Override
-	public String toString() {
-		 return "{" + fromVertex + ", " + toVertex + "}\t\tWeight: " + weight + "\tLabel: " + label;
-	}
-
-}
+package graphAssignment;
+
+import java.io.Serializable;
+
+/**
+ * This class represents an edge in a directed graph.  It must have a from and to vertex, and can optionally have a
+ * label and weight. 
+ * 
+ * @author Jessica Otte
+ */
+public class Edge implements Serializable  {
+	
+	/**
+	 * Generated id
+	 */
+	private static final long serialVersionUID = -2234935466538726673L;
+	
+	private Vertex fromVertex;
+	private Vertex toVertex;
+	private String label;
+	private int weight;
+	private final static int DEFAULT_EDGE_WEIGHT = 1;
+	
+	//The graph this edge has been added to, and where it sits in the edge lists of its from and to vertices.  These
+	//are rebuilt by the graph when it is read back in.
+	private transient Digraph graph;
+	private transient int outgoingPosition = -1;
+	private transient int incomingPosition = -1;
+	
+	
+	/**
+	 * Class constructor that takes in the from and to vertices, initializes the label to empty string and defaults the 
+	 * weight to 1.
+	 * 
+	 * @param pFromVertex The vertex that this edge starts at
+	 * @param pToVertex The vertex that this edge connects to
+	 */
+	Edge(Vertex pFromVertex, Vertex pToVertex) {
+		this(pFromVertex, pToVertex, DEFAULT_EDGE_WEIGHT, "");
+	}
+	
+	/**
+	 * Class constructor that takes in the from and to vertices, as well as the weight, and initializes the label 
+	 * to empty string.
+	 * 
+	 * @param pFromVertex The vertex that this edge starts at
+	 * @param pToVertex The vertex that this edge connects to
+	 * @param pWeight The weight or cost of this edge
+	 */
+	Edge(Vertex pFromVertex, Vertex pToVertex, int pWeight) {
+		this(pFromVertex, pToVertex, pWeight, "");
+	}
+	
+	/**
+	 * Class constructor that takes in the from and to vertices, the weight, and the label.
+	 * @param pFromVertex The vertex that this edge starts at
+	 * @param pToVertex The vertex that this edge connects to
+	 * @param pWeight The weight or cost of this edge
+	 * @param pLabel The label or name
+	 */
+	Edge(Vertex pFromVertex, Vertex pToVertex, int pWeight, String pLabel) {
+		fromVertex = pFromVertex;
+		toVertex = pToVertex;
+		label = pLabel;
+		weight = pWeight;
+	}
+	
+	/**
+	 * 
+	 * @return The from vertex, which is the starting point for this edge
+	 */
+	public Vertex getFromVertex() {
+		return fromVertex;
+	}
+	
+	/**
+	 * 
+	 * @return The to vertex, which is the end of this edge
+	 */
+	public Vertex getToVertex() {
+		return toVertex;
+	}
+	
+	/**
+	 * 
+	 * @param pFromVertex The vertex that this edge starts at
+	 */
+	void setFromVertex(Vertex pFromVertex) {
+		fromVertex = pFromVertex;
+	}
+	
+	/**
+	 * 
+	 * @param pToVertex The vertex that this edge connects to
+	 */
+	void setToVertex(Vertex pToVertex) {
+		toVertex = pToVertex;
+	}
+	
+	/**
+	 * 
+	 * @return The label or name of this edge
+	 */
+	public String getLabel() {
+		return label;
+	}
+	
+	/**
+	 * 
+	 * @param pLabel The label or name for this edge
+	 */
+	public void setLabel(String pLabel) {
+		label = pLabel;
+	}
+	
+	/**
+	 * 
+	 * @return The weight or cost of this edge
+	 */
+	public int getWeight() {
+		return weight;
+	}
+	
+	/**
+	 * Sets the weight of this edge.  If the edge belongs to a graph, the graph is updated as well, since the weight is 
+	 * part of what identifies an edge.
+	 * 
+	 * @param pWeight The weight or cost of this edge
+	 */
+	public void setWeight(int pWeight) {
+		if (graph != null) {
+			graph.changeEdgeWeight(this, pWeight);
+		} else {
+			weight = pWeight;
+		}
+	}
+	
+	/**
+	 * Sets the weight without notifying the graph.  Only used by the graph itself.
+	 * 
+	 * @param pWeight The weight or cost of this edge
+	 */
+	void storeWeight(int pWeight) {
+		weight = pWeight;
+	}
+	
+	/**
+	 * 
+	 * @return The graph this edge has been added to, or null
+	 */
+	Digraph getGraph() {
+		return graph;
+	}
+	
+	/**
+	 * 
+	 * @param pGraph The graph this edge has been added to, or null when it is removed
+	 */
+	void setGraph(Digraph pGraph) {
+		graph = pGraph;
+	}
+	
+	/**
+	 * 
+	 * @return The position of this edge in the outgoing edge list of its from vertex
+	 */
+	int getOutgoingPosition() {
+		return outgoingPosition;
+	}
+	
+	/**
+	 * 
+	 * @param pPosition The position of this edge in the outgoing edge list of its from vertex
+	 */
+	void setOutgoingPosition(int pPosition) {
+		outgoingPosition = pPosition;
+	}
+	
+	/**
+	 * 
+	 * @return The position of this edge in the incoming edge list of its to vertex
+	 */
+	int getIncomingPosition() {
+		return incomingPosition;
+	}
+	
+	/**
+	 * 
+	 * @param pPosition The position of this edge in the incoming edge list of its to vertex
+	 */
+	void setIncomingPosition(int pPosition) {
+		incomingPosition = pPosition;
+	}
+	
+	/*
+	//This will take in a vertex and return the other vertex that this edge connects to
+	//TODO: is this needed?
+	public Vertex getNeighbor(Vertex pVertex) {
+		if (pVertex == null) {
+			return null;
+		}
+			
+		if (pVertex.equals(fromVertex)) {
+			return toVertex;
+		} else if (pVertex.equals(toVertex)) {
+			return fromVertex;
+		} else {
+			return null;
+		}
+	}*/
+	
+	/**
+	 * Two edges are considered equal if their from and to vertices, and the weight is equal.
+	 */
+	@Override
+	public boolean equals(Object pObj) {
+	    if (pObj == null) {
+	    	return false;
+	    }
+	    
+	    if (pObj == this) {
+	    	return true;
+	    }
+	    
+	    if (!(pObj instanceof Edge)) {
+	    	return false;
+	    }
+	    
+	    Edge lEdge = (Edge)pObj;
+	    
+	    boolean lIsEqual = true;
+	    
+	    lIsEqual = (getFromVertex() == null && lEdge.getFromVertex() == null) || (getFromVertex() != null && getFromVertex().equals(lEdge.getFromVertex()));
+	    lIsEqual = lIsEqual && ((getToVertex() == null && lEdge.getToVertex() == null) || (getToVertex() != null && getToVertex().equals(lEdge.getToVertex())));
+	    lIsEqual = lIsEqual && (getWeight() == lEdge.getWeight());
+	    
+	    return lIsEqual;
+	}
+	
+	/**
+	 * The hash code is based on the same fields as equals: the from and to vertices, and the weight.
+	 */
+	@Override
+	public int hashCode() {
+		int lHash = fromVertex == null ? 0 : fromVertex.hashCode();
+		lHash = 31 * lHash + (toVertex == null ? 0 : toVertex.hashCode());
+		return 31 * lHash + weight;
+	}
+	
+	/**
+	 * Returns a string representation of the edge, displaying the from and to vertices, along with the weight and label
+	 */
+	@Override
+	public String toString() {
+		 return "{" + fromVertex + ", " + toVertex + "}\t\tWeight: " + weight + "\tLabel: " + label;
+	}
+
+}
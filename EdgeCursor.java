@@ -0,0 +1,43 @@
+package graphAssignment;
+
+/**
+ * A cursor over the edges of a single vertex in an IndexedGraph.  A cursor is moved to a vertex, and then next() is
+ * called until it returns false, reading the adjacent vertex and weight of each edge in between.  Cursors let the
+ * algorithms walk the edges of any graph representation without allocating an iterator or an Edge for every step.
+ *
+ * <p>
+ * A cursor is only meant to be used by one thread, and is reusable: moving it to another vertex starts over.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public interface EdgeCursor {
+
+	/**
+	 * Positions the cursor just before the first edge of a vertex.
+	 *
+	 * @param pVertexId The vertex whose edges should be walked
+	 */
+	public void moveTo(int pVertexId);
+
+	/**
+	 * Advances the cursor to the next edge.
+	 *
+	 * @return True if the cursor is on an edge, False if there are no edges left for this vertex
+	 */
+	public boolean next();
+
+	/**
+	 *
+	 * @return The vertex at the other end of the current edge; the "to vertex" when walking outgoing edges, and the
+	 * "from vertex" when walking incoming edges
+	 */
+	public int getAdjacentVertexId();
+
+	/**
+	 *
+	 * @return The weight or cost of the current edge
+	 */
+	public int getWeight();
+}
@@ -0,0 +1,635 @@
+package graphAssignment;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads a graph from a text file with one edge to a line, into a DigraphBuilder, so that it can be built into a
+ * Digraph or straight into a CsrGraph.  The file is read a chunk of a few megabytes at a time, and the chunks are
+ * parsed side by side on the threads of a ForkJoinPool.  Parsing works on the bytes of the chunk, so no String is
+ * created for a line or a field: a label is kept as where it is in the chunk, and its hash.
+ *
+ * <p>
+ * The parsed chunks are added to the builder one at a time, in the order they are in the file, on the thread that
+ * called the importer.  Each label is looked up in a table of the labels seen so far, by comparing bytes, and a
+ * String is only created for a label the first time it is seen.  The vertices are therefore given the same ids they
+ * would get if the file were read a line at a time.  At most two chunks for each thread of the pool are read ahead of
+ * the builder, so the memory used by the import does not grow with the size of the file.
+ * </p>
+ *
+ * <p>
+ * Lines that cannot be parsed are skipped, and the first few of them are printed out.  Lines end with a line feed,
+ * which may follow a carriage return.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class EdgeListImporter {
+
+	/**
+	 * The kinds of edge list file that can be read
+	 */
+	public enum Format {
+		/**
+		 * The from and to labels and an optional weight, which is 1 if it is left out, separated by commas, tabs or
+		 * spaces.  Lines starting with # or % are comments.  A first line that is not an edge, such as a header, is
+		 * skipped without being counted.  Labels cannot contain the separators, and are not unquoted.
+		 */
+		DELIMITED,
+
+		/**
+		 * The DIMACS shortest path challenge format, where each edge is a line "a from to weight".  Lines starting
+		 * with c are comments, and the "p sp vertices edges" line is skipped.
+		 */
+		DIMACS,
+
+		/**
+		 * The Stanford SNAP format, where each edge is a from and to id separated by whitespace, with a weight of 1.
+		 * Lines starting with # are comments, and any columns after the first two are ignored.
+		 */
+		SNAP
+	}
+
+	private static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+	private static final int MAX_PRINTED_LINES = 10;
+	private static final int DEFAULT_WEIGHT = 1;
+
+	//The most fields of a line that are looked at
+	private static final int MAX_FIELDS = 4;
+
+	private final Format format;
+	private final ForkJoinPool pool;
+	private final int chunkSize;
+	private ImportProgressListener progressListener;
+	private long skippedLineCount;
+	private int printedLineCount;
+
+	/**
+	 * Class constructor, which parses on the common ForkJoinPool
+	 *
+	 * @param pFormat The kind of file to read; null is treated as DELIMITED
+	 */
+	public EdgeListImporter(Format pFormat) {
+		this(pFormat, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pFormat The kind of file to read; null is treated as DELIMITED
+	 * @param pPool The pool to parse on; null is treated as the common ForkJoinPool
+	 */
+	public EdgeListImporter(Format pFormat, ForkJoinPool pPool) {
+		this(pFormat, pPool, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Class constructor, with the size of the chunks the file is read in
+	 *
+	 * @param pFormat The kind of file to read; null is treated as DELIMITED
+	 * @param pPool The pool to parse on; null is treated as the common ForkJoinPool
+	 * @param pChunkSize The number of bytes to read at a time, which is raised to 1 if it is less
+	 */
+	EdgeListImporter(Format pFormat, ForkJoinPool pPool, int pChunkSize) {
+		format = pFormat == null ? Format.DELIMITED : pFormat;
+		pool = pPool == null ? ForkJoinPool.commonPool() : pPool;
+		chunkSize = Math.max(pChunkSize, 1);
+	}
+
+	/**
+	 *
+	 * @param pListener Told how far through the file each import has got, or null to stop telling it
+	 */
+	public void setProgressListener(ImportProgressListener pListener) {
+		progressListener = pListener;
+	}
+
+	/**
+	 *
+	 * @return The number of lines of the last import that were not comments but could not be parsed
+	 */
+	public long getSkippedLineCount() {
+		return skippedLineCount;
+	}
+
+	/**
+	 * Reads the edges of a file into a builder, which may already have vertices and edges.  Duplicate edges are
+	 * taken out by the builder when it is built.  If the file name or builder is not provided, or the file cannot be
+	 * read, an error is printed out and -1 is returned; the edges of the chunks before the error are left in the
+	 * builder.
+	 *
+	 * @param pFileName The name of the file
+	 * @param pBuilder The builder to add the edges to
+	 * @return The number of edges read from the file, or -1 if it could not be read
+	 */
+	public long importFile(String pFileName, DigraphBuilder pBuilder) throws IOException {
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return -1;
+		}
+		if (pBuilder == null) {
+			System.out.println("A builder must be provided.");
+			return -1;
+		}
+
+		skippedLineCount = 0;
+		printedLineCount = 0;
+		FileInputStream lFileInputStream = null;
+		try {
+			lFileInputStream = new FileInputStream(pFileName);
+			FileChannel lChannel = lFileInputStream.getChannel();
+			long lFileSize = lChannel.size();
+			ChunkReader lReader = new ChunkReader(lChannel, chunkSize);
+			LabelTable lLabels = new LabelTable(pBuilder);
+			Deque<ForkJoinTask<Chunk>> lPending = new ArrayDeque<ForkJoinTask<Chunk>>();
+			int lMaxPending = pool.getParallelism() * 2;
+			long lBytesRead = 0;
+			long lEdgeCount = 0;
+
+			Chunk lChunk = lReader.next();
+			boolean lIsFirstChunk = true;
+			while (lChunk != null || !lPending.isEmpty()) {
+				if (lChunk != null && lPending.size() < lMaxPending) {
+					Chunk lChunkToParse = lChunk;
+					boolean lIsFirst = lIsFirstChunk;
+					lPending.add(pool.submit(() -> lChunkToParse.parse(format, lIsFirst)));
+					lChunk = lReader.next();
+					lIsFirstChunk = false;
+					continue;
+				}
+
+				Chunk lParsedChunk = lPending.poll().get();
+				lEdgeCount += addChunk(lParsedChunk, lLabels, pBuilder);
+				lBytesRead += lParsedChunk.length;
+				if (progressListener != null) {
+					progressListener.progress(lBytesRead, lFileSize, lEdgeCount);
+				}
+			}
+			return lEdgeCount;
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return -1;
+		} catch (ExecutionException pException) {
+			System.out.println("Exception: " + pException.getCause());
+			return -1;
+		} catch (InterruptedException pException) {
+			Thread.currentThread().interrupt();
+			return -1;
+		} finally {
+			if (lFileInputStream != null) {
+				lFileInputStream.close();
+			}
+		}
+	}
+
+	/**
+	 * Adds the edges of a parsed chunk to the builder, looking up the id of each label.
+	 *
+	 * @param pChunk The parsed chunk
+	 * @param pLabels The labels seen so far
+	 * @param pBuilder The builder
+	 * @return The number of edges added
+	 */
+	private int addChunk(Chunk pChunk, LabelTable pLabels, DigraphBuilder pBuilder) {
+		int[] lFromIds = new int[pChunk.edgeCount];
+		int[] lToIds = new int[pChunk.edgeCount];
+		for (int i = 0; i < pChunk.edgeCount; i++) {
+			lFromIds[i] = pLabels.intern(pChunk.bytes, pChunk.fromStarts[i], pChunk.fromLengths[i],
+				pChunk.fromHashes[i]);
+			lToIds[i] = pLabels.intern(pChunk.bytes, pChunk.toStarts[i], pChunk.toLengths[i], pChunk.toHashes[i]);
+		}
+		pBuilder.addEdges(lFromIds, lToIds, Arrays.copyOf(pChunk.weights, pChunk.edgeCount));
+
+		skippedLineCount += pChunk.skippedLineCount;
+		for (String lLine : pChunk.skippedLines) {
+			if (printedLineCount++ < MAX_PRINTED_LINES) {
+				System.out.println("Skipping a line that is not an edge: " + lLine);
+			}
+		}
+		return pChunk.edgeCount;
+	}
+
+	/**
+	 *
+	 * @param pBytes The bytes of a chunk
+	 * @param pStart Where a label starts
+	 * @param pEnd Where the label ends
+	 * @return The hash of the bytes of the label
+	 */
+	private static int hash(byte[] pBytes, int pStart, int pEnd) {
+		int lHash = 0;
+		for (int i = pStart; i < pEnd; i++) {
+			lHash = 31 * lHash + pBytes[i];
+		}
+		return lHash;
+	}
+
+	/**
+	 *
+	 * @param pBytes The bytes of a chunk
+	 * @param pStart Where a number starts
+	 * @param pEnd Where the number ends
+	 * @return The number, or Long.MIN_VALUE if the bytes are not a number that fits in an int
+	 */
+	private static long parseInt(byte[] pBytes, int pStart, int pEnd) {
+		boolean lIsNegative = pStart < pEnd && pBytes[pStart] == '-';
+		int i = lIsNegative || (pStart < pEnd && pBytes[pStart] == '+') ? pStart + 1 : pStart;
+		if (i == pEnd) {
+			return Long.MIN_VALUE;
+		}
+		long lValue = 0;
+		for (; i < pEnd; i++) {
+			int lDigit = pBytes[i] - '0';
+			if (lDigit < 0 || lDigit > 9) {
+				return Long.MIN_VALUE;
+			}
+			lValue = lValue * 10 + lDigit;
+			if (lValue > Integer.MAX_VALUE + 1L) {
+				return Long.MIN_VALUE;
+			}
+		}
+		lValue = lIsNegative ? -lValue : lValue;
+		return lValue > Integer.MAX_VALUE ? Long.MIN_VALUE : lValue;
+	}
+
+	/**
+	 * Reads a file a chunk at a time, each ending at the end of a line
+	 */
+	private static final class ChunkReader {
+
+		private final FileChannel channel;
+		private final int chunkSize;
+		private byte[] carry = new byte[0];
+		private boolean isAtEnd;
+
+		ChunkReader(FileChannel pChannel, int pChunkSize) {
+			channel = pChannel;
+			chunkSize = pChunkSize;
+		}
+
+		/**
+		 * Reads the next chunk, starting with the part of a line left over from the last one.  A chunk is grown if a
+		 * single line does not fit in it.
+		 *
+		 * @return The next chunk, or null at the end of the file
+		 */
+		Chunk next() throws IOException {
+			byte[] lBytes = new byte[Math.max(chunkSize, carry.length * 2)];
+			System.arraycopy(carry, 0, lBytes, 0, carry.length);
+			int lFilled = carry.length;
+			carry = new byte[0];
+
+			while (true) {
+				while (!isAtEnd && lFilled < lBytes.length) {
+					int lRead = channel.read(ByteBuffer.wrap(lBytes, lFilled, lBytes.length - lFilled));
+					if (lRead < 0) {
+						isAtEnd = true;
+					} else {
+						lFilled += lRead;
+					}
+				}
+				if (isAtEnd) {
+					return lFilled == 0 ? null : new Chunk(lBytes, lFilled);
+				}
+
+				int lLineEnd = lFilled - 1;
+				while (lLineEnd >= 0 && lBytes[lLineEnd] != '\n') {
+					lLineEnd--;
+				}
+				if (lLineEnd >= 0) {
+					carry = Arrays.copyOfRange(lBytes, lLineEnd + 1, lFilled);
+					return new Chunk(lBytes, lLineEnd + 1);
+				}
+				lBytes = Arrays.copyOf(lBytes, lBytes.length * 2);
+			}
+		}
+	}
+
+	/**
+	 * A chunk of the file, and the edges parsed from it.  The labels of the edges are kept as where they are in the
+	 * bytes of the chunk.
+	 */
+	private static final class Chunk {
+
+		final byte[] bytes;
+		final int length;
+
+		int edgeCount;
+		int[] fromStarts;
+		int[] fromLengths;
+		int[] fromHashes;
+		int[] toStarts;
+		int[] toLengths;
+		int[] toHashes;
+		int[] weights;
+
+		long skippedLineCount;
+		final List<String> skippedLines = new ArrayList<String>();
+
+		//Where each field of the line being parsed starts and ends
+		private final int[] fieldStarts = new int[MAX_FIELDS];
+		private final int[] fieldEnds = new int[MAX_FIELDS];
+
+		Chunk(byte[] pBytes, int pLength) {
+			bytes = pBytes;
+			length = pLength;
+			int lCapacity = pLength / 16 + 16;
+			fromStarts = new int[lCapacity];
+			fromLengths = new int[lCapacity];
+			fromHashes = new int[lCapacity];
+			toStarts = new int[lCapacity];
+			toLengths = new int[lCapacity];
+			toHashes = new int[lCapacity];
+			weights = new int[lCapacity];
+		}
+
+		/**
+		 * Parses every line of the chunk.
+		 *
+		 * @param pFormat The kind of file
+		 * @param pIsFirstChunk True if the chunk is the start of the file, where a header can be
+		 * @return This chunk
+		 */
+		Chunk parse(Format pFormat, boolean pIsFirstChunk) {
+			boolean lCanBeHeader = pIsFirstChunk && pFormat == Format.DELIMITED;
+			int lLineStart = 0;
+			while (lLineStart < length) {
+				int lLineEnd = lLineStart;
+				while (lLineEnd < length && bytes[lLineEnd] != '\n') {
+					lLineEnd++;
+				}
+				int lEnd = lLineEnd;
+				while (lEnd > lLineStart && bytes[lEnd - 1] == '\r') {
+					lEnd--;
+				}
+
+				int lResult = parseLine(pFormat, lLineStart, lEnd);
+				if (lResult < 0 && !lCanBeHeader) {
+					skippedLineCount++;
+					if (skippedLines.size() < MAX_PRINTED_LINES) {
+						skippedLines.add(new String(bytes, lLineStart, lEnd - lLineStart, StandardCharsets.UTF_8));
+					}
+				}
+				if (lResult != 0) {
+					lCanBeHeader = false;
+				}
+				lLineStart = lLineEnd + 1;
+			}
+			return this;
+		}
+
+		/**
+		 * Parses one line, adding its edge if it has one.
+		 *
+		 * @param pFormat The kind of file
+		 * @param pStart Where the line starts
+		 * @param pEnd Where the line ends, before the line break
+		 * @return 1 if an edge was added, 0 if the line is blank or a comment, and -1 if it cannot be parsed
+		 */
+		private int parseLine(Format pFormat, int pStart, int pEnd) {
+			int lFieldCount = splitFields(pFormat, pStart, pEnd);
+			if (lFieldCount == 0) {
+				return 0;
+			}
+
+			byte lFirst = bytes[fieldStarts[0]];
+			int lFromField = 0;
+			long lWeight = DEFAULT_WEIGHT;
+			switch (pFormat) {
+			case DIMACS:
+				if (lFirst == 'c' || lFirst == 'p') {
+					return 0;
+				}
+				if (lFieldCount < 4 || fieldEnds[0] - fieldStarts[0] != 1 || lFirst != 'a') {
+					return -1;
+				}
+				lFromField = 1;
+				lWeight = parseInt(bytes, fieldStarts[3], fieldEnds[3]);
+				break;
+			case SNAP:
+				if (lFirst == '#') {
+					return 0;
+				}
+				if (lFieldCount < 2) {
+					return -1;
+				}
+				break;
+			default:
+				if (lFirst == '#' || lFirst == '%') {
+					return 0;
+				}
+				if (lFieldCount < 2 || lFieldCount > 3) {
+					return -1;
+				}
+				if (lFieldCount == 3) {
+					lWeight = parseInt(bytes, fieldStarts[2], fieldEnds[2]);
+				}
+				break;
+			}
+
+			int lToField = lFromField + 1;
+			if (lWeight == Long.MIN_VALUE || fieldStarts[lFromField] == fieldEnds[lFromField]
+				|| fieldStarts[lToField] == fieldEnds[lToField]) {
+				return -1;
+			}
+
+			if (edgeCount == weights.length) {
+				grow();
+			}
+			fromStarts[edgeCount] = fieldStarts[lFromField];
+			fromLengths[edgeCount] = fieldEnds[lFromField] - fieldStarts[lFromField];
+			fromHashes[edgeCount] = hash(bytes, fieldStarts[lFromField], fieldEnds[lFromField]);
+			toStarts[edgeCount] = fieldStarts[lToField];
+			toLengths[edgeCount] = fieldEnds[lToField] - fieldStarts[lToField];
+			toHashes[edgeCount] = hash(bytes, fieldStarts[lToField], fieldEnds[lToField]);
+			weights[edgeCount] = (int) lWeight;
+			edgeCount++;
+			return 1;
+		}
+
+		/**
+		 * Finds the fields of a line.  Fields are separated by runs of spaces and tabs and, in a DELIMITED file, by a
+		 * single comma with any spaces and tabs around it.  Only the first few fields are found; one more than the
+		 * format needs is enough to tell a line with too many.
+		 *
+		 * @param pFormat The kind of file
+		 * @param pStart Where the line starts
+		 * @param pEnd Where the line ends
+		 * @return The number of fields found
+		 */
+		private int splitFields(Format pFormat, int pStart, int pEnd) {
+			boolean lIsCommaSeparated = pFormat == Format.DELIMITED;
+			int lPosition = skipBlanks(pStart, pEnd);
+			int lFieldCount = 0;
+			while (lPosition < pEnd && lFieldCount < MAX_FIELDS) {
+				fieldStarts[lFieldCount] = lPosition;
+				while (lPosition < pEnd && bytes[lPosition] != ' ' && bytes[lPosition] != '\t'
+					&& !(lIsCommaSeparated && bytes[lPosition] == ',')) {
+					lPosition++;
+				}
+				fieldEnds[lFieldCount++] = lPosition;
+
+				lPosition = skipBlanks(lPosition, pEnd);
+				if (lIsCommaSeparated && lPosition < pEnd && bytes[lPosition] == ',') {
+					lPosition = skipBlanks(lPosition + 1, pEnd);
+					if (lPosition == pEnd && lFieldCount < MAX_FIELDS) {
+						//A trailing comma leaves an empty last field
+						fieldStarts[lFieldCount] = pEnd;
+						fieldEnds[lFieldCount++] = pEnd;
+					}
+				}
+			}
+			return lFieldCount;
+		}
+
+		/**
+		 *
+		 * @param pPosition Where to start
+		 * @param pEnd Where the line ends
+		 * @return The position of the first byte from pPosition on that is not a space or tab
+		 */
+		private int skipBlanks(int pPosition, int pEnd) {
+			while (pPosition < pEnd && (bytes[pPosition] == ' ' || bytes[pPosition] == '\t')) {
+				pPosition++;
+			}
+			return pPosition;
+		}
+
+		/**
+		 * Grows the edge arrays by half
+		 */
+		private void grow() {
+			int lCapacity = weights.length + (weights.length >> 1);
+			fromStarts = Arrays.copyOf(fromStarts, lCapacity);
+			fromLengths = Arrays.copyOf(fromLengths, lCapacity);
+			fromHashes = Arrays.copyOf(fromHashes, lCapacity);
+			toStarts = Arrays.copyOf(toStarts, lCapacity);
+			toLengths = Arrays.copyOf(toLengths, lCapacity);
+			toHashes = Arrays.copyOf(toHashes, lCapacity);
+			weights = Arrays.copyOf(weights, lCapacity);
+		}
+	}
+
+	/**
+	 * The labels seen so far, and the id the builder gave each of them.  The bytes of the labels are kept one after
+	 * another in a single array, and found through an open addressing hash table, so a label can be looked up straight
+	 * from the bytes of a chunk.
+	 */
+	private static final class LabelTable {
+
+		private final DigraphBuilder builder;
+
+		//The entry of each slot plus one, so 0 marks an empty slot
+		private int[] slots = new int[1 << 10];
+
+		private int[] hashes = new int[1 << 9];
+		private int[] starts = new int[1 << 9];
+		private int[] lengths = new int[1 << 9];
+		private int[] ids = new int[1 << 9];
+		private int count;
+
+		private byte[] labelBytes = new byte[1 << 12];
+		private int labelByteCount;
+
+		LabelTable(DigraphBuilder pBuilder) {
+			builder = pBuilder;
+		}
+
+		/**
+		 * Finds the id of a label, adding the label to the builder if it has not been seen before.
+		 *
+		 * @param pBytes The bytes of a chunk
+		 * @param pStart Where the label starts
+		 * @param pLength The number of bytes in the label
+		 * @param pHash The hash of the label
+		 * @return The id of the vertex with the label
+		 */
+		int intern(byte[] pBytes, int pStart, int pLength, int pHash) {
+			int lMask = slots.length - 1;
+			int lSlot = mix(pHash) & lMask;
+			while (slots[lSlot] != 0) {
+				int lEntry = slots[lSlot] - 1;
+				if (hashes[lEntry] == pHash && lengths[lEntry] == pLength && matches(lEntry, pBytes, pStart)) {
+					return ids[lEntry];
+				}
+				lSlot = (lSlot + 1) & lMask;
+			}
+
+			if (count == ids.length) {
+				hashes = Arrays.copyOf(hashes, count * 2);
+				starts = Arrays.copyOf(starts, count * 2);
+				lengths = Arrays.copyOf(lengths, count * 2);
+				ids = Arrays.copyOf(ids, count * 2);
+			}
+			while (labelBytes.length - labelByteCount < pLength) {
+				labelBytes = Arrays.copyOf(labelBytes, labelBytes.length * 2);
+			}
+			System.arraycopy(pBytes, pStart, labelBytes, labelByteCount, pLength);
+			hashes[count] = pHash;
+			starts[count] = labelByteCount;
+			lengths[count] = pLength;
+			ids[count] = builder.addVertex(new String(pBytes, pStart, pLength, StandardCharsets.UTF_8));
+			labelByteCount += pLength;
+			slots[lSlot] = ++count;
+
+			if (count * 2 > slots.length) {
+				rehash();
+			}
+			return ids[count - 1];
+		}
+
+		/**
+		 *
+		 * @param pEntry An entry of the table
+		 * @param pBytes The bytes of a chunk
+		 * @param pStart Where a label of the same length starts
+		 * @return True if the label is the label of the entry
+		 */
+		private boolean matches(int pEntry, byte[] pBytes, int pStart) {
+			int lStart = starts[pEntry];
+			for (int i = 0; i < lengths[pEntry]; i++) {
+				if (labelBytes[lStart + i] != pBytes[pStart + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Doubles the number of slots, and puts every entry back in
+		 */
+		private void rehash() {
+			slots = new int[slots.length * 2];
+			int lMask = slots.length - 1;
+			for (int lEntry = 0; lEntry < count; lEntry++) {
+				int lSlot = mix(hashes[lEntry]) & lMask;
+				while (slots[lSlot] != 0) {
+					lSlot = (lSlot + 1) & lMask;
+				}
+				slots[lSlot] = lEntry + 1;
+			}
+		}
+
+		/**
+		 *
+		 * @param pHash The hash of a label
+		 * @return The hash with its bits mixed, so the low bits can be used as a slot
+		 */
+		private static int mix(int pHash) {
+			int lHash = pHash * 0x9E3779B9;
+			return lHash ^ (lHash >>> 16);
+		}
+	}
+}
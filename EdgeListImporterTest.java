@@ -0,0 +1,97 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class EdgeListImporterTest {
+
+	@Test
+	public void testDelimited() throws Exception {
+		StringBuilder lFile = new StringBuilder("from,to,weight\r\n# A comment\r\n\r\n");
+		Digraph lExpected = new Digraph();
+		for (int i = 0; i < 500; i++) {
+			String lFrom = "Stop" + (i % 40);
+			String lTo = "Stop" + (i * 7 % 40);
+			if (i % 3 == 0) {
+				lFile.append(lFrom).append(" , ").append(lTo).append(',').append(i % 9 - 4).append("\r\n");
+				lExpected.addEdge(new Vertex(lFrom), new Vertex(lTo), i % 9 - 4);
+			} else if (i % 3 == 1) {
+				lFile.append(lFrom).append('\t').append(lTo).append("\r\n");
+				lExpected.addEdge(new Vertex(lFrom), new Vertex(lTo), 1);
+			} else {
+				lFile.append(lFrom).append("  ").append(lTo).append(' ').append(i).append('\n');
+				lExpected.addEdge(new Vertex(lFrom), new Vertex(lTo), i);
+			}
+		}
+		lFile.append("Stop1,Stop2,heavy\nStop1,Stop2,3,4\nStop1\n,Stop2\n");
+		lFile.append("\u00e9t\u00e9,Stop1,99999999999\n\u00e9t\u00e9,Stop1,-7");
+		lExpected.addEdge(new Vertex("\u00e9t\u00e9"), new Vertex("Stop1"), -7);
+		writeFile("ImportTestFile", lFile.toString());
+
+		//Small chunks split the lines across many chunks, and the progress is reported after each one
+		List<Long> lProgress = new ArrayList<Long>();
+		EdgeListImporter lImporter = new EdgeListImporter(EdgeListImporter.Format.DELIMITED, null, 64);
+		lImporter.setProgressListener((pBytesRead, pFileSize, pEdgesRead) -> lProgress.add(pBytesRead));
+		DigraphBuilder lBuilder = new DigraphBuilder();
+		assertEquals(501, lImporter.importFile("ImportTestFile", lBuilder));
+		assertEquals(5, lImporter.getSkippedLineCount());
+		assertTrue(lProgress.size() > 10);
+		assertEquals(lFile.toString().getBytes(StandardCharsets.UTF_8).length, (long) lProgress.get(
+			lProgress.size() - 1));
+
+		//The vertices get the ids they would get if they were added a line at a time
+		Digraph lGraph = lBuilder.build();
+		assertEquals(lExpected, lGraph);
+		for (Vertex lVertex : lExpected.getVertices()) {
+			assertEquals(lVertex.getId(), lGraph.getVertexId(lVertex.getLabel()));
+		}
+
+		//The same file read in one chunk gives the same graph
+		DigraphBuilder lOneChunkBuilder = new DigraphBuilder();
+		assertEquals(501, new EdgeListImporter(EdgeListImporter.Format.DELIMITED).importFile("ImportTestFile",
+			lOneChunkBuilder));
+		assertEquals(lExpected, lOneChunkBuilder.build());
+
+		assertEquals(-1, lImporter.importFile("ImportTestMissingFile", new DigraphBuilder()));
+		assertEquals(-1, lImporter.importFile("ImportTestFile", null));
+	}
+
+	@Test
+	public void testDimacsAndSnap() throws Exception {
+		writeFile("ImportTestFile", "c A road network\np sp 4 5\na 1 2 7\na 2 3 1\nc More roads\na 3 1 2\n"
+			+ "a 1 4 5\na 4 3 1\nb 1 2 3\na 1 2\n");
+		EdgeListImporter lImporter = new EdgeListImporter(EdgeListImporter.Format.DIMACS, null, 16);
+		DigraphBuilder lBuilder = new DigraphBuilder();
+		assertEquals(5, lImporter.importFile("ImportTestFile", lBuilder));
+		assertEquals(2, lImporter.getSkippedLineCount());
+		CsrGraph lRoads = lBuilder.buildFrozen();
+		assertEquals(4, lRoads.getVertexCount());
+		assertEquals(Integer.valueOf(6), new DijkstrasAlgorithm().getShortestDistance(lRoads,
+			lRoads.getVertexId("1"), lRoads.getVertexId("3")));
+
+		writeFile("ImportTestFile", "# Directed graph\n# FromNodeId\tToNodeId\n0\t1\n1\t2\t1262304000\n2\t0\n"
+			+ "0\t1\n7\n");
+		lImporter = new EdgeListImporter(EdgeListImporter.Format.SNAP);
+		lBuilder = new DigraphBuilder();
+		assertEquals(4, lImporter.importFile("ImportTestFile", lBuilder));
+		assertEquals(1, lImporter.getSkippedLineCount());
+		Digraph lGraph = lBuilder.build();
+		assertEquals(1, lBuilder.getDuplicateCount());
+		assertEquals(3, lGraph.getVertexCount());
+		assertEquals(3, lGraph.getEdgeCount());
+		assertEquals(1, new TarjanAlgorithm().findStronglyConnectedComponents(lGraph).size());
+	}
+
+	private void writeFile(String pFileName, String pContents) throws IOException {
+		FileOutputStream lFileOutputStream = new FileOutputStream(pFileName);
+		lFileOutputStream.write(pContents.getBytes(StandardCharsets.UTF_8));
+		lFileOutputStream.close();
+	}
+}
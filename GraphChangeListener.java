@@ -0,0 +1,59 @@
+package graphAssignment;
+
+/**
+ * Gets told about each change made to a Digraph it has been added to, right after the change is made.  The listener
+ * is called while the graph is locked, by the thread that made the change, so it should be quick and must not change
+ * the graph itself.  Each method does nothing by default, so a listener only needs to handle the changes it cares
+ * about.
+ *
+ * <p>
+ * Removing a vertex also removes all of its edges, and each of those is reported before the vertex is.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public interface GraphChangeListener {
+
+	/**
+	 *
+	 * @param pGraph The graph that was changed
+	 * @param pVertex The vertex that was added, which already has its id
+	 */
+	public default void vertexAdded(Digraph pGraph, Vertex pVertex) {
+	}
+
+	/**
+	 *
+	 * @param pGraph The graph that was changed
+	 * @param pVertex The vertex that was removed
+	 * @param pVertexId The id the vertex had, which is free to be handed out again
+	 */
+	public default void vertexRemoved(Digraph pGraph, Vertex pVertex, int pVertexId) {
+	}
+
+	/**
+	 *
+	 * @param pGraph The graph that was changed
+	 * @param pEdge The edge that was added
+	 */
+	public default void edgeAdded(Digraph pGraph, Edge pEdge) {
+	}
+
+	/**
+	 *
+	 * @param pGraph The graph that was changed
+	 * @param pEdge The edge that was removed, which still has its from and to vertices
+	 */
+	public default void edgeRemoved(Digraph pGraph, Edge pEdge) {
+	}
+
+	/**
+	 *
+	 * @param pGraph The graph that was changed
+	 * @param pEdge The edge whose weight was changed, which already has its new weight
+	 * @param pOldWeight The weight the edge had before
+	 */
+	public default void edgeWeightChanged(Digraph pGraph, Edge pEdge, int pOldWeight) {
+	}
+}
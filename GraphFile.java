@@ -0,0 +1,430 @@
+package graphAssignment;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves a graph to a file and reads it back in, in a compact binary format.  The file holds the labels and ids of the
+ * vertices and the edges between them, as numbers, rather than the objects of the graph, so it does not change when
+ * the classes do, and reading it back in does not recurse from vertex to edge to vertex the way Java serialization
+ * does.  The file is written and read through a FileChannel, a buffer at a time.
+ *
+ * <p>
+ * Numbers are written as varints: 7 bits to a byte, lowest first, with the top bit set on every byte but the last.
+ * Numbers that can be negative are zigzag encoded first, so small negative numbers stay small.  A string is written
+ * as a varint of its length in UTF-8 bytes plus one, or 0 for null, followed by the bytes.  Version 1 of the file is:
+ * </p>
+ *
+ * <pre>
+ *   magic             4 bytes, "PGRF"
+ *   version           1 byte
+ *   flags             varint, with bit 0 set if the graph is a ConcurrentDigraph
+ *   id bound          varint, getVertexIdBound() of the graph
+ *   vertex count      varint
+ *   edge count        varint
+ *   vertex labels     a string for each id, in order, which is null if no vertex has the id
+ *   edge labels       a varint count, then that many different strings
+ *   edges             for each vertex, in order of id: a varint count of its outgoing edges, then for each one, in
+ *                     order: the id of its to vertex as a zigzag varint difference from the id before it (the id of
+ *                     the from vertex, for the first), its weight as a zigzag varint, and the index of its label
+ * </pre>
+ *
+ * <p>
+ * The vertices keep their ids when they are read back in, and each vertex keeps the order of its outgoing edges.  The
+ * incoming edges of each vertex are put back in order of the ids of their from vertices.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+final class GraphFile {
+
+	//"PGRF", which cannot be mistaken for the 0xACED that starts a file written by an ObjectOutputStream
+	static final int MAGIC = 0x50475246;
+	static final int VERSION = 1;
+
+	private static final int SERIALIZATION_MAGIC = 0xACED;
+	private static final int FLAG_CONCURRENT = 1;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Class constructor, which is never used since every method is static
+	 */
+	private GraphFile() {
+	}
+
+	/**
+	 * Writes a graph to a file, replacing the file if it exists.  The graph cannot change while it is being written.
+	 *
+	 * @param pGraph The graph to write
+	 * @param pFileName The name of the file
+	 * @return True if the graph was written, False if an error was printed out
+	 */
+	static boolean write(Digraph pGraph, String pFileName) throws IOException {
+		FileOutputStream lFileOutputStream = null;
+
+		pGraph.getReadLock().lock();
+		try {
+			//Number the edge labels, in the order they are first seen
+			Map<String, Integer> lEdgeLabelIndexes = new HashMap<String, Integer>();
+			List<String> lEdgeLabels = new ArrayList<String>();
+			int lIdBound = pGraph.getVertexIdBound();
+			int lEdgeCount = 0;
+			for (int v = 0; v < lIdBound; v++) {
+				Vertex lVertex = pGraph.getVertex(v);
+				if (lVertex == null) {
+					continue;
+				}
+				for (Edge lEdge : lVertex.getOutgoingEdges()) {
+					if (!lEdgeLabelIndexes.containsKey(lEdge.getLabel())) {
+						lEdgeLabelIndexes.put(lEdge.getLabel(), lEdgeLabels.size());
+						lEdgeLabels.add(lEdge.getLabel());
+					}
+					lEdgeCount++;
+				}
+			}
+
+			lFileOutputStream = new FileOutputStream(pFileName);
+			Output lOutput = new Output(lFileOutputStream.getChannel());
+			lOutput.writeInt(MAGIC);
+			lOutput.writeByte(VERSION);
+			lOutput.writeVarint(pGraph instanceof ConcurrentDigraph ? FLAG_CONCURRENT : 0);
+			lOutput.writeVarint(lIdBound);
+			lOutput.writeVarint(pGraph.getVertexCount());
+			lOutput.writeVarint(lEdgeCount);
+
+			for (int v = 0; v < lIdBound; v++) {
+				Vertex lVertex = pGraph.getVertex(v);
+				lOutput.writeString(lVertex == null ? null : lVertex.getLabel());
+			}
+
+			lOutput.writeVarint(lEdgeLabels.size());
+			for (String lEdgeLabel : lEdgeLabels) {
+				lOutput.writeString(lEdgeLabel);
+			}
+
+			for (int v = 0; v < lIdBound; v++) {
+				Vertex lVertex = pGraph.getVertex(v);
+				if (lVertex == null) {
+					continue;
+				}
+				List<Edge> lOutgoingEdges = lVertex.getOutgoingEdges();
+				lOutput.writeVarint(lOutgoingEdges.size());
+				int lPreviousId = v;
+				for (int i = 0; i < lOutgoingEdges.size(); i++) {
+					Edge lEdge = lOutgoingEdges.get(i);
+					int lToId = lEdge.getToVertex().getId();
+					lOutput.writeVarint(zigzag(lToId - lPreviousId));
+					lOutput.writeVarint(zigzag(lEdge.getWeight()));
+					lOutput.writeVarint(lEdgeLabelIndexes.get(lEdge.getLabel()));
+					lPreviousId = lToId;
+				}
+			}
+			lOutput.flush();
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return false;
+		} finally {
+			pGraph.getReadLock().unlock();
+			if (lFileOutputStream != null) {
+				lFileOutputStream.close();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads a graph back in from a file.  If the file cannot be read, is not a graph file, was written by a newer
+	 * version, or is cut short or corrupt, an error is printed out and null is returned.
+	 *
+	 * @param pFileName The name of the file
+	 * @return The graph in the file
+	 */
+	static Digraph read(String pFileName) throws IOException {
+		FileInputStream lFileInputStream = null;
+
+		try {
+			lFileInputStream = new FileInputStream(pFileName);
+			Input lInput = new Input(lFileInputStream.getChannel());
+			if (lInput.readInt() != MAGIC) {
+				System.out.println("The file is not a graph file.");
+				return null;
+			}
+			int lVersion = lInput.readByte();
+			if (lVersion > VERSION) {
+				System.out.println("The graph file is version " + lVersion + ", which is newer than this version can "
+					+ "read.");
+				return null;
+			}
+			int lFlags = lInput.readVarint();
+			int lIdBound = lInput.readVarint();
+			int lVertexCount = lInput.readVarint();
+			int lEdgeCount = lInput.readVarint();
+			//Every id and edge takes at least a byte, which keeps a corrupt count from being used as an array size
+			if (lIdBound < 0 || lVertexCount < 0 || lVertexCount > lIdBound || lEdgeCount < 0
+				|| lIdBound > lInput.getFileSize() || lEdgeCount > lInput.getFileSize()) {
+				throw new IOException("The graph file is corrupt.");
+			}
+
+			Vertex[] lVerticesById = new Vertex[lIdBound];
+			List<Vertex> lVertices = new ArrayList<Vertex>(lVertexCount);
+			for (int v = 0; v < lIdBound; v++) {
+				String lLabel = lInput.readString();
+				if (lLabel != null) {
+					lVerticesById[v] = new Vertex(lLabel);
+					lVerticesById[v].setId(v);
+					lVertices.add(lVerticesById[v]);
+				}
+			}
+
+			int lEdgeLabelCount = lInput.readVarint();
+			if (lEdgeLabelCount < 0 || lEdgeLabelCount > lInput.getFileSize()) {
+				throw new IOException("The graph file is corrupt.");
+			}
+			String[] lEdgeLabels = new String[lEdgeLabelCount];
+			for (int i = 0; i < lEdgeLabels.length; i++) {
+				lEdgeLabels[i] = lInput.readString();
+			}
+
+			for (Vertex lVertex : lVertices) {
+				int lOutDegree = lInput.readVarint();
+				int lPreviousId = lVertex.getId();
+				for (int i = 0; i < lOutDegree; i++) {
+					int lToId = lPreviousId + unzigzag(lInput.readVarint());
+					int lWeight = unzigzag(lInput.readVarint());
+					int lLabelIndex = lInput.readVarint();
+					if (lToId < 0 || lToId >= lIdBound || lVerticesById[lToId] == null || lLabelIndex < 0
+						|| lLabelIndex >= lEdgeLabels.length) {
+						throw new IOException("The graph file is corrupt.");
+					}
+
+					Edge lEdge = new Edge(lVertex, lVerticesById[lToId], lWeight, lEdgeLabels[lLabelIndex]);
+					lVertex.appendOutgoingEdge(lEdge);
+					lVerticesById[lToId].appendIncomingEdge(lEdge);
+					lPreviousId = lToId;
+				}
+			}
+
+			Digraph lGraph = (lFlags & FLAG_CONCURRENT) != 0 ? new ConcurrentDigraph()
+				: new Digraph(lVertexCount, lEdgeCount);
+			lGraph.restoreVertices(lVertices);
+			return lGraph;
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return null;
+		} finally {
+			if (lFileInputStream != null) {
+				lFileInputStream.close();
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param pFileName The name of a file
+	 * @return True if the file was written by an ObjectOutputStream, which is how graphs were saved before there was
+	 * a graph file format, False if it was not or cannot be read
+	 */
+	static boolean isSerializedGraph(String pFileName) {
+		FileInputStream lFileInputStream = null;
+		try {
+			lFileInputStream = new FileInputStream(pFileName);
+			int lFirstByte = lFileInputStream.read();
+			int lSecondByte = lFileInputStream.read();
+			return (lFirstByte << 8 | lSecondByte) == SERIALIZATION_MAGIC;
+		} catch (IOException pException) {
+			return false;
+		} finally {
+			if (lFileInputStream != null) {
+				try {
+					lFileInputStream.close();
+				} catch (IOException pException) {
+					//The file was only read, so nothing is lost if it cannot be closed
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param pValue A number that may be negative
+	 * @return The number with its sign moved to the lowest bit, so small negative numbers become small varints
+	 */
+	private static int zigzag(int pValue) {
+		return (pValue << 1) ^ (pValue >> 31);
+	}
+
+	/**
+	 *
+	 * @param pValue A zigzag encoded number
+	 * @return The number it encodes
+	 */
+	private static int unzigzag(int pValue) {
+		return (pValue >>> 1) ^ -(pValue & 1);
+	}
+
+	/**
+	 * Writes numbers and strings to a channel through a buffer
+	 */
+	private static final class Output {
+
+		private final FileChannel channel;
+		private final byte[] bytes = new byte[BUFFER_SIZE];
+		private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		private int position;
+
+		Output(FileChannel pChannel) {
+			channel = pChannel;
+		}
+
+		void writeByte(int pValue) throws IOException {
+			if (position == bytes.length) {
+				flush();
+			}
+			bytes[position++] = (byte) pValue;
+		}
+
+		void writeInt(int pValue) throws IOException {
+			for (int lShift = 24; lShift >= 0; lShift -= 8) {
+				writeByte(pValue >>> lShift);
+			}
+		}
+
+		void writeVarint(int pValue) throws IOException {
+			if (bytes.length - position < 5) {
+				flush();
+			}
+			while ((pValue & ~0x7F) != 0) {
+				bytes[position++] = (byte) ((pValue & 0x7F) | 0x80);
+				pValue >>>= 7;
+			}
+			bytes[position++] = (byte) pValue;
+		}
+
+		void writeString(String pValue) throws IOException {
+			if (pValue == null) {
+				writeVarint(0);
+				return;
+			}
+			byte[] lBytes = pValue.getBytes(StandardCharsets.UTF_8);
+			writeVarint(lBytes.length + 1);
+			int lWritten = 0;
+			while (lWritten < lBytes.length) {
+				if (position == bytes.length) {
+					flush();
+				}
+				int lLength = Math.min(lBytes.length - lWritten, bytes.length - position);
+				System.arraycopy(lBytes, lWritten, bytes, position, lLength);
+				position += lLength;
+				lWritten += lLength;
+			}
+		}
+
+		/**
+		 * Writes out everything in the buffer
+		 */
+		void flush() throws IOException {
+			buffer.clear();
+			buffer.limit(position);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			position = 0;
+		}
+	}
+
+	/**
+	 * Reads numbers and strings from a channel through a buffer
+	 */
+	private static final class Input {
+
+		private final FileChannel channel;
+		private final byte[] bytes = new byte[BUFFER_SIZE];
+		private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		private int position;
+		private int limit;
+
+		Input(FileChannel pChannel) {
+			channel = pChannel;
+		}
+
+		int readByte() throws IOException {
+			if (position == limit) {
+				fill();
+			}
+			return bytes[position++] & 0xFF;
+		}
+
+		int readInt() throws IOException {
+			int lValue = 0;
+			for (int i = 0; i < 4; i++) {
+				lValue = lValue << 8 | readByte();
+			}
+			return lValue;
+		}
+
+		int readVarint() throws IOException {
+			int lValue = 0;
+			for (int lShift = 0; lShift < 35; lShift += 7) {
+				int lByte = readByte();
+				lValue |= (lByte & 0x7F) << lShift;
+				if ((lByte & 0x80) == 0) {
+					return lValue;
+				}
+			}
+			throw new IOException("The graph file is corrupt.");
+		}
+
+		String readString() throws IOException {
+			int lLength = readVarint() - 1;
+			if (lLength < 0) {
+				return null;
+			}
+			if (lLength > getFileSize()) {
+				throw new IOException("The graph file is corrupt.");
+			}
+			byte[] lBytes = new byte[lLength];
+			int lRead = 0;
+			while (lRead < lLength) {
+				if (position == limit) {
+					fill();
+				}
+				int lChunk = Math.min(lLength - lRead, limit - position);
+				System.arraycopy(bytes, position, lBytes, lRead, lChunk);
+				position += lChunk;
+				lRead += lChunk;
+			}
+			return new String(lBytes, StandardCharsets.UTF_8);
+		}
+
+		long getFileSize() throws IOException {
+			return channel.size();
+		}
+
+		/**
+		 * Reads the next part of the file into the buffer, which has been used up
+		 */
+		private void fill() throws IOException {
+			buffer.clear();
+			int lRead = 0;
+			while (lRead == 0) {
+				lRead = channel.read(buffer);
+			}
+			if (lRead < 0) {
+				throw new EOFException("The graph file ends too soon.");
+			}
+			position = 0;
+			limit = lRead;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+
+import org.junit.Test;
+
+public class GraphFileTest {
+
+	@Test
+	public void testSaveAndRead() throws Exception {
+		Digraph lDigraph = new Digraph();
+		for (int i = 0; i < 300; i++) {
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + (i * 7 % 300)), i % 5 - 2);
+		}
+		lDigraph.addEdge(new Edge(lDigraph.getVertex("V1"), lDigraph.getVertex("V2"), 9, "Ferry"));
+		lDigraph.addEdge(new Edge(lDigraph.getVertex("V1"), new Vertex("\u00e9t\u00e9"), 4, null));
+		int lRemovedId = lDigraph.getVertexId("V10");
+		lDigraph.removeVertex(lDigraph.getVertex("V10"));
+
+		assertTrue(Digraph.saveGraphToFile(lDigraph, "GraphFileTestFile"));
+		Digraph lReadGraph = Digraph.readGraphFromFile("GraphFileTestFile");
+		assertNotNull(lReadGraph);
+		assertEquals(lDigraph, lReadGraph);
+
+		//Every vertex keeps its id and the order of its outgoing edges, and the free id is handed out again
+		for (Vertex lVertex : lDigraph.getVertices()) {
+			Vertex lReadVertex = lReadGraph.getVertex(lVertex.getLabel());
+			assertEquals(lVertex.getId(), lReadVertex.getId());
+			for (int i = 0; i < lVertex.getOutgoingEdges().size(); i++) {
+				Edge lEdge = lVertex.getOutgoingEdges().get(i);
+				Edge lReadEdge = lReadVertex.getOutgoingEdges().get(i);
+				assertEquals(lEdge, lReadEdge);
+				assertEquals(lEdge.getLabel(), lReadEdge.getLabel());
+			}
+		}
+		assertNull(lReadGraph.getVertex(lRemovedId));
+		lReadGraph.addVertex(new Vertex("New"));
+		assertEquals(lRemovedId, lReadGraph.getVertexId("New"));
+
+		//The read graph is indexed like any other
+		assertTrue(lReadGraph.containsEdge(new Edge(lReadGraph.getVertex("V1"), lReadGraph.getVertex("V2"), 9)));
+		lReadGraph.removeEdge(new Edge(lReadGraph.getVertex("V1"), lReadGraph.getVertex("V2"), 9));
+		assertEquals(lDigraph.getEdgeCount() - 1, lReadGraph.getEdgeCount());
+
+		//The file is much smaller than the graph saved with Java serialization
+		ObjectOutputStream lObjectOutputStream = new ObjectOutputStream(new FileOutputStream("GraphFileTestOldFile"));
+		lObjectOutputStream.writeObject(lDigraph);
+		lObjectOutputStream.close();
+		assertTrue(new File("GraphFileTestFile").length() * 4 < new File("GraphFileTestOldFile").length());
+	}
+
+	@Test
+	public void testReadOldAndBadFiles() throws Exception {
+		Digraph lDigraph = new Digraph();
+		lDigraph.addEdge(new Vertex("V1"), new Vertex("V2"), 3);
+		lDigraph.addEdge(new Vertex("V2"), new Vertex("V3"), 4);
+
+		//A graph saved with Java serialization can still be read, and saved again in the new format
+		ObjectOutputStream lObjectOutputStream = new ObjectOutputStream(new FileOutputStream("GraphFileTestOldFile"));
+		lObjectOutputStream.writeObject(lDigraph);
+		lObjectOutputStream.close();
+		Digraph lOldGraph = Digraph.readGraphFromFile("GraphFileTestOldFile");
+		assertEquals(lDigraph, lOldGraph);
+		assertTrue(Digraph.saveGraphToFile(lOldGraph, "GraphFileTestFile"));
+		assertEquals(lDigraph, Digraph.readGraphFromFile("GraphFileTestFile"));
+
+		//A file that is cut short is not read
+		RandomAccessFile lFile = new RandomAccessFile("GraphFileTestFile", "rw");
+		lFile.setLength(lFile.length() - 2);
+		lFile.close();
+		assertNull(Digraph.readGraphFromFile("GraphFileTestFile"));
+
+		//Nor is a file written by a newer version
+		assertTrue(Digraph.saveGraphToFile(lDigraph, "GraphFileTestFile"));
+		lFile = new RandomAccessFile("GraphFileTestFile", "rw");
+		lFile.seek(4);
+		lFile.write(GraphFile.VERSION + 1);
+		lFile.close();
+		assertNull(Digraph.readGraphFromFile("GraphFileTestFile"));
+
+		assertNull(Digraph.readGraphFromFile("GraphFileTestMissingFile"));
+	}
+}
@@ -0,0 +1,831 @@
+package graphAssignment;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps a Digraph on disk as it changes, without saving the whole graph after every change.  Every change made to the
+ * graph is appended to a write-ahead log, and now and then checkpoint() saves a snapshot of the graph and starts a new,
+ * empty log.  After a crash, open() reads the last snapshot and replays the log written since.
+ *
+ * <p>
+ * The log is told about each change as a GraphChangeListener, so a change costs only the time it takes to add a
+ * record to a buffer in memory.  A background thread writes the buffer to the log and forces it to disk, over and over,
+ * so the changes made while one write is being forced are all forced together by the next one: a group commit.  A
+ * change is durable once sync() has returned after it.  A thread that needs each of its changes to be durable calls
+ * sync() after it, and threads doing that at the same time share the cost of forcing the log.
+ * </p>
+ *
+ * <p>
+ * For a base name of "roads", generation g is kept as the snapshot "roads.g.snapshot", which is the graph when the
+ * generation started, and the log "roads.g.log", which has the changes made since.  Generation 0 has no snapshot, and
+ * starts from an empty graph.  A checkpoint writes the next snapshot to a temporary file, and only renames it into
+ * place once the next log is on disk, so a crash part way through leaves the last generation as it was.  It only
+ * deletes the files of the earlier generations once the new ones are in place.  Each record of the log has its length
+ * and a CRC32 of its contents in front of it, so a record that was only partly written when the process died is found
+ * and dropped.
+ * </p>
+ *
+ * <p>
+ * Vertices and edges are found by their labels when the log is replayed, so the graph comes back with the same
+ * vertices, edges, weights and edge labels.  A vertex added after a vertex was removed may get a different id than it
+ * had, since the snapshot does not keep the order the free ids were going to be handed out in.  A ConcurrentDigraph
+ * does not tell listeners about changes, so it cannot be logged.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class GraphLog implements GraphChangeListener {
+
+	//"PLOG"
+	static final int MAGIC = 0x504C4F47;
+	static final int VERSION = 1;
+
+	private static final byte ADD_VERTEX = 1;
+	private static final byte REMOVE_VERTEX = 2;
+	private static final byte ADD_EDGE = 3;
+	private static final byte REMOVE_EDGE = 4;
+	private static final byte SET_WEIGHT = 5;
+
+	//The length and CRC32 in front of each record
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final int LOG_HEADER_SIZE = 8;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	//Used by the tests to make a checkpoint fail just after its snapshot is renamed into place
+	static volatile boolean isFailingAfterRename;
+
+	private final Digraph graph;
+	private final File directory;
+	private final String baseName;
+	private long generation;
+
+	//Guarded by this.  Records are added to batch while the writer thread writes out the batch before it.
+	private FileChannel channel;
+	private byte[] batch = new byte[BUFFER_SIZE];
+	private byte[] spareBatch = new byte[BUFFER_SIZE];
+	private int batchLength;
+	private long appendedCount;
+	private long durableCount;
+	private IOException failure;
+	private boolean isClosed;
+
+	private final CRC32 crc = new CRC32();
+	private final Thread writer;
+	private final Object checkpointLock = new Object();
+
+	/**
+	 * Class constructor, which starts the thread that writes the log
+	 *
+	 * @param pGraph The graph being logged
+	 * @param pBaseFile The directory and base name of the files
+	 * @param pGeneration The generation being logged
+	 * @param pChannel The log of the generation, positioned at its end
+	 */
+	private GraphLog(Digraph pGraph, File pBaseFile, long pGeneration, FileChannel pChannel) {
+		graph = pGraph;
+		directory = pBaseFile.getParentFile();
+		baseName = pBaseFile.getName();
+		generation = pGeneration;
+		channel = pChannel;
+
+		writer = new Thread(this::writeBatches, "GraphLog writer for " + baseName);
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Opens the graph kept under a base name, reading its last snapshot and replaying its log, and starts logging the
+	 * changes made to it.  If nothing has been kept under the name yet, the graph starts out empty.  If the files
+	 * cannot be read or written, an error is printed out and null is returned.
+	 *
+	 * @param pBaseName The path and base name of the files, such as "data/roads"
+	 * @return The log, whose graph is getGraph()
+	 */
+	public static GraphLog open(String pBaseName) throws IOException {
+		if (pBaseName == null || pBaseName.isEmpty()) {
+			System.out.println("A base name must be provided.");
+			return null;
+		}
+
+		File lBaseFile = new File(pBaseName).getAbsoluteFile();
+		long lGeneration = findLastSnapshot(lBaseFile);
+		Digraph lGraph = lGeneration == 0 ? new Digraph()
+			: GraphFile.read(getFile(lBaseFile, lGeneration, ".snapshot").getPath());
+		if (lGraph == null) {
+			return null;
+		}
+		if (lGraph instanceof ConcurrentDigraph) {
+			System.out.println("A ConcurrentDigraph cannot be logged.");
+			return null;
+		}
+
+		FileChannel lChannel = null;
+		try {
+			File lLogFile = getFile(lBaseFile, lGeneration, ".log");
+			long lLogEnd = lLogFile.exists() ? replay(lGraph, lLogFile) : 0;
+			lChannel = FileChannel.open(lLogFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			if (lLogEnd < LOG_HEADER_SIZE) {
+				writeLogHeader(lChannel);
+			} else {
+				//Drop a record that was only partly written
+				lChannel.truncate(lLogEnd);
+				lChannel.position(lLogEnd);
+			}
+			deleteEarlierGenerations(lBaseFile, lGeneration);
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			if (lChannel != null) {
+				lChannel.close();
+			}
+			return null;
+		}
+
+		GraphLog lLog = new GraphLog(lGraph, lBaseFile, lGeneration, lChannel);
+		lGraph.addGraphChangeListener(lLog);
+		return lLog;
+	}
+
+	/**
+	 * Starts keeping a graph under a base name, replacing anything already kept under it.  A snapshot of the graph is
+	 * saved as it is now, and every change made to it from now on is logged.  If the graph is null or a
+	 * ConcurrentDigraph, or the files cannot be written, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph to keep
+	 * @param pBaseName The path and base name of the files, such as "data/roads"
+	 * @return The log
+	 */
+	public static GraphLog create(Digraph pGraph, String pBaseName) throws IOException {
+		if (pGraph == null || pGraph instanceof ConcurrentDigraph) {
+			System.out.println("The graph must be provided, and cannot be a ConcurrentDigraph.");
+			return null;
+		}
+		if (pBaseName == null || pBaseName.isEmpty()) {
+			System.out.println("A base name must be provided.");
+			return null;
+		}
+
+		File lBaseFile = new File(pBaseName).getAbsoluteFile();
+		long lGeneration = Math.max(findLastSnapshot(lBaseFile), findLastLog(lBaseFile)) + 1;
+
+		//The graph cannot change between the snapshot and the log starting
+		pGraph.getReadLock().lock();
+		try {
+			FileChannel lChannel = startGeneration(pGraph, lBaseFile, lGeneration);
+			if (lChannel == null) {
+				return null;
+			}
+			deleteEarlierGenerations(lBaseFile, lGeneration);
+
+			GraphLog lLog = new GraphLog(pGraph, lBaseFile, lGeneration, lChannel);
+			pGraph.addGraphChangeListener(lLog);
+			return lLog;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 *
+	 * @return The graph being logged
+	 */
+	public Digraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 *
+	 * @return The generation being logged, which goes up by one with each checkpoint
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Waits until every change made to the graph so far is on disk.
+	 *
+	 * @return True if the changes are on disk, False if the log could not be written or has been closed
+	 */
+	public synchronized boolean sync() {
+		long lTarget = appendedCount;
+		boolean lIsInterrupted = false;
+		while (durableCount < lTarget && failure == null && writer.isAlive()) {
+			try {
+				wait();
+			} catch (InterruptedException pException) {
+				lIsInterrupted = true;
+			}
+		}
+		if (lIsInterrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure != null) {
+			System.out.println("Exception: " + failure.getMessage());
+			return false;
+		}
+		return durableCount >= lTarget;
+	}
+
+	/**
+	 * Saves a snapshot of the graph and starts a new, empty log, then deletes the files of the earlier generations.
+	 * The graph cannot be changed while the snapshot is written.  If the snapshot cannot be written, an error is
+	 * printed out and the graph goes on being logged in the current generation.
+	 *
+	 * @return True if the new generation was started, False otherwise
+	 */
+	public boolean checkpoint() throws IOException {
+		File lBaseFile = new File(directory, baseName);
+
+		//Only one checkpoint at a time, since any number of threads can hold the read lock
+		synchronized (checkpointLock) {
+			graph.getReadLock().lock();
+			try {
+				//Nothing can be logged while the read lock is held, so once the log is synced it is finished
+				if (isClosed()) {
+					System.out.println("The log has been closed.");
+					return false;
+				}
+				if (!sync()) {
+					return false;
+				}
+
+				FileChannel lChannel = startGeneration(graph, lBaseFile, getGeneration() + 1);
+				if (lChannel == null) {
+					return false;
+				}
+
+				FileChannel lOldChannel;
+				synchronized (this) {
+					lOldChannel = channel;
+					channel = lChannel;
+					generation++;
+				}
+				lOldChannel.close();
+			} finally {
+				graph.getReadLock().unlock();
+			}
+
+			deleteEarlierGenerations(lBaseFile, getGeneration());
+			return true;
+		}
+	}
+
+	/**
+	 *
+	 * @return True if the log has been closed, False otherwise
+	 */
+	public synchronized boolean isClosed() {
+		return isClosed;
+	}
+
+	/**
+	 * Stops logging the graph, once every change made to it so far is on disk.  The graph can go on being used, but
+	 * its changes are no longer kept.
+	 *
+	 * @return True if every change was written, False otherwise
+	 */
+	public boolean close() throws IOException {
+		synchronized (checkpointLock) {
+			graph.removeGraphChangeListener(this);
+			boolean lIsSynced = sync();
+
+			synchronized (this) {
+				isClosed = true;
+				notifyAll();
+			}
+			try {
+				writer.join();
+			} catch (InterruptedException pException) {
+				Thread.currentThread().interrupt();
+			}
+			channel.close();
+			return lIsSynced;
+		}
+	}
+
+	@Override
+	public void vertexAdded(Digraph pGraph, Vertex pVertex) {
+		synchronized (this) {
+			int lStart = startRecord(ADD_VERTEX);
+			putString(pVertex.getLabel());
+			endRecord(lStart);
+		}
+	}
+
+	@Override
+	public void vertexRemoved(Digraph pGraph, Vertex pVertex, int pVertexId) {
+		synchronized (this) {
+			int lStart = startRecord(REMOVE_VERTEX);
+			putString(pVertex.getLabel());
+			endRecord(lStart);
+		}
+	}
+
+	@Override
+	public void edgeAdded(Digraph pGraph, Edge pEdge) {
+		synchronized (this) {
+			int lStart = startRecord(ADD_EDGE);
+			putString(pEdge.getFromVertex().getLabel());
+			putString(pEdge.getToVertex().getLabel());
+			putVarint(zigzag(pEdge.getWeight()));
+			putString(pEdge.getLabel());
+			endRecord(lStart);
+		}
+	}
+
+	@Override
+	public void edgeRemoved(Digraph pGraph, Edge pEdge) {
+		synchronized (this) {
+			int lStart = startRecord(REMOVE_EDGE);
+			putString(pEdge.getFromVertex().getLabel());
+			putString(pEdge.getToVertex().getLabel());
+			putVarint(zigzag(pEdge.getWeight()));
+			endRecord(lStart);
+		}
+	}
+
+	@Override
+	public void edgeWeightChanged(Digraph pGraph, Edge pEdge, int pOldWeight) {
+		synchronized (this) {
+			int lStart = startRecord(SET_WEIGHT);
+			putString(pEdge.getFromVertex().getLabel());
+			putString(pEdge.getToVertex().getLabel());
+			putVarint(zigzag(pOldWeight));
+			putVarint(zigzag(pEdge.getWeight()));
+			endRecord(lStart);
+		}
+	}
+
+	/**
+	 * Runs on the writer thread, writing out and forcing the records added since the last batch, until the log is
+	 * closed or cannot be written.  The records added while a batch is being forced make up the next batch.
+	 */
+	private void writeBatches() {
+		while (true) {
+			byte[] lBatch;
+			int lLength;
+			long lCount;
+			FileChannel lChannel;
+			synchronized (this) {
+				while (batchLength == 0 && !isClosed) {
+					try {
+						wait();
+					} catch (InterruptedException pException) {
+						//Only close() stops the writer
+					}
+				}
+				if (batchLength == 0) {
+					return;
+				}
+				lBatch = batch;
+				lLength = batchLength;
+				lCount = appendedCount;
+				lChannel = channel;
+				batch = spareBatch;
+				batchLength = 0;
+			}
+
+			try {
+				ByteBuffer lBuffer = ByteBuffer.wrap(lBatch, 0, lLength);
+				while (lBuffer.hasRemaining()) {
+					lChannel.write(lBuffer);
+				}
+				lChannel.force(false);
+			} catch (IOException pException) {
+				synchronized (this) {
+					failure = pException;
+					notifyAll();
+				}
+				return;
+			}
+
+			synchronized (this) {
+				spareBatch = lBatch.length > BUFFER_SIZE ? new byte[BUFFER_SIZE] : lBatch;
+				durableCount = lCount;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Starts a record in the batch, leaving room for its length and CRC32.  Must be called holding this.
+	 *
+	 * @param pType The kind of change
+	 * @return Where the record starts in the batch
+	 */
+	private int startRecord(byte pType) {
+		int lStart = batchLength;
+		ensureBatchCapacity(RECORD_HEADER_SIZE + 1);
+		batchLength += RECORD_HEADER_SIZE;
+		batch[batchLength++] = pType;
+		return lStart;
+	}
+
+	/**
+	 * Fills in the length and CRC32 of the record, and wakes the writer.  Must be called holding this.
+	 *
+	 * @param pStart Where the record starts in the batch
+	 */
+	private void endRecord(int pStart) {
+		int lContentStart = pStart + RECORD_HEADER_SIZE;
+		int lLength = batchLength - lContentStart;
+		crc.reset();
+		crc.update(batch, lContentStart, lLength);
+		putIntAt(pStart, lLength);
+		putIntAt(pStart + 4, (int) crc.getValue());
+		appendedCount++;
+		notifyAll();
+	}
+
+	private void putIntAt(int pPosition, int pValue) {
+		batch[pPosition] = (byte) (pValue >>> 24);
+		batch[pPosition + 1] = (byte) (pValue >>> 16);
+		batch[pPosition + 2] = (byte) (pValue >>> 8);
+		batch[pPosition + 3] = (byte) pValue;
+	}
+
+	private void putVarint(int pValue) {
+		ensureBatchCapacity(5);
+		while ((pValue & ~0x7F) != 0) {
+			batch[batchLength++] = (byte) ((pValue & 0x7F) | 0x80);
+			pValue >>>= 7;
+		}
+		batch[batchLength++] = (byte) pValue;
+	}
+
+	private void putString(String pValue) {
+		if (pValue == null) {
+			putVarint(0);
+			return;
+		}
+		byte[] lBytes = pValue.getBytes(StandardCharsets.UTF_8);
+		putVarint(lBytes.length + 1);
+		ensureBatchCapacity(lBytes.length);
+		System.arraycopy(lBytes, 0, batch, batchLength, lBytes.length);
+		batchLength += lBytes.length;
+	}
+
+	private void ensureBatchCapacity(int pLength) {
+		if (batch.length - batchLength < pLength) {
+			byte[] lBatch = new byte[Math.max(batch.length * 2, batchLength + pLength)];
+			System.arraycopy(batch, 0, lBatch, 0, batchLength);
+			batch = lBatch;
+		}
+	}
+
+	/**
+	 * Saves a snapshot of a graph that cannot change, and starts an empty log after it.  The snapshot is written to a
+	 * temporary file and forced to disk, then the new log is created and forced, and only then is the snapshot renamed
+	 * into place.  open() replays only the log of the last snapshot, so renaming it any earlier would let a failure
+	 * leave a snapshot whose log is missing, and the changes logged in the current generation would be skipped.  If
+	 * anything fails, the files of the new generation are deleted, including the snapshot if it was already renamed.
+	 *
+	 * @param pGraph The graph, whose read lock is held
+	 * @param pBaseFile The directory and base name of the files
+	 * @param pGeneration The generation to start
+	 * @return The new log, or null if an error was printed out
+	 */
+	private static FileChannel startGeneration(Digraph pGraph, File pBaseFile, long pGeneration) throws IOException {
+		File lSnapshotFile = getFile(pBaseFile, pGeneration, ".snapshot");
+		File lTemporaryFile = getFile(pBaseFile, pGeneration, ".snapshot.tmp");
+		File lLogFile = getFile(pBaseFile, pGeneration, ".log");
+		if (!GraphFile.write(pGraph, lTemporaryFile.getPath())) {
+			return null;
+		}
+
+		FileChannel lChannel = null;
+		boolean lIsRenamed = false;
+		try {
+			lChannel = FileChannel.open(lTemporaryFile.toPath(), StandardOpenOption.WRITE);
+			lChannel.force(true);
+			lChannel.close();
+			lChannel = null;
+
+			lChannel = FileChannel.open(lLogFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+			writeLogHeader(lChannel);
+			forceDirectory(pBaseFile.getParentFile());
+
+			Files.move(lTemporaryFile.toPath(), lSnapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			lIsRenamed = true;
+			if (isFailingAfterRename) {
+				throw new IOException("The checkpoint failed after the snapshot was renamed.");
+			}
+			forceDirectory(pBaseFile.getParentFile());
+			return lChannel;
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			if (lChannel != null) {
+				lChannel.close();
+			}
+
+			//Go back to the current generation, whose log goes on being written
+			if (lIsRenamed && !lSnapshotFile.delete()) {
+				System.out.println("The snapshot " + lSnapshotFile + " could not be deleted.");
+			}
+			lLogFile.delete();
+			lTemporaryFile.delete();
+			forceDirectory(pBaseFile.getParentFile());
+			return null;
+		}
+	}
+
+	/**
+	 * Forces the entries of a directory to disk, so that the files created, renamed and deleted in it stay that way
+	 * after a crash.  Some systems cannot open a directory, and there it is left to the file system.
+	 *
+	 * @param pDirectory The directory
+	 */
+	private static void forceDirectory(File pDirectory) {
+		FileChannel lChannel = null;
+		try {
+			lChannel = FileChannel.open(pDirectory.toPath(), StandardOpenOption.READ);
+			lChannel.force(true);
+		} catch (IOException pException) {
+			//The directory cannot be opened on this system
+		} finally {
+			if (lChannel != null) {
+				try {
+					lChannel.close();
+				} catch (IOException pException) {
+					//Nothing was written to it
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the header of a new log, and forces it to disk.
+	 *
+	 * @param pChannel The empty log
+	 */
+	private static void writeLogHeader(FileChannel pChannel) throws IOException {
+		ByteBuffer lHeader = ByteBuffer.allocate(LOG_HEADER_SIZE);
+		lHeader.putInt(MAGIC).putInt(VERSION).flip();
+		while (lHeader.hasRemaining()) {
+			pChannel.write(lHeader);
+		}
+		pChannel.force(true);
+	}
+
+	/**
+	 * Replays the records of a log on a graph, stopping at the first record that was not completely written.
+	 *
+	 * @param pGraph The graph as it was when the log was started
+	 * @param pLogFile The log
+	 * @return Where the last complete record ends, or 0 if the log does not even have a complete header
+	 */
+	private static long replay(Digraph pGraph, File pLogFile) throws IOException {
+		DataInputStream lInput = new DataInputStream(new BufferedInputStream(new FileInputStream(pLogFile),
+			BUFFER_SIZE));
+		long lFileLength = pLogFile.length();
+		CRC32 lCrc = new CRC32();
+		try {
+			if (lFileLength < LOG_HEADER_SIZE) {
+				return 0;
+			}
+			if (lInput.readInt() != MAGIC) {
+				throw new IOException("The file " + pLogFile + " is not a graph log.");
+			}
+			int lVersion = lInput.readInt();
+			if (lVersion > VERSION) {
+				throw new IOException("The graph log is version " + lVersion + ", which is newer than this version "
+					+ "can read.");
+			}
+
+			long lPosition = LOG_HEADER_SIZE;
+			while (lPosition + RECORD_HEADER_SIZE <= lFileLength) {
+				int lLength = lInput.readInt();
+				int lCrcValue = lInput.readInt();
+				if (lLength <= 0 || lLength > lFileLength - lPosition - RECORD_HEADER_SIZE) {
+					break;
+				}
+				byte[] lRecord = new byte[lLength];
+				lInput.readFully(lRecord);
+				lCrc.reset();
+				lCrc.update(lRecord, 0, lLength);
+				if ((int) lCrc.getValue() != lCrcValue) {
+					break;
+				}
+				apply(pGraph, new RecordReader(lRecord));
+				lPosition += RECORD_HEADER_SIZE + lLength;
+			}
+			return lPosition;
+		} catch (EOFException pException) {
+			throw new IOException("The graph log " + pLogFile + " ends too soon.");
+		} finally {
+			lInput.close();
+		}
+	}
+
+	/**
+	 * Makes the change of one record to the graph.
+	 *
+	 * @param pGraph The graph
+	 * @param pRecord The record, after its length and CRC32
+	 */
+	private static void apply(Digraph pGraph, RecordReader pRecord) throws IOException {
+		byte lType = pRecord.readByte();
+		if (lType == ADD_VERTEX) {
+			pGraph.addVertex(new Vertex(pRecord.readString()));
+		} else if (lType == REMOVE_VERTEX) {
+			pGraph.removeVertex(pGraph.getVertex(pRecord.readString()));
+		} else if (lType == ADD_EDGE) {
+			Vertex lFromVertex = getOrCreateVertex(pGraph, pRecord.readString());
+			Vertex lToVertex = getOrCreateVertex(pGraph, pRecord.readString());
+			int lWeight = unzigzag(pRecord.readVarint());
+			pGraph.addEdge(new Edge(lFromVertex, lToVertex, lWeight, pRecord.readString()));
+		} else if (lType == REMOVE_EDGE) {
+			Vertex lFromVertex = getOrCreateVertex(pGraph, pRecord.readString());
+			Vertex lToVertex = getOrCreateVertex(pGraph, pRecord.readString());
+			pGraph.removeEdge(new Edge(lFromVertex, lToVertex, unzigzag(pRecord.readVarint())));
+		} else if (lType == SET_WEIGHT) {
+			Vertex lFromVertex = pGraph.getVertex(pRecord.readString());
+			String lToLabel = pRecord.readString();
+			int lOldWeight = unzigzag(pRecord.readVarint());
+			int lNewWeight = unzigzag(pRecord.readVarint());
+			if (lFromVertex != null) {
+				for (Edge lEdge : lFromVertex.getOutgoingEdges()) {
+					if (lEdge.getWeight() == lOldWeight && lEdge.getToVertex().getLabel().equals(lToLabel)) {
+						lEdge.setWeight(lNewWeight);
+						break;
+					}
+				}
+			}
+		} else {
+			throw new IOException("The graph log has a record of an unknown kind, " + lType + ".");
+		}
+	}
+
+	/**
+	 *
+	 * @param pGraph A graph
+	 * @param pLabel The label of a vertex
+	 * @return The vertex of the graph with the label, or a new vertex with it if there is none
+	 */
+	private static Vertex getOrCreateVertex(Digraph pGraph, String pLabel) {
+		Vertex lVertex = pGraph.getVertex(pLabel);
+		return lVertex == null ? new Vertex(pLabel) : lVertex;
+	}
+
+	/**
+	 *
+	 * @param pBaseFile The directory and base name of the files
+	 * @return The last generation that has a snapshot, or 0 if none do
+	 */
+	private static long findLastSnapshot(File pBaseFile) {
+		return findLastGeneration(pBaseFile, ".snapshot");
+	}
+
+	/**
+	 *
+	 * @param pBaseFile The directory and base name of the files
+	 * @return The last generation that has a log, or 0 if none do
+	 */
+	private static long findLastLog(File pBaseFile) {
+		return findLastGeneration(pBaseFile, ".log");
+	}
+
+	/**
+	 *
+	 * @param pBaseFile The directory and base name of the files
+	 * @param pSuffix The suffix of the kind of file to look for
+	 * @return The last generation that has a file with the suffix, or 0 if none do
+	 */
+	private static long findLastGeneration(File pBaseFile, String pSuffix) {
+		long lLastGeneration = 0;
+		String[] lNames = pBaseFile.getParentFile().list();
+		if (lNames == null) {
+			return 0;
+		}
+		for (String lName : lNames) {
+			long lGeneration = getGeneration(pBaseFile, lName, pSuffix);
+			lLastGeneration = Math.max(lLastGeneration, lGeneration);
+		}
+		return lLastGeneration;
+	}
+
+	/**
+	 * Deletes the snapshots and logs of the generations before the given one, and any temporary files they left.
+	 *
+	 * @param pBaseFile The directory and base name of the files
+	 * @param pGeneration The generation being logged
+	 */
+	private static void deleteEarlierGenerations(File pBaseFile, long pGeneration) {
+		String[] lNames = pBaseFile.getParentFile().list();
+		if (lNames == null) {
+			return;
+		}
+		for (String lName : lNames) {
+			long lGeneration = Math.max(getGeneration(pBaseFile, lName, ".snapshot"),
+				getGeneration(pBaseFile, lName, ".log"));
+			if ((lGeneration >= 0 && lGeneration < pGeneration)
+				|| getGeneration(pBaseFile, lName, ".snapshot.tmp") >= 0) {
+				new File(pBaseFile.getParentFile(), lName).delete();
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param pBaseFile The directory and base name of the files
+	 * @param pName The name of a file in the directory
+	 * @param pSuffix The suffix of the kind of file
+	 * @return The generation of the file if it is one of the files of the base name with the suffix, and -1 if not.
+	 * Generation 0 only ever has a log.
+	 */
+	private static long getGeneration(File pBaseFile, String pName, String pSuffix) {
+		String lPrefix = pBaseFile.getName() + ".";
+		if (!pName.startsWith(lPrefix) || !pName.endsWith(pSuffix) || pName.length() <= lPrefix.length()
+			+ pSuffix.length()) {
+			return -1;
+		}
+		String lNumber = pName.substring(lPrefix.length(), pName.length() - pSuffix.length());
+		for (int i = 0; i < lNumber.length(); i++) {
+			if (!Character.isDigit(lNumber.charAt(i))) {
+				return -1;
+			}
+		}
+		try {
+			return Long.parseLong(lNumber);
+		} catch (NumberFormatException pException) {
+			return -1;
+		}
+	}
+
+	/**
+	 *
+	 * @param pBaseFile The directory and base name of the files
+	 * @param pGeneration A generation
+	 * @param pSuffix The kind of file
+	 * @return The file of the generation
+	 */
+	private static File getFile(File pBaseFile, long pGeneration, String pSuffix) {
+		return new File(pBaseFile.getParentFile(), pBaseFile.getName() + "." + pGeneration + pSuffix);
+	}
+
+	private static int zigzag(int pValue) {
+		return (pValue << 1) ^ (pValue >> 31);
+	}
+
+	private static int unzigzag(int pValue) {
+		return (pValue >>> 1) ^ -(pValue & 1);
+	}
+
+	/**
+	 * Reads the fields of one record
+	 */
+	private static final class RecordReader {
+
+		private final byte[] bytes;
+		private int position;
+
+		RecordReader(byte[] pBytes) {
+			bytes = pBytes;
+		}
+
+		byte readByte() throws IOException {
+			if (position >= bytes.length) {
+				throw new IOException("A record of the graph log is corrupt.");
+			}
+			return bytes[position++];
+		}
+
+		int readVarint() throws IOException {
+			int lValue = 0;
+			for (int lShift = 0; lShift < 35; lShift += 7) {
+				int lByte = readByte() & 0xFF;
+				lValue |= (lByte & 0x7F) << lShift;
+				if ((lByte & 0x80) == 0) {
+					return lValue;
+				}
+			}
+			throw new IOException("A record of the graph log is corrupt.");
+		}
+
+		String readString() throws IOException {
+			int lLength = readVarint() - 1;
+			if (lLength < 0) {
+				return null;
+			}
+			if (lLength > bytes.length - position) {
+				throw new IOException("A record of the graph log is corrupt.");
+			}
+			String lValue = new String(bytes, position, lLength, StandardCharsets.UTF_8);
+			position += lLength;
+			return lValue;
+		}
+	}
+}
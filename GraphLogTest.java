@@ -0,0 +1,134 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Test;
+
+public class GraphLogTest {
+
+	@Test
+	public void testRecovery() throws Exception {
+		deleteFiles("LogTestGraph");
+		GraphLog lLog = GraphLog.open("LogTestGraph");
+		assertNotNull(lLog);
+		Digraph lGraph = lLog.getGraph();
+		for (int i = 0; i < 50; i++) {
+			lGraph.addEdge(new Vertex("V" + i), new Vertex("V" + (i * 7 % 50)), i % 5 + 1, "Road" + i);
+		}
+		lGraph.addVertex(new Vertex("\u00e9t\u00e9"));
+		assertTrue(lLog.sync());
+		assertTrue(lLog.close());
+
+		//Reopening replays the log onto an empty graph
+		lLog = GraphLog.open("LogTestGraph");
+		assertEquals(lGraph, lLog.getGraph());
+		assertEquals(0, lLog.getGeneration());
+
+		//A checkpoint starts a new log, and the changes after it are replayed onto the snapshot
+		lGraph = lLog.getGraph();
+		lGraph.removeVertex(lGraph.getVertex("V3"));
+		assertTrue(lLog.checkpoint());
+		assertEquals(1, lLog.getGeneration());
+		assertFalse(new File("LogTestGraph.0.log").exists());
+		lGraph.getVertex("V1").getOutgoingEdges().get(0).setWeight(40);
+		lGraph.removeEdge(lGraph.getVertex("V2").getOutgoingEdges().get(0));
+		lGraph.addEdge(new Vertex("V3"), new Vertex("V4"), -2);
+		assertTrue(lLog.close());
+
+		GraphLog lRecovered = GraphLog.open("LogTestGraph");
+		Digraph lRecoveredGraph = lRecovered.getGraph();
+		assertEquals(lGraph, lRecoveredGraph);
+		assertEquals(40, lRecoveredGraph.getVertex("V1").getOutgoingEdges().get(0).getWeight());
+		assertEquals("Road1", lRecoveredGraph.getVertex("V1").getOutgoingEdges().get(0).getLabel());
+		assertTrue(lRecoveredGraph.getVertex("V2").getOutgoingEdges().isEmpty());
+		assertTrue(lRecovered.close());
+
+		assertNull(GraphLog.create(new ConcurrentDigraph(), "LogTestGraph"));
+		assertNull(GraphLog.open(""));
+	}
+
+	@Test
+	public void testTornRecord() throws Exception {
+		deleteFiles("LogTestGraph");
+		Digraph lGraph = new Digraph();
+		lGraph.addEdge(new Vertex("A"), new Vertex("B"), 2);
+		GraphLog lLog = GraphLog.create(lGraph, "LogTestGraph");
+		assertNotNull(lLog);
+		lGraph.addEdge(new Vertex("B"), new Vertex("C"), 3);
+		lGraph.addEdge(new Vertex("C"), new Vertex("D"), 4);
+		assertTrue(lLog.close());
+
+		//The last record was only partly written when the process died, so the edge it added is lost, though the vertex
+		//added for it before it is not
+		RandomAccessFile lFile = new RandomAccessFile("LogTestGraph.1.log", "rw");
+		long lLength = lFile.length();
+		lFile.setLength(lLength - 3);
+		lFile.close();
+
+		lLog = GraphLog.open("LogTestGraph");
+		Digraph lRecovered = lLog.getGraph();
+		assertTrue(lRecovered.containsEdge(new Edge(new Vertex("B"), new Vertex("C"), 3)));
+		assertTrue(lRecovered.getVertex("C").getOutgoingEdges().isEmpty());
+		assertEquals(4, lRecovered.getVertexCount());
+
+		//The torn record is cut off, so the changes logged after it are replayed too
+		lRecovered.addEdge(new Vertex("C"), new Vertex("A"), 5);
+		assertTrue(lLog.close());
+		lLog = GraphLog.open("LogTestGraph");
+		assertEquals(lRecovered, lLog.getGraph());
+		assertTrue(lLog.close());
+
+		//A record whose contents do not match its CRC32 is not replayed
+		lFile = new RandomAccessFile("LogTestGraph.1.log", "rw");
+		lFile.seek(lFile.length() - 2);
+		lFile.write('X');
+		lFile.close();
+		lLog = GraphLog.open("LogTestGraph");
+		assertTrue(lLog.getGraph().getVertex("C").getOutgoingEdges().isEmpty());
+		assertTrue(lLog.close());
+	}
+
+	@Test
+	public void testCheckpointFailsAfterRename() throws Exception {
+		deleteFiles("LogTestGraph");
+		Digraph lGraph = new Digraph();
+		lGraph.addEdge(new Vertex("A"), new Vertex("B"), 2);
+		GraphLog lLog = GraphLog.create(lGraph, "LogTestGraph");
+		assertNotNull(lLog);
+		lGraph.addEdge(new Vertex("B"), new Vertex("C"), 3);
+
+		//The snapshot of the failed checkpoint is taken back out, so the graph goes on being logged in generation 1
+		GraphLog.isFailingAfterRename = true;
+		try {
+			assertFalse(lLog.checkpoint());
+		} finally {
+			GraphLog.isFailingAfterRename = false;
+		}
+		assertEquals(1, lLog.getGeneration());
+		assertFalse(new File("LogTestGraph.2.snapshot").exists());
+		assertFalse(new File("LogTestGraph.2.log").exists());
+
+		//Reopening replays the changes made after the failed checkpoint
+		lGraph.addEdge(new Vertex("C"), new Vertex("D"), 4);
+		assertTrue(lLog.close());
+		lLog = GraphLog.open("LogTestGraph");
+		assertEquals(lGraph, lLog.getGraph());
+		assertTrue(lLog.getGraph().containsEdge(new Edge(new Vertex("C"), new Vertex("D"), 4)));
+
+		//A later checkpoint still works
+		assertTrue(lLog.checkpoint());
+		assertEquals(2, lLog.getGeneration());
+		assertTrue(lLog.close());
+	}
+
+	private void deleteFiles(String pBaseName) {
+		for (File lFile : new File(".").getAbsoluteFile().listFiles()) {
+			if (lFile.getName().startsWith(pBaseName + ".")) {
+				lFile.delete();
+			}
+		}
+	}
+}
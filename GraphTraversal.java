@@ -0,0 +1,152 @@
+package graphAssignment;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * This class has depth first and breadth first traversals of an indexed graph, such as a Digraph or a CsrGraph
+ * snapshot.  The traversals do not recurse: the visited vertices are kept in a BitSet indexed by vertex id, and the
+ * vertices still to be explored are kept in an int array, so a traversal of a very large graph needs no per-vertex
+ * objects and cannot overflow the call stack.
+ *
+ * @author Jessica Otte
+ *
+ */
+public class GraphTraversal {
+
+	/**
+	 * This class only has class methods
+	 */
+	private GraphTraversal() {
+	}
+
+	/**
+	 * Performs a depth first search of the graph, given a starting vertex.  The visitor is called for each vertex in
+	 * the order it is first reached (pre-order), which is the same order a recursive search would reach them in.  If
+	 * the graph is null or does not contain the starting vertex, an error is printed out and 0 is returned.
+	 *
+	 * @param pGraph The graph to search
+	 * @param pStartId The id of the starting vertex for the search
+	 * @param pVisitor Called for each vertex that is reached; the search stops as soon as it returns false
+	 * @return The number of vertices that were visited
+	 */
+	public static int depthFirstSearch(IndexedGraph pGraph, int pStartId, VertexVisitor pVisitor) {
+		//Validate the graph and the starting vertex
+		if (pGraph == null || !pGraph.containsVertex(pStartId)) {
+			System.out.println("The graph and starting vertex must be provided.");
+			return 0;
+		}
+
+		BitSet lVisited = new BitSet(pGraph.getVertexIdBound());
+		int lVisitedCount = 1;
+		lVisited.set(pStartId);
+		if (!pVisitor.visit(pStartId)) {
+			return lVisitedCount;
+		}
+
+		//The path from the starting vertex to the current vertex, with a cursor on the edge each one is following
+		EdgeCursor[] lCursors = new EdgeCursor[16];
+		lCursors[0] = pGraph.newOutgoingCursor();
+		lCursors[0].moveTo(pStartId);
+		int lDepth = 1;
+
+		while (lDepth > 0) {
+			EdgeCursor lCursor = lCursors[lDepth - 1];
+			if (!lCursor.next()) {
+				//Every edge of this vertex has been followed, so go back to the previous one
+				lDepth--;
+				continue;
+			}
+
+			int lNextVertex = lCursor.getAdjacentVertexId();
+			if (lVisited.get(lNextVertex)) {
+				continue;
+			}
+
+			//Visit the vertex and continue the search from there
+			lVisited.set(lNextVertex);
+			lVisitedCount++;
+			if (!pVisitor.visit(lNextVertex)) {
+				break;
+			}
+
+			if (lDepth == lCursors.length) {
+				lCursors = Arrays.copyOf(lCursors, lDepth * 2);
+			}
+			if (lCursors[lDepth] == null) {
+				lCursors[lDepth] = pGraph.newOutgoingCursor();
+			}
+			lCursors[lDepth].moveTo(lNextVertex);
+			lDepth++;
+		}
+
+		return lVisitedCount;
+	}
+
+	/**
+	 * Performs a breadth first search of the graph, given a starting vertex.  The visitor is called for each vertex in
+	 * order of the number of edges it is away from the starting vertex.  If the graph is null or does not contain the
+	 * starting vertex, an error is printed out and 0 is returned.
+	 *
+	 * @param pGraph The graph to search
+	 * @param pStartId The id of the starting vertex for the search
+	 * @param pVisitor Called for each vertex that is reached; the search stops as soon as it returns false
+	 * @return The number of vertices that were visited
+	 */
+	public static int breadthFirstSearch(IndexedGraph pGraph, int pStartId, VertexVisitor pVisitor) {
+		//Validate the graph and the starting vertex
+		if (pGraph == null || !pGraph.containsVertex(pStartId)) {
+			System.out.println("The graph and starting vertex must be provided.");
+			return 0;
+		}
+
+		BitSet lVisited = new BitSet(pGraph.getVertexIdBound());
+		int[] lQueue = new int[pGraph.getVertexIdBound()];
+		int lHead = 0;
+		int lTail = 0;
+
+		lVisited.set(pStartId);
+		lQueue[lTail++] = pStartId;
+		if (!pVisitor.visit(pStartId)) {
+			return lTail;
+		}
+
+		EdgeCursor lCursor = pGraph.newOutgoingCursor();
+		while (lHead < lTail) {
+			lCursor.moveTo(lQueue[lHead++]);
+			while (lCursor.next()) {
+				int lNextVertex = lCursor.getAdjacentVertexId();
+				if (lVisited.get(lNextVertex)) {
+					continue;
+				}
+
+				//Every vertex is queued at most once, so the queue never needs more room than there are vertex ids
+				lVisited.set(lNextVertex);
+				lQueue[lTail++] = lNextVertex;
+				if (!pVisitor.visit(lNextVertex)) {
+					return lTail;
+				}
+			}
+		}
+
+		return lTail;
+	}
+
+	/**
+	 * Checks if there is a path from one vertex to another, using a breadth first search that stops as soon as the
+	 * destination is found.
+	 *
+	 * @param pGraph The graph to search
+	 * @param pFromId The id of the vertex to start at
+	 * @param pToId The id of the vertex to look for
+	 * @return True if pToId can be reached from pFromId, False otherwise
+	 */
+	public static boolean isReachable(IndexedGraph pGraph, int pFromId, final int pToId) {
+		final boolean[] lFound = new boolean[1];
+		breadthFirstSearch(pGraph, pFromId, pVertexId -> {
+			lFound[0] = pVertexId == pToId;
+			return !lFound[0];
+		});
+		return lFound[0];
+	}
+}
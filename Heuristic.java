@@ -0,0 +1,23 @@
+package graphAssignment;
+
+/**
+ * An estimate of the distance between two vertices, used by AStarSearch to head toward the destination.  For the
+ * search to find the shortest path, the estimate must never be more than the real distance.  If it is also consistent,
+ * meaning the estimate at a vertex is never more than the weight of an edge plus the estimate at the other end of it,
+ * every vertex is settled at most once.
+ *
+ * @author Jessica Otte
+ *
+ */
+public interface Heuristic {
+
+	/**
+	 * Estimates the distance from a vertex to the destination of the search.
+	 *
+	 * @param pVertexId The id of the vertex the search has reached
+	 * @param pDestinationId The id of the destination vertex
+	 * @return A lower bound on the distance from the vertex to the destination, or Integer.MAX_VALUE if the
+	 * destination is known to be unreachable from the vertex
+	 */
+	public int estimate(int pVertexId, int pDestinationId);
+}
@@ -0,0 +1,20 @@
+package graphAssignment;
+
+/**
+ * A callback for EdgeListImporter, which is told how far through a file the import has got.  It is called on the
+ * thread that called the importer, after each chunk of the file has been added to the builder.
+ *
+ * @author Jessica Otte
+ *
+ */
+public interface ImportProgressListener {
+
+	/**
+	 * Called after each chunk of the file has been imported.
+	 *
+	 * @param pBytesRead The number of bytes of the file imported so far
+	 * @param pFileSize The size of the file, in bytes
+	 * @param pEdgesRead The number of edges imported so far
+	 */
+	public void progress(long pBytesRead, long pFileSize, long pEdgesRead);
+}
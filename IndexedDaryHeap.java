@@ -0,0 +1,218 @@
+package graphAssignment;
+
+import java.util.Arrays;
+
+/**
+ * An indexed d-ary heap implementation of IndexedPriorityQueue.  The heap is stored in flat arrays, along with the
+ * position of each item in the heap, so decrease-key and removal of the minimum both run in O(log n).  A wider heap
+ * (the default arity is 4) is shallower than a binary heap, which makes the frequent decrease-key operations cheaper
+ * and keeps the children of a node next to each other in memory.
+ *
+ * @author Jessica Otte
+ *
+ */
+public class IndexedDaryHeap implements IndexedPriorityQueue {
+
+	private final static int DEFAULT_ARITY = 4;
+	private final static int NOT_IN_HEAP = -1;
+
+	private final int arity;
+	private int size;
+
+	//The item and priority at each heap position
+	private int[] heapItems;
+	private int[] heapPriorities;
+
+	//The heap position of each item, or NOT_IN_HEAP
+	private int[] positions;
+
+	/**
+	 * Class constructor, which uses the default arity of 4
+	 *
+	 * @param pCapacity The number of distinct items (0 through pCapacity - 1) this heap can hold
+	 */
+	public IndexedDaryHeap(int pCapacity) {
+		this(pCapacity, DEFAULT_ARITY);
+	}
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pCapacity The number of distinct items (0 through pCapacity - 1) this heap can hold
+	 * @param pArity The number of children of each node in the heap; values below 2 are treated as 2
+	 */
+	public IndexedDaryHeap(int pCapacity, int pArity) {
+		arity = Math.max(2, pArity);
+		size = 0;
+		heapItems = new int[Math.max(0, pCapacity)];
+		heapPriorities = new int[Math.max(0, pCapacity)];
+		positions = new int[Math.max(0, pCapacity)];
+		Arrays.fill(positions, NOT_IN_HEAP);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int getCapacity() {
+		return positions.length;
+	}
+
+	@Override
+	public void ensureCapacity(int pCapacity) {
+		if (pCapacity <= positions.length) {
+			return;
+		}
+
+		int lOldCapacity = positions.length;
+		heapItems = Arrays.copyOf(heapItems, pCapacity);
+		heapPriorities = Arrays.copyOf(heapPriorities, pCapacity);
+		positions = Arrays.copyOf(positions, pCapacity);
+		Arrays.fill(positions, lOldCapacity, pCapacity, NOT_IN_HEAP);
+	}
+
+	@Override
+	public boolean contains(int pItem) {
+		return pItem >= 0 && pItem < positions.length && positions[pItem] != NOT_IN_HEAP;
+	}
+
+	@Override
+	public int getPriority(int pItem) {
+		return heapPriorities[positions[pItem]];
+	}
+
+	@Override
+	public void insert(int pItem, int pPriority) {
+		if (positions[pItem] != NOT_IN_HEAP) {
+			decreaseKey(pItem, pPriority);
+			return;
+		}
+
+		//Place the item at the bottom of the heap and move it up to where it belongs
+		int lPosition = size;
+		size++;
+		heapItems[lPosition] = pItem;
+		heapPriorities[lPosition] = pPriority;
+		positions[pItem] = lPosition;
+		siftUp(lPosition);
+	}
+
+	@Override
+	public void decreaseKey(int pItem, int pPriority) {
+		int lPosition = positions[pItem];
+		if (lPosition == NOT_IN_HEAP || pPriority >= heapPriorities[lPosition]) {
+			return;
+		}
+
+		heapPriorities[lPosition] = pPriority;
+		siftUp(lPosition);
+	}
+
+	@Override
+	public int getMinPriority() {
+		return size == 0 ? Integer.MAX_VALUE : heapPriorities[0];
+	}
+
+	@Override
+	public int removeMin() {
+		if (size == 0) {
+			return -1;
+		}
+
+		int lMinItem = heapItems[0];
+		positions[lMinItem] = NOT_IN_HEAP;
+		size--;
+
+		//Move the last item to the top and let it sink back down
+		if (size > 0) {
+			heapItems[0] = heapItems[size];
+			heapPriorities[0] = heapPriorities[size];
+			positions[heapItems[0]] = 0;
+			siftDown(0);
+		}
+
+		return lMinItem;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heapItems[i]] = NOT_IN_HEAP;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Moves the entry at the given heap position up until its parent has a lower or equal priority
+	 *
+	 * @param pPosition The heap position to start from
+	 */
+	private void siftUp(int pPosition) {
+		int lItem = heapItems[pPosition];
+		int lPriority = heapPriorities[pPosition];
+
+		while (pPosition > 0) {
+			int lParent = (pPosition - 1) / arity;
+			if (heapPriorities[lParent] <= lPriority) {
+				break;
+			}
+
+			//Shift the parent down into the hole
+			heapItems[pPosition] = heapItems[lParent];
+			heapPriorities[pPosition] = heapPriorities[lParent];
+			positions[heapItems[pPosition]] = pPosition;
+			pPosition = lParent;
+		}
+
+		heapItems[pPosition] = lItem;
+		heapPriorities[pPosition] = lPriority;
+		positions[lItem] = pPosition;
+	}
+
+	/**
+	 * Moves the entry at the given heap position down until all of its children have a higher or equal priority
+	 *
+	 * @param pPosition The heap position to start from
+	 */
+	private void siftDown(int pPosition) {
+		int lItem = heapItems[pPosition];
+		int lPriority = heapPriorities[pPosition];
+
+		while (true) {
+			int lFirstChild = pPosition * arity + 1;
+			if (lFirstChild >= size) {
+				break;
+			}
+
+			//Find the child with the lowest priority
+			int lLastChild = Math.min(lFirstChild + arity, size);
+			int lMinChild = lFirstChild;
+			for (int lChild = lFirstChild + 1; lChild < lLastChild; lChild++) {
+				if (heapPriorities[lChild] < heapPriorities[lMinChild]) {
+					lMinChild = lChild;
+				}
+			}
+
+			if (heapPriorities[lMinChild] >= lPriority) {
+				break;
+			}
+
+			//Shift the smallest child up into the hole
+			heapItems[pPosition] = heapItems[lMinChild];
+			heapPriorities[pPosition] = heapPriorities[lMinChild];
+			positions[heapItems[pPosition]] = pPosition;
+			pPosition = lMinChild;
+		}
+
+		heapItems[pPosition] = lItem;
+		heapPriorities[pPosition] = lPriority;
+		positions[lItem] = pPosition;
+	}
+}
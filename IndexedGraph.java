@@ -0,0 +1,84 @@
+package graphAssignment;
+
+/**
+ * A directed graph whose vertices are identified by integer ids, so that algorithms can keep their state in plain
+ * arrays indexed by vertex id instead of maps keyed on Vertex objects.  Vertex ids run from 0 to
+ * getVertexIdBound() - 1.  An id in that range might not be in use, in which case it has no label and no edges.
+ *
+ * @author Jessica Otte
+ *
+ */
+public interface IndexedGraph {
+
+	/**
+	 *
+	 * @return The number of vertices in the graph
+	 */
+	public int getVertexCount();
+
+	/**
+	 *
+	 * @return One more than the highest vertex id, which is the size needed for an array indexed by vertex id
+	 */
+	public int getVertexIdBound();
+
+	/**
+	 *
+	 * @return The number of edges in the graph
+	 */
+	public int getEdgeCount();
+
+	/**
+	 *
+	 * @return The version of the graph, which goes up every time the graph is changed.  A graph that cannot be changed
+	 * always returns the same version.
+	 */
+	public long getVersion();
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return True if the id belongs to a vertex in the graph, False otherwise
+	 */
+	public boolean containsVertex(int pVertexId);
+
+	/**
+	 *
+	 * @param pLabel The label that uniquely identifies the vertex
+	 * @return The id of the vertex with the given label, or -1 if there is no such vertex
+	 */
+	public int getVertexId(String pLabel);
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The label of the vertex, or null if the id is not in use
+	 */
+	public String getVertexLabel(int pVertexId);
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The number of edges directed away from the vertex
+	 */
+	public int getOutDegree(int pVertexId);
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The number of edges directed toward the vertex
+	 */
+	public int getInDegree(int pVertexId);
+
+	/**
+	 *
+	 * @return A new cursor over the outgoing edges of a vertex
+	 */
+	public EdgeCursor newOutgoingCursor();
+
+	/**
+	 *
+	 * @return A new cursor over the incoming edges of a vertex
+	 */
+	public EdgeCursor newIncomingCursor();
+}
@@ -0,0 +1,93 @@
+package graphAssignment;
+
+/**
+ * This is a minimum priority queue over the integer items 0 through capacity - 1, where each item in the queue has an
+ * integer priority.  Unlike java.util.PriorityQueue, the priority of an item that is already in the queue can be
+ * lowered in place (decrease-key), which is what allows Dijkstra's Algorithm to settle each vertex exactly once.
+ *
+ * <p>
+ * Implementations are not thread safe.  Each search should use its own queue, and a queue may be reused for the next
+ * search once it has been cleared.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public interface IndexedPriorityQueue {
+
+	/**
+	 *
+	 * @return The number of items currently in the queue
+	 */
+	public int size();
+
+	/**
+	 *
+	 * @return True if there are no items in the queue, False otherwise
+	 */
+	public boolean isEmpty();
+
+	/**
+	 *
+	 * @return The number of distinct items (0 through capacity - 1) this queue can hold
+	 */
+	public int getCapacity();
+
+	/**
+	 * Grows the queue so that it can hold the items 0 through pCapacity - 1.  Items already in the queue are kept.
+	 *
+	 * @param pCapacity The number of distinct items the queue must be able to hold
+	 */
+	public void ensureCapacity(int pCapacity);
+
+	/**
+	 *
+	 * @param pItem The item to look for
+	 * @return True if the item is currently in the queue, False otherwise
+	 */
+	public boolean contains(int pItem);
+
+	/**
+	 *
+	 * @param pItem An item that is in the queue
+	 * @return The current priority of the item
+	 */
+	public int getPriority(int pItem);
+
+	/**
+	 * Adds an item to the queue with the given priority.  If the item is already in the queue, this behaves like
+	 * decreaseKey.
+	 *
+	 * @param pItem The item to add
+	 * @param pPriority The priority of the item, where a lower value is removed first
+	 */
+	public void insert(int pItem, int pPriority);
+
+	/**
+	 * Lowers the priority of an item already in the queue.  If the new priority is not lower than the current one,
+	 * the queue is left unchanged.
+	 *
+	 * @param pItem The item whose priority is lowered
+	 * @param pPriority The new priority of the item
+	 */
+	public void decreaseKey(int pItem, int pPriority);
+
+	/**
+	 *
+	 * @return The lowest priority in the queue, or Integer.MAX_VALUE if the queue is empty
+	 */
+	public int getMinPriority();
+
+	/**
+	 * Removes the item with the lowest priority from the queue.
+	 *
+	 * @return The item that was removed, or -1 if the queue is empty
+	 */
+	public int removeMin();
+
+	/**
+	 * Removes all items from the queue.  This takes time proportional to the number of items still in the queue, not
+	 * to the capacity, so a large queue can be cheaply reused between searches.
+	 */
+	public void clear();
+}
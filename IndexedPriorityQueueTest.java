@@ -0,0 +1,119 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IndexedPriorityQueueTest {
+
+	@Test
+	public void testRemoveMin_DaryHeap() {
+		verifyRemoveMinOrder(new IndexedDaryHeap(10));
+	}
+
+	@Test
+	public void testRemoveMin_BinaryHeap() {
+		verifyRemoveMinOrder(new IndexedDaryHeap(10, 2));
+	}
+
+	@Test
+	public void testRemoveMin_PairingHeap() {
+		verifyRemoveMinOrder(new PairingHeap(10));
+	}
+
+	@Test
+	public void testRandomOperations_DaryHeap() {
+		verifyAgainstArray(new IndexedDaryHeap(500), 500);
+	}
+
+	@Test
+	public void testRandomOperations_PairingHeap() {
+		verifyAgainstArray(new PairingHeap(500), 500);
+	}
+
+	@Test
+	public void testClearAndReuse() {
+		IndexedPriorityQueue[] lQueues = { new IndexedDaryHeap(4), new PairingHeap(4) };
+		for (IndexedPriorityQueue lQueue : lQueues) {
+			lQueue.insert(0, 5);
+			lQueue.insert(1, 3);
+			lQueue.insert(2, 8);
+			lQueue.clear();
+
+			assertTrue(lQueue.isEmpty());
+			assertFalse(lQueue.contains(1));
+
+			//Grow the queue and make sure it still works after being cleared
+			lQueue.ensureCapacity(8);
+			lQueue.insert(7, 2);
+			lQueue.insert(1, 1);
+			assertEquals(1, lQueue.removeMin());
+			assertEquals(7, lQueue.removeMin());
+			assertEquals(-1, lQueue.removeMin());
+		}
+	}
+
+	/**
+	 * Inserts a handful of items, lowers the priority of a few, and checks they come out in priority order
+	 */
+	private void verifyRemoveMinOrder(IndexedPriorityQueue pQueue) {
+		pQueue.insert(0, 50);
+		pQueue.insert(1, 40);
+		pQueue.insert(2, 30);
+		pQueue.insert(3, 20);
+		pQueue.insert(4, 10);
+		pQueue.insert(5, 60);
+
+		//Lower a couple of priorities, and make sure a higher priority is ignored
+		pQueue.decreaseKey(0, 5);
+		pQueue.decreaseKey(5, 25);
+		pQueue.decreaseKey(4, 100);
+
+		assertEquals(6, pQueue.size());
+		assertEquals(5, pQueue.getMinPriority());
+		assertEquals(25, pQueue.getPriority(5));
+
+		int[] lExpectedOrder = { 0, 4, 3, 5, 2, 1 };
+		for (int lExpected : lExpectedOrder) {
+			assertEquals(lExpected, pQueue.removeMin());
+		}
+		assertTrue(pQueue.isEmpty());
+		assertEquals(Integer.MAX_VALUE, pQueue.getMinPriority());
+	}
+
+	/**
+	 * Runs a random mix of inserts, decrease-keys and removals, checking the queue against a plain array of priorities
+	 */
+	private void verifyAgainstArray(IndexedPriorityQueue pQueue, int pCapacity) {
+		Random lRandom = new Random(42);
+		int[] lPriorities = new int[pCapacity];
+		Arrays.fill(lPriorities, -1);
+
+		for (int lStep = 0; lStep < 20000; lStep++) {
+			int lItem = lRandom.nextInt(pCapacity);
+			int lOperation = lRandom.nextInt(3);
+
+			if (lOperation == 0 && lPriorities[lItem] == -1) {
+				lPriorities[lItem] = lRandom.nextInt(100000);
+				pQueue.insert(lItem, lPriorities[lItem]);
+			} else if (lOperation == 1 && lPriorities[lItem] > 0) {
+				lPriorities[lItem] = lRandom.nextInt(lPriorities[lItem]);
+				pQueue.decreaseKey(lItem, lPriorities[lItem]);
+			} else if (lOperation == 2 && !pQueue.isEmpty()) {
+				int lMinPriority = Integer.MAX_VALUE;
+				for (int lPriority : lPriorities) {
+					if (lPriority != -1 && lPriority < lMinPriority) {
+						lMinPriority = lPriority;
+					}
+				}
+
+				int lRemoved = pQueue.removeMin();
+				assertEquals(lMinPriority, lPriorities[lRemoved]);
+				lPriorities[lRemoved] = -1;
+			}
+		}
+	}
+}
@@ -0,0 +1,498 @@
+package graphAssignment;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The ALT heuristic for A* search (A*, landmarks and the triangle inequality).  A few landmark vertices are chosen
+ * ahead of time, and the distance from each landmark to every vertex and from every vertex to each landmark is
+ * worked out with Dijkstra's Algorithm along the outgoing and incoming edges.  For any two vertices, the triangle
+ * inequality then gives a lower bound on the distance between them from the distances to and from each landmark, and
+ * the best of these bounds is the estimate.
+ *
+ * <p>
+ * The distances are kept in two flat int arrays, with the distances for one vertex next to each other so that an
+ * estimate reads one short run of each array.  They only hold for the version of the graph they were worked out for,
+ * so the heuristic must be created again after the graph is changed.  It can be saved to a file next to the graph
+ * file, and read back instead of being worked out again.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+	/**
+	 * How the landmarks are chosen
+	 */
+	public enum Selection {
+		/**
+		 * Each landmark is the vertex farthest from the landmarks already chosen, which spreads them around the edge
+		 * of the graph
+		 */
+		FARTHEST,
+		/**
+		 * Each landmark is chosen in the part of a shortest path tree where the landmarks already chosen give the
+		 * worst bounds, which usually gives better estimates than FARTHEST for the same number of landmarks
+		 */
+		AVOID
+	}
+
+	//Written at the start of a landmark file, to recognize it when it is read back
+	private final static int FILE_MAGIC = 0x414C5431;
+	private final static long RANDOM_SEED = 1;
+
+	private final int vertexIdBound;
+	private final int edgeCount;
+	private final int[] landmarks;
+
+	//The distance from landmark l to vertex v is at [v * landmarks.length + l], and Integer.MAX_VALUE if unreachable
+	private final int[] fromLandmark;
+
+	//The distance from vertex v to landmark l, laid out the same way
+	private final int[] toLandmark;
+
+	/**
+	 * Class constructor, which chooses the landmarks and works out the distances to and from them.  If the graph is
+	 * null or empty, an error is printed out and the heuristic has no landmarks, so it always estimates 0.
+	 *
+	 * @param pGraph The graph the heuristic is for
+	 * @param pLandmarkCount The number of landmarks to choose; it is limited to the number of vertices in the graph
+	 * @param pSelection How the landmarks are chosen
+	 */
+	public LandmarkHeuristic(IndexedGraph pGraph, int pLandmarkCount, Selection pSelection) {
+		//Validate the graph
+		if (pGraph == null || pGraph.getVertexCount() == 0) {
+			System.out.println("The graph does not have any vertices.");
+			vertexIdBound = 0;
+			edgeCount = 0;
+			landmarks = new int[0];
+			fromLandmark = new int[0];
+			toLandmark = new int[0];
+			return;
+		}
+
+		vertexIdBound = pGraph.getVertexIdBound();
+		edgeCount = pGraph.getEdgeCount();
+		landmarks = new int[Math.max(0, Math.min(pLandmarkCount, pGraph.getVertexCount()))];
+		fromLandmark = new int[vertexIdBound * landmarks.length];
+		toLandmark = new int[vertexIdBound * landmarks.length];
+		selectLandmarks(pGraph, pSelection == null ? Selection.FARTHEST : pSelection);
+	}
+
+	/**
+	 * Class constructor, for a heuristic read from a file
+	 *
+	 * @param pVertexIdBound The vertex id bound of the graph
+	 * @param pEdgeCount The number of edges in the graph
+	 * @param pLandmarks The ids of the landmark vertices
+	 * @param pFromLandmark The distances from each landmark
+	 * @param pToLandmark The distances to each landmark
+	 */
+	private LandmarkHeuristic(int pVertexIdBound, int pEdgeCount, int[] pLandmarks, int[] pFromLandmark,
+		int[] pToLandmark) {
+		vertexIdBound = pVertexIdBound;
+		edgeCount = pEdgeCount;
+		landmarks = pLandmarks;
+		fromLandmark = pFromLandmark;
+		toLandmark = pToLandmark;
+	}
+
+	@Override
+	public int estimate(int pVertexId, int pDestinationId) {
+		return estimate(pVertexId, pDestinationId, landmarks.length);
+	}
+
+	/**
+	 * Estimates the distance between two vertices using the first few landmarks.
+	 *
+	 * @param pVertexId The id of the vertex to start at
+	 * @param pDestinationId The id of the vertex to end at
+	 * @param pLandmarkCount The number of landmarks to use
+	 * @return A lower bound on the distance, or Integer.MAX_VALUE if there cannot be a path
+	 */
+	private int estimate(int pVertexId, int pDestinationId, int pLandmarkCount) {
+		int lVertexBase = pVertexId * landmarks.length;
+		int lDestinationBase = pDestinationId * landmarks.length;
+		int lEstimate = 0;
+
+		for (int l = 0; l < pLandmarkCount; l++) {
+			//d(L, destination) <= d(L, vertex) + d(vertex, destination)
+			int lFromVertex = fromLandmark[lVertexBase + l];
+			int lFromDestination = fromLandmark[lDestinationBase + l];
+			if (lFromVertex != Integer.MAX_VALUE) {
+				if (lFromDestination == Integer.MAX_VALUE) {
+					//The landmark reaches the vertex but not the destination, so the vertex cannot either
+					return Integer.MAX_VALUE;
+				}
+				lEstimate = Math.max(lEstimate, lFromDestination - lFromVertex);
+			}
+
+			//d(vertex, L) <= d(vertex, destination) + d(destination, L)
+			int lToVertex = toLandmark[lVertexBase + l];
+			int lToDestination = toLandmark[lDestinationBase + l];
+			if (lToDestination != Integer.MAX_VALUE) {
+				if (lToVertex == Integer.MAX_VALUE) {
+					//The destination reaches the landmark but the vertex does not, so the vertex cannot reach it
+					return Integer.MAX_VALUE;
+				}
+				lEstimate = Math.max(lEstimate, lToVertex - lToDestination);
+			}
+		}
+
+		return lEstimate;
+	}
+
+	/**
+	 *
+	 * @return The ids of the landmark vertices
+	 */
+	public int[] getLandmarks() {
+		return landmarks.clone();
+	}
+
+	/**
+	 * Checks that a graph has the same shape as the graph the heuristic was created for.  This is meant to catch a
+	 * landmark file being used with the wrong graph file; it cannot tell if edge weights have been changed.
+	 *
+	 * @param pGraph A graph
+	 * @return True if the graph has the same vertex id bound and number of edges, False otherwise
+	 */
+	public boolean matches(IndexedGraph pGraph) {
+		return pGraph != null && pGraph.getVertexIdBound() == vertexIdBound && pGraph.getEdgeCount() == edgeCount;
+	}
+
+	/**
+	 * Chooses the landmarks one at a time, working out the distances to and from each as it is chosen.
+	 *
+	 * @param pGraph The graph the heuristic is for
+	 * @param pSelection How the landmarks are chosen
+	 */
+	private void selectLandmarks(IndexedGraph pGraph, Selection pSelection) {
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		Random lRandom = new Random(RANDOM_SEED);
+		int[] lDistances = new int[vertexIdBound];
+		int[] lPrevious = new int[vertexIdBound];
+		int[] lSettledOrder = new int[vertexIdBound];
+
+		//The closest any landmark is to or from each vertex, used to find the farthest vertex
+		int[] lClosestLandmark = new int[vertexIdBound];
+		Arrays.fill(lClosestLandmark, Integer.MAX_VALUE);
+
+		//Start from the vertex farthest from a randomly chosen one
+		int lRoot = getRandomVertex(pGraph, lRandom);
+		lAlgorithm.computeShortestPaths(pGraph, pGraph.newOutgoingCursor(), lRoot, lDistances, lPrevious, null);
+		int lLandmark = lRoot;
+		for (int v = 0; v < vertexIdBound; v++) {
+			if (lDistances[v] != Integer.MAX_VALUE && lDistances[v] > lDistances[lLandmark]) {
+				lLandmark = v;
+			}
+		}
+
+		for (int l = 0; l < landmarks.length; l++) {
+			if (l > 0) {
+				lLandmark = -1;
+				if (pSelection == Selection.AVOID) {
+					lLandmark = findAvoidLandmark(pGraph, lAlgorithm, lRandom, l, lDistances, lPrevious, lSettledOrder);
+				}
+				if (lLandmark == -1) {
+					lLandmark = findFarthestVertex(pGraph, lClosestLandmark, l);
+				}
+			}
+			landmarks[l] = lLandmark;
+
+			//Work out the distances from the landmark, and then to it along the incoming edges
+			lAlgorithm.computeShortestPaths(pGraph, pGraph.newOutgoingCursor(), lLandmark, lDistances, lPrevious, null);
+			for (int v = 0; v < vertexIdBound; v++) {
+				fromLandmark[v * landmarks.length + l] = lDistances[v];
+				lClosestLandmark[v] = Math.min(lClosestLandmark[v], lDistances[v]);
+			}
+			lAlgorithm.computeShortestPaths(pGraph, pGraph.newIncomingCursor(), lLandmark, lDistances, lPrevious, null);
+			for (int v = 0; v < vertexIdBound; v++) {
+				toLandmark[v * landmarks.length + l] = lDistances[v];
+				lClosestLandmark[v] = Math.min(lClosestLandmark[v], lDistances[v]);
+			}
+		}
+	}
+
+	/**
+	 * Finds the vertex that is farthest from every landmark chosen so far.  A vertex that cannot reach or be reached
+	 * from any landmark counts as infinitely far, so every part of a graph that is not connected gets a landmark.
+	 *
+	 * @param pGraph The graph the heuristic is for
+	 * @param pClosestLandmark The closest any landmark is to or from each vertex
+	 * @param pLandmarkCount The number of landmarks chosen so far
+	 * @return The id of the farthest vertex that is not already a landmark
+	 */
+	private int findFarthestVertex(IndexedGraph pGraph, int[] pClosestLandmark, int pLandmarkCount) {
+		int lFarthest = -1;
+		for (int v = 0; v < vertexIdBound; v++) {
+			if (!pGraph.containsVertex(v) || isLandmark(v, pLandmarkCount)) {
+				continue;
+			}
+			if (lFarthest == -1 || pClosestLandmark[v] > pClosestLandmark[lFarthest]) {
+				lFarthest = v;
+			}
+		}
+		return lFarthest;
+	}
+
+	/**
+	 * Chooses a landmark with the avoid method.  A shortest path tree is grown from a random root, and each vertex is
+	 * weighted by how much its real distance from the root is more than the estimate the landmarks so far give.
+	 * Subtrees that already hold a landmark are given no weight.  Starting from the root, the search then keeps going
+	 * to the heaviest child, and the vertex it ends at becomes the landmark.
+	 *
+	 * @param pGraph The graph the heuristic is for
+	 * @param pAlgorithm Used to grow the shortest path tree
+	 * @param pRandom Used to choose the root
+	 * @param pLandmarkCount The number of landmarks chosen so far
+	 * @param pDistances Scratch space for the distances from the root
+	 * @param pPrevious Scratch space for the shortest path tree
+	 * @param pSettledOrder Scratch space for the order the vertices are settled in
+	 * @return The id of the new landmark, or -1 if the landmarks so far already give exact estimates in this tree
+	 */
+	private int findAvoidLandmark(IndexedGraph pGraph, DijkstrasAlgorithm pAlgorithm, Random pRandom,
+		int pLandmarkCount, int[] pDistances, int[] pPrevious, int[] pSettledOrder) {
+		int lRoot = getRandomVertex(pGraph, pRandom);
+		int lSettledCount = pAlgorithm.computeShortestPaths(pGraph, pGraph.newOutgoingCursor(), lRoot, pDistances,
+			pPrevious, pSettledOrder);
+
+		long[] lSize = new long[vertexIdBound];
+		boolean[] lHasLandmark = new boolean[vertexIdBound];
+		int[] lHeaviestChild = new int[vertexIdBound];
+		Arrays.fill(lHeaviestChild, -1);
+
+		//Children are settled after their parents, so going through the settled order backward sums up each subtree
+		//before its parent is reached
+		for (int i = lSettledCount - 1; i >= 0; i--) {
+			int lVertex = pSettledOrder[i];
+			lSize[lVertex] += pDistances[lVertex] - estimate(lRoot, lVertex, pLandmarkCount);
+			if (isLandmark(lVertex, pLandmarkCount)) {
+				lHasLandmark[lVertex] = true;
+			}
+			if (lHasLandmark[lVertex]) {
+				lSize[lVertex] = 0;
+			}
+
+			int lParent = pPrevious[lVertex];
+			if (lParent != -1) {
+				lSize[lParent] += lSize[lVertex];
+				lHasLandmark[lParent] |= lHasLandmark[lVertex];
+				if (lHeaviestChild[lParent] == -1 || lSize[lVertex] > lSize[lHeaviestChild[lParent]]) {
+					lHeaviestChild[lParent] = lVertex;
+				}
+			}
+		}
+
+		//Follow the heaviest children down from the root
+		int lVertex = lRoot;
+		while (lHeaviestChild[lVertex] != -1 && lSize[lHeaviestChild[lVertex]] > 0) {
+			lVertex = lHeaviestChild[lVertex];
+		}
+
+		if (lVertex == lRoot || isLandmark(lVertex, pLandmarkCount)) {
+			return -1;
+		}
+		return lVertex;
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @param pLandmarkCount The number of landmarks chosen so far
+	 * @return True if the vertex is one of the landmarks chosen so far, False otherwise
+	 */
+	private boolean isLandmark(int pVertexId, int pLandmarkCount) {
+		for (int l = 0; l < pLandmarkCount; l++) {
+			if (landmarks[l] == pVertexId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @param pGraph A graph with at least one vertex
+	 * @param pRandom The random number generator
+	 * @return The id of a randomly chosen vertex in the graph
+	 */
+	private int getRandomVertex(IndexedGraph pGraph, Random pRandom) {
+		int lVertex;
+		do {
+			lVertex = pRandom.nextInt(vertexIdBound);
+		} while (!pGraph.containsVertex(lVertex));
+		return lVertex;
+	}
+
+	/**
+	 * Gets the name of the file the landmarks for a graph file are kept in, which is the graph file name with
+	 * ".landmarks" added.
+	 *
+	 * @param pGraphFileName The name of the graph file
+	 * @return The name of the landmark file
+	 */
+	public static String getLandmarkFileName(String pGraphFileName) {
+		return pGraphFileName + ".landmarks";
+	}
+
+	/**
+	 * This class method saves the landmarks and their distances to a specified file.  If the heuristic is null or a
+	 * file name is not provided, an error is printed and nothing is saved.
+	 *
+	 * @param pHeuristic The heuristic to save to the file
+	 * @param pFileName The name of the file
+	 * @return True if the heuristic was saved to the file successfully, False otherwise
+	 */
+	public static Boolean saveLandmarksToFile(LandmarkHeuristic pHeuristic, String pFileName) throws IOException {
+		//Validate the heuristic and the file name
+		if (pHeuristic == null) {
+			System.out.println("The heuristic is null.");
+			return false;
+		}
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return false;
+		}
+
+		DataOutputStream lDataOut = null;
+
+		//Write the header, the landmarks and then the two tables
+		try {
+			lDataOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(pFileName)));
+			lDataOut.writeInt(FILE_MAGIC);
+			lDataOut.writeInt(pHeuristic.vertexIdBound);
+			lDataOut.writeInt(pHeuristic.edgeCount);
+			lDataOut.writeInt(pHeuristic.landmarks.length);
+			writeInts(lDataOut, pHeuristic.landmarks);
+			writeInts(lDataOut, pHeuristic.fromLandmark);
+			writeInts(lDataOut, pHeuristic.toLandmark);
+			lDataOut.flush();
+		} catch (FileNotFoundException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return false;
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return false;
+		} finally {
+			if (lDataOut != null) {
+				lDataOut.close();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads the specified landmark file and returns the heuristic.  If any errors occur, they will be printed out and
+	 * null will be returned.
+	 *
+	 * @param pFileName The file to read
+	 * @return The heuristic that was stored in the file
+	 */
+	public static LandmarkHeuristic readLandmarksFromFile(String pFileName) throws IOException {
+		return readLandmarksFromFile(pFileName, null);
+	}
+
+	/**
+	 * Reads the specified landmark file and returns the heuristic.  The header is checked against the length of the
+	 * file, and against the graph if one is given, before the tables are allocated, so a corrupt file or the landmark
+	 * file of another graph is turned down without reading it.  If any errors occur, they will be printed out and
+	 * null will be returned.
+	 *
+	 * @param pFileName The file to read
+	 * @param pGraph The graph the heuristic will be used with, or null to not check the graph
+	 * @return The heuristic that was stored in the file
+	 */
+	public static LandmarkHeuristic readLandmarksFromFile(String pFileName, IndexedGraph pGraph) throws IOException {
+		//Validate the file name is not null
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return null;
+		}
+
+		DataInputStream lDataIn = null;
+		LandmarkHeuristic lHeuristic = null;
+
+		//Read the heuristic from the file
+		try {
+			long lFileLength = new File(pFileName).length();
+			lDataIn = new DataInputStream(new BufferedInputStream(new FileInputStream(pFileName)));
+			if (lDataIn.readInt() != FILE_MAGIC) {
+				System.out.println("The file is not a landmark file.");
+				return null;
+			}
+			int lVertexIdBound = lDataIn.readInt();
+			int lEdgeCount = lDataIn.readInt();
+			int lLandmarkCount = lDataIn.readInt();
+
+			//The header is followed by the landmarks and two tables of lVertexIdBound * lLandmarkCount ints each
+			long lTableSize = (long) lVertexIdBound * lLandmarkCount;
+			if (lVertexIdBound < 0 || lEdgeCount < 0 || lLandmarkCount < 0 || lTableSize > Integer.MAX_VALUE
+				|| 16 + 4 * (lLandmarkCount + 2 * lTableSize) != lFileLength) {
+				System.out.println("The landmark file is corrupt.");
+				return null;
+			}
+			if (pGraph != null && (pGraph.getVertexIdBound() != lVertexIdBound
+				|| pGraph.getEdgeCount() != lEdgeCount)) {
+				System.out.println("The landmark file was made for a different graph.");
+				return null;
+			}
+
+			int[] lLandmarks = readInts(lDataIn, lLandmarkCount);
+			for (int lLandmark : lLandmarks) {
+				if (lLandmark < 0 || lLandmark >= lVertexIdBound) {
+					System.out.println("The landmark file is corrupt.");
+					return null;
+				}
+			}
+			int[] lFromLandmark = readInts(lDataIn, (int) lTableSize);
+			int[] lToLandmark = readInts(lDataIn, (int) lTableSize);
+			lHeuristic = new LandmarkHeuristic(lVertexIdBound, lEdgeCount, lLandmarks, lFromLandmark, lToLandmark);
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+		} finally {
+			if (lDataIn != null) {
+				lDataIn.close();
+			}
+		}
+		return lHeuristic;
+	}
+
+	/**
+	 * Writes an array of ints to a stream.
+	 *
+	 * @param pDataOut The stream to write to
+	 * @param pValues The values to write
+	 */
+	private static void writeInts(DataOutputStream pDataOut, int[] pValues) throws IOException {
+		for (int lValue : pValues) {
+			pDataOut.writeInt(lValue);
+		}
+	}
+
+	/**
+	 * Reads an array of ints from a stream.
+	 *
+	 * @param pDataIn The stream to read from
+	 * @param pCount The number of values to read
+	 * @return The values that were read
+	 */
+	private static int[] readInts(DataInputStream pDataIn, int pCount) throws IOException {
+		int[] lValues = new int[pCount];
+		for (int i = 0; i < pCount; i++) {
+			lValues[i] = pDataIn.readInt();
+		}
+		return lValues;
+	}
+}
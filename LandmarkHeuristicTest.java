@@ -0,0 +1,121 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LandmarkHeuristicTest {
+
+	@Test
+	public void testEstimateIsLowerBound() {
+		CsrGraph lGraph = getGraph();
+		DijkstrasAlgorithm lDijkstra = new DijkstrasAlgorithm();
+
+		for (LandmarkHeuristic.Selection lSelection : LandmarkHeuristic.Selection.values()) {
+			LandmarkHeuristic lHeuristic = new LandmarkHeuristic(lGraph, 6, lSelection);
+
+			//The landmarks should all be different vertices
+			int[] lLandmarks = lHeuristic.getLandmarks();
+			assertEquals(6, lLandmarks.length);
+			for (int i = 0; i < lLandmarks.length; i++) {
+				for (int j = i + 1; j < lLandmarks.length; j++) {
+					assertNotEquals(lLandmarks[i], lLandmarks[j]);
+				}
+			}
+
+			//The estimate must never be more than the real distance, and is only "unreachable" when it really is
+			for (int lSource = 0; lSource < lGraph.getVertexIdBound(); lSource += 3) {
+				int[] lDistances = lDijkstra.findMinimumDistance(lGraph, lSource);
+				for (int v = 0; v < lGraph.getVertexIdBound(); v++) {
+					int lEstimate = lHeuristic.estimate(lSource, v);
+					if (lEstimate == Integer.MAX_VALUE) {
+						assertEquals(Integer.MAX_VALUE, lDistances[v]);
+					} else if (lDistances[v] != Integer.MAX_VALUE) {
+						assertTrue(lEstimate <= lDistances[v]);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSaveAndReadLandmarks() throws IOException {
+		CsrGraph lGraph = getGraph();
+		LandmarkHeuristic lHeuristic = new LandmarkHeuristic(lGraph, 4, LandmarkHeuristic.Selection.AVOID);
+
+		File lFile = File.createTempFile("graph", ".ser");
+		String lFileName = LandmarkHeuristic.getLandmarkFileName(lFile.getPath());
+		try {
+			assertTrue(LandmarkHeuristic.saveLandmarksToFile(lHeuristic, lFileName));
+			LandmarkHeuristic lReadHeuristic = LandmarkHeuristic.readLandmarksFromFile(lFileName);
+
+			assertTrue(lReadHeuristic.matches(lGraph));
+			assertArrayEquals(lHeuristic.getLandmarks(), lReadHeuristic.getLandmarks());
+			for (int v = 0; v < lGraph.getVertexIdBound(); v++) {
+				assertEquals(lHeuristic.estimate(v, 0), lReadHeuristic.estimate(v, 0));
+				assertEquals(lHeuristic.estimate(0, v), lReadHeuristic.estimate(0, v));
+			}
+		} finally {
+			new File(lFileName).delete();
+			lFile.delete();
+		}
+
+		assertFalse(LandmarkHeuristic.saveLandmarksToFile(null, lFileName));
+		assertNull(LandmarkHeuristic.readLandmarksFromFile(null));
+	}
+
+	@Test
+	public void testReadCorruptLandmarks() throws IOException {
+		CsrGraph lGraph = getGraph();
+		LandmarkHeuristic lHeuristic = new LandmarkHeuristic(lGraph, 4, LandmarkHeuristic.Selection.FARTHEST);
+
+		File lFile = File.createTempFile("graph", ".ser");
+		String lFileName = LandmarkHeuristic.getLandmarkFileName(lFile.getPath());
+		try {
+			//A file made for another graph is turned down when the graph is given
+			assertTrue(LandmarkHeuristic.saveLandmarksToFile(lHeuristic, lFileName));
+			Digraph lOtherGraph = new Digraph();
+			lOtherGraph.addVertex(new Vertex("A"));
+			assertNull(LandmarkHeuristic.readLandmarksFromFile(lFileName, lOtherGraph.freeze()));
+			assertNotNull(LandmarkHeuristic.readLandmarksFromFile(lFileName, lGraph));
+
+			//Counts whose product overflows, negative counts and counts that do not match the length are all corrupt
+			int[][] lHeaders = { { 65536, 0, 65536 }, { -1, 0, 4 }, { 120, 0, -4 }, { 120, 0, 5 } };
+			for (int[] lHeader : lHeaders) {
+				DataOutputStream lDataOut = new DataOutputStream(new FileOutputStream(lFileName));
+				try {
+					lDataOut.writeInt(0x414C5431);
+					for (int lField : lHeader) {
+						lDataOut.writeInt(lField);
+					}
+					lDataOut.write(new byte[4 * (4 + 2 * 120 * 4)]);
+				} finally {
+					lDataOut.close();
+				}
+				assertNull(LandmarkHeuristic.readLandmarksFromFile(lFileName));
+			}
+		} finally {
+			new File(lFileName).delete();
+			lFile.delete();
+		}
+	}
+
+	private CsrGraph getGraph() {
+		Random lRandom = new Random(3);
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < 120; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int i = 0; i < 360; i++) {
+			lGraph.addEdge(lGraph.getVertex("V" + lRandom.nextInt(120)), lGraph.getVertex("V" + lRandom.nextInt(120)),
+				1 + lRandom.nextInt(30));
+		}
+		return lGraph.freeze();
+	}
+}
@@ -0,0 +1,476 @@
+package graphAssignment;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only directed graph that is served straight out of a file, through memory mapped buffers, rather than being
+ * read into objects on the heap.  The file holds the same compressed sparse row (CSR) arrays as a CsrGraph, as
+ * little endian ints, so opening it only maps each array and reads the header: it takes the same time however big the
+ * graph is, and the pages of the file are read in by the operating system as the graph is searched.  Every JVM on a
+ * host that opens the same file shares the same pages of the page cache.
+ *
+ * <p>
+ * A file is written from a CsrGraph with saveGraphToFile(), for example from Digraph.freeze() or
+ * DigraphBuilder.buildFrozen(), and opened with readGraphFromFile().  The graph can be used by any algorithm that
+ * takes an IndexedGraph, and can be shared freely between threads.  The vertices are looked up by label through a
+ * hash table that is also in the file.
+ * </p>
+ *
+ * <p>
+ * The file is a header of eight ints: the magic number "PCSR", the version, the id bound, the vertex count, the edge
+ * count, the number of label bytes, the size of the label hash table, and 0.  It is followed by the outgoing offsets,
+ * targets and weights, the incoming offsets, sources and weights, the start of each label (or its complement, for an
+ * id that is not in use), the label hash table of ids plus one, and the UTF-8 bytes of the labels.  Each array is
+ * mapped on its own, so none of them can be bigger than 2GB.
+ * </p>
+ *
+ * <p>
+ * Java 8 has no way to unmap a file, so the file stays mapped until the graph has been garbage collected.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class MappedCsrGraph implements IndexedGraph {
+
+	//"PCSR"
+	static final int MAGIC = 0x50435352;
+	static final int VERSION = 1;
+
+	private static final int HEADER_INTS = 8;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	//The largest value of a count or size in the header, which keeps every array of the file under 2GB when mapped
+	static final int MAX_HEADER_FIELD = Integer.MAX_VALUE / 4 - 1;
+
+	private final int idBound;
+	private final int vertexCount;
+	private final int edgeCount;
+
+	private final IntBuffer outOffsets;
+	private final IntBuffer outTargets;
+	private final IntBuffer outWeights;
+
+	private final IntBuffer inOffsets;
+	private final IntBuffer inSources;
+	private final IntBuffer inWeights;
+
+	private final IntBuffer labelStarts;
+	private final IntBuffer labelTable;
+	private final ByteBuffer labelBytes;
+
+	/**
+	 * Class constructor, which maps each array of the file.  The header has already been checked.
+	 *
+	 * @param pChannel The open file
+	 * @param pHeader The header of the file
+	 */
+	private MappedCsrGraph(FileChannel pChannel, int[] pHeader) throws IOException {
+		idBound = pHeader[2];
+		vertexCount = pHeader[3];
+		edgeCount = pHeader[4];
+
+		long lPosition = HEADER_INTS * 4L;
+		outOffsets = mapInts(pChannel, lPosition, idBound + 1);
+		lPosition += (idBound + 1) * 4L;
+		outTargets = mapInts(pChannel, lPosition, edgeCount);
+		lPosition += edgeCount * 4L;
+		outWeights = mapInts(pChannel, lPosition, edgeCount);
+		lPosition += edgeCount * 4L;
+		inOffsets = mapInts(pChannel, lPosition, idBound + 1);
+		lPosition += (idBound + 1) * 4L;
+		inSources = mapInts(pChannel, lPosition, edgeCount);
+		lPosition += edgeCount * 4L;
+		inWeights = mapInts(pChannel, lPosition, edgeCount);
+		lPosition += edgeCount * 4L;
+		labelStarts = mapInts(pChannel, lPosition, idBound + 1);
+		lPosition += (idBound + 1) * 4L;
+		labelTable = mapInts(pChannel, lPosition, pHeader[6]);
+		lPosition += pHeader[6] * 4L;
+		labelBytes = pChannel.map(FileChannel.MapMode.READ_ONLY, lPosition, pHeader[5]);
+	}
+
+	/**
+	 * Saves a snapshot to a file that can be opened with readGraphFromFile().  If the snapshot is null, or a file
+	 * name is not provided, an error is printed out and the snapshot is not saved.
+	 *
+	 * @param pGraph The snapshot to save
+	 * @param pFileName The name of the file
+	 * @return True if the snapshot was saved to the file successfully, False otherwise
+	 */
+	public static Boolean saveGraphToFile(CsrGraph pGraph, String pFileName) throws IOException {
+		if (pGraph == null) {
+			System.out.println("The graph is null.");
+			return false;
+		}
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return false;
+		}
+		//Save only what readGraphFromFile() will open again, including the size of the label table
+		if (pGraph.getVertexIdBound() > MAX_HEADER_FIELD || pGraph.getEdgeCount() > MAX_HEADER_FIELD
+			|| getTableSize(pGraph.getVertexCount()) > MAX_HEADER_FIELD) {
+			System.out.println("The graph is too big to be mapped, since each array must be less than 2GB.");
+			return false;
+		}
+
+		//Lay out the labels, and index them in a hash table of ids plus one, so 0 marks an empty slot
+		int lIdBound = pGraph.getVertexIdBound();
+		byte[][] lLabels = new byte[lIdBound][];
+		int[] lLabelStarts = new int[lIdBound + 1];
+		int[] lLabelTable = new int[(int) getTableSize(pGraph.getVertexCount())];
+		int lLabelByteCount = 0;
+		for (int v = 0; v < lIdBound; v++) {
+			String lLabel = pGraph.getVertexLabel(v);
+			if (lLabel == null) {
+				lLabelStarts[v] = ~lLabelByteCount;
+				continue;
+			}
+			lLabels[v] = lLabel.getBytes(StandardCharsets.UTF_8);
+			if (lLabels[v].length > MAX_HEADER_FIELD - lLabelByteCount) {
+				System.out.println("The labels are too big to be mapped, since each array must be less than 2GB.");
+				return false;
+			}
+			lLabelStarts[v] = lLabelByteCount;
+			lLabelByteCount += lLabels[v].length;
+
+			int lSlot = getSlot(lLabel, lLabelTable.length);
+			while (lLabelTable[lSlot] != 0) {
+				lSlot = (lSlot + 1) & (lLabelTable.length - 1);
+			}
+			lLabelTable[lSlot] = v + 1;
+		}
+		lLabelStarts[lIdBound] = lLabelByteCount;
+
+		FileOutputStream lFileOutputStream = null;
+		try {
+			lFileOutputStream = new FileOutputStream(pFileName);
+			FileChannel lChannel = lFileOutputStream.getChannel();
+			ByteBuffer lBuffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+			writeInts(lChannel, lBuffer, new int[] {MAGIC, VERSION, lIdBound, pGraph.getVertexCount(),
+				pGraph.getEdgeCount(), lLabelByteCount, lLabelTable.length, 0});
+			writeInts(lChannel, lBuffer, pGraph.getOutOffsets());
+			writeInts(lChannel, lBuffer, pGraph.getOutTargets());
+			writeInts(lChannel, lBuffer, pGraph.getOutWeights());
+			writeInts(lChannel, lBuffer, pGraph.getInOffsets());
+			writeInts(lChannel, lBuffer, pGraph.getInSources());
+			writeInts(lChannel, lBuffer, pGraph.getInWeights());
+			writeInts(lChannel, lBuffer, lLabelStarts);
+			writeInts(lChannel, lBuffer, lLabelTable);
+			for (byte[] lLabel : lLabels) {
+				if (lLabel == null) {
+					continue;
+				}
+				for (int lWritten = 0; lWritten < lLabel.length;) {
+					if (!lBuffer.hasRemaining()) {
+						flush(lChannel, lBuffer);
+					}
+					int lLength = Math.min(lLabel.length - lWritten, lBuffer.remaining());
+					lBuffer.put(lLabel, lWritten, lLength);
+					lWritten += lLength;
+				}
+			}
+			flush(lChannel, lBuffer);
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return false;
+		} finally {
+			if (lFileOutputStream != null) {
+				lFileOutputStream.close();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Opens a file written by saveGraphToFile(), by mapping it, without reading the graph in.  Only the header is
+	 * checked, so that opening a file does not take longer for a bigger graph.  If the file cannot be opened, is not a
+	 * mapped graph file, or is not the size its header says, an error is printed out and null is returned.
+	 *
+	 * @param pFileName The name of the file
+	 * @return The graph in the file
+	 */
+	public static MappedCsrGraph readGraphFromFile(String pFileName) throws IOException {
+		if (pFileName == null || pFileName.isEmpty()) {
+			System.out.println("A file name must be provided.");
+			return null;
+		}
+
+		RandomAccessFile lFile = null;
+		try {
+			lFile = new RandomAccessFile(pFileName, "r");
+			FileChannel lChannel = lFile.getChannel();
+			if (lChannel.size() < HEADER_INTS * 4L) {
+				System.out.println("The file is not a mapped graph file.");
+				return null;
+			}
+
+			ByteBuffer lHeaderBuffer = ByteBuffer.allocate(HEADER_INTS * 4).order(ByteOrder.LITTLE_ENDIAN);
+			while (lHeaderBuffer.hasRemaining()) {
+				lChannel.read(lHeaderBuffer);
+			}
+			lHeaderBuffer.flip();
+			int[] lHeader = new int[HEADER_INTS];
+			lHeaderBuffer.asIntBuffer().get(lHeader);
+
+			if (lHeader[0] != MAGIC) {
+				System.out.println("The file is not a mapped graph file.");
+				return null;
+			}
+			if (lHeader[1] > VERSION) {
+				System.out.println("The mapped graph file is version " + lHeader[1] + ", which is newer than this "
+					+ "version can read.");
+				return null;
+			}
+			for (int i = 2; i < HEADER_INTS - 1; i++) {
+				if (lHeader[i] < 0 || lHeader[i] > MAX_HEADER_FIELD) {
+					System.out.println("The mapped graph file is corrupt.");
+					return null;
+				}
+			}
+			if (Integer.bitCount(lHeader[6]) != 1) {
+				System.out.println("The mapped graph file is corrupt.");
+				return null;
+			}
+			long lExpectedSize = HEADER_INTS * 4L + (lHeader[2] + 1L) * 4 * 3 + lHeader[4] * 4L * 4 + lHeader[6] * 4L
+				+ lHeader[5];
+			if (lChannel.size() != lExpectedSize) {
+				System.out.println("The mapped graph file is " + lChannel.size() + " bytes, but should be "
+					+ lExpectedSize + ".");
+				return null;
+			}
+
+			//The mappings stay valid once the file is closed
+			return new MappedCsrGraph(lChannel, lHeader);
+		} catch (IOException pException) {
+			System.out.println("Exception: " + pException.getMessage());
+			return null;
+		} finally {
+			if (lFile != null) {
+				lFile.close();
+			}
+		}
+	}
+
+	@Override
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	@Override
+	public int getVertexIdBound() {
+		return idBound;
+	}
+
+	@Override
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	@Override
+	public long getVersion() {
+		//The file is never changed
+		return 0;
+	}
+
+	@Override
+	public boolean containsVertex(int pVertexId) {
+		return pVertexId >= 0 && pVertexId < idBound && labelStarts.get(pVertexId) >= 0;
+	}
+
+	/**
+	 * Looks the label up in the hash table of the file, comparing its UTF-8 bytes with the labels in the file, so no
+	 * label is read onto the heap.
+	 */
+	@Override
+	public int getVertexId(String pLabel) {
+		if (pLabel == null || labelTable.capacity() == 0) {
+			return -1;
+		}
+
+		byte[] lBytes = pLabel.getBytes(StandardCharsets.UTF_8);
+		int lMask = labelTable.capacity() - 1;
+		for (int lSlot = getSlot(pLabel, labelTable.capacity()); labelTable.get(lSlot) != 0;
+			lSlot = (lSlot + 1) & lMask) {
+			int lVertexId = labelTable.get(lSlot) - 1;
+			int lStart = labelStarts.get(lVertexId);
+			if (getLabelEnd(lVertexId) - lStart != lBytes.length) {
+				continue;
+			}
+			int i = 0;
+			while (i < lBytes.length && labelBytes.get(lStart + i) == lBytes[i]) {
+				i++;
+			}
+			if (i == lBytes.length) {
+				return lVertexId;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public String getVertexLabel(int pVertexId) {
+		int lStart = labelStarts.get(pVertexId);
+		if (lStart < 0) {
+			return null;
+		}
+		byte[] lBytes = new byte[getLabelEnd(pVertexId) - lStart];
+		for (int i = 0; i < lBytes.length; i++) {
+			lBytes[i] = labelBytes.get(lStart + i);
+		}
+		return new String(lBytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int getOutDegree(int pVertexId) {
+		return outOffsets.get(pVertexId + 1) - outOffsets.get(pVertexId);
+	}
+
+	@Override
+	public int getInDegree(int pVertexId) {
+		return inOffsets.get(pVertexId + 1) - inOffsets.get(pVertexId);
+	}
+
+	@Override
+	public EdgeCursor newOutgoingCursor() {
+		return new BufferEdgeCursor(outOffsets, outTargets, outWeights);
+	}
+
+	@Override
+	public EdgeCursor newIncomingCursor() {
+		return new BufferEdgeCursor(inOffsets, inSources, inWeights);
+	}
+
+	/**
+	 * Returns a string representation of the graph.
+	 *
+	 * @return A string with the number of vertices and edges
+	 */
+	@Override
+	public String toString() {
+		return "MappedCsrGraph: " + vertexCount + " vertices, " + edgeCount + " edges";
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id that is in use
+	 * @return Where the label of the vertex ends in the label bytes, which is where the next label starts
+	 */
+	private int getLabelEnd(int pVertexId) {
+		int lEnd = labelStarts.get(pVertexId + 1);
+		return lEnd < 0 ? ~lEnd : lEnd;
+	}
+
+	/**
+	 *
+	 * @param pVertexCount The number of labels to index
+	 * @return The size of the hash table for them: a power of two, at least twice the number of labels.  It is worked
+	 * out as a long, so that it can be checked against MAX_HEADER_FIELD for any number of labels.
+	 */
+	static long getTableSize(int pVertexCount) {
+		return (long) Integer.highestOneBit(Math.max(pVertexCount, 1)) << 2;
+	}
+
+	/**
+	 *
+	 * @param pLabel A label
+	 * @param pTableSize The size of the label hash table
+	 * @return The slot of the table where the search for the label starts.  String.hashCode() is the same in every
+	 * JVM, so a file can be written by one and read by another.
+	 */
+	private static int getSlot(String pLabel, int pTableSize) {
+		int lHash = pLabel.hashCode() * 0x9E3779B9;
+		return (lHash ^ (lHash >>> 16)) & (pTableSize - 1);
+	}
+
+	/**
+	 * Maps an array of ints from the file.
+	 *
+	 * @param pChannel The open file
+	 * @param pPosition Where the array starts in the file
+	 * @param pLength The number of ints in the array
+	 * @return The array
+	 */
+	private static IntBuffer mapInts(FileChannel pChannel, long pPosition, int pLength) throws IOException {
+		return pChannel.map(FileChannel.MapMode.READ_ONLY, pPosition, pLength * 4L).order(ByteOrder.LITTLE_ENDIAN)
+			.asIntBuffer();
+	}
+
+	/**
+	 * Writes an array of ints through the buffer.
+	 *
+	 * @param pChannel The file being written
+	 * @param pBuffer The buffer, which is flushed to the file whenever it is full
+	 * @param pValues The ints to write
+	 */
+	private static void writeInts(FileChannel pChannel, ByteBuffer pBuffer, int[] pValues) throws IOException {
+		for (int lValue : pValues) {
+			if (pBuffer.remaining() < 4) {
+				flush(pChannel, pBuffer);
+			}
+			pBuffer.putInt(lValue);
+		}
+	}
+
+	/**
+	 * Writes everything in the buffer to the file, and empties it.
+	 *
+	 * @param pChannel The file being written
+	 * @param pBuffer The buffer
+	 */
+	private static void flush(FileChannel pChannel, ByteBuffer pBuffer) throws IOException {
+		pBuffer.flip();
+		while (pBuffer.hasRemaining()) {
+			pChannel.write(pBuffer);
+		}
+		pBuffer.clear();
+	}
+
+	/**
+	 * An edge cursor over one set of mapped CSR arrays
+	 */
+	private static final class BufferEdgeCursor implements EdgeCursor {
+
+		private final IntBuffer offsets;
+		private final IntBuffer adjacent;
+		private final IntBuffer weights;
+		private int position;
+		private int end;
+
+		BufferEdgeCursor(IntBuffer pOffsets, IntBuffer pAdjacent, IntBuffer pWeights) {
+			offsets = pOffsets;
+			adjacent = pAdjacent;
+			weights = pWeights;
+		}
+
+		@Override
+		public void moveTo(int pVertexId) {
+			position = offsets.get(pVertexId) - 1;
+			end = offsets.get(pVertexId + 1);
+		}
+
+		@Override
+		public boolean next() {
+			return ++position < end;
+		}
+
+		@Override
+		public int getAdjacentVertexId() {
+			return adjacent.get(position);
+		}
+
+		@Override
+		public int getWeight() {
+			return weights.get(position);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class MappedCsrGraphTest {
+
+	@Test
+	public void testSameAsCsrGraph() throws Exception {
+		Digraph lDigraph = new Digraph();
+		for (int i = 0; i < 100; i++) {
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + (i * 11 % 100)), i % 4 + 1);
+			lDigraph.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 1) % 100)), 3);
+		}
+		lDigraph.addEdge(new Vertex("\u00e9t\u00e9"), new Vertex(""), 2);
+		lDigraph.removeVertex(lDigraph.getVertex("V50"));
+		CsrGraph lSnapshot = lDigraph.freeze();
+
+		assertTrue(MappedCsrGraph.saveGraphToFile(lSnapshot, "MappedGraphFile"));
+		MappedCsrGraph lMappedGraph = MappedCsrGraph.readGraphFromFile("MappedGraphFile");
+		assertNotNull(lMappedGraph);
+		assertEquals(lSnapshot.getVertexCount(), lMappedGraph.getVertexCount());
+		assertEquals(lSnapshot.getVertexIdBound(), lMappedGraph.getVertexIdBound());
+		assertEquals(lSnapshot.getEdgeCount(), lMappedGraph.getEdgeCount());
+
+		//Every vertex has the same id, label and edges, and the free id is still free
+		for (int v = 0; v < lSnapshot.getVertexIdBound(); v++) {
+			assertEquals(lSnapshot.containsVertex(v), lMappedGraph.containsVertex(v));
+			assertEquals(lSnapshot.getVertexLabel(v), lMappedGraph.getVertexLabel(v));
+			if (lSnapshot.containsVertex(v)) {
+				assertEquals(v, lMappedGraph.getVertexId(lSnapshot.getVertexLabel(v)));
+			}
+			assertEquals(lSnapshot.getInDegree(v), lMappedGraph.getInDegree(v));
+
+			EdgeCursor lExpectedCursor = lSnapshot.newOutgoingCursor();
+			EdgeCursor lCursor = lMappedGraph.newOutgoingCursor();
+			lExpectedCursor.moveTo(v);
+			lCursor.moveTo(v);
+			while (lExpectedCursor.next()) {
+				assertTrue(lCursor.next());
+				assertEquals(lExpectedCursor.getAdjacentVertexId(), lCursor.getAdjacentVertexId());
+				assertEquals(lExpectedCursor.getWeight(), lCursor.getWeight());
+			}
+			assertFalse(lCursor.next());
+		}
+		assertFalse(lMappedGraph.containsVertex(lSnapshot.getVertexIdBound()));
+		assertEquals(-1, lMappedGraph.getVertexId("V50"));
+		assertEquals(-1, lMappedGraph.getVertexId("V1000"));
+
+		//The algorithms search the mapped graph the same as the snapshot
+		int lSourceId = lMappedGraph.getVertexId("V0");
+		assertTrue(Arrays.equals(new DijkstrasAlgorithm().findMinimumDistance(lSnapshot, lSourceId),
+			new DijkstrasAlgorithm().findMinimumDistance(lMappedGraph, lSourceId)));
+		assertEquals(new TarjanAlgorithm().findStronglyConnectedComponents(lSnapshot).size(),
+			new TarjanAlgorithm().findStronglyConnectedComponents(lMappedGraph).size());
+	}
+
+	@Test
+	public void testBadFiles() throws Exception {
+		DigraphBuilder lBuilder = new DigraphBuilder();
+		lBuilder.addEdge("V1", "V2", 5);
+		assertTrue(MappedCsrGraph.saveGraphToFile(lBuilder.buildFrozen(), "MappedGraphFile"));
+		assertNotNull(MappedCsrGraph.readGraphFromFile("MappedGraphFile"));
+
+		//A file that is cut short is not opened
+		RandomAccessFile lFile = new RandomAccessFile("MappedGraphFile", "rw");
+		lFile.setLength(lFile.length() - 1);
+		lFile.close();
+		assertNull(MappedCsrGraph.readGraphFromFile("MappedGraphFile"));
+
+		//Nor is a graph file of another kind
+		Digraph lDigraph = new Digraph();
+		lDigraph.addEdge(new Vertex("V1"), new Vertex("V2"));
+		assertTrue(Digraph.saveGraphToFile(lDigraph, "MappedGraphFile"));
+		assertNull(MappedCsrGraph.readGraphFromFile("MappedGraphFile"));
+
+		assertFalse(MappedCsrGraph.saveGraphToFile(null, "MappedGraphFile"));
+		assertNull(MappedCsrGraph.readGraphFromFile("MappedGraphMissingFile"));
+	}
+
+	@Test
+	public void testTableSizeLimit() {
+		//The table is a power of two, so the largest one that fits is 2^28 slots, for up to 2^27 - 1 labels
+		assertEquals(4, MappedCsrGraph.getTableSize(0));
+		assertEquals(1 << 28, MappedCsrGraph.getTableSize((1 << 27) - 1));
+		assertTrue(MappedCsrGraph.getTableSize((1 << 27) - 1) <= MappedCsrGraph.MAX_HEADER_FIELD);
+		assertTrue(MappedCsrGraph.getTableSize(1 << 27) > MappedCsrGraph.MAX_HEADER_FIELD);
+
+		//The largest counts do not overflow into a size that would pass the check
+		assertEquals(1L << 32, MappedCsrGraph.getTableSize(Integer.MAX_VALUE));
+		assertTrue(MappedCsrGraph.getTableSize(MappedCsrGraph.MAX_HEADER_FIELD) > MappedCsrGraph.MAX_HEADER_FIELD);
+	}
+}
@@ -0,0 +1,237 @@
+package graphAssignment;
+
+import java.util.Arrays;
+
+/**
+ * An array based pairing heap implementation of IndexedPriorityQueue.  Insert and decrease-key are O(1) (a decreased
+ * node is cut from its parent and linked back in with the root), and removal of the minimum is O(log n) amortized
+ * using the standard two pass pairing of the root's children.  Nodes are stored in parallel arrays indexed by item,
+ * so no objects are allocated while the heap is in use.
+ *
+ * @author Jessica Otte
+ *
+ */
+public class PairingHeap implements IndexedPriorityQueue {
+
+	private final static int NONE = -1;
+
+	private int root;
+	private int size;
+
+	private int[] priorities;
+	private int[] firstChild;
+	private int[] nextSibling;
+
+	//The previous sibling of a node, or its parent if the node is the first child
+	private int[] previous;
+	private boolean[] inHeap;
+
+	//Scratch space used when pairing up the children of a removed root, and when clearing the heap
+	private int[] scratch;
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pCapacity The number of distinct items (0 through pCapacity - 1) this heap can hold
+	 */
+	public PairingHeap(int pCapacity) {
+		root = NONE;
+		size = 0;
+		priorities = new int[Math.max(0, pCapacity)];
+		firstChild = new int[Math.max(0, pCapacity)];
+		nextSibling = new int[Math.max(0, pCapacity)];
+		previous = new int[Math.max(0, pCapacity)];
+		inHeap = new boolean[Math.max(0, pCapacity)];
+		scratch = new int[Math.max(0, pCapacity)];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int getCapacity() {
+		return inHeap.length;
+	}
+
+	@Override
+	public void ensureCapacity(int pCapacity) {
+		if (pCapacity <= inHeap.length) {
+			return;
+		}
+
+		priorities = Arrays.copyOf(priorities, pCapacity);
+		firstChild = Arrays.copyOf(firstChild, pCapacity);
+		nextSibling = Arrays.copyOf(nextSibling, pCapacity);
+		previous = Arrays.copyOf(previous, pCapacity);
+		inHeap = Arrays.copyOf(inHeap, pCapacity);
+		scratch = new int[pCapacity];
+	}
+
+	@Override
+	public boolean contains(int pItem) {
+		return pItem >= 0 && pItem < inHeap.length && inHeap[pItem];
+	}
+
+	@Override
+	public int getPriority(int pItem) {
+		return priorities[pItem];
+	}
+
+	@Override
+	public void insert(int pItem, int pPriority) {
+		if (inHeap[pItem]) {
+			decreaseKey(pItem, pPriority);
+			return;
+		}
+
+		priorities[pItem] = pPriority;
+		firstChild[pItem] = NONE;
+		nextSibling[pItem] = NONE;
+		previous[pItem] = NONE;
+		inHeap[pItem] = true;
+		size++;
+
+		root = link(root, pItem);
+	}
+
+	@Override
+	public void decreaseKey(int pItem, int pPriority) {
+		if (!inHeap[pItem] || pPriority >= priorities[pItem]) {
+			return;
+		}
+
+		priorities[pItem] = pPriority;
+		if (pItem == root) {
+			return;
+		}
+
+		//Cut the node (and its subtree) away from its parent, then link it back in with the root
+		int lPrevious = previous[pItem];
+		if (firstChild[lPrevious] == pItem) {
+			firstChild[lPrevious] = nextSibling[pItem];
+		} else {
+			nextSibling[lPrevious] = nextSibling[pItem];
+		}
+		if (nextSibling[pItem] != NONE) {
+			previous[nextSibling[pItem]] = lPrevious;
+		}
+		nextSibling[pItem] = NONE;
+		previous[pItem] = NONE;
+
+		root = link(root, pItem);
+	}
+
+	@Override
+	public int getMinPriority() {
+		return root == NONE ? Integer.MAX_VALUE : priorities[root];
+	}
+
+	@Override
+	public int removeMin() {
+		if (root == NONE) {
+			return -1;
+		}
+
+		int lMinItem = root;
+		inHeap[lMinItem] = false;
+		size--;
+
+		//First pass: link the children of the old root together in pairs, from left to right
+		int lCount = 0;
+		int lChild = firstChild[lMinItem];
+		while (lChild != NONE) {
+			int lFirst = lChild;
+			int lSecond = nextSibling[lFirst];
+			lChild = lSecond == NONE ? NONE : nextSibling[lSecond];
+
+			detach(lFirst);
+			if (lSecond != NONE) {
+				detach(lSecond);
+			}
+			scratch[lCount++] = link(lFirst, lSecond);
+		}
+
+		//Second pass: link the pairs together from right to left into the new root
+		root = NONE;
+		for (int i = lCount - 1; i >= 0; i--) {
+			root = link(scratch[i], root);
+		}
+
+		firstChild[lMinItem] = NONE;
+		return lMinItem;
+	}
+
+	@Override
+	public void clear() {
+		if (root == NONE) {
+			return;
+		}
+
+		//Walk the whole tree, using the scratch array as a stack, and mark every node as removed
+		int lTop = 0;
+		scratch[lTop++] = root;
+		while (lTop > 0) {
+			int lNode = scratch[--lTop];
+			inHeap[lNode] = false;
+			if (firstChild[lNode] != NONE) {
+				scratch[lTop++] = firstChild[lNode];
+			}
+			if (nextSibling[lNode] != NONE) {
+				scratch[lTop++] = nextSibling[lNode];
+			}
+		}
+
+		root = NONE;
+		size = 0;
+	}
+
+	/**
+	 * Clears the sibling links of a node that is about to be linked as a new subtree root
+	 *
+	 * @param pNode The node to detach
+	 */
+	private void detach(int pNode) {
+		nextSibling[pNode] = NONE;
+		previous[pNode] = NONE;
+	}
+
+	/**
+	 * Links two detached subtree roots together, making the one with the higher priority the first child of the other
+	 *
+	 * @param pFirst A subtree root, or NONE
+	 * @param pSecond A subtree root, or NONE
+	 * @return The root of the combined tree
+	 */
+	private int link(int pFirst, int pSecond) {
+		if (pFirst == NONE) {
+			return pSecond;
+		}
+		if (pSecond == NONE) {
+			return pFirst;
+		}
+
+		int lParent = pFirst;
+		int lChild = pSecond;
+		if (priorities[pSecond] < priorities[pFirst]) {
+			lParent = pSecond;
+			lChild = pFirst;
+		}
+
+		//Push the child onto the front of the parent's child list
+		nextSibling[lChild] = firstChild[lParent];
+		if (firstChild[lParent] != NONE) {
+			previous[firstChild[lParent]] = lChild;
+		}
+		previous[lChild] = lParent;
+		firstChild[lParent] = lChild;
+
+		return lParent;
+	}
+}
@@ -0,0 +1,470 @@
+package graphAssignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * This class finds the strongly connected components of a graph using several threads, for graphs large enough that
+ * TarjanAlgorithm, which can only follow one depth first search at a time, takes too long.  It finds the same
+ * components as TarjanAlgorithm, in three steps:
+ *
+ * <ol>
+ * <li>Trimming: a vertex with no incoming or no outgoing edges from the vertices that are left is a component on its
+ * own.  These are removed over and over, which usually takes care of most of the vertices of a sparse graph.</li>
+ * <li>Forward-backward: the vertices that can be reached both forward and backward from a well connected vertex are
+ * one component, which on most real graphs is one very large component.</li>
+ * <li>Coloring: every vertex that is left takes the largest id that can reach it.  The vertices that can reach the
+ * vertex with that id, backward along edges between vertices of the same color, are its component.  This is
+ * repeated on the vertices that are left until there are none.</li>
+ * </ol>
+ *
+ * <p>
+ * Each step runs as rounds of work over the vertices or the edges, spread over the threads of a ForkJoinPool.  The
+ * components are numbered in the order they are found, which is not the same as the order TarjanAlgorithm gives.
+ * An instance is only meant to be used by one thread at a time, and the graph must not be changed during a search.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class ParallelStronglyConnectedComponents {
+
+	private final ForkJoinPool pool;
+	private int trimmedCount;
+	private int pivotComponentSize;
+	private int coloringRounds;
+
+	/**
+	 * Class constructor, which runs the search on the common ForkJoinPool
+	 */
+	public ParallelStronglyConnectedComponents() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pPool The pool to run the search on; null is treated as the common ForkJoinPool
+	 */
+	public ParallelStronglyConnectedComponents(ForkJoinPool pPool) {
+		pool = pPool == null ? ForkJoinPool.commonPool() : pPool;
+	}
+
+	/**
+	 * Finds the strongly connected components of a directed graph.  If the graph is null or does not have any
+	 * vertices, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph to find the components of
+	 * @return The strongly connected components
+	 */
+	public List<List<Vertex>> findStronglyConnectedComponents(Digraph pGraph) {
+		//Validate that the graph is non-null and has vertices
+		if (pGraph == null || pGraph.getVertices() == null || pGraph.getVertices().isEmpty()) {
+			System.out.println("The graph must be non-null and have at least 1 vertex.");
+			return null;
+		}
+
+		pGraph.getReadLock().lock();
+		try {
+			List<int[]> lComponents = findStronglyConnectedComponents((IndexedGraph) pGraph);
+			List<List<Vertex>> lSetOfSCC = new ArrayList<List<Vertex>>(lComponents.size());
+			for (int[] lComponent : lComponents) {
+				List<Vertex> lStronglyConnectedComponent = new ArrayList<Vertex>(lComponent.length);
+				for (int lVertexId : lComponent) {
+					lStronglyConnectedComponent.add(pGraph.getVertex(lVertexId));
+				}
+				lSetOfSCC.add(lStronglyConnectedComponent);
+			}
+			return lSetOfSCC;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the strongly connected components of an indexed graph, such as a CsrGraph snapshot of a Digraph.  If the
+	 * graph is null or does not have any vertices, an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph to find the components of
+	 * @return The strongly connected components, each holding the ids of its vertices
+	 */
+	public List<int[]> findStronglyConnectedComponents(IndexedGraph pGraph) {
+		int[] lComponentIds = findComponentIds(pGraph);
+		if (lComponentIds == null) {
+			return null;
+		}
+
+		//Count the vertices of each component, then drop each vertex into its place
+		int lComponentCount = 0;
+		for (int lComponentId : lComponentIds) {
+			lComponentCount = Math.max(lComponentCount, lComponentId + 1);
+		}
+		int[] lSizes = new int[lComponentCount];
+		for (int lComponentId : lComponentIds) {
+			if (lComponentId != -1) {
+				lSizes[lComponentId]++;
+			}
+		}
+
+		List<int[]> lComponents = new ArrayList<int[]>(lComponentCount);
+		for (int i = 0; i < lComponentCount; i++) {
+			lComponents.add(new int[lSizes[i]]);
+		}
+		Arrays.fill(lSizes, 0);
+		for (int v = 0; v < lComponentIds.length; v++) {
+			if (lComponentIds[v] != -1) {
+				lComponents.get(lComponentIds[v])[lSizes[lComponentIds[v]]++] = v;
+			}
+		}
+		return lComponents;
+	}
+
+	/**
+	 * Finds the strongly connected component of every vertex id.  If the graph is null or does not have any vertices,
+	 * an error is printed out and null is returned.
+	 *
+	 * @param pGraph The graph to find the components of
+	 * @return An array indexed by vertex id holding the component of each vertex, numbered from 0, or -1 for an id
+	 * that is not in use
+	 */
+	public int[] findComponentIds(IndexedGraph pGraph) {
+		//Validate that the graph is non-null and has vertices
+		if (pGraph == null || pGraph.getVertexCount() == 0) {
+			System.out.println("The graph must be non-null and have at least 1 vertex.");
+			return null;
+		}
+
+		return new Search(pGraph).run();
+	}
+
+	/**
+	 *
+	 * @return The number of vertices removed by trimming during the last search
+	 */
+	public int getTrimmedCount() {
+		return trimmedCount;
+	}
+
+	/**
+	 *
+	 * @return The size of the component found by the forward-backward step of the last search
+	 */
+	public int getPivotComponentSize() {
+		return pivotComponentSize;
+	}
+
+	/**
+	 *
+	 * @return The number of times the coloring step was run during the last search
+	 */
+	public int getColoringRounds() {
+		return coloringRounds;
+	}
+
+	/**
+	 * The state of one search.  A vertex is left in the search while its component id is -1, and is taken out by
+	 * setting its component id with compare-and-set, so only one thread can take out each vertex.
+	 */
+	private class Search {
+
+		private final IndexedGraph graph;
+		private final int vertexIdBound;
+		private final AtomicIntegerArray componentIds;
+		private final AtomicInteger nextComponentId = new AtomicInteger();
+		private final ThreadLocal<EdgeCursor> outgoingCursors;
+		private final ThreadLocal<EdgeCursor> incomingCursors;
+
+		/**
+		 * Class constructor
+		 *
+		 * @param pGraph The graph to search
+		 */
+		Search(IndexedGraph pGraph) {
+			graph = pGraph;
+			vertexIdBound = pGraph.getVertexIdBound();
+			componentIds = new AtomicIntegerArray(vertexIdBound);
+			outgoingCursors = ThreadLocal.withInitial(() -> pGraph.newOutgoingCursor());
+			incomingCursors = ThreadLocal.withInitial(() -> pGraph.newIncomingCursor());
+		}
+
+		/**
+		 * Runs the three steps.
+		 *
+		 * @return The component of each vertex id, or -1 for an id that is not in use
+		 */
+		int[] run() {
+			trimmedCount = 0;
+			pivotComponentSize = 0;
+			coloringRounds = 0;
+
+			int[] lRemaining = IntStream.range(0, vertexIdBound).filter(v -> graph.containsVertex(v)).toArray();
+			parallelFor(vertexIdBound, v -> componentIds.set(v, -1));
+
+			int[] lDegreeProducts = trim(lRemaining);
+			lRemaining = getRemaining(lRemaining);
+			if (lRemaining.length > 0) {
+				//Start from the vertex with the most paths through it, which is the most likely to be in the largest
+				//component
+				int lPivot = lRemaining[0];
+				for (int lVertex : lRemaining) {
+					if (lDegreeProducts[lVertex] > lDegreeProducts[lPivot]) {
+						lPivot = lVertex;
+					}
+				}
+				pivotComponentSize = forwardBackward(lPivot);
+				lRemaining = getRemaining(lRemaining);
+			}
+
+			while (lRemaining.length > 0) {
+				coloringRounds++;
+				color(lRemaining);
+				lRemaining = getRemaining(lRemaining);
+			}
+
+			int[] lComponentIds = new int[vertexIdBound];
+			for (int v = 0; v < vertexIdBound; v++) {
+				lComponentIds[v] = graph.containsVertex(v) ? componentIds.get(v) : -1;
+			}
+			return lComponentIds;
+		}
+
+		/**
+		 * Takes out every vertex that has no incoming or no outgoing edges from the vertices left in the search, over
+		 * and over until there are none.  Self loops are not counted, since they do not join a vertex to any other.
+		 *
+		 * @param pRemaining The vertices left in the search
+		 * @return The in degree times the out degree of each vertex among the vertices that are left
+		 */
+		private int[] trim(int[] pRemaining) {
+			AtomicIntegerArray lInDegrees = new AtomicIntegerArray(vertexIdBound);
+			AtomicIntegerArray lOutDegrees = new AtomicIntegerArray(vertexIdBound);
+			parallelFor(pRemaining.length, i -> {
+				int lVertex = pRemaining[i];
+				EdgeCursor lCursor = outgoingCursors.get();
+				lCursor.moveTo(lVertex);
+				int lOutDegree = 0;
+				while (lCursor.next()) {
+					int lNextVertex = lCursor.getAdjacentVertexId();
+					if (lNextVertex != lVertex) {
+						lOutDegree++;
+						lInDegrees.incrementAndGet(lNextVertex);
+					}
+				}
+				lOutDegrees.set(lVertex, lOutDegree);
+			});
+
+			int[] lFrontier = IntStream.of(pRemaining).filter(v -> lInDegrees.get(v) == 0 || lOutDegrees.get(v) == 0)
+				.filter(v -> takeOut(v)).toArray();
+			int lTrimmed = 0;
+			while (lFrontier.length > 0) {
+				lTrimmed += lFrontier.length;
+				int[] lCurrentFrontier = lFrontier;
+
+				//Taking out a vertex lowers the degrees of its neighbours, which may leave them to be taken out next
+				lFrontier = pool.submit(() -> IntStream.of(lCurrentFrontier).parallel()
+					.flatMap(v -> IntStream.concat(lowerDegrees(v, outgoingCursors.get(), lInDegrees),
+						lowerDegrees(v, incomingCursors.get(), lOutDegrees)))
+					.toArray()).join();
+			}
+			trimmedCount = lTrimmed;
+
+			int[] lDegreeProducts = new int[vertexIdBound];
+			for (int lVertex : pRemaining) {
+				lDegreeProducts[lVertex] = (int) Math.min(Integer.MAX_VALUE,
+					(long) lInDegrees.get(lVertex) * lOutDegrees.get(lVertex));
+			}
+			return lDegreeProducts;
+		}
+
+		/**
+		 * Lowers the degree of the neighbours of a vertex that was just taken out.
+		 *
+		 * @param pVertexId The vertex taken out
+		 * @param pCursor A cursor over the outgoing or incoming edges
+		 * @param pDegrees The in degrees (for outgoing edges) or out degrees (for incoming edges) of the vertices
+		 * @return The neighbours that were taken out because their degree dropped to 0
+		 */
+		private IntStream lowerDegrees(int pVertexId, EdgeCursor pCursor, AtomicIntegerArray pDegrees) {
+			IntStream.Builder lTakenOut = null;
+			pCursor.moveTo(pVertexId);
+			while (pCursor.next()) {
+				int lNextVertex = pCursor.getAdjacentVertexId();
+				if (lNextVertex != pVertexId && pDegrees.decrementAndGet(lNextVertex) == 0 && takeOut(lNextVertex)) {
+					if (lTakenOut == null) {
+						lTakenOut = IntStream.builder();
+					}
+					lTakenOut.add(lNextVertex);
+				}
+			}
+			return lTakenOut == null ? IntStream.empty() : lTakenOut.build();
+		}
+
+		/**
+		 * Takes out the component of the pivot: the vertices that can be reached from it both forward and backward.
+		 *
+		 * @param pPivot The vertex to start at
+		 * @return The size of the component
+		 */
+		private int forwardBackward(int pPivot) {
+			AtomicIntegerArray lForwardMarks = reach(new int[] {pPivot}, outgoingCursors);
+			AtomicIntegerArray lBackwardMarks = reach(new int[] {pPivot}, incomingCursors);
+
+			int lComponentId = nextComponentId.getAndIncrement();
+			AtomicInteger lSize = new AtomicInteger();
+			parallelFor(vertexIdBound, v -> {
+				if (lForwardMarks.get(v) == 1 && lBackwardMarks.get(v) == 1) {
+					componentIds.set(v, lComponentId);
+					lSize.incrementAndGet();
+				}
+			});
+			return lSize.get();
+		}
+
+		/**
+		 * Runs the coloring step once: every vertex takes the largest id that can reach it, and each vertex whose
+		 * color is its own id takes out the vertices of that color that can reach it.
+		 *
+		 * @param pRemaining The vertices left in the search
+		 */
+		private void color(int[] pRemaining) {
+			AtomicIntegerArray lColors = new AtomicIntegerArray(vertexIdBound);
+			parallelFor(pRemaining.length, i -> lColors.set(pRemaining[i], pRemaining[i]));
+
+			//Pass the colors forward until nothing changes.  A vertex is only passed on again after its color goes up.
+			AtomicIntegerArray lQueued = new AtomicIntegerArray(vertexIdBound);
+			int[] lFrontier = pRemaining;
+			int lRound = 0;
+			while (lFrontier.length > 0) {
+				int[] lCurrentFrontier = lFrontier;
+				int lCurrentRound = ++lRound;
+				lFrontier = pool.submit(() -> IntStream.of(lCurrentFrontier).parallel().flatMap(v -> {
+					IntStream.Builder lRaised = null;
+					int lColor = lColors.get(v);
+					EdgeCursor lCursor = outgoingCursors.get();
+					lCursor.moveTo(v);
+					while (lCursor.next()) {
+						int lNextVertex = lCursor.getAdjacentVertexId();
+						if (componentIds.get(lNextVertex) != -1) {
+							continue;
+						}
+						int lOldColor = lColors.get(lNextVertex);
+						while (lColor > lOldColor && !lColors.compareAndSet(lNextVertex, lOldColor, lColor)) {
+							lOldColor = lColors.get(lNextVertex);
+						}
+						if (lColor > lOldColor && lQueued.getAndSet(lNextVertex, lCurrentRound) != lCurrentRound) {
+							if (lRaised == null) {
+								lRaised = IntStream.builder();
+							}
+							lRaised.add(lNextVertex);
+						}
+					}
+					return lRaised == null ? IntStream.empty() : lRaised.build();
+				}).toArray()).join();
+			}
+
+			//Each color holds exactly the vertices its root can reach, so the ones that can also reach the root are
+			//its component, and the searches for different colors never meet
+			int[] lRoots = IntStream.of(pRemaining).filter(v -> lColors.get(v) == v).toArray();
+			parallelFor(lRoots.length, i -> {
+				int lRoot = lRoots[i];
+				int lComponentId = nextComponentId.getAndIncrement();
+				componentIds.set(lRoot, lComponentId);
+				int[] lQueue = new int[16];
+				int lQueueSize = 0;
+				lQueue[lQueueSize++] = lRoot;
+				EdgeCursor lCursor = incomingCursors.get();
+
+				for (int j = 0; j < lQueueSize; j++) {
+					lCursor.moveTo(lQueue[j]);
+					while (lCursor.next()) {
+						int lPreviousVertex = lCursor.getAdjacentVertexId();
+						if (lColors.get(lPreviousVertex) != lRoot || componentIds.get(lPreviousVertex) != -1) {
+							continue;
+						}
+						componentIds.set(lPreviousVertex, lComponentId);
+						if (lQueueSize == lQueue.length) {
+							lQueue = Arrays.copyOf(lQueue, lQueueSize * 2);
+						}
+						lQueue[lQueueSize++] = lPreviousVertex;
+					}
+				}
+			});
+		}
+
+		/**
+		 * Finds every vertex left in the search that can be reached from the start vertices, one level at a time.
+		 *
+		 * @param pStart The vertices to start at
+		 * @param pCursors The cursors to follow, outgoing for forward and incoming for backward
+		 * @return A mark of 1 for every vertex reached
+		 */
+		private AtomicIntegerArray reach(int[] pStart, ThreadLocal<EdgeCursor> pCursors) {
+			AtomicIntegerArray lMarks = new AtomicIntegerArray(vertexIdBound);
+			for (int lVertex : pStart) {
+				lMarks.set(lVertex, 1);
+			}
+
+			int[] lFrontier = pStart;
+			while (lFrontier.length > 0) {
+				int[] lCurrentFrontier = lFrontier;
+				lFrontier = pool.submit(() -> IntStream.of(lCurrentFrontier).parallel().flatMap(v -> {
+					IntStream.Builder lReached = null;
+					EdgeCursor lCursor = pCursors.get();
+					lCursor.moveTo(v);
+					while (lCursor.next()) {
+						int lNextVertex = lCursor.getAdjacentVertexId();
+						if (componentIds.get(lNextVertex) == -1 && lMarks.compareAndSet(lNextVertex, 0, 1)) {
+							if (lReached == null) {
+								lReached = IntStream.builder();
+							}
+							lReached.add(lNextVertex);
+						}
+					}
+					return lReached == null ? IntStream.empty() : lReached.build();
+				}).toArray()).join();
+			}
+			return lMarks;
+		}
+
+		/**
+		 * Takes a vertex out of the search as a component on its own, unless another thread already has.
+		 *
+		 * @param pVertexId The vertex
+		 * @return True if this call took it out, False otherwise
+		 */
+		private boolean takeOut(int pVertexId) {
+			//Claim the vertex first, so a component id is only used up by the thread that gets it
+			if (componentIds.get(pVertexId) != -1 || !componentIds.compareAndSet(pVertexId, -1, -2)) {
+				return false;
+			}
+			componentIds.set(pVertexId, nextComponentId.getAndIncrement());
+			return true;
+		}
+
+		/**
+		 *
+		 * @param pRemaining The vertices that were left in the search
+		 * @return The ones that are still left
+		 */
+		private int[] getRemaining(int[] pRemaining) {
+			return pool.submit(() -> IntStream.of(pRemaining).parallel().filter(v -> componentIds.get(v) == -1)
+				.toArray()).join();
+		}
+
+		/**
+		 * Runs a loop body for each index in parallel on the pool.
+		 *
+		 * @param pCount The number of indexes
+		 * @param pBody The loop body
+		 */
+		private void parallelFor(int pCount, IntConsumer pBody) {
+			pool.submit(() -> IntStream.range(0, pCount).parallel().forEach(pBody)).join();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package graphAssignment;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelStronglyConnectedComponentsTest {
+
+	@Test
+	public void test_Graph1() {
+		Digraph lGraph = new Digraph();
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+
+		//A, B and C form a loop, D and E form another, and C leads to D
+		lGraph.addEdge(lVertexA, lVertexB);
+		lGraph.addEdge(lVertexB, lVertexC);
+		lGraph.addEdge(lVertexC, lVertexA);
+		lGraph.addEdge(lVertexC, lVertexD);
+		lGraph.addEdge(lVertexD, lVertexE);
+		lGraph.addEdge(lVertexE, lVertexD);
+		lGraph.addVertex(new Vertex("F"));
+
+		List<List<Vertex>> lComponents = new ParallelStronglyConnectedComponents().findStronglyConnectedComponents(lGraph);
+		Assert.assertEquals(3, lComponents.size());
+		for (List<Vertex> lComponent : lComponents) {
+			if (lComponent.contains(lVertexA)) {
+				Assert.assertEquals(3, lComponent.size());
+			} else if (lComponent.contains(lVertexD)) {
+				Assert.assertEquals(2, lComponent.size());
+			} else {
+				Assert.assertEquals("F", lComponent.get(0).getLabel());
+			}
+		}
+
+		//Test the error cases
+		Assert.assertNull(new ParallelStronglyConnectedComponents().findStronglyConnectedComponents((Digraph) null));
+		Assert.assertNull(new ParallelStronglyConnectedComponents().findStronglyConnectedComponents(new Digraph()));
+	}
+
+	@Test
+	public void testMatchesTarjanAlgorithm() {
+		ParallelStronglyConnectedComponents lParallel = new ParallelStronglyConnectedComponents(new ForkJoinPool(4));
+		TarjanAlgorithm lTarjan = new TarjanAlgorithm();
+
+		//From mostly trivial components to one giant component
+		for (int lEdgeCount : new int[] {500, 1000, 1500, 3000, 8000}) {
+			CsrGraph lGraph = RandomGraphs.getRandomGraph(1000, lEdgeCount, 1, 3, lEdgeCount);
+			int[] lExpected = lTarjan.findComponentIds(lGraph);
+			int lExpectedCount = lTarjan.findStronglyConnectedComponents(lGraph).size();
+			int[] lComponentIds = lParallel.findComponentIds(lGraph);
+
+			Assert.assertEquals(lExpectedCount, lParallel.findStronglyConnectedComponents(lGraph).size());
+			assertSamePartition(lExpected, lComponentIds);
+		}
+
+		//A long cycle cannot be trimmed, so it is all found by the forward-backward step
+		Digraph lCycle = new Digraph();
+		for (int i = 0; i < 5000; i++) {
+			lCycle.addEdge(new Vertex("V" + i), new Vertex("V" + ((i + 1) % 5000)));
+		}
+		Assert.assertEquals(1, lParallel.findStronglyConnectedComponents(lCycle.freeze()).size());
+		Assert.assertEquals(0, lParallel.getTrimmedCount());
+		Assert.assertEquals(5000, lParallel.getPivotComponentSize());
+	}
+
+	private void assertSamePartition(int[] pExpected, int[] pActual) {
+		//Map each expected component to the first actual component seen with it, and check the map holds both ways
+		int[] lActualFor = new int[pExpected.length];
+		int[] lExpectedFor = new int[pExpected.length];
+		Arrays.fill(lActualFor, -1);
+		Arrays.fill(lExpectedFor, -1);
+		for (int v = 0; v < pExpected.length; v++) {
+			if (lActualFor[pExpected[v]] == -1) {
+				lActualFor[pExpected[v]] = pActual[v];
+			}
+			if (lExpectedFor[pActual[v]] == -1) {
+				lExpectedFor[pActual[v]] = pExpected[v];
+			}
+			Assert.assertEquals(lActualFor[pExpected[v]], pActual[v]);
+			Assert.assertEquals(lExpectedFor[pActual[v]], pExpected[v]);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package graphAssignment;
+
+import java.util.Random;
+
+/**
+ * Random graphs for the tests that check an algorithm against Dijkstra's Algorithm or Tarjan's Algorithm.  The same
+ * seed always gives the same graph.
+ *
+ * @author Jessica Otte
+ *
+ */
+final class RandomGraphs {
+
+	private RandomGraphs() {
+	}
+
+	/**
+	 * Creates a graph with vertices "V0" up to "V" + (pVertexCount - 1), which have ids 0 up to pVertexCount - 1, and
+	 * edges between random vertices with random weights.  An edge that is already in the graph is not added again, so
+	 * the graph may have fewer edges than asked for.
+	 *
+	 * @param pVertexCount The number of vertices
+	 * @param pEdgeCount The number of edges to try to add
+	 * @param pMinWeight The smallest weight an edge can have
+	 * @param pMaxWeight The largest weight an edge can have
+	 * @param pSeed The seed of the random numbers
+	 * @return A snapshot of the graph
+	 */
+	static CsrGraph getRandomGraph(int pVertexCount, int pEdgeCount, int pMinWeight, int pMaxWeight, long pSeed) {
+		Random lRandom = new Random(pSeed);
+		Digraph lGraph = new Digraph();
+		for (int i = 0; i < pVertexCount; i++) {
+			lGraph.addVertex(new Vertex("V" + i));
+		}
+		for (int i = 0; i < pEdgeCount; i++) {
+			lGraph.addEdge(lGraph.getVertex("V" + lRandom.nextInt(pVertexCount)),
+				lGraph.getVertex("V" + lRandom.nextInt(pVertexCount)),
+				pMinWeight + lRandom.nextInt(pMaxWeight - pMinWeight + 1));
+		}
+		return lGraph.freeze();
+	}
+}
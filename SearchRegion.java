@@ -0,0 +1,53 @@
+package graphAssignment;
+
+/**
+ * The vertices reached by a bounded search, such as every vertex within a given distance of a source, along with the
+ * distance to each one.  The vertices are listed in the order the search reached them, so distances never go down
+ * from one to the next.  A region only holds the vertices that were found, so its size does not depend on the size of
+ * the graph.
+ *
+ * @author Jessica Otte
+ *
+ */
+public class SearchRegion {
+
+	private final int[] vertexIds;
+	private final int[] distances;
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pVertexIds The ids of the vertices that were found
+	 * @param pDistances The distance to each vertex, in the same order
+	 */
+	SearchRegion(int[] pVertexIds, int[] pDistances) {
+		vertexIds = pVertexIds;
+		distances = pDistances;
+	}
+
+	/**
+	 *
+	 * @return The number of vertices in the region
+	 */
+	public int size() {
+		return vertexIds.length;
+	}
+
+	/**
+	 *
+	 * @param pIndex A position in the region, from 0 to size() - 1
+	 * @return The id of the vertex at that position
+	 */
+	public int getVertexId(int pIndex) {
+		return vertexIds[pIndex];
+	}
+
+	/**
+	 *
+	 * @param pIndex A position in the region, from 0 to size() - 1
+	 * @return The distance to the vertex at that position
+	 */
+	public int getDistance(int pIndex) {
+		return distances[pIndex];
+	}
+}
@@ -0,0 +1,115 @@
+package graphAssignment;
+
+import java.util.Arrays;
+
+/**
+ * The per-vertex state of one shortest path search: the best distance found so far, the vertex it was reached from,
+ * and the fringe of the search.  A workspace is meant to be reused for many searches on graphs of about the same size.
+ * Rather than clearing its arrays before each search, which would cost time in proportion to the whole graph, every
+ * entry is stamped with the search that wrote it, and an entry with an old stamp counts as not yet reached.  That way
+ * a search that only explores a small part of the graph also only costs time in proportion to that part.
+ *
+ * <p>
+ * A workspace is only meant to be used by one thread.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+class SearchWorkspace {
+
+	private int[] distances = new int[0];
+	private int[] parents = new int[0];
+	private int[] stamps = new int[0];
+	private int stamp;
+	private final IndexedPriorityQueue fringe;
+
+	/**
+	 * Class constructor, which uses an indexed 4-ary heap for the fringe
+	 */
+	SearchWorkspace() {
+		this(new IndexedDaryHeap(0));
+	}
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pFringe An empty priority queue to use for the fringe, which is grown as needed
+	 */
+	SearchWorkspace(IndexedPriorityQueue pFringe) {
+		fringe = pFringe;
+	}
+
+	/**
+	 * Gets the workspace ready for a new search, growing it if the graph has more vertex ids than it has room for.
+	 *
+	 * @param pVertexIdBound The vertex id bound of the graph that will be searched
+	 */
+	void reset(int pVertexIdBound) {
+		if (stamps.length < pVertexIdBound) {
+			int lLength = Math.max(pVertexIdBound, stamps.length + (stamps.length >> 1));
+			distances = new int[lLength];
+			parents = new int[lLength];
+			stamps = new int[lLength];
+			stamp = 0;
+			fringe.ensureCapacity(lLength);
+		}
+
+		fringe.clear();
+		stamp++;
+		if (stamp == Integer.MAX_VALUE) {
+			//Start the stamps over, rather than letting an old stamp come around again
+			Arrays.fill(stamps, 0);
+			stamp = 1;
+		}
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return True if the vertex has been reached in the current search, False otherwise
+	 */
+	boolean isReached(int pVertexId) {
+		return stamps[pVertexId] == stamp;
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The best distance found to the vertex in the current search, or Integer.MAX_VALUE if it has not been
+	 * reached
+	 */
+	int getDistance(int pVertexId) {
+		return stamps[pVertexId] == stamp ? distances[pVertexId] : Integer.MAX_VALUE;
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id that has been reached in the current search
+	 * @return The vertex it was reached from, or -1 for the vertex the search started at
+	 */
+	int getParent(int pVertexId) {
+		return parents[pVertexId];
+	}
+
+	/**
+	 * Records a better distance to a vertex, and the vertex it was reached from.  The fringe is not changed.
+	 *
+	 * @param pVertexId A vertex id
+	 * @param pDistance The new distance to the vertex
+	 * @param pParentId The vertex it was reached from, or -1 for the vertex the search started at
+	 */
+	void setDistance(int pVertexId, int pDistance, int pParentId) {
+		stamps[pVertexId] = stamp;
+		distances[pVertexId] = pDistance;
+		parents[pVertexId] = pParentId;
+	}
+
+	/**
+	 *
+	 * @return The fringe of the current search, which is emptied by reset
+	 */
+	IndexedPriorityQueue getFringe() {
+		return fringe;
+	}
+}
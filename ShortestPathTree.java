@@ -0,0 +1,144 @@
+package graphAssignment;
+
+/**
+ * The result of running Dijkstra's Algorithm from one source vertex of an indexed graph: the distance to every vertex
+ * id, and the previous vertex on the shortest path to it.  The tree remembers the version of the graph it was computed
+ * at, so it can tell when it is out of date.  A tree is never changed after it is created, so it can be shared between
+ * threads, for example through a ShortestPathTreeCache.
+ *
+ * @author Jessica Otte
+ *
+ */
+public class ShortestPathTree {
+
+	//A rough allowance for the object headers and fields, on top of the two arrays
+	private static final int OVERHEAD_BYTES = 64;
+
+	private final IndexedGraph graph;
+	private final long version;
+	private final int sourceId;
+	private final int[] distances;
+	private final int[] previous;
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pGraph The graph the tree was computed for
+	 * @param pVersion The version of the graph when the tree was computed
+	 * @param pSourceId The id of the source vertex
+	 * @param pDistances The distance from the source to each vertex id, or Integer.MAX_VALUE if unreachable
+	 * @param pPrevious The previous vertex on the shortest path to each vertex id, or -1 for the source and for
+	 * vertices that cannot be reached
+	 */
+	ShortestPathTree(IndexedGraph pGraph, long pVersion, int pSourceId, int[] pDistances, int[] pPrevious) {
+		graph = pGraph;
+		version = pVersion;
+		sourceId = pSourceId;
+		distances = pDistances;
+		previous = pPrevious;
+	}
+
+	/**
+	 *
+	 * @return The graph the tree was computed for
+	 */
+	public IndexedGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 *
+	 * @return The version of the graph when the tree was computed
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 *
+	 * @return True if the graph has not been changed since the tree was computed, False otherwise
+	 */
+	public boolean isCurrent() {
+		return version == graph.getVersion();
+	}
+
+	/**
+	 *
+	 * @return The id of the source vertex
+	 */
+	public int getSourceId() {
+		return sourceId;
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The distance from the source to the vertex, or Integer.MAX_VALUE if it cannot be reached
+	 */
+	public int getDistance(int pVertexId) {
+		return distances[pVertexId];
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return The vertex before this one on the shortest path from the source, or -1 if the vertex is the source or
+	 * cannot be reached
+	 */
+	public int getPreviousVertexId(int pVertexId) {
+		return previous[pVertexId];
+	}
+
+	/**
+	 *
+	 * @param pVertexId A vertex id
+	 * @return True if there is a path from the source to the vertex, False otherwise
+	 */
+	public boolean isReachable(int pVertexId) {
+		return distances[pVertexId] != Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Gets the shortest path from the source to a vertex.
+	 *
+	 * @param pDestinationId The id of the vertex to end at
+	 * @return The vertex ids along the path, such that position 0 is the source and the last position is the
+	 * destination, or null if the destination cannot be reached
+	 */
+	public int[] getPath(int pDestinationId) {
+		if (!isReachable(pDestinationId)) {
+			return null;
+		}
+
+		//Count the vertices on the path, then fill the path in from the destination back to the source
+		int lLength = 1;
+		for (int lVertex = pDestinationId; lVertex != sourceId; lVertex = previous[lVertex]) {
+			lLength++;
+		}
+
+		int[] lPath = new int[lLength];
+		int lVertex = pDestinationId;
+		for (int i = lLength - 1; i >= 0; i--) {
+			lPath[i] = lVertex;
+			lVertex = previous[lVertex];
+		}
+
+		return lPath;
+	}
+
+	/**
+	 *
+	 * @return A copy of the distances from the source, indexed by vertex id
+	 */
+	public int[] getDistances() {
+		return distances.clone();
+	}
+
+	/**
+	 *
+	 * @return An estimate of the memory used by the tree, in bytes
+	 */
+	public long getSizeInBytes() {
+		return OVERHEAD_BYTES + 4L * distances.length + 4L * previous.length;
+	}
+}
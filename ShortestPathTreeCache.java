@@ -0,0 +1,255 @@
+package graphAssignment;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of shortest path trees, keyed by graph and source vertex.  The cache is limited both by the number
+ * of trees and by an estimate of the memory they use; when either limit is passed, trees are evicted either least
+ * recently used first, or least frequently used first.  A tree is only returned while the version of its graph is the
+ * same as when it was computed, so changing the graph invalidates every tree computed for it.
+ *
+ * <p>
+ * The cache is safe to share between threads.  Graphs are compared by identity rather than with equals, since two
+ * separate graphs that happen to be equal can still be changed separately.
+ * </p>
+ *
+ * @author Jessica Otte
+ *
+ */
+public class ShortestPathTreeCache {
+
+	/**
+	 * The order in which trees are evicted once the cache is full
+	 */
+	public enum EvictionPolicy {
+		LEAST_RECENTLY_USED, LEAST_FREQUENTLY_USED
+	}
+
+	private final int maxEntries;
+	private final long maxBytes;
+	private final EvictionPolicy evictionPolicy;
+
+	//Kept in access order, so the least recently used tree is always first
+	private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true);
+	private long usedBytes;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+	private long invalidationCount;
+
+	/**
+	 * Class constructor, for a least recently used cache limited only by the number of trees
+	 *
+	 * @param pMaxEntries The most trees the cache can hold
+	 */
+	public ShortestPathTreeCache(int pMaxEntries) {
+		this(pMaxEntries, Long.MAX_VALUE, EvictionPolicy.LEAST_RECENTLY_USED);
+	}
+
+	/**
+	 * Class constructor
+	 *
+	 * @param pMaxEntries The most trees the cache can hold; values below 1 are treated as 1
+	 * @param pMaxBytes The most memory, in bytes, the trees in the cache can use
+	 * @param pEvictionPolicy The order in which trees are evicted once the cache is full; null is treated as least 
+	 * recently used
+	 */
+	public ShortestPathTreeCache(int pMaxEntries, long pMaxBytes, EvictionPolicy pEvictionPolicy) {
+		maxEntries = Math.max(1, pMaxEntries);
+		maxBytes = pMaxBytes;
+		evictionPolicy = pEvictionPolicy == null ? EvictionPolicy.LEAST_RECENTLY_USED : pEvictionPolicy;
+	}
+
+	/**
+	 * Gets the tree for a source vertex of a graph, if the cache has one that is still current.  A tree that is out
+	 * of date is removed from the cache.
+	 *
+	 * @param pGraph The graph
+	 * @param pSourceId The id of the source vertex
+	 * @return The tree, or null if the cache does not have a current one
+	 */
+	public synchronized ShortestPathTree get(IndexedGraph pGraph, int pSourceId) {
+		CacheKey lKey = new CacheKey(pGraph, pSourceId);
+		CacheEntry lEntry = entries.get(lKey);
+
+		if (lEntry != null && !lEntry.tree.isCurrent()) {
+			//The graph has changed since the tree was computed
+			entries.remove(lKey);
+			usedBytes -= lEntry.tree.getSizeInBytes();
+			invalidationCount++;
+			lEntry = null;
+		}
+
+		if (lEntry == null) {
+			missCount++;
+			return null;
+		}
+
+		hitCount++;
+		lEntry.useCount++;
+		return lEntry.tree;
+	}
+
+	/**
+	 * Adds a tree to the cache, replacing any tree already held for the same graph and source, and evicting other
+	 * trees if needed to stay within the limits.  A tree that is larger than the memory limit on its own is not
+	 * added.
+	 *
+	 * @param pTree The tree to add
+	 */
+	public synchronized void put(ShortestPathTree pTree) {
+		long lTreeBytes = pTree.getSizeInBytes();
+		if (lTreeBytes > maxBytes) {
+			return;
+		}
+
+		CacheKey lKey = new CacheKey(pTree.getGraph(), pTree.getSourceId());
+		CacheEntry lOldEntry = entries.put(lKey, new CacheEntry(pTree));
+		if (lOldEntry != null) {
+			usedBytes -= lOldEntry.tree.getSizeInBytes();
+		}
+		usedBytes += lTreeBytes;
+
+		//Evict other trees until the cache is back within its limits; the new tree is never the one evicted
+		while (entries.size() > maxEntries || usedBytes > maxBytes) {
+			CacheKey lVictim = findVictim(lKey);
+			CacheEntry lEvicted = entries.remove(lVictim);
+			usedBytes -= lEvicted.tree.getSizeInBytes();
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * Picks the tree to evict next, according to the eviction policy.
+	 *
+	 * @param pExcludedKey The key of a tree that must not be evicted
+	 * @return The key of the tree to evict
+	 */
+	private CacheKey findVictim(CacheKey pExcludedKey) {
+		CacheKey lVictim = null;
+		long lVictimUseCount = Long.MAX_VALUE;
+
+		//Entries are in least recently used order, so the first match is also the least recent of any tie
+		Iterator<Map.Entry<CacheKey, CacheEntry>> lIterator = entries.entrySet().iterator();
+		while (lIterator.hasNext()) {
+			Map.Entry<CacheKey, CacheEntry> lEntry = lIterator.next();
+			if (lEntry.getKey().equals(pExcludedKey)) {
+				continue;
+			}
+			if (evictionPolicy == EvictionPolicy.LEAST_RECENTLY_USED) {
+				return lEntry.getKey();
+			}
+			if (lEntry.getValue().useCount < lVictimUseCount) {
+				lVictim = lEntry.getKey();
+				lVictimUseCount = lEntry.getValue().useCount;
+			}
+		}
+
+		return lVictim;
+	}
+
+	/**
+	 * Removes every tree from the cache.  The hit, miss and eviction counts are kept.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		usedBytes = 0;
+	}
+
+	/**
+	 *
+	 * @return The number of trees in the cache
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 *
+	 * @return An estimate of the memory used by the trees in the cache, in bytes
+	 */
+	public synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 *
+	 * @return The number of times a current tree was found in the cache
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 *
+	 * @return The number of times a current tree was not found in the cache
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 *
+	 * @return The number of trees evicted to stay within the limits of the cache
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 *
+	 * @return The number of trees removed because their graph had changed
+	 */
+	public synchronized long getInvalidationCount() {
+		return invalidationCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ShortestPathTreeCache [size=" + entries.size() + ", usedBytes=" + usedBytes + ", hits=" + hitCount
+			+ ", misses=" + missCount + ", evictions=" + evictionCount + ", invalidations=" + invalidationCount + "]";
+	}
+
+	/**
+	 * Identifies a tree by the identity of its graph and its source vertex id
+	 */
+	private static class CacheKey {
+
+		private final IndexedGraph graph;
+		private final int sourceId;
+
+		private CacheKey(IndexedGraph pGraph, int pSourceId) {
+			graph = pGraph;
+			sourceId = pSourceId;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(graph) + sourceId;
+		}
+
+		@Override
+		public boolean equals(Object pObject) {
+			if (!(pObject instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey lOther = (CacheKey) pObject;
+			return graph == lOther.graph && sourceId == lOther.sourceId;
+		}
+	}
+
+	/**
+	 * A tree in the cache, with the number of times it has been used
+	 */
+	private static class CacheEntry {
+
+		private final ShortestPathTree tree;
+		private long useCount = 1;
+
+		private CacheEntry(ShortestPathTree pTree) {
+			tree = pTree;
+		}
+	}
+}
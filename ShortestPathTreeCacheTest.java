@@ -0,0 +1,145 @@
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ShortestPathTreeCacheTest {
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		CsrGraph lGraph = getGraph();
+		ShortestPathTreeCache lCache = new ShortestPathTreeCache(2);
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm(lCache);
+
+		lAlgorithm.findShortestPathTree(lGraph, 0);
+		lAlgorithm.findShortestPathTree(lGraph, 1);
+
+		//Using source 0 again makes source 1 the least recently used, so it is evicted to make room for source 2
+		lAlgorithm.findShortestPathTree(lGraph, 0);
+		lAlgorithm.findShortestPathTree(lGraph, 2);
+		assertEquals(2, lCache.size());
+		assertEquals(1, lCache.getEvictionCount());
+		assertNotNull(lCache.get(lGraph, 0));
+		assertNull(lCache.get(lGraph, 1));
+		assertNotNull(lCache.get(lGraph, 2));
+	}
+
+	@Test
+	public void testLeastFrequentlyUsedEviction() {
+		CsrGraph lGraph = getGraph();
+		ShortestPathTreeCache lCache = new ShortestPathTreeCache(2, Long.MAX_VALUE,
+			ShortestPathTreeCache.EvictionPolicy.LEAST_FREQUENTLY_USED);
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm(lCache);
+
+		//Source 0 is used three times and source 1 once, even though source 1 was used most recently
+		lAlgorithm.findShortestPathTree(lGraph, 0);
+		lAlgorithm.findShortestPathTree(lGraph, 0);
+		lAlgorithm.findShortestPathTree(lGraph, 0);
+		lAlgorithm.findShortestPathTree(lGraph, 1);
+
+		lAlgorithm.findShortestPathTree(lGraph, 2);
+		assertEquals(1, lCache.getEvictionCount());
+		assertNotNull(lCache.get(lGraph, 0));
+		assertNull(lCache.get(lGraph, 1));
+		assertNotNull(lCache.get(lGraph, 2));
+	}
+
+	@Test
+	public void testMemoryLimit() {
+		CsrGraph lGraph = getGraph();
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm();
+		long lTreeBytes = lAlgorithm.findShortestPathTree(lGraph, 0).getSizeInBytes();
+
+		//Room for two trees by memory, even though the entry limit is higher
+		ShortestPathTreeCache lCache = new ShortestPathTreeCache(10, 2 * lTreeBytes,
+			ShortestPathTreeCache.EvictionPolicy.LEAST_RECENTLY_USED);
+		for (int i = 0; i < 4; i++) {
+			lCache.put(lAlgorithm.findShortestPathTree(lGraph, i));
+		}
+		assertEquals(2, lCache.size());
+		assertEquals(2 * lTreeBytes, lCache.getUsedBytes());
+		assertEquals(2, lCache.getEvictionCount());
+
+		//A tree larger than the whole cache is not added
+		ShortestPathTreeCache lSmallCache = new ShortestPathTreeCache(10, lTreeBytes - 1,
+			ShortestPathTreeCache.EvictionPolicy.LEAST_RECENTLY_USED);
+		lSmallCache.put(lAlgorithm.findShortestPathTree(lGraph, 0));
+		assertEquals(0, lSmallCache.size());
+	}
+
+	@Test
+	public void testInvalidatedByGraphChange() {
+		Digraph lGraph = new Digraph();
+		lGraph.addEdge(new Vertex("A"), new Vertex("B"), 4);
+		int lSourceId = lGraph.getVertexId("A");
+		int lDestinationId = lGraph.getVertexId("B");
+
+		ShortestPathTreeCache lCache = new ShortestPathTreeCache(4);
+		DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm(lCache);
+		assertEquals(4, lAlgorithm.getShortestDistance(lGraph, lSourceId, lDestinationId).intValue());
+		assertEquals(4, lAlgorithm.getShortestDistance(lGraph, lSourceId, lDestinationId).intValue());
+		assertEquals(1, lCache.getHitCount());
+
+		lGraph.addEdge(lGraph.getVertex("A"), lGraph.getVertex("B"), 1);
+		assertNull(lCache.get(lGraph, lSourceId));
+		assertEquals(1, lCache.getInvalidationCount());
+		assertEquals(0, lCache.size());
+		assertEquals(1, lAlgorithm.getShortestDistance(lGraph, lSourceId, lDestinationId).intValue());
+	}
+
+	@Test
+	public void testSharedBetweenThreads() throws InterruptedException {
+		final CsrGraph lGraph = getGraph();
+		final ShortestPathTreeCache lCache = new ShortestPathTreeCache(3);
+		final int[] lExpected = new DijkstrasAlgorithm().findMinimumDistance(lGraph, 0);
+		final AtomicInteger lFailures = new AtomicInteger();
+
+		//Each thread has its own algorithm, but they all share the cache
+		List<Thread> lThreads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Thread lThread = new Thread(() -> {
+				DijkstrasAlgorithm lAlgorithm = new DijkstrasAlgorithm(lCache);
+				for (int i = 0; i < 500; i++) {
+					int lSourceId = i % 5;
+					ShortestPathTree lTree = lAlgorithm.findShortestPathTree(lGraph, lSourceId);
+					if (lSourceId == 0 && lTree.getDistance(4) != lExpected[4]) {
+						lFailures.incrementAndGet();
+					}
+				}
+			});
+			lThreads.add(lThread);
+			lThread.start();
+		}
+		for (Thread lThread : lThreads) {
+			lThread.join();
+		}
+
+		assertEquals(0, lFailures.get());
+		assertEquals(2000, lCache.getHitCount() + lCache.getMissCount());
+		assertTrue(lCache.size() <= 3);
+	}
+
+	private CsrGraph getGraph() {
+		Digraph lDigraph = new Digraph();
+
+		Vertex lVertex1 = new Vertex("V1");
+		Vertex lVertex2 = new Vertex("V2");
+		Vertex lVertex3 = new Vertex("V3");
+		Vertex lVertex4 = new Vertex("V4");
+		Vertex lVertex5 = new Vertex("V5");
+
+		lDigraph.addEdge(lVertex1, lVertex2, 2);
+		lDigraph.addEdge(lVertex1, lVertex3, 7);
+		lDigraph.addEdge(lVertex2, lVertex3, 3);
+		lDigraph.addEdge(lVertex3, lVertex4, 2);
+		lDigraph.addEdge(lVertex4, lVertex5, 1);
+		lDigraph.addEdge(lVertex5, lVertex1, 4);
+
+		return lDigraph.freeze();
+	}
+}
@@ -1,100 +1,196 @@
-package graphAssignment;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Stack;
-
-/**
- * This class implements Tarjan's Algorithm and is used to find strongly connected components in the graph.
- * 
- * @author Jessica Otte
- *
- */
-public class TarjanAlgorithm {
-
-	int index = 0;
-	Stack<Vertex> nodeStack = new Stack<Vertex>();
-	Map<Vertex, Integer> depthMap = new HashMap<Vertex, Integer>();
-	Map<Vertex, Integer> lowLinkMap = new HashMap<Vertex, Integer>();
-	Map<Vertex, Boolean> onStackMap = new HashMap<Vertex, Boolean>();
-	
-	//This is a list of strongly connected components (subgraphs of the main digraph)
-	List<List<Vertex>> lSetOfSCC = new ArrayList<List<Vertex>>();
-	
-	/**
-	 * This method will apply Tarjan's Algorithm to the graph and return the strongly connected components.  If the 
-	 * graph is null or does not have any vertices, an error is printed out and null is returned.
-	 * 
-	 * @param pGraph The graph for which the algorithm should be applied to
-	 * @return The strongly connected components
-	 */
-	public List<List<Vertex>> findStronglyConnectedComponents(Digraph pGraph) {
-		//Validate that the graph is non-null and has vertices
-		if (pGraph == null || pGraph.getVertices() == null || pGraph.getVertices().isEmpty()) {
-			System.out.println("The graph must be non-null and have at least 1 vertex.");
-			return null;
-		}
-		
-		//Initialize the map
-		for (Vertex lVertex : pGraph.getVertices()) {
-			depthMap.put(lVertex, null);
-		}
-		
-		//Now loop over all vertices and apply the algorithm, if the vertex hasn't been visited
-		for (Vertex lVertex : pGraph.getVertices()) {
-			if (depthMap.get(lVertex) == null) {
-				strongConnect(lVertex);
-			}
-		}
-		
-		return lSetOfSCC;
-	}
-	
-	private void strongConnect(Vertex pVertex) {
-		List<Vertex> lStronglyConnectedComponent = null;
-		depthMap.put(pVertex, index);
-		lowLinkMap.put(pVertex, index);
-		index++;
-		nodeStack.push(pVertex);
-		onStackMap.put(pVertex, true);
-		
-		List<Edge> lOutgoingEdges = pVertex.getOutgoingEdges();
-		if (lOutgoingEdges != null && !lOutgoingEdges.isEmpty()) {
-			for (Edge lEdge : lOutgoingEdges) {
-				Vertex lNextVertex = lEdge.getToVertex();
-				
-				if (lNextVertex != null && depthMap.containsKey(lNextVertex)
-					&& depthMap.get(lNextVertex) == null) {
-					strongConnect(lNextVertex);
-					if (lowLinkMap.get(pVertex) > lowLinkMap.get(lNextVertex)) {
-						lowLinkMap.put(pVertex, lowLinkMap.get(lNextVertex));
-					}
-				} else if (onStackMap.containsKey(lNextVertex)
-					&& onStackMap.get(lNextVertex) == true) {
-					//This next vertex is in the stack and hence in the current SCC
-					if (lowLinkMap.get(pVertex) > depthMap.get(lNextVertex)) {
-						lowLinkMap.put(pVertex, depthMap.get(lNextVertex));
-					}
-				}
-			}
-		}
-		
-		//If this vertex is a root node, pop the stack and generate an SCC
-		if (lowLinkMap.get(pVertex).equals(depthMap.get(pVertex))) {
-			lStronglyConnectedComponent = new ArrayList<Vertex>();
-			
-			Vertex lStackVertex = nodeStack.pop();
-			onStackMap.put(lStackVertex, false);
-			lStronglyConnectedComponent.add(lStackVertex);
-			
-			while (!lStackVertex.equals(pVertex)) {
-				lStackVertex = nodeStack.pop();
-				onStackMap.put(lStackVertex, false);
-				lStronglyConnectedComponent.add(lStackVertex);
-			}
-			lSetOfSCC.add(lStronglyConnectedComponent);
-		}
-	}
-}
+package graphAssignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class implements Tarjan's Algorithm and is used to find strongly connected components in the graph.  The
+ * state of a search is kept in arrays indexed by vertex id, and the depth first search uses its own stack rather 
+ * than recursion.
+ * 
+ * @author Jessica Otte
+ *
+ */
+public class TarjanAlgorithm {
+
+	//The component each vertex id was placed in by the most recent search
+	private int[] componentIds = new int[0];
+	
+	/**
+	 * This method will apply Tarjan's Algorithm to the graph and return the strongly connected components.  If the 
+	 * graph is null or does not have any vertices, an error is printed out and null is returned.
+	 * 
+	 * <p>
+	 * The search runs on the graph's vertex ids and keeps its own stack instead of recursing, so it cannot overflow 
+	 * the call stack on long chains of vertices.  Each call starts from scratch, so the same instance can be used 
+	 * again after the graph changes.
+	 * </p>
+	 * 
+	 * @param pGraph The graph for which the algorithm should be applied to
+	 * @return The strongly connected components
+	 */
+	public List<List<Vertex>> findStronglyConnectedComponents(Digraph pGraph) {
+		//Validate that the graph is non-null and has vertices
+		if (pGraph == null || pGraph.getVertices() == null || pGraph.getVertices().isEmpty()) {
+			System.out.println("The graph must be non-null and have at least 1 vertex.");
+			return null;
+		}
+		
+		pGraph.getReadLock().lock();
+		try {
+			List<int[]> lComponents = findStronglyConnectedComponents((IndexedGraph)pGraph);
+		
+			//This is a list of strongly connected components (subgraphs of the main digraph)
+			List<List<Vertex>> lSetOfSCC = new ArrayList<List<Vertex>>(lComponents.size());
+			for (int[] lComponent : lComponents) {
+				List<Vertex> lStronglyConnectedComponent = new ArrayList<Vertex>(lComponent.length);
+				for (int lVertexId : lComponent) {
+					lStronglyConnectedComponent.add(pGraph.getVertex(lVertexId));
+				}
+				lSetOfSCC.add(lStronglyConnectedComponent);
+			}
+		
+			return lSetOfSCC;
+		} finally {
+			pGraph.getReadLock().unlock();
+		}
+	}
+	
+	/**
+	 * Applies Tarjan's Algorithm to the graph and returns, for each vertex id, the position of its strongly connected
+	 * component in the list that findStronglyConnectedComponents would return.  If the graph is null or does not have 
+	 * any vertices, an error is printed out and null is returned.
+	 * 
+	 * @param pGraph The graph for which the algorithm should be applied to
+	 * @return An array indexed by vertex id holding the component of each vertex, or -1 for an id that is not in use
+	 */
+	public int[] findComponentIds(IndexedGraph pGraph) {
+		if (findStronglyConnectedComponents(pGraph) == null) {
+			return null;
+		}
+		return componentIds;
+	}
+	
+	/**
+	 * 
+	 * @return The component of each vertex id found by the most recent search, or -1 for an id that is not in use 
+	 */
+	public int[] getComponentIds() {
+		return componentIds;
+	}
+	
+	/**
+	 * This method will apply Tarjan's Algorithm to an indexed graph, such as a CsrGraph snapshot of a Digraph, and 
+	 * return the strongly connected components as arrays of vertex ids.  Instead of recursing once per vertex, the 
+	 * depth first search keeps its own stack of vertices and edge cursors, so long chains of vertices cannot overflow 
+	 * the call stack.  If the graph is null or does not have any vertices, an error is printed out and null is 
+	 * returned.
+	 * 
+	 * @param pGraph The graph for which the algorithm should be applied to
+	 * @return The strongly connected components, each holding the ids of its vertices
+	 */
+	public List<int[]> findStronglyConnectedComponents(IndexedGraph pGraph) {
+		//Validate that the graph is non-null and has vertices
+		if (pGraph == null || pGraph.getVertexCount() == 0) {
+			System.out.println("The graph must be non-null and have at least 1 vertex.");
+			return null;
+		}
+		
+		int lIdBound = pGraph.getVertexIdBound();
+		int lIndex = 0;
+		
+		//The depth (discovery order) and low link of each vertex, where a depth of -1 means not yet visited
+		int[] lDepths = new int[lIdBound];
+		int[] lLowLinks = new int[lIdBound];
+		Arrays.fill(lDepths, -1);
+		
+		//The stack of vertices in components that have not been completed yet
+		int[] lNodeStack = new int[lIdBound];
+		int lNodeStackSize = 0;
+		BitSet lOnStack = new BitSet(lIdBound);
+		
+		//The depth first search call stack: a vertex, and a cursor positioned on the edge it is currently following
+		int[] lCallStack = new int[lIdBound];
+		EdgeCursor[] lCursors = new EdgeCursor[16];
+		
+		List<int[]> lComponents = new ArrayList<int[]>();
+		componentIds = new int[lIdBound];
+		Arrays.fill(componentIds, -1);
+		
+		for (int lRoot = 0; lRoot < lIdBound; lRoot++) {
+			if (!pGraph.containsVertex(lRoot) || lDepths[lRoot] != -1) {
+				continue;
+			}
+			
+			//Start a new depth first search from this vertex
+			int lCallDepth = 0;
+			int lNextVertex = lRoot;
+			
+			while (true) {
+				if (lNextVertex != -1) {
+					//Visit the vertex: number it, push it on both stacks and start walking its edges
+					lDepths[lNextVertex] = lIndex;
+					lLowLinks[lNextVertex] = lIndex;
+					lIndex++;
+					lNodeStack[lNodeStackSize++] = lNextVertex;
+					lOnStack.set(lNextVertex);
+					
+					if (lCallDepth == lCursors.length) {
+						lCursors = Arrays.copyOf(lCursors, lCallDepth * 2);
+					}
+					if (lCursors[lCallDepth] == null) {
+						lCursors[lCallDepth] = pGraph.newOutgoingCursor();
+					}
+					lCursors[lCallDepth].moveTo(lNextVertex);
+					lCallStack[lCallDepth++] = lNextVertex;
+					lNextVertex = -1;
+				}
+				
+				int lVertex = lCallStack[lCallDepth - 1];
+				EdgeCursor lCursor = lCursors[lCallDepth - 1];
+				
+				if (lCursor.next()) {
+					int lAdjacentVertex = lCursor.getAdjacentVertexId();
+					if (lDepths[lAdjacentVertex] == -1) {
+						//Descend into the unvisited vertex
+						lNextVertex = lAdjacentVertex;
+					} else if (lOnStack.get(lAdjacentVertex)) {
+						//This next vertex is in the stack and hence in the current SCC
+						lLowLinks[lVertex] = Math.min(lLowLinks[lVertex], lDepths[lAdjacentVertex]);
+					}
+					continue;
+				}
+				
+				//All edges have been followed.  If this vertex is a root node, pop the stack and generate an SCC
+				if (lLowLinks[lVertex] == lDepths[lVertex]) {
+					int lComponentStart = lNodeStackSize;
+					do {
+						lComponentStart--;
+						lOnStack.clear(lNodeStack[lComponentStart]);
+					} while (lNodeStack[lComponentStart] != lVertex);
+					
+					//Keep the order in which the vertices are popped off the stack
+					int[] lComponent = new int[lNodeStackSize - lComponentStart];
+					for (int i = 0; i < lComponent.length; i++) {
+						lComponent[i] = lNodeStack[lNodeStackSize - 1 - i];
+						componentIds[lComponent[i]] = lComponents.size();
+					}
+					lNodeStackSize = lComponentStart;
+					lComponents.add(lComponent);
+				}
+				
+				//Return to the calling vertex, passing the low link back up
+				lCallDepth--;
+				if (lCallDepth == 0) {
+					break;
+				}
+				int lCaller = lCallStack[lCallDepth - 1];
+				lLowLinks[lCaller] = Math.min(lLowLinks[lCaller], lLowLinks[lVertex]);
+			}
+		}
+		
+		return lComponents;
+	}
+}
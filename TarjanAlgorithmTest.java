@@ -1,152 +1,254 @@
-package graphAssignment;
-
-import static org.junit.Assert.*;
-
-import java.util.List;
-
-import org.junit.Test;
-
-
-public class TarjanAlgorithmTest {
-	
-	/*
-	 * To help with visualizing, the graphs the I used for these tests look something like the following.
-	 * The @ will represent the arrow head
-	 * 
-	 * 
-	 * Graph1:
-	 * 
-	 * 		A -----------@ B -----------@ C -----------@ D
-	 *      @ \            |             @|
-	 *      |   \          |             ||
-	 *      |    \         |             ||
-	 *      |      \       |             ||
-	 *      |         \    |             ||
-	 *      |            @ @             |@
-	 *      E @---------- F -----------@ G @------------ H
-	 *      
-	 * 
-	 * Graph2:
-	 *                                    @-------------  
-	 * 	 	A @----------- C @---------- F ------------@ G
-	 *      |           @  @             @               @
-	 *      |         /    |             |               |
-	 *      |       /      |             |               |
-	 *      |     /        |             |               |
-	 *      |   /          |             |               |
-	 *      @ /            |             |               |
-	 *      B @----------- D -----------@ E @----------- H @__
-	 *                      @------------                |____|
-	 * 
-	 *                  
-	 */
-	
-	@Test
-	public void test_Graph1() {
-		Digraph lGraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertexA = new Vertex("A");
-		Vertex lVertexB = new Vertex("B");
-		Vertex lVertexC = new Vertex("C");
-		Vertex lVertexD = new Vertex("D");
-		Vertex lVertexE = new Vertex("E");
-		Vertex lVertexF = new Vertex("F");
-		Vertex lVertexG = new Vertex("G");
-		Vertex lVertexH = new Vertex("H");
-		
-		//Add the edges between the vertices
-		lGraph.addEdge(lVertexA, lVertexB);
-		lGraph.addEdge(lVertexA, lVertexF);
-		lGraph.addEdge(lVertexB, lVertexC);
-		lGraph.addEdge(lVertexB, lVertexF);
-		lGraph.addEdge(lVertexC, lVertexD);
-		lGraph.addEdge(lVertexC, lVertexG);
-		lGraph.addEdge(lVertexE, lVertexA);
-		lGraph.addEdge(lVertexF, lVertexE);
-		lGraph.addEdge(lVertexF, lVertexG);
-		lGraph.addEdge(lVertexG, lVertexC);
-		lGraph.addEdge(lVertexH, lVertexG);
-	
-		//Find the strongly connected components in this graph
-		TarjanAlgorithm lAlgorithm = new TarjanAlgorithm();
-		List<List<Vertex>> lResults = lAlgorithm.findStronglyConnectedComponents(lGraph);
-		
-		//It should result in the grouping:
-		//{A, B, E, F}, {C, G}, {D}, {H}
-		
-		assertEquals(4, lResults.size());
-		assertEquals(1, lResults.get(0).size()); 
-		assertTrue(lResults.get(0).contains(lVertexD));
-		
-		assertEquals(2, lResults.get(1).size()); 
-		assertTrue(lResults.get(1).contains(lVertexC));
-		assertTrue(lResults.get(1).contains(lVertexG));
-		
-		assertEquals(4, lResults.get(2).size()); 
-		assertTrue(lResults.get(2).contains(lVertexA));
-		assertTrue(lResults.get(2).contains(lVertexB));
-		assertTrue(lResults.get(2).contains(lVertexE));
-		assertTrue(lResults.get(2).contains(lVertexF));
-		
-		assertEquals(1, lResults.get(3).size()); 
-		assertTrue(lResults.get(3).contains(lVertexH));
-		
-	}
-
-	@Test
-	public void test_Graph2() {
-		Digraph lGraph = new Digraph();
-		
-		//Create the vertices
-		Vertex lVertexA = new Vertex("A");
-		Vertex lVertexB = new Vertex("B");
-		Vertex lVertexC = new Vertex("C");
-		Vertex lVertexD = new Vertex("D");
-		Vertex lVertexE = new Vertex("E");
-		Vertex lVertexF = new Vertex("F");
-		Vertex lVertexG = new Vertex("G");
-		Vertex lVertexH = new Vertex("H");
-		
-		//Add the edges between the vertices
-		lGraph.addEdge(lVertexA, lVertexB);
-		lGraph.addEdge(lVertexB, lVertexC);
-		lGraph.addEdge(lVertexC, lVertexA);
-		lGraph.addEdge(lVertexD, lVertexB);
-		lGraph.addEdge(lVertexD, lVertexC);
-		lGraph.addEdge(lVertexD, lVertexE);
-		lGraph.addEdge(lVertexE, lVertexD);
-		lGraph.addEdge(lVertexE, lVertexF);
-		lGraph.addEdge(lVertexF, lVertexC);
-		lGraph.addEdge(lVertexF, lVertexG);
-		lGraph.addEdge(lVertexG, lVertexF);
-		lGraph.addEdge(lVertexH, lVertexE);
-		lGraph.addEdge(lVertexH, lVertexG);
-		lGraph.addEdge(lVertexH, lVertexH);
-	
-		//Find the strongly connected components in this graph
-		TarjanAlgorithm lAlgorithm = new TarjanAlgorithm();
-		List<List<Vertex>> lResults = lAlgorithm.findStronglyConnectedComponents(lGraph);
-		
-		//It should result in the grouping:
-		//{A, B, C}, {D, E}, {F, G}, {H}
-		
-		assertEquals(4, lResults.size());
-		
-		assertEquals(3, lResults.get(0).size());
-		assertTrue(lResults.get(0).contains(lVertexA));
-		assertTrue(lResults.get(0).contains(lVertexB));
-		assertTrue(lResults.get(0).contains(lVertexC));
-		
-		assertEquals(2, lResults.get(1).size());
-		assertTrue(lResults.get(1).contains(lVertexG));
-		assertTrue(lResults.get(1).contains(lVertexF));
-		
-		assertEquals(2, lResults.get(2).size());
-		assertTrue(lResults.get(2).contains(lVertexD));
-		assertTrue(lResults.get(2).contains(lVertexE));
-		
-		assertEquals(1, lResults.get(3).size());
-		assertTrue(lResults.get(3).contains(lVertexH));
-	}
-}
+package graphAssignment;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+
+public class TarjanAlgorithmTest {
+	
+	/*
+	 * To help with visualizing, the graphs the I used for these tests look something like the following.
+	 * The @ will represent the arrow head
+	 * 
+	 * 
+	 * Graph1:
+	 * 
+	 * 		A -----------@ B -----------@ C -----------@ D
+	 *      @ \            |             @|
+	 *      |   \          |             ||
+	 *      |    \         |             ||
+	 *      |      \       |             ||
+	 *      |         \    |             ||
+	 *      |            @ @             |@
+	 *      E @---------- F -----------@ G @------------ H
+	 *      
+	 * 
+	 * Graph2:
+	 *                                    @-------------  
+	 * 	 	A @----------- C @---------- F ------------@ G
+	 *      |           @  @             @               @
+	 *      |         /    |             |               |
+	 *      |       /      |             |               |
+	 *      |     /        |             |               |
+	 *      |   /          |             |               |
+	 *      @ /            |             |               |
+	 *      B @----------- D -----------@ E @----------- H @__
+	 *                      @------------                |____|
+	 * 
+	 *                  
+	 */
+	
+	@Test
+	public void test_Graph1() {
+		Digraph lGraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+		Vertex lVertexH = new Vertex("H");
+		
+		//Add the edges between the vertices
+		lGraph.addEdge(lVertexA, lVertexB);
+		lGraph.addEdge(lVertexA, lVertexF);
+		lGraph.addEdge(lVertexB, lVertexC);
+		lGraph.addEdge(lVertexB, lVertexF);
+		lGraph.addEdge(lVertexC, lVertexD);
+		lGraph.addEdge(lVertexC, lVertexG);
+		lGraph.addEdge(lVertexE, lVertexA);
+		lGraph.addEdge(lVertexF, lVertexE);
+		lGraph.addEdge(lVertexF, lVertexG);
+		lGraph.addEdge(lVertexG, lVertexC);
+		lGraph.addEdge(lVertexH, lVertexG);
+	
+		//Find the strongly connected components in this graph
+		TarjanAlgorithm lAlgorithm = new TarjanAlgorithm();
+		List<List<Vertex>> lResults = lAlgorithm.findStronglyConnectedComponents(lGraph);
+		
+		//It should result in the grouping:
+		//{A, B, E, F}, {C, G}, {D}, {H}
+		
+		assertEquals(4, lResults.size());
+		assertEquals(1, lResults.get(0).size()); 
+		assertTrue(lResults.get(0).contains(lVertexD));
+		
+		assertEquals(2, lResults.get(1).size()); 
+		assertTrue(lResults.get(1).contains(lVertexC));
+		assertTrue(lResults.get(1).contains(lVertexG));
+		
+		assertEquals(4, lResults.get(2).size()); 
+		assertTrue(lResults.get(2).contains(lVertexA));
+		assertTrue(lResults.get(2).contains(lVertexB));
+		assertTrue(lResults.get(2).contains(lVertexE));
+		assertTrue(lResults.get(2).contains(lVertexF));
+		
+		assertEquals(1, lResults.get(3).size()); 
+		assertTrue(lResults.get(3).contains(lVertexH));
+		
+	}
+
+	@Test
+	public void test_Graph2() {
+		Digraph lGraph = new Digraph();
+		
+		//Create the vertices
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+		Vertex lVertexH = new Vertex("H");
+		
+		//Add the edges between the vertices
+		lGraph.addEdge(lVertexA, lVertexB);
+		lGraph.addEdge(lVertexB, lVertexC);
+		lGraph.addEdge(lVertexC, lVertexA);
+		lGraph.addEdge(lVertexD, lVertexB);
+		lGraph.addEdge(lVertexD, lVertexC);
+		lGraph.addEdge(lVertexD, lVertexE);
+		lGraph.addEdge(lVertexE, lVertexD);
+		lGraph.addEdge(lVertexE, lVertexF);
+		lGraph.addEdge(lVertexF, lVertexC);
+		lGraph.addEdge(lVertexF, lVertexG);
+		lGraph.addEdge(lVertexG, lVertexF);
+		lGraph.addEdge(lVertexH, lVertexE);
+		lGraph.addEdge(lVertexH, lVertexG);
+		lGraph.addEdge(lVertexH, lVertexH);
+	
+		//Find the strongly connected components in this graph
+		TarjanAlgorithm lAlgorithm = new TarjanAlgorithm();
+		List<List<Vertex>> lResults = lAlgorithm.findStronglyConnectedComponents(lGraph);
+		
+		//It should result in the grouping:
+		//{A, B, C}, {D, E}, {F, G}, {H}
+		
+		assertEquals(4, lResults.size());
+		
+		assertEquals(3, lResults.get(0).size());
+		assertTrue(lResults.get(0).contains(lVertexA));
+		assertTrue(lResults.get(0).contains(lVertexB));
+		assertTrue(lResults.get(0).contains(lVertexC));
+		
+		assertEquals(2, lResults.get(1).size());
+		assertTrue(lResults.get(1).contains(lVertexG));
+		assertTrue(lResults.get(1).contains(lVertexF));
+		
+		assertEquals(2, lResults.get(2).size());
+		assertTrue(lResults.get(2).contains(lVertexD));
+		assertTrue(lResults.get(2).contains(lVertexE));
+		
+		assertEquals(1, lResults.get(3).size());
+		assertTrue(lResults.get(3).contains(lVertexH));
+	}
+	
+	@Test
+	public void test_Graph1_Snapshot() {
+		Digraph lGraph = new Digraph();
+		
+		//The same graph as test_Graph1
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		Vertex lVertexD = new Vertex("D");
+		Vertex lVertexE = new Vertex("E");
+		Vertex lVertexF = new Vertex("F");
+		Vertex lVertexG = new Vertex("G");
+		Vertex lVertexH = new Vertex("H");
+		
+		lGraph.addEdge(lVertexA, lVertexB);
+		lGraph.addEdge(lVertexA, lVertexF);
+		lGraph.addEdge(lVertexB, lVertexC);
+		lGraph.addEdge(lVertexB, lVertexF);
+		lGraph.addEdge(lVertexC, lVertexD);
+		lGraph.addEdge(lVertexC, lVertexG);
+		lGraph.addEdge(lVertexE, lVertexA);
+		lGraph.addEdge(lVertexF, lVertexE);
+		lGraph.addEdge(lVertexF, lVertexG);
+		lGraph.addEdge(lVertexG, lVertexC);
+		lGraph.addEdge(lVertexH, lVertexG);
+		
+		//Find the strongly connected components in a snapshot of the graph
+		CsrGraph lSnapshot = lGraph.freeze();
+		TarjanAlgorithm lAlgorithm = new TarjanAlgorithm();
+		List<int[]> lResults = lAlgorithm.findStronglyConnectedComponents(lSnapshot);
+		
+		//It should result in the same grouping as the graph: {D}, {C, G}, {A, B, E, F}, {H}
+		assertEquals(4, lResults.size());
+		assertEquals(1, lResults.get(0).length);
+		assertEquals(2, lResults.get(1).length);
+		assertEquals(4, lResults.get(2).length);
+		assertEquals(1, lResults.get(3).length);
+		assertEquals("D", lSnapshot.getVertexLabel(lResults.get(0)[0]));
+		assertEquals("H", lSnapshot.getVertexLabel(lResults.get(3)[0]));
+		
+		List<List<Vertex>> lGraphResults = new TarjanAlgorithm().findStronglyConnectedComponents(lGraph);
+		for (int i = 0; i < lResults.size(); i++) {
+			for (int lVertexId : lResults.get(i)) {
+				assertTrue(lGraphResults.get(i).contains(lGraph.getVertex(lSnapshot.getVertexLabel(lVertexId))));
+			}
+		}
+	}
+	
+	@Test
+	public void test_LongChain() {
+		Digraph lGraph = new Digraph();
+		
+		//A chain of 200,000 vertices, which would overflow the call stack if the search recursed once per vertex.
+		//The last vertex links back to the middle, making the second half one big component.
+		int lLength = 200000;
+		Vertex lPrevious = new Vertex("V0");
+		for (int i = 1; i < lLength; i++) {
+			Vertex lVertex = new Vertex("V" + i);
+			lGraph.addEdge(lPrevious, lVertex);
+			lPrevious = lVertex;
+		}
+		lGraph.addEdge(lPrevious, lGraph.getVertex("V" + (lLength / 2)));
+		
+		TarjanAlgorithm lAlgorithm = new TarjanAlgorithm();
+		List<List<Vertex>> lResults = lAlgorithm.findStronglyConnectedComponents(lGraph);
+		
+		//The first half are each their own component, and the second half is one component
+		assertEquals(lLength / 2 + 1, lResults.size());
+		assertEquals(lLength / 2, lResults.get(0).size());
+		
+		int[] lComponentIds = lAlgorithm.getComponentIds();
+		assertEquals(lComponentIds[lGraph.getVertexId("V" + (lLength - 1))], lComponentIds[lGraph.getVertexId("V" + (lLength / 2))]);
+		assertNotEquals(lComponentIds[lGraph.getVertexId("V0")], lComponentIds[lGraph.getVertexId("V1")]);
+	}
+	
+	@Test
+	public void test_ReuseAfterGraphChange() {
+		Digraph lGraph = new Digraph();
+		
+		Vertex lVertexA = new Vertex("A");
+		Vertex lVertexB = new Vertex("B");
+		Vertex lVertexC = new Vertex("C");
+		
+		lGraph.addEdge(lVertexA, lVertexB);
+		lGraph.addEdge(lVertexB, lVertexC);
+		
+		//With no cycles every vertex is its own component
+		TarjanAlgorithm lAlgorithm = new TarjanAlgorithm();
+		assertEquals(3, lAlgorithm.findStronglyConnectedComponents(lGraph).size());
+		
+		//Closing the cycle and running the same instance again should give one component, not stale results
+		lGraph.addEdge(lVertexC, lVertexA);
+		List<List<Vertex>> lResults = lAlgorithm.findStronglyConnectedComponents(lGraph);
+		assertEquals(1, lResults.size());
+		assertEquals(3, lResults.get(0).size());
+		
+		int[] lComponentIds = lAlgorithm.findComponentIds(lGraph);
+		assertEquals(0, lComponentIds[lVertexA.getId()]);
+		assertEquals(0, lComponentIds[lVertexB.getId()]);
+		assertEquals(0, lComponentIds[lVertexC.getId()]);
+	}
+}
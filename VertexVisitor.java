@@ -0,0 +1,19 @@
+package graphAssignment;
+
+/**
+ * A callback for graph traversals, which is called once for each vertex as it is reached.  Returning false from visit
+ * stops the traversal early, for example once the vertex being searched for has been found.
+ *
+ * @author Jessica Otte
+ *
+ */
+public interface VertexVisitor {
+
+	/**
+	 * Called when the traversal reaches a vertex for the first time.
+	 *
+	 * @param pVertexId The id of the vertex that was reached
+	 * @return True to continue the traversal, False to stop it
+	 */
+	public boolean visit(int pVertexId);
+}